@@ -0,0 +1,54 @@
+package com.quizapp.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate-limit check: one hot bucket shared by all threads (worst case
+ * CAS contention) and a spread of keys as seen with many participants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final long PERIOD = TimeUnit.MINUTES.toNanos(1);
+
+    private RateLimiter rateLimiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter(100_000);
+        keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "u|/api/attempts/submit|participant" + i;
+        }
+    }
+
+    @Benchmark
+    public RateLimiter.Decision hotKey() {
+        return rateLimiter.tryAcquire("a|/api/attempts/submit|10.0.0.1", Integer.MAX_VALUE, PERIOD);
+    }
+
+    @Benchmark
+    public RateLimiter.Decision spreadKeys() {
+        return rateLimiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(keys.length)], 1_000_000, PERIOD);
+    }
+}
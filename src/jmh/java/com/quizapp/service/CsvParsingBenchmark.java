@@ -0,0 +1,47 @@
+package com.quizapp.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of one bulk-import CSV row, with and without quoted fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvParsingBenchmark {
+
+    @Param({"plain", "quoted"})
+    public String shape;
+
+    private BulkImportService service;
+    private String line;
+
+    @Setup
+    public void setUp() {
+        service = new BulkImportService();
+        line = "plain".equals(shape)
+                ? "What is the capital of France?,Paris|London|Berlin|Madrid,0,EASY,Capital cities,1"
+                : "\"Which of these, if any, are primes?\",\"2|4|6|8\",0,MEDIUM,\"Only 2 is prime, the rest are even\",2";
+    }
+
+    @Benchmark
+    public List<String> parseCSVLine() {
+        return service.parseCSVLine(line);
+    }
+}
@@ -0,0 +1,92 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.Question;
+import com.quizapp.entity.Quiz;
+import com.quizapp.entity.QuizAttempt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score calculation for a single attempt at 10, 100 and 1000 questions.
+ * About 10% of questions are left unanswered; the quiz is rebuilt from a fixed seed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradingBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"10", "100", "1000"})
+    public int questionCount;
+
+    private QuizAttemptService service;
+    private QuizAttempt attempt;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+
+        List<Question> questions = new ArrayList<>(questionCount);
+        Map<Long, Integer> answers = new HashMap<>();
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setId((long) i + 1);
+            question.setQuestionText("Benchmark question " + i);
+            question.setOptions(List.of("Option A", "Option B", "Option C", "Option D"));
+            question.setCorrectAnswerIndex(random.nextInt(4));
+            question.setPoints(1 + random.nextInt(3));
+            question.setQuiz(quiz);
+            questions.add(question);
+            if (random.nextInt(10) != 0) {
+                answers.put(question.getId(), random.nextInt(4));
+            }
+        }
+        quiz.setQuestions(questions);
+
+        attempt = new QuizAttempt();
+        attempt.setQuiz(quiz);
+        attempt.setAnswers(answers);
+        service = new QuizAttemptService();
+
+        // Grading logs every question; measure the work without flooding the console
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public double calculateScore() {
+        return service.calculateScore(attempt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.quizapp.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Next-question selection for an adaptive attempt 20 questions in: the bucketed index against
+ * a scan of every item in the bank.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptiveSelectionBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"1000", "100000"})
+    public int bankSize;
+
+    private AdaptiveItemIndex index;
+    private int[] administered;
+    private double[] thetas;
+    private SplittableRandom random;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom setup = new SplittableRandom(SEED);
+        long[] ids = new long[bankSize];
+        double[] a = new double[bankSize];
+        double[] b = new double[bankSize];
+        for (int i = 0; i < bankSize; i++) {
+            ids[i] = i + 1;
+            a[i] = 0.5 + setup.nextDouble() * 1.5;
+            b[i] = setup.nextGaussian() * 1.2;
+        }
+        index = new AdaptiveItemIndex(ids, a, b, new int[bankSize], new int[bankSize]);
+        administered = new int[20];
+        for (int i = 0; i < administered.length; i++) {
+            administered[i] = setup.nextInt(bankSize);
+        }
+        thetas = new double[1024];
+        for (int i = 0; i < thetas.length; i++) {
+            thetas[i] = setup.nextGaussian();
+        }
+        random = new SplittableRandom(SEED);
+    }
+
+    @Benchmark
+    public int indexed() {
+        return index.select(thetas[next++ & 1023], administered, 5, 1.0, random);
+    }
+
+    @Benchmark
+    public int fullScan() {
+        double theta = thetas[next++ & 1023];
+        int best = -1;
+        double bestInformation = -1;
+        for (int item = 0; item < index.size(); item++) {
+            double information = AdaptiveItemIndex.information(index.discrimination(item), index.difficulty(item), theta);
+            if (information > bestInformation && !contains(administered, item)) {
+                best = item;
+                bestInformation = information;
+            }
+        }
+        return best;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
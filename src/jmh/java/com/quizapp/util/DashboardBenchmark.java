@@ -0,0 +1,80 @@
+package com.quizapp.util;
+
+import com.quizapp.entity.QuizAttempt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard aggregations over a user's attempt history; 80% of attempts are completed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"100", "10000"})
+    public int attemptCount;
+
+    private List<QuizAttempt> attempts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        attempts = new ArrayList<>(attemptCount);
+        for (int i = 0; i < attemptCount; i++) {
+            QuizAttempt attempt = new QuizAttempt();
+            attempt.setId((long) i + 1);
+            attempt.setAttemptedAt(base.plusMinutes(i));
+            if (random.nextInt(5) != 0) {
+                attempt.setCompletedAt(base.plusMinutes(i + 1 + random.nextInt(60)));
+                attempt.setScore(random.nextDouble() * 100);
+            }
+            attempts.add(attempt);
+        }
+    }
+
+    @Benchmark
+    public long completedCount() {
+        return DashboardUtil.getCompletedAttemptsCount(attempts);
+    }
+
+    @Benchmark
+    public long inProgressCount() {
+        return DashboardUtil.getInProgressAttemptsCount(attempts);
+    }
+
+    @Benchmark
+    public double averageScore() {
+        return DashboardUtil.calculateAverageScore(attempts);
+    }
+
+    @Benchmark
+    public long totalTimeSpentMinutes() {
+        long total = 0;
+        for (QuizAttempt attempt : attempts) {
+            total += DashboardUtil.calculateTimeSpentMinutes(attempt);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,83 @@
+package com.quizapp.load;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects raw per-step latencies and reports throughput and nearest-rank percentiles.
+ * A run records at most a few requests per participant, so keeping every sample is cheap.
+ */
+final class LatencyRecorder {
+
+    static final String[] STEPS = {"login", "start", "paper", "submit"};
+
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+
+    private static final class Step {
+        long[] samples = new long[1024];
+        int size;
+        long errors;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized void fail() {
+            errors++;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    LatencyRecorder() {
+        for (String step : STEPS) {
+            steps.put(step, new Step());
+        }
+    }
+
+    void success(String step, long nanos) {
+        steps.get(step).add(nanos);
+    }
+
+    void failure(String step) {
+        steps.get(step).fail();
+    }
+
+    long successCount(String step) {
+        return steps.get(step).sorted().length;
+    }
+
+    void report(PrintStream out, long wallNanos) {
+        double wallSeconds = Math.max(wallNanos / 1e9, 1e-9);
+        out.printf("%-8s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "step", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Step> entry : steps.entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            out.printf("%-8s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), sorted.length, entry.getValue().errors, sorted.length / wallSeconds,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+    }
+
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
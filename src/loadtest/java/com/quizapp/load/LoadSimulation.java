@@ -0,0 +1,221 @@
+package com.quizapp.load;
+
+import com.quizapp.OnlineQuizAppApplication;
+import com.quizapp.entity.DifficultyLevel;
+import com.quizapp.entity.Question;
+import com.quizapp.entity.Quiz;
+import com.quizapp.entity.Role;
+import com.quizapp.entity.User;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on an embedded H2 database, seeds one quiz plus the participants
+ * of a scenario, and drives them through login, start, paper and submit over real HTTP.
+ *
+ * Run with:
+ *   mvn -Ploadtest -DskipTests test-compile exec:exec
+ *   mvn -Ploadtest -DskipTests exec:exec -Dloadtest.args="scenario=scenarios/exam-spike.properties users=500"
+ *
+ * Compare platform and virtual threads by running the same scenario with virtual-threads=false
+ * and virtual-threads=true (the latter needs Java 21 on the PATH).
+ *
+ * The report is printed and written to target/loadtest/.
+ */
+public final class LoadSimulation {
+
+    static final String PASSWORD = "LoadTest#2024";
+
+    private LoadSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> overrides = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                overrides.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+            }
+        }
+        String location = overrides.remove("scenario");
+        Scenario scenario = Scenario.load(location != null ? location : "scenarios/smoke.properties", overrides);
+
+        PrintStream console = System.out;
+        console.println("🚦 Load scenario " + scenario);
+        if (scenario.virtualThreads && Runtime.version().feature() < 21) {
+            console.println("⚠️ virtual-threads=true needs a Java 21+ runtime; this JVM is " + Runtime.version()
+                    + ", so the server stays on platform threads");
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OnlineQuizAppApplication.class)
+                .profiles("loadtest")
+                .properties("spring.threads.virtual.enabled=" + scenario.virtualThreads)
+                .run();
+        int exitCode = 0;
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            long quizId = seed(context, scenario);
+            console.println("🌱 Seeded quiz " + quizId + " and " + scenario.users + " participants");
+
+            // The app still logs every request to stdout; by default keep it out of the measurement
+            if (!scenario.keepAppOutput) {
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            }
+            LatencyRecorder recorder = new LatencyRecorder();
+            long wallNanos = drive(scenario, "http://localhost:" + port, quizId, recorder);
+            System.setOut(console);
+
+            String report = report(scenario, recorder, wallNanos, context.getBean(MeterRegistry.class));
+            console.print(report);
+            Path file = Path.of("target", "loadtest", scenario.name + "-" +
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report, StandardCharsets.UTF_8);
+            console.println("📄 Report written to " + file);
+
+            if (recorder.successCount("submit") < scenario.users) {
+                exitCode = 1;
+            }
+        } finally {
+            System.setOut(console);
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static long seed(ConfigurableApplicationContext context, Scenario scenario) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        QuizRepository quizRepository = context.getBean(QuizRepository.class);
+        // One hash for everybody: seeding should not cost minutes of BCrypt
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        User admin = new User("loadadmin", "loadadmin@loadtest.local", hash, Role.ADMIN);
+        admin.setEnabled(true);
+        admin = userRepository.save(admin);
+
+        Random random = new Random(scenario.seed);
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Load test exam");
+        quiz.setDescription("Generated by LoadSimulation");
+        quiz.setTimeLimit(scenario.quizMinutes);
+        quiz.setCreatedBy(admin);
+        quiz.setDifficultyLevel(DifficultyLevel.MEDIUM);
+        quiz.setIsPublic(true);
+        quiz.setEnabled(true);
+        quiz.setIsTemplate(false);
+        quiz.setCreatedAt(LocalDateTime.now());
+        List<Question> questions = new ArrayList<>(scenario.questions);
+        for (int i = 0; i < scenario.questions; i++) {
+            Question question = new Question();
+            question.setQuestionText("Load question " + (i + 1));
+            question.setOptions(new ArrayList<>(List.of("Option A", "Option B", "Option C", "Option D")));
+            question.setCorrectAnswerIndex(random.nextInt(4));
+            question.setDifficultyLevel(DifficultyLevel.MEDIUM);
+            question.setPoints(1);
+            question.setQuiz(quiz);
+            questions.add(question);
+        }
+        quiz.setQuestions(questions);
+        quiz = quizRepository.save(quiz);
+
+        List<User> batch = new ArrayList<>(500);
+        for (int i = 0; i < scenario.users; i++) {
+            User user = new User(username(i), username(i) + "@loadtest.local", hash, Role.PARTICIPANT);
+            user.setEnabled(true);
+            batch.add(user);
+            if (batch.size() == 500) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        userRepository.saveAll(batch);
+        return quiz.getId();
+    }
+
+    private static long drive(Scenario scenario, String baseUrl, long quizId, LatencyRecorder recorder)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Random random = new Random(scenario.seed);
+        ExecutorService participants = Executors.newFixedThreadPool(scenario.users);
+        long started = System.nanoTime();
+        for (int i = 0; i < scenario.users; i++) {
+            long offset = scenario.startOffsetMillis(i);
+            VirtualParticipant participant = new VirtualParticipant(client, baseUrl, username(i), PASSWORD, quizId,
+                    scenario.usesWebFlow(i), scenario.answerTimeMillis(random), new Random(random.nextLong()), recorder);
+            participants.execute(() -> {
+                try {
+                    Thread.sleep(Math.max(0, offset - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)));
+                    participant.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        participants.shutdown();
+        long budgetMinutes = scenario.rampUpSeconds / 60 + (long) Math.ceil(scenario.quizMinutes * scenario.timeScale) + 10;
+        if (!participants.awaitTermination(budgetMinutes, TimeUnit.MINUTES)) {
+            participants.shutdownNow();
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static String report(Scenario scenario, LatencyRecorder recorder, long wallNanos, MeterRegistry registry) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        out.println();
+        out.println("=== Load report: " + scenario + " ===");
+        out.printf("Wall time %.1f s, %d/%d participants submitted%n%n",
+                wallNanos / 1e9, recorder.successCount("submit"), scenario.users);
+        out.println("Client-side latency (successful requests only):");
+        recorder.report(out, wallNanos);
+        out.println();
+        out.println("Server-side timers:");
+        out.printf("%-32s %8s %10s %10s%n", "meter", "count", "mean ms", "max ms");
+        for (String name : new String[]{"quiz.attempt.start", "quiz.attempt.submit", "quiz.grading",
+                "quiz.auth.jwt.filter", "quiz.auth.password.hash", "quiz.db.admission.wait", "hikaricp.connections.acquire",
+                "http.server.requests"}) {
+            long count = 0;
+            double total = 0;
+            double max = 0;
+            for (Timer timer : registry.find(name).timers()) {
+                count += timer.count();
+                total += timer.totalTime(TimeUnit.MILLISECONDS);
+                max = Math.max(max, timer.max(TimeUnit.MILLISECONDS));
+            }
+            out.printf("%-32s %8d %10.2f %10.2f%n", name, count, count == 0 ? 0.0 : total / count, max);
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String username(int index) {
+        return String.format("loaduser%05d", index);
+    }
+}
@@ -0,0 +1,98 @@
+package com.quizapp.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * A load scenario read from a properties file (see src/loadtest/resources/scenarios),
+ * with individual keys overridable from the command line as {@code key=value}.
+ *
+ * {@code time-scale} compresses answering time only; ramp-up always runs in real time so
+ * the start spike hits the server exactly as described.
+ */
+final class Scenario {
+
+    enum Flow { WEB, API, MIXED }
+
+    final String name;
+    final int users;
+    final int rampUpSeconds;
+    final int quizMinutes;
+    final int questions;
+    final Flow flow;
+    final double timeScale;
+    final double answerTimeMin;
+    final double answerTimeMax;
+    final long seed;
+    final boolean keepAppOutput;
+    final boolean virtualThreads;
+
+    private Scenario(String name, Properties p) {
+        this.name = name;
+        this.users = Integer.parseInt(p.getProperty("users", "50"));
+        this.rampUpSeconds = Integer.parseInt(p.getProperty("ramp-up-seconds", "10"));
+        this.quizMinutes = Integer.parseInt(p.getProperty("quiz-minutes", "5"));
+        this.questions = Integer.parseInt(p.getProperty("questions", "20"));
+        this.flow = Flow.valueOf(p.getProperty("flow", "mixed").trim().toUpperCase());
+        this.timeScale = Double.parseDouble(p.getProperty("time-scale", "1.0"));
+        this.answerTimeMin = Double.parseDouble(p.getProperty("answer-time-min", "0.5"));
+        this.answerTimeMax = Double.parseDouble(p.getProperty("answer-time-max", "0.95"));
+        this.seed = Long.parseLong(p.getProperty("seed", "42"));
+        this.keepAppOutput = Boolean.parseBoolean(p.getProperty("keep-app-output", "false"));
+        this.virtualThreads = Boolean.parseBoolean(p.getProperty("virtual-threads", "false"));
+        if (users <= 0 || questions <= 0 || quizMinutes <= 0) {
+            throw new IllegalArgumentException("users, questions and quiz-minutes must be positive");
+        }
+    }
+
+    static Scenario load(String location, Map<String, String> overrides) throws IOException {
+        Properties properties = new Properties();
+        Path path = Path.of(location);
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } else {
+            try (InputStream in = Scenario.class.getClassLoader().getResourceAsStream(location)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Scenario not found: " + location);
+                }
+                properties.load(in);
+            }
+        }
+        properties.putAll(overrides);
+
+        String fileName = path.getFileName().toString();
+        String name = fileName.endsWith(".properties") ? fileName.substring(0, fileName.length() - 11) : fileName;
+        return new Scenario(name, properties);
+    }
+
+    /** Milliseconds this participant spends answering before submitting. */
+    long answerTimeMillis(Random random) {
+        double fraction = answerTimeMin + random.nextDouble() * Math.max(0.0, answerTimeMax - answerTimeMin);
+        return (long) (quizMinutes * 60_000L * fraction * timeScale);
+    }
+
+    /** Start offset of participant {@code index}, spreading arrivals evenly over the ramp-up. */
+    long startOffsetMillis(int index) {
+        return users <= 1 ? 0 : rampUpSeconds * 1000L * index / users;
+    }
+
+    boolean usesWebFlow(int index) {
+        return flow == Flow.WEB || (flow == Flow.MIXED && index % 2 == 0);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + users + " users, ramp-up " + rampUpSeconds + "s, " + quizMinutes + "-minute quiz, " +
+                questions + " questions, flow " + flow + ", time-scale " + timeScale +
+                (virtualThreads ? ", virtual threads" : "");
+    }
+}
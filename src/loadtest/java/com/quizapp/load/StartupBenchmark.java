@@ -0,0 +1,238 @@
+package com.quizapp.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cold-start benchmark: boots the application in a fresh JVM per run, for each variant,
+ * and reports three numbers per boot, all taken before anything else talks to the process:
+ *
+ *   started  Spring Boot's "Started ... in X seconds" (SpringApplication.run to context started)
+ *   launch   the same line's "process running for Y", JVM start included
+ *   first    latency of the first HTTP request the process ever serves, sent as soon as that line
+ *            is logged (GET /login: MVC, security, Thymeleaf). It still overlaps the command-line
+ *            runners and ApplicationReadyEvent listeners, as a first user right after a rollout would.
+ *
+ * By default the variants are profile sets run from the test classpath on the loadtest profile's
+ * embedded H2. With jar=... they are instead the packaged thin jar from the cds profile, booted
+ * on H2 through src/cds/training.args: plain, with AOT code, and with AOT code plus the AppCDS
+ * archive. Runs are comparable with each other but not with PostgreSQL over a network. Run with:
+ *
+ *   mvn -Ploadtest -DskipTests test-compile exec:exec -Dloadtest.main=com.quizapp.load.StartupBenchmark \
+ *       -Dloadtest.args="runs=5 profiles=loadtest;loadtest,fast-start"
+ *   mvn -Ploadtest ... -Dloadtest.args="runs=5 jar=target/cds/online-quiz-app-1.0.0-cds.jar"
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+    private static final int OUTPUT_TAIL = 40;
+    private static final Duration BOOT_TIMEOUT = Duration.ofMinutes(3);
+
+    private static final String MAIN_CLASS = "com.quizapp.OnlineQuizAppApplication";
+
+    /** What to boot: JVM flags, then class path, main class and application arguments, run from directory. */
+    private record Variant(String name, List<String> launch, Path directory) {
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+            }
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        String jvmArgs = options.getOrDefault("jvm-args", "-Xmx1g");
+        List<Variant> variants = options.containsKey("jar")
+                ? jarVariants(Path.of(options.get("jar")), Path.of(options.getOrDefault("training-args", "src/cds/training.args")))
+                : profileVariants(options.getOrDefault("profiles", "loadtest;loadtest,fast-start"));
+
+        PrintStream console = System.out;
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%n=== Startup benchmark: %d cold boots per variant ===%n", runs));
+        report.append(String.format(Locale.ROOT, "%-28s %11s %11s %10s %10s %10s %10s%n", "variant", "started p50", "started max",
+                "launch p50", "launch max", "first p50", "first max"));
+
+        for (Variant variant : variants) {
+            List<Double> started = new ArrayList<>();
+            List<Double> launch = new ArrayList<>();
+            List<Double> first = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                double[] result = boot(client, variant, jvmArgs);
+                started.add(result[0]);
+                launch.add(result[1]);
+                first.add(result[2]);
+                console.printf(Locale.ROOT, "⏱️ %s run %d: started %.2f s, launch %.2f s, first request %.0f ms%n",
+                        variant.name(), run, result[0], result[1], result[2] * 1000);
+            }
+            report.append(String.format(Locale.ROOT, "%-28s %10.2fs %10.2fs %9.2fs %9.2fs %8.0fms %8.0fms%n", variant.name(),
+                    median(started), max(started), median(launch), max(launch), median(first) * 1000, max(first) * 1000));
+        }
+
+        console.print(report);
+        Path file = Path.of("target", "loadtest", "startup-" +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+        console.println("📄 Report written to " + file);
+    }
+
+    private static List<Variant> profileVariants(String profileSets) {
+        List<Variant> variants = new ArrayList<>();
+        for (String profiles : profileSets.split(";")) {
+            variants.add(new Variant(profiles, List.of("-cp", System.getProperty("java.class.path"), MAIN_CLASS,
+                    "--spring.profiles.active=" + profiles), Path.of(".")));
+        }
+        return variants;
+    }
+
+    /**
+     * The cds profile's output: the thin jar and its archive. Runs from the jar's directory with
+     * the training run's relative class path, which the archive has to match.
+     */
+    private static List<Variant> jarVariants(Path jar, Path trainingArgs) {
+        Path directory = jar.toAbsolutePath().getParent();
+        if (!Files.isRegularFile(directory.resolve("application.jsa"))) {
+            throw new IllegalArgumentException("No application.jsa next to " + jar + "; build it with mvn -Pcds package");
+        }
+        String classPath = jar.getFileName().toString();
+        String argFile = "@" + trainingArgs.toAbsolutePath();
+        return List.of(
+                new Variant("jar", List.of("-cp", classPath, argFile), directory),
+                new Variant("jar + aot", List.of("-Dspring.aot.enabled=true", "-cp", classPath, argFile), directory),
+                // -Xshare:on fails the boot instead of silently running without an unusable archive
+                new Variant("jar + aot + cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa",
+                        "-Xshare:on", "-cp", classPath, argFile), directory));
+    }
+
+    /**
+     * Returns {started seconds, launch-to-started seconds, first request seconds}. The boot is
+     * followed on the process's own output, so no request reaches it before the timed one.
+     */
+    private static double[] boot(HttpClient client, Variant variant, String jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        command.addAll(variant.launch());
+        command.add("--server.port=" + port);
+
+        Process process = new ProcessBuilder(command).directory(variant.directory().toFile()).redirectErrorStream(true).start();
+        CompletableFuture<double[]> started = new CompletableFuture<>();
+        Deque<String> tail = new ArrayDeque<>();
+        Thread reader = new Thread(() -> follow(process, started, tail), "startup-benchmark-output");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            double[] times;
+            try {
+                times = started.get(BOOT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException(variant.name() + " not started after " + BOOT_TIMEOUT + output(tail));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(variant.name() + " exited with " + process.waitFor() + output(tail));
+            }
+            long requested = System.nanoTime();
+            if (get(client, "http://localhost:" + port + "/login") == null) {
+                throw new IllegalStateException(variant.name() + " did not serve /login" + output(tail));
+            }
+            double firstSeconds = (System.nanoTime() - requested) / 1e9;
+            return new double[]{times[0], times[1], firstSeconds};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /** Drains the process's output, completing {@code started} at Spring Boot's started line. */
+    private static void follow(Process process, CompletableFuture<double[]> started, Deque<String> tail) {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                synchronized (tail) {
+                    tail.addLast(line);
+                    if (tail.size() > OUTPUT_TAIL) {
+                        tail.removeFirst();
+                    }
+                }
+                Matcher matcher = STARTED.matcher(line);
+                if (!started.isDone() && matcher.find()) {
+                    started.complete(new double[]{Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2))});
+                }
+            }
+        } catch (IOException e) {
+            // Stream closed when the process is destroyed
+        }
+        started.completeExceptionally(new IllegalStateException("process output ended"));
+    }
+
+    private static String output(Deque<String> tail) {
+        synchronized (tail) {
+            return tail.isEmpty() ? "" : "; last output:\n  " + String.join("\n  ", tail);
+        }
+    }
+
+    private static String get(HttpClient client, String url) {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(5)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? response.body() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        int n = sorted.size();
+        return n % 2 == 1 ? sorted.get(n / 2) : (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2;
+    }
+
+    private static double max(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN);
+    }
+}
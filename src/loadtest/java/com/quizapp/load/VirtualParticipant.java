@@ -0,0 +1,207 @@
+package com.quizapp.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One exam taker. The web flow goes through form login and the Thymeleaf attempt pages;
+ * the API flow uses JWT and /api/attempts. Both sleep for their answering time between
+ * loading the paper and submitting. Answers are only kept in the browser (localStorage)
+ * while a participant works, so there is no server-side autosave request to replay.
+ */
+final class VirtualParticipant implements Runnable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern ANSWER_INPUT = Pattern.compile("name=\"answers\\[(\\d+)]\"");
+    private static final Pattern TAKE_LOCATION = Pattern.compile("/attempt/take/(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final long quizId;
+    private final boolean web;
+    private final long answerTimeMillis;
+    private final Random random;
+    private final LatencyRecorder recorder;
+    private long lastLatency;
+
+    VirtualParticipant(HttpClient client, String baseUrl, String username, String password, long quizId,
+                       boolean web, long answerTimeMillis, Random random, LatencyRecorder recorder) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.quizId = quizId;
+        this.web = web;
+        this.answerTimeMillis = answerTimeMillis;
+        this.random = random;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (web) {
+                runWeb();
+            } else {
+                runApi();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (StepFailed ignored) {
+            // Already counted against the failing step
+        }
+    }
+
+    private void runWeb() throws InterruptedException {
+        HttpResponse<String> login = send("login", form("/login", "", Map.of("username", username, "password", password)));
+        String location = login.headers().firstValue("Location").orElse("");
+        String cookie = sessionCookie(login);
+        complete("login", login.statusCode() == 302 && !location.contains("error") && cookie != null);
+
+        HttpResponse<String> start = send("start", get("/attempt/start/" + quizId, cookie));
+        Matcher take = TAKE_LOCATION.matcher(start.headers().firstValue("Location").orElse(""));
+        complete("start", start.statusCode() == 302 && take.find());
+        String attemptId = take.group(1);
+
+        HttpResponse<String> paper = send("paper", get("/attempt/take/" + attemptId, cookie));
+        Map<String, Integer> optionCounts = new LinkedHashMap<>();
+        Matcher input = ANSWER_INPUT.matcher(paper.body());
+        while (input.find()) {
+            optionCounts.merge(input.group(1), 1, Integer::sum);
+        }
+        complete("paper", paper.statusCode() == 200 && !optionCounts.isEmpty());
+
+        Thread.sleep(answerTimeMillis);
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("attemptId", attemptId);
+        fields.put("quizId", String.valueOf(quizId));
+        optionCounts.forEach((questionId, options) ->
+                fields.put("answers[" + questionId + "]", String.valueOf(random.nextInt(options))));
+        HttpResponse<String> submit = send("submit", form("/attempt/submit", cookie, fields));
+        complete("submit", submit.statusCode() == 200);
+    }
+
+    private void runApi() throws InterruptedException {
+        HttpResponse<String> login = send("login", json("/api/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+        String token = "Bearer " + readTree(login).path("token").asText();
+        complete("login", login.statusCode() == 200 && token.length() > 7);
+
+        HttpResponse<String> start = send("start", json("/api/attempts/start/" + quizId, token, ""));
+        long attemptId = readTree(start).path("id").asLong();
+        complete("start", start.statusCode() == 200 && attemptId > 0);
+
+        HttpResponse<String> paper = send("paper", HttpRequest.newBuilder(uri("/api/attempts/" + attemptId + "/questions"))
+                .timeout(TIMEOUT).header("Authorization", token).GET().build());
+        JsonNode questions = readTree(paper);
+        complete("paper", paper.statusCode() == 200 && questions.isArray() && questions.size() > 0);
+
+        Thread.sleep(answerTimeMillis);
+
+        StringBuilder answers = new StringBuilder("{");
+        for (JsonNode question : questions) {
+            if (answers.length() > 1) answers.append(',');
+            int options = Math.max(1, question.path("options").size());
+            answers.append('"').append(question.path("id").asLong()).append("\":").append(random.nextInt(options));
+        }
+        answers.append('}');
+        HttpResponse<String> submit = send("submit", json("/api/attempts/submit?attemptId=" + attemptId, token, answers.toString()));
+        complete("submit", submit.statusCode() == 200);
+    }
+
+    private HttpResponse<String> send(String step, HttpRequest request) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            lastLatency = System.nanoTime() - started;
+            return response;
+        } catch (java.io.IOException e) {
+            recorder.failure(step);
+            throw new StepFailed();
+        }
+    }
+
+    // Only responses that let the participant carry on count towards the latency percentiles
+    private void complete(String step, boolean ok) {
+        if (!ok) {
+            recorder.failure(step);
+            throw new StepFailed();
+        }
+        recorder.success(step, lastLatency);
+    }
+
+    private static JsonNode readTree(HttpResponse<String> response) {
+        try {
+            return JSON.readTree(response.body());
+        } catch (Exception e) {
+            return JSON.missingNode();
+        }
+    }
+
+    private HttpRequest get(String path, String cookie) {
+        return HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT).header("Cookie", cookie).GET().build();
+    }
+
+    private HttpRequest form(String path, String cookie, Map<String, String> fields) {
+        StringBuilder body = new StringBuilder();
+        fields.forEach((key, value) -> {
+            if (body.length() > 0) body.append('&');
+            body.append(URLEncoder.encode(key, StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        });
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+        if (!cookie.isEmpty()) {
+            builder.header("Cookie", cookie);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest json(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String sessionCookie(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            if (header.startsWith("JSESSIONID=")) {
+                int end = header.indexOf(';');
+                return end > 0 ? header.substring(0, end) : header;
+            }
+        }
+        return null;
+    }
+
+    private static final class StepFailed extends RuntimeException {
+        StepFailed() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.quizapp;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Main class of the AppCDS training run (see the cds profile in pom.xml and the Dockerfile).
+ *
+ * The training run boots on embedded H2, but H2 must not ship on the application's class path,
+ * and an archive only maps when the class path matches the one it was trained on. So the jars
+ * named by {@code -Dcds.training.classpath} go into a child class loader that Spring uses as the
+ * context class loader: the application's own classes still come from, and are archived from,
+ * the real class path.
+ */
+public final class CdsTraining {
+
+    private CdsTraining() {
+    }
+
+    public static void main(String[] args) throws MalformedURLException {
+        List<URL> urls = new ArrayList<>();
+        for (String path : System.getProperty("cds.training.classpath", "").split(File.pathSeparator)) {
+            if (!path.isBlank()) {
+                urls.add(new File(path).toURI().toURL());
+            }
+        }
+        ClassLoader training = new URLClassLoader(urls.toArray(URL[]::new), CdsTraining.class.getClassLoader());
+        Thread.currentThread().setContextClassLoader(training);
+        OnlineQuizAppApplication.main(args);
+    }
+}
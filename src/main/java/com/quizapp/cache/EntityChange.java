@@ -0,0 +1,47 @@
+package com.quizapp.cache;
+
+/**
+ * One changed row, as announced on the {@link InvalidationBus}. Delivered to local listeners as
+ * an application event, so caches subscribe with {@code @EventListener} and evict what
+ * {@link #affects} them. {@link Kind#ALL} tells every cache to drop everything, e.g. after the
+ * bus may have missed changes.
+ */
+public record EntityChange(Kind kind, long id) {
+
+    public enum Kind {
+        QUIZ('Z'), QUESTION('Q'), ALL('*');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        char code() {
+            return code;
+        }
+
+        static Kind of(char code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown entity change code " + code);
+        }
+    }
+
+    public static final EntityChange ALL = new EntityChange(Kind.ALL, 0L);
+
+    public static EntityChange quiz(long id) {
+        return new EntityChange(Kind.QUIZ, id);
+    }
+
+    public static EntityChange question(long id) {
+        return new EntityChange(Kind.QUESTION, id);
+    }
+
+    public boolean affects(Kind cached) {
+        return kind == cached || kind == Kind.ALL;
+    }
+}
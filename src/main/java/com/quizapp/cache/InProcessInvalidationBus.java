@@ -0,0 +1,19 @@
+package com.quizapp.cache;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Single-node stand-in used by tests and H2 runs: changes still reach this node's caches after
+ * commit, but nothing leaves the JVM.
+ */
+public class InProcessInvalidationBus extends InvalidationBus {
+
+    public InProcessInvalidationBus(ApplicationEventPublisher events) {
+        super(events);
+    }
+
+    @Override
+    protected void send(String payload) {
+        // No other nodes
+    }
+}
@@ -0,0 +1,127 @@
+package com.quizapp.cache;
+
+import com.quizapp.util.QuizMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Announces entity changes to the in-process caches of every node.
+ *
+ * {@link #publish} waits for the surrounding transaction to commit, so a rolled-back edit is
+ * never announced and no node can reload the old row in the meantime. On commit the change is
+ * delivered here as an {@link EntityChange} application event and handed to {@link #send} for
+ * the other nodes. Their {@link #receive} turns it back into the same local event. A message
+ * is one line, {@code <node>|Z12,Q40}; the sender recognises and skips its own messages.
+ */
+public abstract class InvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more; longer batches become "evict all"
+    static final int MAX_PAYLOAD = 7900;
+
+    private final ApplicationEventPublisher events;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    protected InvalidationBus(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    /** Sends an encoded batch to the other nodes. Failures are logged by the caller, never thrown at it. */
+    protected abstract void send(String payload);
+
+    public void publish(EntityChange... changes) {
+        List<EntityChange> batch = List.of(changes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(batch);
+                }
+            });
+        } else {
+            dispatch(batch);
+        }
+    }
+
+    protected void receive(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0) {
+            logger.atWarn().addKeyValue("payload", payload).log("Ignoring malformed invalidation message");
+            return;
+        }
+        if (payload.regionMatches(0, nodeId, 0, separator) && separator == nodeId.length()) {
+            return;
+        }
+        List<EntityChange> changes;
+        try {
+            changes = decode(payload.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            logger.atWarn().addKeyValue("payload", payload).log("Ignoring malformed invalidation message");
+            return;
+        }
+        for (EntityChange change : changes) {
+            QuizMetrics.increment(QuizMetrics.CACHE_INVALIDATION, 1, "direction", "received", "kind", change.kind().name());
+            events.publishEvent(change);
+        }
+    }
+
+    /** Tells local caches to drop everything, e.g. when changes from other nodes may have been missed. */
+    protected void evictAllLocally() {
+        events.publishEvent(EntityChange.ALL);
+    }
+
+    private void dispatch(List<EntityChange> changes) {
+        for (EntityChange change : changes) {
+            QuizMetrics.increment(QuizMetrics.CACHE_INVALIDATION, 1, "direction", "sent", "kind", change.kind().name());
+            events.publishEvent(change);
+        }
+        try {
+            send(nodeId + "|" + encode(changes));
+        } catch (RuntimeException e) {
+            // The change is committed either way; other nodes fall back to their cache TTLs
+            logger.atWarn().addKeyValue("changes", changes.size()).setCause(e)
+                    .log("Could not broadcast cache invalidation");
+        }
+    }
+
+    static String encode(List<EntityChange> changes) {
+        StringBuilder out = new StringBuilder();
+        for (EntityChange change : changes) {
+            if (change.kind() == EntityChange.Kind.ALL) {
+                return String.valueOf(EntityChange.Kind.ALL.code());
+            }
+            if (!out.isEmpty()) {
+                out.append(',');
+            }
+            out.append(change.kind().code()).append(change.id());
+            if (out.length() > MAX_PAYLOAD) {
+                return String.valueOf(EntityChange.Kind.ALL.code());
+            }
+        }
+        return out.toString();
+    }
+
+    static List<EntityChange> decode(String encoded) {
+        List<EntityChange> changes = new ArrayList<>();
+        for (String token : encoded.split(",")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            EntityChange.Kind kind = EntityChange.Kind.of(token.charAt(0));
+            changes.add(kind == EntityChange.Kind.ALL ? EntityChange.ALL
+                    : new EntityChange(kind, Long.parseLong(token.substring(1))));
+        }
+        return changes;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+}
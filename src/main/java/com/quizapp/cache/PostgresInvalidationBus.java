@@ -0,0 +1,119 @@
+package com.quizapp.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * Invalidation over PostgreSQL LISTEN/NOTIFY, so no extra broker is needed.
+ *
+ * Messages are sent with {@code pg_notify} through the normal pool. Receiving needs a session
+ * that stays in LISTEN, so one thread holds its own connection outside the pool and polls it
+ * for notifications. If that connection drops, messages sent meanwhile are lost. After
+ * reconnecting, the listener therefore tells every local cache to drop everything.
+ */
+public class PostgresInvalidationBus extends InvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+
+    @FunctionalInterface
+    public interface Connector {
+        Connection connect() throws SQLException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Connector connector;
+    private final String channel;
+    private final int pollMillis;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationBus(ApplicationEventPublisher events, JdbcTemplate jdbcTemplate,
+                                   Connector connector, String channel, int pollMillis) {
+        super(events);
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.connector = connector;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    protected void send(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(pollMillis * 2L + 1000L);
+            listener = null;
+        }
+    }
+
+    private void listen() {
+        long backoff = 1000L;
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = connector.connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                logger.atInfo().addKeyValue("channel", channel).log("Listening for cache invalidations");
+                if (reconnect) {
+                    evictAllLocally();
+                }
+                backoff = 1000L;
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(pollMillis);
+                    if (received == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : received) {
+                        if (channel.equals(notification.getName())) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.atWarn().addKeyValue("channel", channel).addKeyValue("retryMillis", backoff)
+                        .log("Invalidation listener lost its connection: " + e.getMessage());
+                reconnect = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.quizapp.config;
+
+import com.quizapp.util.BackgroundWork;
+import com.quizapp.util.QuizMetrics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Puts a fair semaphore in front of the connection pool. With virtual threads there is no
+ * Tomcat thread limit, so a spike of several thousand submits would otherwise all pile into
+ * Hikari's wait queue at once. Here callers queue FIFO for a permit, and once too many are
+ * already waiting new callers fail fast instead of holding memory until the timeout.
+ *
+ * A permit is held from {@code getConnection()} until the connection is closed. Background
+ * work passes straight through: it runs on a few bounded threads and has its own pool.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long timeoutMillis;
+
+    public AdmissionControlledDataSource(DataSource target, int permits, int maxWaiting, long timeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (BackgroundWork.isActive()) {
+            return super.getConnection();
+        }
+        acquire();
+        try {
+            return releasing(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (BackgroundWork.isActive()) {
+            return super.getConnection(username, password);
+        }
+        acquire();
+        try {
+            return releasing(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        if (permits.tryAcquire()) {
+            QuizMetrics.recordNanos(QuizMetrics.DB_ADMISSION_WAIT, System.nanoTime() - started, "outcome", "acquired");
+            return;
+        }
+        if (permits.getQueueLength() >= maxWaiting) {
+            QuizMetrics.recordNanos(QuizMetrics.DB_ADMISSION_WAIT, System.nanoTime() - started, "outcome", "rejected");
+            throw new SQLTransientConnectionException("Database busy: " + maxWaiting + " callers already waiting for a connection");
+        }
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                QuizMetrics.recordNanos(QuizMetrics.DB_ADMISSION_WAIT, System.nanoTime() - started, "outcome", "timeout");
+                throw new SQLTransientConnectionException("Timed out after " + timeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+        }
+        QuizMetrics.recordNanos(QuizMetrics.DB_ADMISSION_WAIT, System.nanoTime() - started, "outcome", "acquired");
+    }
+
+    private Connection releasing(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(method.getName()) && Connection.class.equals(args[0])) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package com.quizapp.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Settings that Spring AOT (the cds profile) fixes at build time. The generated code holds the
+ * beans chosen by the build's profiles and {@code @ConditionalOnProperty} flags; a started image
+ * keeps them whatever its own environment says. So {@code prod,fast-start} on an image built for
+ * {@code prod} would boot without the schema migrator and with {@code ddl-auto=none}.
+ *
+ * The build records its values next to the generated code, and a boot on generated code refuses
+ * to start when its own differ. Build with
+ * {@code -Dspring-boot.aot.jvmArguments="-Dspring.profiles.active=... -Dapp....=..."} to match
+ * the deployment (the Dockerfile takes them as build args). Every other property is read at
+ * startup as usual.
+ */
+public final class AotBuildSettings {
+
+    static final String RESOURCE = "META-INF/quizapp/aot-build.properties";
+    static final String PROFILES = "spring.profiles.active";
+
+    // Build-time only under AOT, with the value that applies when unset
+    static final Map<String, String> FLAGS = new LinkedHashMap<>();
+    static {
+        FLAGS.put("app.datasource.admission.enabled", "false");
+        FLAGS.put("app.datasource.bulkhead.enabled", "false");
+        FLAGS.put("app.datasource.replica.enabled", "false");
+        FLAGS.put("app.invalidation.bus", "postgres");
+        FLAGS.put("app.jobs.election", "postgres");
+        FLAGS.put("app.schema.migrations.enabled", "false");
+        FLAGS.put("app.session.store", "jdbc");
+        FLAGS.put("app.startup.email-check", "true");
+        FLAGS.put("spring.threads.virtual.enabled", "false");
+        FLAGS.put("spring.data.jpa.repositories.bootstrap-mode", "default");
+    }
+
+    private AotBuildSettings() {
+    }
+
+    static Properties capture(Environment environment) {
+        Properties settings = new Properties();
+        settings.setProperty(PROFILES, profiles(environment.getActiveProfiles()));
+        FLAGS.forEach((name, unset) -> settings.setProperty(name, environment.getProperty(name, unset)));
+        return settings;
+    }
+
+    /** One line per setting that differs between the build and {@code environment}. */
+    static List<String> mismatches(Properties built, Environment environment) {
+        List<String> mismatches = new ArrayList<>();
+        Properties running = capture(environment);
+        for (String name : running.stringPropertyNames()) {
+            String builtValue = built.getProperty(name, name.equals(PROFILES) ? "" : FLAGS.get(name));
+            if (!builtValue.equals(running.getProperty(name))) {
+                mismatches.add(name + ": built with '" + builtValue + "', starting with '" + running.getProperty(name) + "'");
+            }
+        }
+        mismatches.sort(null);
+        return mismatches;
+    }
+
+    private static String profiles(String[] active) {
+        return String.join(",", new TreeSet<>(Arrays.asList(active)));
+    }
+
+    /** Writes the build's settings as a resource of the generated code. */
+    public static class Recorder implements BeanFactoryInitializationAotProcessor {
+        @Override
+        public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+            Properties settings = capture(beanFactory.getBean(Environment.class));
+            return (generationContext, code) -> {
+                StringWriter content = new StringWriter();
+                try {
+                    settings.store(content, "Settings the Spring AOT code was generated with (see AotBuildSettings)");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                generationContext.getGeneratedFiles().addResourceFile(RESOURCE, content.toString());
+            };
+        }
+    }
+
+    /** Refuses to start generated code under settings the build did not see. */
+    public static class Check implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            if (!AotDetector.useGeneratedArtifacts()) {
+                return;
+            }
+            Properties built = new Properties();
+            try (InputStream in = context.getClassLoader().getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    return;
+                }
+                built.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            List<String> mismatches = mismatches(built, context.getEnvironment());
+            if (!mismatches.isEmpty()) {
+                throw new IllegalStateException("Spring AOT code was generated for other settings; rebuild with "
+                        + "-Dspring-boot.aot.jvmArguments set to this deployment's profiles and flags, "
+                        + "or start with the build's:\n  " + String.join("\n  ", mismatches));
+            }
+        }
+    }
+}
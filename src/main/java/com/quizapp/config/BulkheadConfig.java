@@ -0,0 +1,90 @@
+package com.quizapp.config;
+
+import com.quizapp.util.BackgroundWork;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerCustomizer;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Splits the application {@code dataSource} into an interactive pool (the configured Hikari
+ * pool) and a background pool of {@code app.datasource.bulkhead.background-pool-size}
+ * connections, see {@link BulkheadDataSource}. Every {@code @Scheduled} job runs as
+ * {@link BackgroundWork}.
+ *
+ * This wraps the Hikari pool itself, before the replica routing and the admission gate are
+ * layered on top.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+public class BulkheadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(
+            @Value("${app.datasource.bulkhead.background-pool-size:3}") int backgroundPoolSize) {
+        return new BulkheadPostProcessor(backgroundPoolSize);
+    }
+
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer backgroundSchedulerThreads() {
+        return scheduler -> scheduler.setThreadFactory(runnable -> scheduler.newThread(BackgroundWork.wrap(runnable)));
+    }
+
+    @Bean
+    public SimpleAsyncTaskSchedulerCustomizer backgroundSchedulerTasks() {
+        return scheduler -> scheduler.setTaskDecorator(BackgroundWork::wrap);
+    }
+
+    private static final class BulkheadPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+        private final int backgroundPoolSize;
+        private BulkheadDataSource bulkhead;
+
+        BulkheadPostProcessor(int backgroundPoolSize) {
+            this.backgroundPoolSize = backgroundPoolSize;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!"dataSource".equals(beanName)) {
+                return bean;
+            }
+            if (!(bean instanceof HikariDataSource interactive)) {
+                logger.warn("Connection bulkhead needs a Hikari dataSource, found {}; background work shares the pool",
+                        bean.getClass().getName());
+                return bean;
+            }
+            HikariConfig config = new HikariConfig();
+            interactive.copyStateTo(config);
+            config.setPoolName("background");
+            config.setMaximumPoolSize(backgroundPoolSize);
+            config.setMinimumIdle(Math.min(1, backgroundPoolSize));
+            logger.info("Connection bulkhead: {} interactive, {} background connections",
+                    interactive.getMaximumPoolSize(), backgroundPoolSize);
+            bulkhead = new BulkheadDataSource(interactive, new HikariDataSource(config));
+            return bulkhead;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            if (bulkhead != null) {
+                bulkhead.close();
+            }
+        }
+    }
+}
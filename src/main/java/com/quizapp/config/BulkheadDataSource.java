@@ -0,0 +1,67 @@
+package com.quizapp.config;
+
+import com.quizapp.util.BackgroundWork;
+import com.quizapp.util.QuizMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Two connection pools on the same database: one for interactive requests and one for
+ * {@link BackgroundWork}. A sweep or import can exhaust only its own pool, so exam
+ * submissions never queue behind it. Time spent waiting for a connection is recorded per pool.
+ */
+public class BulkheadDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadDataSource.class);
+
+    private final DataSource interactive;
+    private final DataSource background;
+
+    public BulkheadDataSource(DataSource interactive, DataSource background) {
+        this.interactive = interactive;
+        this.background = background;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        boolean isBackground = BackgroundWork.isActive();
+        long started = System.nanoTime();
+        try {
+            return (isBackground ? background : interactive).getConnection();
+        } finally {
+            QuizMetrics.recordNanos(QuizMetrics.DB_POOL_WAIT, System.nanoTime() - started,
+                    "pool", isBackground ? "background" : "interactive");
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (BackgroundWork.isActive() ? background : interactive).getConnection(username, password);
+    }
+
+    /** Pool metrics and health checks look through to the interactive pool. */
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : interactive.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || interactive.isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() {
+        if (background instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close background pool: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.quizapp.config;
+
+import com.quizapp.jobs.AdvisoryLockLeaderElection;
+import com.quizapp.jobs.JobRunHistory;
+import com.quizapp.jobs.LocalLeaderElection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.DriverManager;
+
+/**
+ * Cluster-wide scheduled jobs (see {@code com.quizapp.jobs.ScheduledJobs}). The leader election
+ * is chosen by {@code app.jobs.election}: {@code postgres} (advisory locks on the application
+ * database) or {@code local} (single node, tests, H2).
+ */
+@Configuration
+public class ClusterJobConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.jobs.election", havingValue = "postgres", matchIfMissing = true)
+    public AdvisoryLockLeaderElection advisoryLockLeaderElection(DataSourceProperties dataSourceProperties) {
+        // Leadership lasts as long as this session, so it is not taken from the pool
+        String url = dataSourceProperties.determineUrl();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        return new AdvisoryLockLeaderElection(() -> DriverManager.getConnection(url, username, password), nodeName());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.jobs.election", havingValue = "local")
+    public LocalLeaderElection localLeaderElection() {
+        return new LocalLeaderElection(nodeName());
+    }
+
+    @Bean
+    public JobRunHistory jobRunHistory(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.jobs.history.initialize-schema:true}") boolean initializeSchema) {
+        JobRunHistory history = new JobRunHistory(jdbcTemplate);
+        if (initializeSchema) {
+            history.initializeSchema();
+        }
+        return history;
+    }
+
+    private static String nodeName() {
+        // "pid@hostname"
+        return ManagementFactory.getRuntimeMXBean().getName();
+    }
+}
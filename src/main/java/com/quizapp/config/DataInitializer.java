@@ -1,6 +1,9 @@
 // File: src/main/java/com/quizapp/config/DataInitializer.java
 package com.quizapp.config;
 
+import com.quizapp.cache.EntityChange;
+import com.quizapp.cache.InvalidationBus;
+import com.quizapp.db.SeedHistory;
 import com.quizapp.entity.*;
 import com.quizapp.repository.QuizRepository;
 import com.quizapp.repository.UserRepository;
@@ -10,8 +13,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.context.annotation.Profile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.zip.CRC32;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -22,6 +28,15 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private QuizRepository quizRepository;
 
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    // Present with schema migrations on; lets a boot skip seeding that already completed
+    @Autowired(required = false)
+    private SeedHistory seedHistory;
+
+    private static final String SEED_NAME = "DataInitializer";
+
 
     /**
      * Creates all 4 quizzes with 30 questions each if they don't exist
@@ -141,7 +156,8 @@ public class DataInitializer implements CommandLineRunner {
                 Arrays.asList("Java Web Token", "JSON Web Token", "JavaScript Web Token", "Java Web Tool"), 1, DifficultyLevel.MEDIUM, quiz));
 
         quiz.setQuestions(questions);
-        quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        invalidationBus.publish(EntityChange.quiz(saved.getId()));
         System.out.println("✓ Created 'Full Stack Development' quiz with " + questions.size() + " questions");
     }
 
@@ -254,7 +270,8 @@ public class DataInitializer implements CommandLineRunner {
                 Arrays.asList("NullPointerException", "ArithmeticException", "ArrayIndexOutOfBounds", "NumberFormatException"), 1, DifficultyLevel.EASY, quiz));
 
         quiz.setQuestions(questions);
-        quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        invalidationBus.publish(EntityChange.quiz(saved.getId()));
         System.out.println("✓ Created 'Java Programming' quiz with " + questions.size() + " questions");
     }
 
@@ -366,7 +383,8 @@ public class DataInitializer implements CommandLineRunner {
                 Arrays.asList("display", "position", "float", "layout"), 1, DifficultyLevel.MEDIUM, quiz));
 
         quiz.setQuestions(questions);
-        quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        invalidationBus.publish(EntityChange.quiz(saved.getId()));
         System.out.println("✓ Created 'Web Development Basics' quiz with " + questions.size() + " questions");
     }
 
@@ -482,7 +500,8 @@ public class DataInitializer implements CommandLineRunner {
                 Arrays.asList("Determines physical order of data", "Improves query speed", "Creates relationships", "Ensures uniqueness"), 0, DifficultyLevel.HARD, quiz));
 
         quiz.setQuestions(questions);
-        quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        invalidationBus.publish(EntityChange.quiz(saved.getId()));
         System.out.println("✓ Created 'Database Fundamentals' quiz with " + questions.size() + " questions");
     }
 
@@ -503,6 +522,13 @@ public class DataInitializer implements CommandLineRunner {
     @Override
     @Transactional
     public void run(String... args) throws Exception {
+        // The seed data is this class, so its bytecode checksum changes whenever the seed does
+        long checksum = seedChecksum();
+        if (seedHistory != null && checksum != 0 && seedHistory.isApplied(SEED_NAME, checksum)) {
+            System.out.println("✅ Seed data unchanged since last run; skipping quiz initialization");
+            return;
+        }
+
         System.out.println("\n🚀 =========================================");
         System.out.println("🚀 STARTING QUIZ INITIALIZATION");
         System.out.println("🚀 =========================================");
@@ -548,6 +574,11 @@ public class DataInitializer implements CommandLineRunner {
             }
         }
 
+        // Only a run that left the quizzes in place counts; before any user registers there is nothing to seed yet
+        if (seedHistory != null && checksum != 0 && quizRepository.count() > 0) {
+            seedHistory.record(SEED_NAME, checksum);
+        }
+
         System.out.println("\n🎉 =========================================");
         System.out.println("🎉 APPLICATION READY!");
         System.out.println("🎉 =========================================");
@@ -557,6 +588,19 @@ public class DataInitializer implements CommandLineRunner {
         System.out.println("==========================================\n");
     }
 
+    private static long seedChecksum() {
+        try (InputStream in = DataInitializer.class.getResourceAsStream("DataInitializer.class")) {
+            if (in == null) {
+                return 0;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(in.readAllBytes());
+            return crc.getValue();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
     private void createQuizzesIfNotExist(User admin) {
         long quizCount = quizRepository.count();
         System.out.println("\n📚 Current quiz count in database: " + quizCount);
@@ -7,13 +7,16 @@ import com.quizapp.service.QuizAttemptService;
 import com.quizapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
+// Sends real mail on every boot; the fast-start profile turns it off
 @Component
+@ConditionalOnProperty(name = "app.startup.email-check", havingValue = "true", matchIfMissing = true)
 @Transactional
 public class EmailDiagnosticTest implements CommandLineRunner {
 
@@ -2,11 +2,14 @@ package com.quizapp.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
+// Sends real mail on every boot; the fast-start profile turns it off
 @Component
+@ConditionalOnProperty(name = "app.startup.email-check", havingValue = "true", matchIfMissing = true)
 public class EmailTest implements CommandLineRunner {
 
     @Autowired
@@ -0,0 +1,42 @@
+package com.quizapp.config;
+
+import com.quizapp.cache.InProcessInvalidationBus;
+import com.quizapp.cache.PostgresInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DriverManager;
+
+/**
+ * Cross-node cache invalidation, chosen by {@code app.invalidation.bus}: {@code postgres}
+ * (LISTEN/NOTIFY on the application database) or {@code in-process} (single node, tests, H2).
+ */
+@Configuration
+public class InvalidationBusConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.invalidation.bus", havingValue = "postgres", matchIfMissing = true)
+    public PostgresInvalidationBus postgresInvalidationBus(ApplicationEventPublisher events,
+                                                           JdbcTemplate jdbcTemplate,
+                                                           DataSourceProperties dataSourceProperties,
+                                                           @Value("${app.invalidation.channel:quiz_invalidation}") String channel,
+                                                           @Value("${app.invalidation.poll-ms:500}") int pollMillis) {
+        // The listener keeps its connection for the life of the node, so it is not taken from the pool
+        String url = dataSourceProperties.determineUrl();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        return new PostgresInvalidationBus(events, jdbcTemplate,
+                () -> DriverManager.getConnection(url, username, password), channel, pollMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.invalidation.bus", havingValue = "in-process")
+    public InProcessInvalidationBus inProcessInvalidationBus(ApplicationEventPublisher events) {
+        return new InProcessInvalidationBus(events);
+    }
+}
@@ -0,0 +1,43 @@
+package com.quizapp.config;
+
+import com.quizapp.db.SchemaMigrator;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+import java.util.Set;
+
+/**
+ * Beans that stay eager when {@code spring.main.lazy-initialization} is on (the fast-start
+ * profile). Everything else is created on first use.
+ *
+ * Beans with {@code @Scheduled} methods are only scheduled once they exist, so they must start
+ * with the context. The schema migrator and the JPA EntityManagerFactory are kept too, so that
+ * the schema and the Hibernate metamodel are ready before the first request instead of
+ * being built while it waits.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (SchemaMigrator.class.isAssignableFrom(beanType)
+                || EntityManagerFactory.class.isAssignableFrom(beanType)
+                || hasScheduledMethods(beanType));
+    }
+
+    // Same lookup as ScheduledAnnotationBeanPostProcessor
+    static boolean hasScheduledMethods(Class<?> type) {
+        return !MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Set<Scheduled>>) method -> {
+            Set<Scheduled> scheduled = AnnotatedElementUtils.getMergedRepeatableAnnotations(
+                    method, Scheduled.class, Schedules.class);
+            return scheduled.isEmpty() ? null : scheduled;
+        }).isEmpty();
+    }
+}
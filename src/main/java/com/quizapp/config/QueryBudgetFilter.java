@@ -0,0 +1,106 @@
+package com.quizapp.config;
+
+import com.quizapp.util.QueryCounter;
+import com.quizapp.util.QuizMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements each request runs and flags endpoints that exceed their budget,
+ * which is how N+1 loops show up in production. Overrides are Ant patterns matched against
+ * the handler pattern, e.g. {@code app.query-budget.overrides=/dashboard=40,/admin/**=80};
+ * the first matching entry wins.
+ *
+ * Runs ahead of the security chain so user lookups during authentication are included, and
+ * just inside {@link RequestCorrelationFilter} so budget warnings carry the request id.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final boolean enabled;
+    private final int defaultBudget;
+    private final Map<String, Integer> overrides;
+    private final Map<String, Integer> resolved = new ConcurrentHashMap<>();
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public QueryBudgetFilter(@Value("${app.query-budget.enabled:true}") boolean enabled,
+                             @Value("${app.query-budget.max-statements:30}") int defaultBudget,
+                             @Value("${app.query-budget.overrides:}") String overrides) {
+        this.enabled = enabled;
+        this.defaultBudget = defaultBudget;
+        this.overrides = parseOverrides(overrides);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        QueryCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = QueryCounter.count();
+            String endpoint = endpoint(request);
+            QuizMetrics.recordAmount(QuizMetrics.SQL_STATEMENTS, statements, "uri", endpoint);
+
+            int budget = budgetFor(endpoint);
+            if (statements > budget) {
+                logger.warn("Query budget exceeded: {} {} ran {} SQL statements (budget {})",
+                        request.getMethod(), endpoint, statements, budget);
+            }
+            QueryCounter.clear();
+        }
+    }
+
+    int budgetFor(String endpoint) {
+        return resolved.computeIfAbsent(endpoint, key -> {
+            for (Map.Entry<String, Integer> entry : overrides.entrySet()) {
+                if (matcher.match(entry.getKey(), key)) {
+                    return entry.getValue();
+                }
+            }
+            return defaultBudget;
+        });
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMAPPED";
+    }
+
+    private static Map<String, Integer> parseOverrides(String value) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (value == null || value.isBlank()) {
+            return result;
+        }
+        for (String entry : value.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq > 0) {
+                result.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.quizapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Puts a read replica behind the application {@code dataSource}: read-only transactions are
+ * served by a separate Hikari pool on {@code app.datasource.replica.url}, see
+ * {@link ReplicaRoutingDataSource} for when reads stay on the primary.
+ *
+ * This runs before the admission gate of {@link VirtualThreadConfig}, so when both are on the
+ * gate covers the two pools together.
+ *
+ * Open-in-view keeps one EntityManager for the whole request, and Spring's default connection
+ * handling holds its connection until the request ends: the first transaction's pick (often a
+ * read on the replica) would serve every later write. With routing on, the connection goes back
+ * after each transaction and the next one is routed afresh.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    static final String CONNECTION_HANDLING = "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION";
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING, CONNECTION_HANDLING);
+    }
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.pool-size:10}") int poolSize,
+            @Value("${app.datasource.replica.lag-query}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.replica.stickiness:10s}") Duration stickiness,
+            @Value("${app.datasource.replica.lag-check-interval:1s}") Duration checkInterval) {
+        return new RoutingPostProcessor(primary -> {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Start even if the replica is down; reads stay on the primary until it answers
+            replica.setInitializationFailTimeout(-1);
+            logger.info("Routing read-only transactions to replica pool of {} (max lag {}, stickiness {})",
+                    poolSize, maxLag, stickiness);
+            return new ReplicaRoutingDataSource(primary, replica, lagQuery, maxLag, stickiness, checkInterval);
+        });
+    }
+
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+        private final Function<DataSource, ReplicaRoutingDataSource> factory;
+        private ReplicaRoutingDataSource routing;
+
+        RoutingPostProcessor(Function<DataSource, ReplicaRoutingDataSource> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            routing = factory.apply(primary);
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+
+        @Override
+        public int getOrder() {
+            // After BulkheadConfig, so the split primary is what gets routed to
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+
+        @Override
+        public void destroy() {
+            if (routing != null) {
+                routing.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.quizapp.config;
+
+import com.quizapp.util.QuizMetrics;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary.
+ *
+ * The decision is made when the connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for its connection before the read-only flag is set, and only the lazy proxy
+ * defers the real fetch until the first statement.
+ *
+ * Reads fall back to the primary when:
+ * <ul>
+ *   <li>the last lag check found the replica more than {@code maxLag} behind, or could not
+ *       reach it (checked every {@code checkInterval} on a background thread);</li>
+ *   <li>opening a replica connection fails, which also marks the replica unusable until the
+ *       next good check;</li>
+ *   <li>the client wrote through the primary within the last {@code stickiness}
+ *       (read-your-writes). A read-write transaction committed during an HTTP request sets a
+ *       short-lived cookie holding the deadline, so the client's next requests read from the
+ *       primary on whichever node serves them, e.g. a fresh registration can log straight in.</li>
+ * </ul>
+ *
+ * Statements outside any transaction, such as session loads or repository queries under
+ * open-in-view, go to the primary but do not make the client sticky.
+ *
+ * Under open-in-view the EntityManager must hand its connection back after each transaction
+ * (see {@link ReplicaRoutingConfig}); if it holds one for the whole request, a write after a
+ * read goes to the replica.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String STICKY_COOKIE = "QUIZ_PRIMARY_UNTIL";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long stickinessMillis;
+    // Wall clock: the deadline travels between nodes in the cookie
+    private final LongSupplier clockMillis;
+    private final ScheduledExecutorService lagChecker;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, Duration maxLag,
+                                    Duration stickiness, Duration checkInterval) {
+        this(primary, replica, lagQuery, maxLag, stickiness, System::currentTimeMillis);
+        lagChecker.scheduleWithFixedDelay(this::checkReplica, 0L, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, Duration maxLag,
+                             Duration stickiness, LongSupplier clockMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.stickinessMillis = stickiness.toMillis();
+        this.clockMillis = clockMillis;
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routeToReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaUsable = false;
+                logger.atWarn().setCause(e).log("Replica connection failed, reading from primary until the next lag check");
+                QuizMetrics.increment(QuizMetrics.DB_ROUTE, 1, "target", "primary", "reason", "replica-error");
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /** Pool metrics and health checks look through to the primary pool. */
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * Measures replica lag with {@code lagQuery}, which returns the lag in seconds.
+     */
+    void checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            double lagSeconds = rs.next() ? rs.getDouble(1) : Double.MAX_VALUE;
+            boolean usable = lagSeconds <= maxLagSeconds;
+            if (usable != replicaUsable) {
+                logger.atInfo().addKeyValue("lagSeconds", lagSeconds).addKeyValue("usable", usable)
+                        .log(usable ? "Routing reads to replica" : "Replica lagging, routing reads to primary");
+            }
+            replicaUsable = usable;
+            QuizMetrics.recordAmount(QuizMetrics.DB_REPLICA_LAG, lagSeconds);
+        } catch (SQLException | RuntimeException e) {
+            if (replicaUsable) {
+                logger.atWarn().setCause(e).log("Replica unreachable, routing reads to primary");
+            }
+            replicaUsable = false;
+        }
+    }
+
+    boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        if (replica instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close replica pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean routeToReplica() {
+        ServletRequestAttributes attributes = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes a
+                ? a : null;
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            QuizMetrics.increment(QuizMetrics.DB_ROUTE, 1, "target", "primary", "reason", "no-transaction");
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (attributes != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Only a committed write makes the client sticky; a rollback left nothing to read back
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        markWritten(attributes.getRequest(), attributes.getResponse());
+                    }
+                });
+            }
+            return false;
+        }
+        if (!replicaUsable) {
+            QuizMetrics.increment(QuizMetrics.DB_ROUTE, 1, "target", "primary", "reason", "lag");
+            return false;
+        }
+        if (attributes != null && clockMillis.getAsLong() < primaryUntil(attributes.getRequest())) {
+            QuizMetrics.increment(QuizMetrics.DB_ROUTE, 1, "target", "primary", "reason", "read-your-writes");
+            return false;
+        }
+        QuizMetrics.increment(QuizMetrics.DB_ROUTE, 1, "target", "replica", "reason", "read-only");
+        return true;
+    }
+
+    private void markWritten(HttpServletRequest request, HttpServletResponse response) {
+        long until = clockMillis.getAsLong() + stickinessMillis;
+        // The rest of this request sees the write at once; the cookie covers the following ones
+        request.setAttribute(STICKY_COOKIE, until);
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(STICKY_COOKIE, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1L, (stickinessMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        if (request.getAttribute(STICKY_COOKIE) instanceof Long until) {
+            return until;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (STICKY_COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                }
+            }
+        }
+        return 0L;
+    }
+}
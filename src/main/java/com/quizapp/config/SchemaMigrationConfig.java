@@ -0,0 +1,57 @@
+package com.quizapp.config;
+
+import com.quizapp.db.SchemaMigrator;
+import com.quizapp.db.SeedHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.AbstractDependsOnBeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Versioned schema migrations (classpath {@code db/migration}) in place of Hibernate's
+ * {@code ddl-auto=update}, switched on by {@code app.schema.migrations.enabled} (the fast-start
+ * profile). They run once while the context starts, before JPA or any JdbcTemplate user
+ * touches the database; a boot with nothing pending costs one query.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.schema.migrations.enabled", havingValue = "true")
+public class SchemaMigrationConfig {
+
+    @Bean
+    public SchemaMigrator schemaMigrator(DataSource dataSource,
+                                         @Value("${app.schema.migrations.location:classpath*:db/migration/*.sql}") String location,
+                                         @Value("${app.schema.migrations.baseline-version:1}") int baselineVersion,
+                                         @Value("${app.schema.migrations.baseline-table:users}") String baselineTable) {
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, location, baselineVersion, baselineTable);
+        migrator.migrate();
+        return migrator;
+    }
+
+    @Bean
+    public SeedHistory seedHistory(JdbcTemplate jdbcTemplate) {
+        return new SeedHistory(jdbcTemplate);
+    }
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaMigrator() {
+        return new EntityManagerFactoryDependsOnPostProcessor("schemaMigrator");
+    }
+
+    @Bean
+    static JdbcOperationsDependsOnSchemaMigrator jdbcOperationsDependsOnSchemaMigrator() {
+        return new JdbcOperationsDependsOnSchemaMigrator();
+    }
+
+    // Session store, job history and the other JdbcTemplate users must see the migrated schema
+    static class JdbcOperationsDependsOnSchemaMigrator extends AbstractDependsOnBeanFactoryPostProcessor {
+        JdbcOperationsDependsOnSchemaMigrator() {
+            super(JdbcOperations.class, "schemaMigrator");
+        }
+    }
+}
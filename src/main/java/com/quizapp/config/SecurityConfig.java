@@ -1,7 +1,13 @@
 package com.quizapp.config;
 
+import com.quizapp.security.BoundedPasswordEncoder;
 import com.quizapp.security.JwtAuthenticationEntryPoint;
 import com.quizapp.security.JwtRequestFilter;
+import com.quizapp.security.LoginThrottleFilter;
+import com.quizapp.security.PasswordHashingAdmissionFilter;
+import com.quizapp.security.PasswordHashingExecutor;
+import com.quizapp.security.RateLimitFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,12 +19,13 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.logout.LogoutSuccessHandler;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -32,12 +39,24 @@ public class SecurityConfig {
 
     private final JwtRequestFilter jwtRequestFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final LoginThrottleFilter loginThrottleFilter;
+    private final PasswordHashingAdmissionFilter passwordHashingAdmissionFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ObjectProvider<SessionRegistry> sessionRegistry;
 
     @Autowired
     public SecurityConfig(JwtRequestFilter jwtRequestFilter,
-                          JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint) {
+                          JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
+                          LoginThrottleFilter loginThrottleFilter,
+                          PasswordHashingAdmissionFilter passwordHashingAdmissionFilter,
+                          RateLimitFilter rateLimitFilter,
+                          ObjectProvider<SessionRegistry> sessionRegistry) {
         this.jwtRequestFilter = jwtRequestFilter;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
+        this.loginThrottleFilter = loginThrottleFilter;
+        this.passwordHashingAdmissionFilter = passwordHashingAdmissionFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.sessionRegistry = sessionRegistry;
     }
 
     // Session timeout configuration (30 minutes)
@@ -45,8 +64,9 @@ public class SecurityConfig {
     private static final int MAX_SESSIONS_PER_USER = 3;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        // BCrypt runs on its own bounded pool, off the request threads
+        return new BoundedPasswordEncoder(passwordHashingExecutor);
     }
 
     @Bean
@@ -95,8 +115,10 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**").permitAll()
                         .requestMatchers("/error", "/favicon.ico").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
 
-                        // Admin only endpoints
+                        // Admin only endpoints; metrics scrapers authenticate as an admin (JWT bearer token)
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/quiz/create", "/quiz/edit/**", "/quiz/delete/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -125,15 +147,27 @@ public class SecurityConfig {
                         .clearAuthentication(true)
                         .permitAll()
                 )
+                // Login always lands on /dashboard, so anonymous hits need no session for a saved request
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
                 // Session management configuration
-                .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
-                        .sessionFixation().migrateSession()
-                        .maximumSessions(MAX_SESSIONS_PER_USER)
-                        .maxSessionsPreventsLogin(false)
-                        .expiredUrl("/login?expired=true")
-                )
-                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+                .sessionManagement(session -> {
+                    var concurrency = session
+                            .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                            .sessionFixation().migrateSession()
+                            .maximumSessions(MAX_SESSIONS_PER_USER)
+                            .maxSessionsPreventsLogin(false)
+                            .expiredUrl("/login?expired=true");
+                    // Shared session store: count sessions across all instances (SessionStoreConfig)
+                    SessionRegistry registry = sessionRegistry.getIfAvailable();
+                    if (registry != null) {
+                        concurrency.sessionRegistry(registry);
+                    }
+                })
+                .addFilterBefore(loginThrottleFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(passwordHashingAdmissionFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+                // After authentication so the buckets can be keyed by principal as well as address
+                .addFilterAfter(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
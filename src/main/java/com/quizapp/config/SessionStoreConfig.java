@@ -0,0 +1,58 @@
+package com.quizapp.config;
+
+import com.quizapp.session.CompactSessionRepository;
+import com.quizapp.session.InMemorySessionRepository;
+import com.quizapp.session.JdbcSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Duration;
+
+/**
+ * Where HTTP sessions live, chosen by {@code app.session.store}:
+ * {@code jdbc} (shared table, any number of instances), {@code memory} (tests, single node)
+ * or {@code servlet} (the container's own sessions, as before).
+ *
+ * With a shared store the concurrent-session limit in {@link SecurityConfig} counts sessions
+ * across all instances through the principal-name index, instead of per node.
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnExpression("'${app.session.store:jdbc}' != 'servlet'")
+public class SessionStoreConfig {
+
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration sessionTimeout;
+
+    @Bean(destroyMethod = "flush")
+    @ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc", matchIfMissing = true)
+    public JdbcSessionRepository jdbcSessionRepository(JdbcTemplate jdbcTemplate,
+                                                       @Value("${app.session.jdbc.initialize-schema:true}") boolean initializeSchema,
+                                                       @Value("${app.session.near-cache-ttl:250ms}") Duration nearCacheTtl,
+                                                       @Value("${app.session.near-cache-max-entries:10000}") int nearCacheMaxEntries) {
+        JdbcSessionRepository repository = new JdbcSessionRepository(jdbcTemplate, sessionTimeout,
+                nearCacheTtl, nearCacheMaxEntries);
+        if (initializeSchema) {
+            repository.initializeSchema();
+        }
+        return repository;
+    }
+
+    @Bean(destroyMethod = "flush")
+    @ConditionalOnProperty(name = "app.session.store", havingValue = "memory")
+    public InMemorySessionRepository inMemorySessionRepository() {
+        return new InMemorySessionRepository(sessionTimeout);
+    }
+
+    @Bean
+    public SessionRegistry sessionRegistry(CompactSessionRepository sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+}
@@ -0,0 +1,68 @@
+package com.quizapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Guardrails for {@code spring.threads.virtual.enabled=true}. The switch itself is handled by
+ * Spring Boot on a Java 21+ runtime: Tomcat request handling, {@code @Scheduled} jobs and the
+ * {@code @Async} executor move to virtual threads, and with them the SMTP sends and CSV imports
+ * that run inside those calls. On Java 17 the property has no effect.
+ *
+ * What Boot does not do is cap how many of those threads reach the database at once, so the
+ * application {@code dataSource} is wrapped in an {@link AdmissionControlledDataSource} sized to
+ * the Hikari pool. The gate goes on last, after {@link BulkheadConfig} and
+ * {@link ReplicaRoutingConfig}, and background work passes it untouched: only interactive callers
+ * queue for permits, and the background pool keeps its own limit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.admission.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor dataSourceAdmissionPostProcessor(
+            @Value("${app.datasource.admission.permits:10}") int permits,
+            @Value("${app.datasource.admission.max-waiting:1000}") int maxWaiting,
+            @Value("${app.datasource.admission.timeout-ms:30000}") long timeoutMillis) {
+        return new AdmissionPostProcessor(permits, maxWaiting, timeoutMillis);
+    }
+
+    private static final class AdmissionPostProcessor implements BeanPostProcessor, Ordered {
+        private final int permits;
+        private final int maxWaiting;
+        private final long timeoutMillis;
+
+        AdmissionPostProcessor(int permits, int maxWaiting, long timeoutMillis) {
+            this.permits = permits;
+            this.maxWaiting = maxWaiting;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource target)
+                    || bean instanceof AdmissionControlledDataSource) {
+                return bean;
+            }
+            logger.info("Database admission control on '{}': {} permits, {} max waiting, {} ms timeout",
+                    beanName, permits, maxWaiting, timeoutMillis);
+            return new AdmissionControlledDataSource(target, permits, maxWaiting, timeoutMillis);
+        }
+
+        @Override
+        public int getOrder() {
+            // After BulkheadConfig and ReplicaRoutingConfig
+            return Ordered.HIGHEST_PRECEDENCE + 2;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 // File: src/main/java/com/quizapp/controller/AttemptController.java
 package com.quizapp.controller;
 
+import com.quizapp.entity.Question;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.QuizAttempt;
 import com.quizapp.entity.User;
+import com.quizapp.service.QuestionService;
 import com.quizapp.service.QuizAttemptService;
 import com.quizapp.service.QuizService;
 import com.quizapp.service.UserService;
+import com.quizapp.util.AttemptShuffler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,13 +19,17 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @Controller
 @RequestMapping("/attempt")
 public class AttemptController {
+    private static final Logger logger = LoggerFactory.getLogger(AttemptController.class);
 
     @Autowired
     private QuizAttemptService quizAttemptService;
@@ -31,13 +40,14 @@ public class AttemptController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private QuestionService questionService;
+
     @GetMapping("/start/{quizId}")
     public String startQuizAttempt(@PathVariable Long quizId,
                                    @AuthenticationPrincipal UserDetails userDetails,
                                    Model model) {
         try {
-            System.out.println("Starting quiz attempt for quiz ID: " + quizId);
-
             User user = userService.findByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -48,19 +58,15 @@ public class AttemptController {
             }
 
             Quiz quiz = quizOpt.get();
-            System.out.println("Found quiz: " + quiz.getTitle() + " with " +
-                    (quiz.getQuestions() != null ? quiz.getQuestions().size() : 0) + " questions");
 
             // Check if user already has an active attempt for this quiz
             QuizAttempt attempt = quizAttemptService.startQuizAttempt(user, quiz);
 
-            System.out.println("Started quiz attempt: " + attempt.getId() + " for user: " + user.getUsername());
-
             // Directly redirect to take quiz page with attempt ID
             return "redirect:/attempt/take/" + attempt.getId();
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to start quiz {}", quizId, e);
             model.addAttribute("error", "Error starting quiz: " + e.getMessage());
             return "redirect:/quiz/list";
         }
@@ -72,8 +78,6 @@ public class AttemptController {
                            @AuthenticationPrincipal UserDetails userDetails,
                            Model model) {
         try {
-            System.out.println("Loading quiz take page for attempt ID: " + attemptId);
-
             User user = userService.findByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -88,28 +92,51 @@ public class AttemptController {
 
             Quiz quiz = attempt.getQuiz();
 
-            // Initialize questions to avoid LazyInitializationException
-            if (quiz.getQuestions() != null) {
-                quiz.getQuestions().size(); // Force initialization
-                System.out.println("Quiz has " + quiz.getQuestions().size() + " questions");
+            // Adaptive attempts show only the question currently served; each answer picks the next
+            List<Question> questions;
+            if (attempt.isAdaptive()) {
+                if (attempt.getCompletedAt() != null || attempt.getCurrentQuestionId() == null) {
+                    return "redirect:/attempt/results/" + attemptId;
+                }
+                Question current = questionService.getQuestionById(attempt.getCurrentQuestionId())
+                        .orElseThrow(() -> new RuntimeException("Question not found"));
+                questions = List.of(current);
+                model.addAttribute("adaptive", true);
+                model.addAttribute("questionNumber", attempt.getAnswers().size() + 1);
+                if (attempt.getExpiresAt() != null) {
+                    model.addAttribute("remainingSeconds",
+                            Math.max(0L, Duration.between(LocalDateTime.now(), attempt.getExpiresAt()).getSeconds()));
+                }
+            } else {
+                // Initialize questions to avoid LazyInitializationException
+                if (quiz.getQuestions() != null) {
+                    quiz.getQuestions().size(); // Force initialization
+
+                    // Initialize options for each question
+                    quiz.getQuestions().forEach(question -> {
+                        if (question.getOptions() != null) {
+                            question.getOptions().size(); // Force initialization
+                        }
+                    });
+                }
 
-                // Initialize options for each question
-                quiz.getQuestions().forEach(question -> {
-                    if (question.getOptions() != null) {
-                        question.getOptions().size(); // Force initialization
-                    }
-                });
+                // Per-attempt order derived from the stored seed; radio values are displayed indexes
+                questions = AttemptShuffler.orderedQuestions(attempt);
+            }
+            Map<Long, List<String>> displayedOptions = new HashMap<>();
+            for (Question question : questions) {
+                displayedOptions.put(question.getId(), AttemptShuffler.displayedOptions(attempt, question));
             }
 
             model.addAttribute("attempt", attempt);
             model.addAttribute("quiz", quiz);
+            model.addAttribute("questions", questions);
+            model.addAttribute("displayedOptions", displayedOptions);
             model.addAttribute("user", user);
-
-            System.out.println("Successfully loaded quiz take page for: " + quiz.getTitle());
             return "quiz/take";
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to load attempt {}", attemptId, e);
             model.addAttribute("error", "Error loading quiz: " + e.getMessage());
             return "redirect:/dashboard";
         }
@@ -122,10 +149,6 @@ public class AttemptController {
                                     @AuthenticationPrincipal UserDetails userDetails,
                                     Model model) {
         try {
-            System.out.println("=== QUIZ SUBMISSION STARTED ===");
-            System.out.println("Attempt ID: " + attemptId);
-            System.out.println("Quiz ID: " + quizId);
-
             User user = userService.findByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -138,33 +161,48 @@ public class AttemptController {
                         Long questionId = Long.parseLong(key);
                         Integer selectedOption = Integer.parseInt(entry.getValue());
                         answers.put(questionId, selectedOption);
-                        System.out.println("Answer for question " + questionId + ": " + selectedOption);
                     } catch (NumberFormatException e) {
-                        System.out.println("Invalid answer format: " + entry.getKey() + "=" + entry.getValue());
+                        logger.debug("Ignoring malformed answer {}={} for attempt {}", entry.getKey(), entry.getValue(), attemptId);
                     }
                 }
             }
 
-            System.out.println("Total answers collected: " + answers.size());
-
-            // Submit the quiz attempt
-            QuizAttempt submittedAttempt = quizAttemptService.submitQuiz(attemptId, answers);
+            QuizAttempt attempt = quizAttemptService.getAttemptById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Attempt not found"));
+            if (!attempt.getUser().getId().equals(user.getId())) {
+                model.addAttribute("error", "Access denied");
+                return "redirect:/dashboard";
+            }
+            if (attempt.getCompletedAt() != null) {
+                // A repeated post, e.g. a double click or the back button: keep the first grading
+                return "redirect:/attempt/results/" + attemptId;
+            }
 
-            System.out.println("Quiz submitted successfully! Score: " + submittedAttempt.getScore());
+            QuizAttempt submittedAttempt;
+            Integer adaptiveAnswer = attempt.isAdaptive() ? answers.get(attempt.getCurrentQuestionId()) : null;
+            if (adaptiveAnswer != null) {
+                // One adaptive question per post: record it, then show the next one until the attempt ends
+                submittedAttempt = quizAttemptService.answerAdaptive(attemptId, attempt.getCurrentQuestionId(), adaptiveAnswer);
+                if (submittedAttempt.getCompletedAt() == null) {
+                    return "redirect:/attempt/take/" + attemptId;
+                }
+            } else {
+                // Submit the quiz attempt
+                submittedAttempt = quizAttemptService.submitQuiz(attemptId, answers);
+            }
 
             // Add results to model
             model.addAttribute("attempt", submittedAttempt);
             model.addAttribute("quiz", submittedAttempt.getQuiz());
             model.addAttribute("score", submittedAttempt.getScore());
-            model.addAttribute("totalQuestions", submittedAttempt.getQuiz().getQuestions().size());
+            model.addAttribute("totalQuestions", totalQuestions(submittedAttempt));
             model.addAttribute("success", "Quiz submitted successfully! Your score: " +
                     String.format("%.2f", submittedAttempt.getScore()) + "%");
 
             return "quiz/results";
 
         } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("ERROR in quiz submission: " + e.getMessage());
+            logger.error("Failed to submit attempt {}", attemptId, e);
             model.addAttribute("error", "Error submitting quiz: " + e.getMessage());
             return "redirect:/dashboard";
         }
@@ -194,14 +232,19 @@ public class AttemptController {
             model.addAttribute("attempt", attempt);
             model.addAttribute("quiz", attempt.getQuiz());
             model.addAttribute("score", attempt.getScore());
-            model.addAttribute("totalQuestions", attempt.getQuiz().getQuestions().size());
+            model.addAttribute("totalQuestions", totalQuestions(attempt));
 
             return "quiz/results";
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to show results for attempt {}", attemptId, e);
             model.addAttribute("error", "Error viewing results: " + e.getMessage());
             return "redirect:/dashboard";
         }
     }
-}
\ No newline at end of file
+
+    // An adaptive attempt is graded on the questions it was served, not the whole bank
+    private static int totalQuestions(QuizAttempt attempt) {
+        return attempt.isAdaptive() ? attempt.getAnswers().size() : attempt.getQuiz().getQuestions().size();
+    }
+}
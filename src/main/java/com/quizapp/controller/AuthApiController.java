@@ -6,7 +6,10 @@ import com.quizapp.dto.UserRegistrationDto;
 import com.quizapp.entity.Role;
 import com.quizapp.entity.User;
 import com.quizapp.security.JwtUtil;
+import com.quizapp.security.PasswordHashingSaturatedException;
 import com.quizapp.service.CustomUserDetailsService;
+import com.quizapp.service.LoginAttemptService;
+import com.quizapp.service.LoginStateWriter;
 import com.quizapp.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,18 +18,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "Authentication APIs for user registration, login, and token management")
@@ -45,12 +54,19 @@ public class AuthApiController {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private LoginStateWriter loginStateWriter;
+
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Creates a new user account with either ADMIN or PARTICIPANT role")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "User registered successfully",
                     content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input or user already exists"),
+            @ApiResponse(responseCode = "503", description = "Password hashing saturated, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<?> register(@Valid @RequestBody UserRegistrationDto registrationDto) {
@@ -74,6 +90,8 @@ public class AuthApiController {
             logger.info("API User registered successfully: {}", user.getUsername());
             return ResponseEntity.ok("User registered successfully");
 
+        } catch (PasswordHashingSaturatedException e) {
+            return hashingBusy(e);
         } catch (RuntimeException e) {
             logger.error("API User registration failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -87,30 +105,32 @@ public class AuthApiController {
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
             @ApiResponse(responseCode = "423", description = "Account locked"),
+            @ApiResponse(responseCode = "503", description = "Password hashing saturated, retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest authRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest authRequest, HttpServletRequest request) {
         logger.info("API Login attempt for user: {}", authRequest.getUsername());
 
         try {
-            if (userService.isAccountLocked(authRequest.getUsername())) {
+            if (loginAttemptService.isLockedInMemory(authRequest.getUsername())) {
                 return ResponseEntity.status(HttpStatus.LOCKED)
                         .body("Account is locked due to too many failed login attempts");
             }
 
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            authRequest.getUsername(),
-                            authRequest.getPassword()
-                    )
+            // Failures and successes are counted by LoginAttemptService from the authentication events
+            UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
+                    authRequest.getUsername(),
+                    authRequest.getPassword()
             );
+            token.setDetails(new WebAuthenticationDetails(request));
+            authenticationManager.authenticate(token);
 
             final UserDetails userDetails = customUserDetailsService.loadUserByUsername(authRequest.getUsername());
             User user = userService.findByUsername(authRequest.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             final String jwt = jwtUtil.generateToken(user);
-            userService.handleLoginSuccess(authRequest.getUsername());
+            loginStateWriter.recordLastLogin(user.getUsername(), LocalDateTime.now());
 
             AuthResponse response = new AuthResponse(
                     jwt,
@@ -123,8 +143,12 @@ public class AuthApiController {
             logger.info("API User logged in successfully: {}", user.getUsername());
             return ResponseEntity.ok(response);
 
+        } catch (PasswordHashingSaturatedException e) {
+            return hashingBusy(e);
+        } catch (LockedException e) {
+            return ResponseEntity.status(HttpStatus.LOCKED)
+                    .body("Account is locked due to too many failed login attempts");
         } catch (BadCredentialsException e) {
-            userService.handleLoginFailure(authRequest.getUsername());
             logger.warn("API Invalid credentials for user: {}", authRequest.getUsername());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
         } catch (Exception e) {
@@ -209,4 +233,11 @@ public class AuthApiController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Failed to get user information");
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<String> hashingBusy(PasswordHashingSaturatedException e) {
+        logger.warn("API password hashing saturated, retry after {}s", e.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
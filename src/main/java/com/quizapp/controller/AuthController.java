@@ -3,6 +3,7 @@ package com.quizapp.controller;
 import com.quizapp.dto.UserRegistrationDto;
 import com.quizapp.entity.Role;
 import com.quizapp.entity.User;
+import com.quizapp.security.PasswordHashingSaturatedException;
 import com.quizapp.security.PasswordValidator;
 import com.quizapp.service.EmailVerificationService;
 import com.quizapp.service.UserService;
@@ -173,6 +174,9 @@ public class AuthController {
 
             return "auth/login";
 
+        } catch (PasswordHashingSaturatedException e) {
+            // Answered 503 with Retry-After by PasswordHashingAdmissionFilter
+            throw e;
         } catch (RuntimeException e) {
             logger.error("User registration failed: {}", e.getMessage());
             model.addAttribute("error", e.getMessage());
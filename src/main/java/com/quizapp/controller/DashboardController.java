@@ -3,6 +3,7 @@ package com.quizapp.controller;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.QuizAttempt;
 import com.quizapp.entity.User;
+import com.quizapp.service.FragmentCacheService;
 import com.quizapp.service.QuizAttemptService;
 import com.quizapp.service.QuizService;
 import com.quizapp.service.UserService;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 public class DashboardController {
@@ -34,6 +36,9 @@ public class DashboardController {
     @Autowired
     private QuizAttemptService quizAttemptService;
 
+    @Autowired
+    private FragmentCacheService fragmentCacheService;
+
     @GetMapping("/dashboard")
     public String dashboard(@AuthenticationPrincipal UserDetails userDetails,
                             Authentication authentication,
@@ -128,6 +133,7 @@ public class DashboardController {
             model.addAttribute("user", user);
             model.addAttribute("attempts", attempts != null ? attempts : new ArrayList<>());
             model.addAttribute("quizzes", availableQuizzes != null ? availableQuizzes : new ArrayList<>());
+            model.addAttribute("quizCount", availableQuizzes != null ? availableQuizzes.size() : 0);
             model.addAttribute("completedCount", completedCount);
             model.addAttribute("inProgressCount", inProgressCount);
             model.addAttribute("averageScore", averageScore);
@@ -187,20 +193,21 @@ public class DashboardController {
         try {
             List<QuizAttempt> attempts = quizAttemptService.getUserAttempts(user.getId());
 
-            // ✅ FIX: Use getPublicQuizzes() which filters properly
-            List<Quiz> availableQuizzes = quizService.getPublicQuizzes();
-
-            // ✅ DEBUG LOGGING
-            System.out.println("🔍 DEBUG handleParticipantDashboard:");
-            System.out.println("User: " + user.getUsername());
-            System.out.println("Available quizzes count: " + availableQuizzes.size());
-
-            for (Quiz quiz : availableQuizzes) {
-                System.out.println(" - Quiz: " + quiz.getTitle() +
-                        " (ID: " + quiz.getId() +
-                        ", Public: " + quiz.getIsPublic() +
-                        ", Enabled: " + quiz.getEnabled() + ")");
+            // The quiz cards are the same for every participant; only attempts and stats are per-user.
+            // On a cache hit the catalog is only counted, not loaded
+            List<List<Quiz>> loaded = new ArrayList<>(1);
+            String catalogHtml = fragmentCacheService.render("participant/dashboard", "catalogCards",
+                    quizService.getCatalogVersionKey(), () -> {
+                        loaded.add(quizService.getPublicQuizzes());
+                        return Map.of("quizzes", loaded.get(0));
+                    });
+            if (catalogHtml == null) {
+                // Cache off or outside a request: the page renders the cards inline
+                loaded.add(quizService.getPublicQuizzes());
+                model.addAttribute("quizzes", loaded.get(0));
             }
+            long quizCount = loaded.isEmpty() ? quizService.getPublicQuizCount() : loaded.get(0).size();
+            logger.debug("Participant dashboard for {}: {} available quizzes", user.getUsername(), quizCount);
 
             // Calculate stats
             long completedCount = DashboardUtil.getCompletedAttemptsCount(attempts);
@@ -210,13 +217,14 @@ public class DashboardController {
             // ✅ FIX: Ensure all attributes are added to model
             model.addAttribute("user", user);
             model.addAttribute("attempts", attempts != null ? attempts : new ArrayList<>());
-            model.addAttribute("quizzes", availableQuizzes != null ? availableQuizzes : new ArrayList<>());
+            model.addAttribute("catalogHtml", catalogHtml);
+            model.addAttribute("quizCount", quizCount);
             model.addAttribute("completedCount", completedCount);
             model.addAttribute("inProgressCount", inProgressCount);
             model.addAttribute("averageScore", averageScore);
 
             logger.info("Participant dashboard loaded for user: {} with {} attempts and {} available quizzes",
-                    user.getUsername(), attempts.size(), availableQuizzes.size());
+                    user.getUsername(), attempts.size(), quizCount);
 
             return "participant/dashboard";
         } catch (Exception e) {
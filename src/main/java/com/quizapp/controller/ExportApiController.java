@@ -0,0 +1,82 @@
+package com.quizapp.controller.api;
+
+import com.quizapp.service.AttemptExportService;
+import com.quizapp.util.ExportWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+@Tag(name = "Exports", description = "Streaming CSV/NDJSON exports of attempts, answers and gradebooks")
+public class ExportApiController {
+
+    @Autowired
+    private AttemptExportService attemptExportService;
+
+    @GetMapping("/quizzes/{quizId}/attempts")
+    @Operation(summary = "Export quiz attempts", description = "Streams one row per attempt for the quiz")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<StreamingResponseBody> exportAttempts(
+            @Parameter(description = "ID of the quiz", required = true)
+            @PathVariable Long quizId,
+            @Parameter(description = "csv (default) or ndjson")
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.fromParameter(format);
+        return streaming("quiz-" + quizId + "-attempts", exportFormat,
+                out -> attemptExportService.exportAttempts(quizId, exportFormat, out));
+    }
+
+    @GetMapping("/quizzes/{quizId}/answers")
+    @Operation(summary = "Export per-question answers", description = "Streams one row per answered question for the quiz")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<StreamingResponseBody> exportAnswers(
+            @Parameter(description = "ID of the quiz", required = true)
+            @PathVariable Long quizId,
+            @Parameter(description = "csv (default) or ndjson")
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.fromParameter(format);
+        return streaming("quiz-" + quizId + "-answers", exportFormat,
+                out -> attemptExportService.exportAnswers(quizId, exportFormat, out));
+    }
+
+    @GetMapping("/gradebook")
+    @Operation(summary = "Export gradebook", description = "Streams one row per user and quiz with best score and attempt count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<StreamingResponseBody> exportGradebook(
+            @Parameter(description = "Restrict to a single quiz")
+            @RequestParam(required = false) Long quizId,
+            @Parameter(description = "csv (default) or ndjson")
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.fromParameter(format);
+        String name = quizId != null ? "quiz-" + quizId + "-gradebook" : "gradebook";
+        return streaming(name, exportFormat,
+                out -> attemptExportService.exportGradebook(quizId, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streaming(String name, ExportWriter.Format format,
+                                                            StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
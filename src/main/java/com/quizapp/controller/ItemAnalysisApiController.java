@@ -0,0 +1,53 @@
+package com.quizapp.controller.api;
+
+import com.quizapp.entity.QuestionStatistics;
+import com.quizapp.service.ItemAnalysisService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/quizzes")
+@Tag(name = "Item Analysis", description = "Question quality statistics for quiz authors")
+public class ItemAnalysisApiController {
+
+    @Autowired
+    private ItemAnalysisService itemAnalysisService;
+
+    @PostMapping("/{quizId}/item-analysis")
+    @Operation(summary = "Run item analysis",
+            description = "Recomputes difficulty, discrimination and distractor counts for every question in the quiz")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Analysis completed"),
+            @ApiResponse(responseCode = "400", description = "Analysis failed"),
+            @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<?> runItemAnalysis(
+            @Parameter(description = "ID of the quiz", required = true)
+            @PathVariable Long quizId) {
+        try {
+            return ResponseEntity.ok(itemAnalysisService.analyseQuiz(quizId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error running item analysis: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{quizId}/item-analysis")
+    @Operation(summary = "Get item analysis", description = "Returns the last persisted item statistics for the quiz")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<List<QuestionStatistics>> getItemAnalysis(
+            @Parameter(description = "ID of the quiz", required = true)
+            @PathVariable Long quizId) {
+        return ResponseEntity.ok(itemAnalysisService.getQuizStatistics(quizId));
+    }
+}
@@ -0,0 +1,96 @@
+package com.quizapp.controller.api;
+
+import com.quizapp.entity.User;
+import com.quizapp.service.LeaderboardService;
+import com.quizapp.service.UserService;
+import com.quizapp.util.RankedScoreTree;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@Tag(name = "Leaderboards", description = "APIs for per-quiz rankings")
+public class LeaderboardApiController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping("/{quizId}")
+    @Operation(summary = "Get quiz leaderboard", description = "Returns the top participants for a quiz, one entry per user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
+    })
+    public ResponseEntity<List<Map<String, Object>>> getLeaderboard(
+            @Parameter(description = "ID of the quiz", required = true)
+            @PathVariable Long quizId,
+            @Parameter(description = "Number of entries to return (max 100)")
+            @RequestParam(defaultValue = "10") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<RankedScoreTree.Entry> entries = leaderboardService.getTopEntries(quizId, boundedLimit);
+
+        List<Map<String, Object>> body = new ArrayList<>(entries.size());
+        int rank = 1;
+        for (RankedScoreTree.Entry entry : entries) {
+            body.add(toResponse(rank++, entry));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/{quizId}/me")
+    @Operation(summary = "Get my rank", description = "Returns the authenticated user's rank on the quiz leaderboard")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rank retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "User has no completed attempt for this quiz")
+    })
+    public ResponseEntity<?> getMyRank(
+            @Parameter(description = "ID of the quiz", required = true)
+            @PathVariable Long quizId,
+            @Parameter(description = "Authenticated user details", hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = userService.findByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<RankedScoreTree.Entry> best = leaderboardService.getUserBest(quizId, user.getId());
+            Optional<Integer> rank = leaderboardService.getUserRank(quizId, user.getId());
+            if (best.isEmpty() || rank.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Map<String, Object> body = toResponse(rank.get(), best.get());
+            body.put("participants", leaderboardService.getParticipantCount(quizId));
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toResponse(int rank, RankedScoreTree.Entry entry) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("rank", rank);
+        item.put("username", entry.getUsername());
+        item.put("score", entry.getScore());
+        item.put("attemptId", entry.getAttemptId());
+        item.put("completedAt", entry.getCompletedAtMillis());
+        return item;
+    }
+}
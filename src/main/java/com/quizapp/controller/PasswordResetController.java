@@ -1,6 +1,7 @@
 // File: src/main/java/com/quizapp/controller/PasswordResetController.java
 package com.quizapp.controller;
 
+import com.quizapp.security.PasswordHashingSaturatedException;
 import com.quizapp.service.PasswordResetService;
 import com.quizapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -72,6 +73,9 @@ public class PasswordResetController {
                 model.addAttribute("error", result);
                 return "auth/reset-password-error";
             }
+        } catch (PasswordHashingSaturatedException e) {
+            // Answered 503 with Retry-After by PasswordHashingAdmissionFilter
+            throw e;
         } catch (Exception e) {
             model.addAttribute("error", "Error resetting password: " + e.getMessage());
             return "auth/reset-password-error";
@@ -1,6 +1,7 @@
 package com.quizapp.controller;
 
 import com.quizapp.entity.User;
+import com.quizapp.security.PasswordHashingSaturatedException;
 import com.quizapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -160,6 +161,9 @@ public class ProfileController {
                 redirectAttributes.addFlashAttribute("error", "User not found");
                 return "redirect:/profile";
             }
+        } catch (PasswordHashingSaturatedException e) {
+            // Answered 503 with Retry-After by PasswordHashingAdmissionFilter
+            throw e;
         } catch (Exception e) {
             model.addAttribute("error", "Error changing password: " + e.getMessage());
             return "profile/change-password";
@@ -1,9 +1,12 @@
 package com.quizapp.controller.api;
 
+import com.quizapp.entity.Question;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.User;
+import com.quizapp.repository.QuizRepository;
 import com.quizapp.service.QuizService;
 import com.quizapp.service.UserService;
+import com.quizapp.util.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,12 +15,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/quizzes")
@@ -30,15 +38,32 @@ public class QuizApiController {
     @Autowired
     private UserService userService;
 
+    @Value("${app.http-cache.quiz-catalog:no-cache}")
+    private String catalogCacheControl;
+
+    @Value("${app.http-cache.quiz-detail:no-cache}")
+    private String detailCacheControl;
+
     @GetMapping
-    @Operation(summary = "Get all quizzes", description = "Retrieves a list of all available quizzes in the system")
+    @Operation(summary = "Get all quizzes", description = "Retrieves a list of all available quizzes in the system. " +
+            "Supports If-None-Match / If-Modified-Since; unchanged catalogs answer 304 without a body")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved all quizzes",
                     content = @Content(schema = @Schema(implementation = Quiz.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the client's copy"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Quiz>> getAllQuizzes() {
-        return ResponseEntity.ok(quizService.getAllQuizzes());
+    public ResponseEntity<List<Map<String, Object>>> getAllQuizzes(ServletWebRequest request) {
+        QuizRepository.CatalogVersion version = quizService.getCatalogVersion();
+        if (version != null && ConditionalRequests.checkNotModified(request, catalogCacheControl,
+                version.getLastModified(), "api-catalog", version.getQuizCount())) {
+            return null;
+        }
+        List<Map<String, Object>> quizzes = new ArrayList<>();
+        for (Quiz quiz : quizService.getAllQuizzes()) {
+            quizzes.add(summary(quiz));
+        }
+        return ResponseEntity.ok(quizzes);
     }
 
     @GetMapping("/{id}")
@@ -46,16 +71,23 @@ public class QuizApiController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Quiz found successfully",
                     content = @Content(schema = @Schema(implementation = Quiz.class))),
+            @ApiResponse(responseCode = "304", description = "Quiz unchanged since the client's copy"),
             @ApiResponse(responseCode = "404", description = "Quiz not found"),
             @ApiResponse(responseCode = "400", description = "Invalid quiz ID")
     })
     public ResponseEntity<?> getQuizById(
             @Parameter(description = "ID of the quiz to retrieve", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            ServletWebRequest request) {
         try {
+            if (ConditionalRequests.checkNotModified(request, detailCacheControl,
+                    quizService.getQuizLastModified(id).orElse(null), "api-quiz", id)) {
+                return null;
+            }
+
             Quiz quiz = quizService.getQuizById(id)
                     .orElseThrow(() -> new RuntimeException("Quiz not found"));
-            return ResponseEntity.ok(quiz);
+            return ResponseEntity.ok(detail(quiz));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -80,7 +112,7 @@ public class QuizApiController {
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             Quiz createdQuiz = quizService.createQuiz(quiz, user);
-            return ResponseEntity.ok(createdQuiz);
+            return ResponseEntity.ok(summary(createdQuiz));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -102,7 +134,7 @@ public class QuizApiController {
             @RequestBody Quiz quizDetails) {
         try {
             Quiz updatedQuiz = quizService.updateQuiz(id, quizDetails);
-            return ResponseEntity.ok(updatedQuiz);
+            return ResponseEntity.ok(summary(updatedQuiz));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -126,4 +158,42 @@ public class QuizApiController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Entities are not serialized directly: lazy proxies fail in Jackson and createdBy would
+    // expose the user record. Only ids are read from associations, so listing stays one query.
+    private static Map<String, Object> summary(Quiz quiz) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", quiz.getId());
+        result.put("title", quiz.getTitle());
+        result.put("description", quiz.getDescription());
+        result.put("timeLimit", quiz.getTimeLimit());
+        result.put("difficultyLevel", quiz.getDifficultyLevel());
+        result.put("isPublic", quiz.getIsPublic());
+        result.put("enabled", quiz.getEnabled());
+        result.put("isTemplate", quiz.getIsTemplate());
+        result.put("categoryId", quiz.getCategory() != null ? quiz.getCategory().getId() : null);
+        result.put("createdById", quiz.getCreatedBy() != null ? quiz.getCreatedBy().getId() : null);
+        result.put("createdAt", quiz.getCreatedAt());
+        result.put("updatedAt", quiz.getUpdatedAt());
+        return result;
+    }
+
+    // Answer keys stay server-side; participants can read this endpoint while taking the quiz
+    private static Map<String, Object> detail(Quiz quiz) {
+        Map<String, Object> result = summary(quiz);
+        List<Map<String, Object>> questions = new ArrayList<>();
+        if (quiz.getQuestions() != null) {
+            for (Question question : quiz.getQuestions()) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("id", question.getId());
+                item.put("questionText", question.getQuestionText());
+                item.put("options", question.getOptions());
+                item.put("difficultyLevel", question.getDifficultyLevel());
+                item.put("points", question.getPoints());
+                questions.add(item);
+            }
+        }
+        result.put("questions", questions);
+        return result;
+    }
+}
@@ -1,11 +1,14 @@
 package com.quizapp.controller.api;
 
+import com.quizapp.entity.Question;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.QuizAttempt;
 import com.quizapp.entity.User;
+import com.quizapp.service.QuestionService;
 import com.quizapp.service.QuizAttemptService;
 import com.quizapp.service.QuizService;
 import com.quizapp.service.UserService;
+import com.quizapp.util.AttemptShuffler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +17,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +42,9 @@ public class QuizAttemptApiController {
     @Autowired
     private QuizService quizService;
 
+    @Autowired
+    private QuestionService questionService;
+
     @PostMapping("/start/{quizId}")
     @Operation(summary = "Start a quiz attempt", description = "Starts a new quiz attempt for the authenticated user")
     @ApiResponses({
@@ -59,12 +68,113 @@ public class QuizAttemptApiController {
                     .orElseThrow(() -> new RuntimeException("Quiz not found with ID: " + quizId));
 
             QuizAttempt attempt = quizAttemptService.startQuizAttempt(user, quiz);
-            return ResponseEntity.ok(attempt);
+            return ResponseEntity.ok(summary(attempt));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error starting quiz: " + e.getMessage());
         }
     }
 
+    @GetMapping("/{attemptId}/questions")
+    @Operation(summary = "Get the question paper for an attempt",
+            description = "Returns questions and options in this attempt's shuffled order. " +
+                    "Answers submitted for the attempt must use these displayed option indexes. " +
+                    "An adaptive attempt returns only its current question.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Question paper retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Quiz attempt not found"),
+            @ApiResponse(responseCode = "403", description = "Attempt belongs to another user")
+    })
+    public ResponseEntity<?> getAttemptQuestions(
+            @Parameter(description = "ID of the quiz attempt", required = true)
+            @PathVariable Long attemptId,
+            @Parameter(description = "Authenticated user details", hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            QuizAttempt attempt = quizAttemptService.getAttemptById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
+            if (!isOwner(attempt, userDetails)) {
+                return accessDenied();
+            }
+
+            List<Map<String, Object>> paper = new ArrayList<>();
+            if (attempt.isAdaptive()) {
+                Question current = currentQuestion(attempt);
+                if (current != null) {
+                    paper.add(paperItem(attempt, current));
+                }
+                return ResponseEntity.ok(paper);
+            }
+            for (Question question : AttemptShuffler.orderedQuestions(attempt)) {
+                paper.add(paperItem(attempt, question));
+            }
+            return ResponseEntity.ok(paper);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{attemptId}/next")
+    @Operation(summary = "Get the current question of an adaptive attempt",
+            description = "Returns the question to answer next, with options in this attempt's shuffled order, " +
+                    "and the ability estimate so far. The question is null once the attempt is complete.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Current question retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Quiz attempt not found or not adaptive"),
+            @ApiResponse(responseCode = "403", description = "Attempt belongs to another user")
+    })
+    public ResponseEntity<?> getNextQuestion(
+            @Parameter(description = "ID of the quiz attempt", required = true)
+            @PathVariable Long attemptId,
+            @Parameter(description = "Authenticated user details", hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            QuizAttempt attempt = quizAttemptService.getAttemptById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
+            if (!isOwner(attempt, userDetails)) {
+                return accessDenied();
+            }
+            if (!attempt.isAdaptive()) {
+                throw new RuntimeException("Quiz attempt " + attemptId + " is not adaptive");
+            }
+            return ResponseEntity.ok(adaptiveStep(attempt));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{attemptId}/answer")
+    @Operation(summary = "Answer the current question of an adaptive attempt",
+            description = "Records the answer (option index as displayed) and returns the next question with the " +
+                    "updated ability estimate. When no question follows, the attempt has been submitted and " +
+                    "the response carries its score.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Answer recorded"),
+            @ApiResponse(responseCode = "400", description = "Not the current question, answer out of range, " +
+                    "or attempt not adaptive or already submitted"),
+            @ApiResponse(responseCode = "403", description = "Attempt belongs to another user")
+    })
+    public ResponseEntity<?> answerAdaptiveQuestion(
+            @Parameter(description = "ID of the quiz attempt", required = true)
+            @PathVariable Long attemptId,
+            @Parameter(description = "questionId and the selected displayed option index as answer", required = true)
+            @RequestBody Map<String, Long> body,
+            @Parameter(description = "Authenticated user details", hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            QuizAttempt owned = quizAttemptService.getAttemptById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
+            if (!isOwner(owned, userDetails)) {
+                return accessDenied();
+            }
+            Long answer = body.get("answer");
+            QuizAttempt attempt = quizAttemptService.answerAdaptive(attemptId, body.get("questionId"),
+                    answer != null ? answer.intValue() : null);
+            return ResponseEntity.ok(adaptiveStep(attempt));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error answering question: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/submit")
     @Operation(summary = "Submit quiz answers", description = "Submits quiz answers and calculates the score")
     @ApiResponses({
@@ -72,18 +182,24 @@ public class QuizAttemptApiController {
                     content = @Content(schema = @Schema(implementation = QuizAttempt.class))),
             @ApiResponse(responseCode = "404", description = "Quiz attempt not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "400", description = "Invalid submission data")
+            @ApiResponse(responseCode = "400", description = "Invalid submission data or attempt already submitted"),
+            @ApiResponse(responseCode = "403", description = "Attempt belongs to another user")
     })
     public ResponseEntity<?> submitQuizAttempt(
             @Parameter(description = "ID of the quiz attempt", required = true)
             @RequestParam Long attemptId,
-            @Parameter(description = "Map of question IDs to selected answer indices", required = true)
+            @Parameter(description = "Map of question IDs to selected answer indices, as displayed for this attempt", required = true)
             @RequestBody Map<Long, Integer> answers,
             @Parameter(description = "Authenticated user details", hidden = true)
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
+            QuizAttempt attempt = quizAttemptService.getAttemptById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
+            if (!isOwner(attempt, userDetails)) {
+                return accessDenied();
+            }
             QuizAttempt submittedAttempt = quizAttemptService.submitQuiz(attemptId, answers);
-            return ResponseEntity.ok(submittedAttempt);
+            return ResponseEntity.ok(summary(submittedAttempt));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error submitting quiz: " + e.getMessage());
         }
@@ -110,14 +226,20 @@ public class QuizAttemptApiController {
             @ApiResponse(responseCode = "200", description = "Quiz attempt found",
                     content = @Content(schema = @Schema(implementation = QuizAttempt.class))),
             @ApiResponse(responseCode = "404", description = "Quiz attempt not found"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized")
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Attempt belongs to another user")
     })
     public ResponseEntity<?> getAttemptById(
             @Parameter(description = "ID of the quiz attempt", required = true)
-            @PathVariable Long attemptId) {
+            @PathVariable Long attemptId,
+            @Parameter(description = "Authenticated user details", hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails) {
         try {
             QuizAttempt attempt = quizAttemptService.getAttemptById(attemptId)
                     .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
+            if (!isOwner(attempt, userDetails)) {
+                return accessDenied();
+            }
             return ResponseEntity.ok(attempt);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -136,4 +258,61 @@ public class QuizAttemptApiController {
         List<QuizAttempt> attempts = quizAttemptService.getUserAttempts(quizId); // This might need adjustment
         return ResponseEntity.ok(attempts);
     }
+
+    // Same rule as AttemptController.takeQuiz: only the user who started an attempt may see, answer or submit it
+    private boolean isOwner(QuizAttempt attempt, UserDetails userDetails) {
+        if (userDetails == null || attempt.getUser() == null) {
+            return false;
+        }
+        User user = userService.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return attempt.getUser().getId().equals(user.getId());
+    }
+
+    private static ResponseEntity<String> accessDenied() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+    }
+
+    // Flat view of an attempt; serializing the entity would walk user -> attempts -> user
+    private static Map<String, Object> summary(QuizAttempt attempt) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", attempt.getId());
+        result.put("quizId", attempt.getQuiz() != null ? attempt.getQuiz().getId() : null);
+        result.put("userId", attempt.getUser() != null ? attempt.getUser().getId() : null);
+        result.put("attemptedAt", attempt.getAttemptedAt());
+        result.put("expiresAt", attempt.getExpiresAt());
+        result.put("completedAt", attempt.getCompletedAt());
+        result.put("score", attempt.getScore());
+        result.put("earnedPoints", attempt.getEarnedPoints());
+        result.put("totalPoints", attempt.getTotalPoints());
+        if (attempt.isAdaptive()) {
+            result.put("abilityEstimate", attempt.getAbilityEstimate());
+            result.put("abilityStandardError", attempt.getAbilityStandardError());
+            result.put("questionsAnswered", attempt.getAnswers().size());
+        }
+        return result;
+    }
+
+    private Map<String, Object> adaptiveStep(QuizAttempt attempt) {
+        Map<String, Object> result = summary(attempt);
+        Question current = currentQuestion(attempt);
+        result.put("question", current != null ? paperItem(attempt, current) : null);
+        return result;
+    }
+
+    private Question currentQuestion(QuizAttempt attempt) {
+        if (attempt.getCompletedAt() != null || attempt.getCurrentQuestionId() == null) {
+            return null;
+        }
+        return questionService.getQuestionById(attempt.getCurrentQuestionId()).orElse(null);
+    }
+
+    private static Map<String, Object> paperItem(QuizAttempt attempt, Question question) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", question.getId());
+        item.put("questionText", question.getQuestionText());
+        item.put("points", question.getPoints());
+        item.put("options", AttemptShuffler.displayedOptions(attempt, question));
+        return item;
+    }
 }
\ No newline at end of file
@@ -3,27 +3,36 @@ package com.quizapp.controller;
 import com.quizapp.dto.QuestionDto;
 import com.quizapp.dto.QuizDto;
 import com.quizapp.entity.*;
+import com.quizapp.repository.QuizRepository;
 import com.quizapp.service.*;
+import com.quizapp.util.ConditionalRequests;
+import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/quiz")
 public class QuizController {
+    private static final Logger logger = LoggerFactory.getLogger(QuizController.class);
 
     @Autowired
     private QuizService quizService;
@@ -46,6 +55,12 @@ public class QuizController {
     @Autowired
     private QuizAttemptService quizAttemptService;
 
+    @Autowired
+    private FragmentCacheService fragmentCacheService;
+
+    @Value("${app.http-cache.quiz-list-page:private, no-cache}")
+    private String listPageCacheControl;
+
     @GetMapping("/templates")
     public String listQuizTemplates(Model model) {
         try {
@@ -202,6 +217,7 @@ public class QuizController {
             quizDto.setDescription(quiz.getDescription());
             quizDto.setTimeLimit(quiz.getTimeLimit());
             quizDto.setIsTemplate(quiz.getIsTemplate());
+            quizDto.setIsAdaptive(quiz.getIsAdaptive());
 
             if (quiz.getCategory() != null) {
                 quizDto.setCategoryId(quiz.getCategory().getId());
@@ -237,6 +253,7 @@ public class QuizController {
             quizDetails.setDescription(quizDto.getDescription());
             quizDetails.setTimeLimit(quizDto.getTimeLimit());
             quizDetails.setIsTemplate(quizDto.getIsTemplate());
+            quizDetails.setIsAdaptive(quizDto.getIsAdaptive());
 
             // Set category if provided
             if (quizDto.getCategoryId() != null) {
@@ -251,7 +268,7 @@ public class QuizController {
             return "redirect:/admin/dashboard";
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to update quiz {}", id, e);
             model.addAttribute("error", "Error updating quiz: " + e.getMessage());
 
             // Return to edit form with existing data
@@ -300,6 +317,7 @@ public class QuizController {
             quiz.setTimeLimit(quizDto.getTimeLimit());
             quiz.setCreatedBy(user);
             quiz.setIsTemplate(quizDto.getIsTemplate());
+            quiz.setIsAdaptive(quizDto.getIsAdaptive());
 
             // Set difficulty level and visibility
             quiz.setDifficultyLevel(quizDto.getDifficultyLevel() != null ?
@@ -369,7 +387,7 @@ public class QuizController {
             return "redirect:/admin/dashboard";
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to create quiz", e);
             List<Category> categories = categoryService.getAllCategories();
             model.addAttribute("categories", categories);
             model.addAttribute("error", "Error creating quiz: " + e.getMessage());
@@ -379,38 +397,46 @@ public class QuizController {
 
     @GetMapping("/list")
     public String listQuizzes(Model model,
-                              @AuthenticationPrincipal UserDetails userDetails) {
+                              @AuthenticationPrincipal UserDetails userDetails,
+                              ServletWebRequest request) {
         try {
-            List<Quiz> quizzes;
+            // The page varies by viewer and embeds the session's CSRF token
+            QuizRepository.CatalogVersion version = quizService.getCatalogVersion();
+            String viewer = userDetails != null ? userDetails.getUsername() + userDetails.getAuthorities() : "anonymous";
+            HttpSession session = request.getRequest().getSession(false);
+            if (version != null && ConditionalRequests.checkNotModified(request, listPageCacheControl,
+                    version.getLastModified(), "list-page", version.getQuizCount(), viewer,
+                    session != null ? session.getId() : "")) {
+                return null;
+            }
+
             User currentUser = null;
+            boolean admin = false;
 
             if (userDetails != null) {
                 currentUser = userService.findByUsername(userDetails.getUsername())
                         .orElseThrow(() -> new RuntimeException("User not found"));
-
-                if (currentUser.getRole().name().equals("ADMIN")) {
-                    // Admin sees all quizzes
-                    quizzes = quizService.getAllQuizzes();
-                    model.addAttribute("isAdmin", true);
-                } else {
-                    // Student sees only public quizzes
-                    quizzes = quizService.getPublicQuizzes();
-                    model.addAttribute("isAdmin", false);
-                }
-            } else {
-                // Public access sees only public quizzes
-                quizzes = quizService.getPublicQuizzes();
-                model.addAttribute("isAdmin", false);
+                admin = currentUser.getRole().name().equals("ADMIN");
             }
+            model.addAttribute("isAdmin", admin);
 
-            // Initialize questions for each quiz to avoid LazyInitializationException
-            for (Quiz quiz : quizzes) {
-                if (quiz.getQuestions() != null) {
-                    quiz.getQuestions().size(); // Force initialization
+            if (admin) {
+                // Admin sees all quizzes, with per-session delete forms, so they always render live
+                List<Quiz> quizzes = quizService.getAllQuizzes();
+
+                // Initialize questions for each quiz to avoid LazyInitializationException
+                for (Quiz quiz : quizzes) {
+                    if (quiz.getQuestions() != null) {
+                        quiz.getQuestions().size(); // Force initialization
+                    }
                 }
+                model.addAttribute("quizzes", quizzes);
+                model.addAttribute("quizCount", quizzes.size());
+            } else {
+                // Students and public access see only public quizzes, loaded only when the cards need rendering
+                addCatalog(model, "quiz/list");
             }
 
-            model.addAttribute("quizzes", quizzes);
             model.addAttribute("user", currentUser);
             return "quiz/list";
         } catch (Exception e) {
@@ -419,13 +445,32 @@ public class QuizController {
         }
     }
 
+    /**
+     * Adds the shared catalog cards of {@code template}. On a fragment cache hit only the catalog
+     * version and the public quiz count are read; the quizzes and their questions are loaded when
+     * the cards have to be rendered.
+     */
+    private void addCatalog(Model model, String template) {
+        List<List<Quiz>> loaded = new ArrayList<>(1);
+        String catalogHtml = fragmentCacheService.render(template, "catalogCards", quizService.getCatalogVersionKey(), () -> {
+            loaded.add(quizService.getPublicQuizzes());
+            return Map.of("quizzes", loaded.get(0));
+        });
+        if (catalogHtml != null) {
+            model.addAttribute("catalogHtml", catalogHtml);
+        } else {
+            // Cache off or outside a request: the page renders the cards inline
+            loaded.add(quizService.getPublicQuizzes());
+            model.addAttribute("quizzes", loaded.get(0));
+        }
+        model.addAttribute("quizCount", loaded.isEmpty() ? quizService.getPublicQuizCount() : loaded.get(0).size());
+    }
+
     @GetMapping("/take/{quizId}")
     public String takeQuiz(@PathVariable Long quizId,
                            @AuthenticationPrincipal UserDetails userDetails,
                            Model model) {
         try {
-            System.out.println("Direct quiz take for quiz ID: " + quizId);
-
             User user = userService.findByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -444,7 +489,7 @@ public class QuizController {
             return "redirect:/attempt/take/" + attempt.getId();
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to start quiz {}", quizId, e);
             model.addAttribute("error", "Error starting quiz: " + e.getMessage());
             return "redirect:/quiz/list";
         }
@@ -492,8 +537,6 @@ public class QuizController {
                                  @RequestParam(required = false) Integer points,
                                  Model model) {
         try {
-            System.out.println("=== DEBUG: Updating question " + questionId + " ===");
-
             // ✅ FIX: Handle null options
             List<String> filteredOptions = new ArrayList<>();
             if (options != null) {
@@ -509,9 +552,6 @@ public class QuizController {
                 }
             }
 
-            System.out.println("Options count: " + filteredOptions.size());
-            System.out.println("Options: " + filteredOptions);
-
             if (filteredOptions.size() < 2) {
                 throw new RuntimeException("At least 2 non-empty options are required");
             }
@@ -535,7 +575,7 @@ public class QuizController {
             model.addAttribute("success", "Question updated successfully!");
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to update question {} of quiz {}", questionId, quizId, e);
             model.addAttribute("error", "Error updating question: " + e.getMessage());
         }
 
@@ -553,11 +593,6 @@ public class QuizController {
                                     @RequestParam(required = false) String tags,
                                     Model model) {
         try {
-            System.out.println("=== DEBUG: Adding question to quiz ID: " + quizId + " ===");
-            System.out.println("Question Text: " + questionText);
-            System.out.println("Options: " + (options != null ? options : "NULL"));
-            System.out.println("Correct Answer Index: " + correctAnswerIndex);
-
             Quiz quiz = quizService.getQuizById(quizId)
                     .orElseThrow(() -> new RuntimeException("Quiz not found"));
 
@@ -575,9 +610,6 @@ public class QuizController {
                         .collect(Collectors.toList());
             }
 
-            System.out.println("Filtered options count: " + filteredOptions.size());
-            System.out.println("Filtered options: " + filteredOptions);
-
             // Validate at least 2 options
             if (filteredOptions.size() < 2) {
                 throw new RuntimeException("At least 2 non-empty options are required. Found: " + filteredOptions.size());
@@ -613,11 +645,9 @@ public class QuizController {
             }
 
             model.addAttribute("success", "Question added successfully!");
-            System.out.println("=== Question added successfully ===");
 
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("ERROR adding question: " + e.getMessage());
+            logger.error("Failed to add question to quiz {}", quizId, e);
             model.addAttribute("error", "Error adding question: " + e.getMessage());
         }
 
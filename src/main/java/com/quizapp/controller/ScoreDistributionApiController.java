@@ -0,0 +1,69 @@
+package com.quizapp.controller.api;
+
+import com.quizapp.service.ScoreDistributionService;
+import com.quizapp.util.ScoreHistogram;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/distributions")
+@Tag(name = "Score Distributions", description = "APIs for score percentiles and distributions")
+public class ScoreDistributionApiController {
+
+    private static final int HISTOGRAM_BINS = 10;
+
+    @Autowired
+    private ScoreDistributionService scoreDistributionService;
+
+    @GetMapping("/quiz/{quizId}")
+    @Operation(summary = "Get quiz score distribution",
+            description = "Returns quartiles, a coarse histogram and, when a score is given, the share of takers scoring below it")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Distribution retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getQuizDistribution(
+            @Parameter(description = "ID of the quiz", required = true)
+            @PathVariable Long quizId,
+            @Parameter(description = "Score (0-100) to rank against the distribution")
+            @RequestParam(required = false) Double score) {
+        return ResponseEntity.ok(toResponse(scoreDistributionService.getQuizDistribution(quizId), score));
+    }
+
+    @GetMapping("/category/{categoryId}")
+    @Operation(summary = "Get category score distribution",
+            description = "Merges the distributions of every quiz in the category")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Distribution retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getCategoryDistribution(
+            @Parameter(description = "ID of the category", required = true)
+            @PathVariable Long categoryId,
+            @Parameter(description = "Score (0-100) to rank against the distribution")
+            @RequestParam(required = false) Double score) {
+        return ResponseEntity.ok(toResponse(scoreDistributionService.getCategoryDistribution(categoryId), score));
+    }
+
+    private Map<String, Object> toResponse(ScoreHistogram histogram, Double score) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("count", histogram.getCount());
+        body.put("p25", histogram.quantile(0.25));
+        body.put("median", histogram.quantile(0.5));
+        body.put("p75", histogram.quantile(0.75));
+        body.put("p90", histogram.quantile(0.9));
+        body.put("histogram", histogram.coarse(HISTOGRAM_BINS));
+        if (score != null) {
+            body.put("score", score);
+            body.put("betterThanPercent", histogram.percentileRank(score));
+        }
+        return body;
+    }
+}
@@ -1,5 +1,7 @@
 package com.quizapp.controller;
 
+import com.quizapp.cache.EntityChange;
+import com.quizapp.cache.InvalidationBus;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.User;
 import com.quizapp.entity.Role;  // Add this
@@ -31,6 +33,9 @@ public class TestController {
     @Autowired  // Add this
     private QuizRepository quizRepository;
 
+    @Autowired
+    private InvalidationBus invalidationBus;
+
     @GetMapping("/api/test/users")
     public List<UserInfo> getAllUsers() {
         return userService.findAllUsers().stream()
@@ -114,7 +119,8 @@ public class TestController {
             quiz.setIsTemplate(false);
             quiz.setCreatedAt(LocalDateTime.now());
 
-            quizRepository.save(quiz);
+            Quiz saved = quizRepository.save(quiz);
+            invalidationBus.publish(EntityChange.quiz(saved.getId()));
 
             long quizCount = quizRepository.count();
             return "✅ Created test quiz! Total quizzes now: " + quizCount;
@@ -150,7 +156,8 @@ public class TestController {
                 }
 
                 if (needsFix) {
-                    quizRepository.save(quiz);
+                    Quiz saved = quizRepository.save(quiz);
+                    invalidationBus.publish(EntityChange.quiz(saved.getId()));
                     fixedCount++;
                 }
             }
@@ -0,0 +1,233 @@
+package com.quizapp.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies versioned SQL scripts ({@code V<version>__<description>.sql}) once each, in version
+ * order, and records them with a CRC32 of their content in {@code schema_history}. A recorded
+ * script whose content has since changed stops the boot: migrations are append-only.
+ *
+ * Each script runs in its own transaction. On PostgreSQL the run holds an advisory lock, so
+ * nodes booting together apply a migration once and the rest wait for it. A database that
+ * already holds the baseline tables (built by {@code ddl-auto=update}) but no history is
+ * baselined: versions up to the baseline version are recorded without being run.
+ */
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    static final String TABLE = "schema_history";
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    // Same "QUIZ" namespace as the job leader locks
+    private static final int LOCK_NAMESPACE = 0x5155495A;
+    private static final int LOCK_KEY = "schema-migrations".hashCode() & 0x7fffffff;
+
+    private static final String SCHEMA =
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "checksum BIGINT NOT NULL, "
+                    + "applied_at TIMESTAMP NOT NULL, "
+                    + "duration_ms BIGINT NOT NULL, "
+                    + "baseline BOOLEAN NOT NULL)";
+
+    record Migration(int version, String description, Resource resource, long checksum) {
+    }
+
+    private final DataSource dataSource;
+    private final String location;
+    private final int baselineVersion;
+    private final String baselineTable;
+
+    /**
+     * @param location       resource pattern of the scripts, e.g. {@code classpath*:db/migration/*.sql}
+     * @param baselineVersion highest version an existing schema is assumed to match, 0 for none
+     * @param baselineTable  table whose presence marks an existing schema
+     */
+    public SchemaMigrator(DataSource dataSource, String location, int baselineVersion, String baselineTable) {
+        this.dataSource = dataSource;
+        this.location = location;
+        this.baselineVersion = baselineVersion;
+        this.baselineTable = baselineTable;
+    }
+
+    /** Applies pending migrations and returns how many ran. */
+    public int migrate() {
+        List<Migration> migrations = discover();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgresql");
+            connection.setAutoCommit(true);
+            if (postgres) {
+                lock(connection, "SELECT pg_advisory_lock(?, ?)");
+            }
+            try {
+                return migrate(connection, migrations);
+            } finally {
+                if (postgres) {
+                    lock(connection, "SELECT pg_advisory_unlock(?, ?)");
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private int migrate(Connection connection, List<Migration> migrations) throws SQLException {
+        boolean existingSchema = baselineVersion > 0 && !tableExists(connection, TABLE)
+                && tableExists(connection, baselineTable);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(SCHEMA);
+        }
+
+        Map<Integer, Long> applied = applied(connection);
+        if (applied.isEmpty() && existingSchema) {
+            for (Migration migration : migrations) {
+                if (migration.version() <= baselineVersion) {
+                    record(connection, migration, 0, true);
+                    applied.put(migration.version(), migration.checksum());
+                }
+            }
+            logger.atInfo().addKeyValue("version", baselineVersion).log("Baselined existing schema");
+        }
+
+        int ran = 0;
+        for (Migration migration : migrations) {
+            Long checksum = applied.get(migration.version());
+            if (checksum != null) {
+                if (checksum != migration.checksum()) {
+                    throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.resource()
+                            .getFilename() + ") changed after it was applied; add a new version instead");
+                }
+                continue;
+            }
+            long started = System.nanoTime();
+            connection.setAutoCommit(false);
+            try {
+                ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.resource(), StandardCharsets.UTF_8));
+                record(connection, migration, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), false);
+                connection.commit();
+            } catch (RuntimeException | SQLException e) {
+                connection.rollback();
+                throw new IllegalStateException("Migration V" + migration.version() + " failed: " + e.getMessage(), e);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            logger.atInfo().addKeyValue("version", migration.version()).addKeyValue("description", migration.description())
+                    .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .log("Applied schema migration");
+            ran++;
+        }
+        return ran;
+    }
+
+    List<Migration> discover() {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources(location);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot list migrations at " + location, e);
+        }
+        Map<Integer, Migration> byVersion = new HashMap<>();
+        for (Resource resource : resources) {
+            Matcher name = SCRIPT_NAME.matcher(String.valueOf(resource.getFilename()));
+            if (!name.matches()) {
+                continue;
+            }
+            Migration migration = new Migration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '),
+                    resource, checksum(resource));
+            Migration clash = byVersion.put(migration.version(), migration);
+            if (clash != null) {
+                throw new IllegalStateException("Two migrations share version " + migration.version() + ": "
+                        + clash.resource().getFilename() + ", " + resource.getFilename());
+            }
+        }
+        List<Migration> migrations = new ArrayList<>(byVersion.values());
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        return migrations;
+    }
+
+    private static long checksum(Resource resource) {
+        CRC32 crc = new CRC32();
+        try (InputStream in = resource.getInputStream()) {
+            crc.update(in.readAllBytes());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read migration " + resource.getFilename(), e);
+        }
+        return crc.getValue();
+    }
+
+    private static Map<Integer, Long> applied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum FROM " + TABLE)) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void record(Connection connection, Migration migration, long durationMillis, boolean baseline)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (version, description, checksum, applied_at, duration_ms, baseline) VALUES (?, ?, ?, ?, ?, ?)")) {
+            insert.setInt(1, migration.version());
+            insert.setString(2, migration.description());
+            insert.setLong(3, migration.checksum());
+            insert.setTimestamp(4, Timestamp.from(Instant.now()));
+            insert.setLong(5, durationMillis);
+            insert.setBoolean(6, baseline);
+            insert.executeUpdate();
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        // PostgreSQL folds unquoted names to lower case, H2 to upper case. Only the current schema
+        // counts: H2's INFORMATION_SCHEMA has a USERS table of its own.
+        String schema = connection.getSchema();
+        for (String name : new String[]{table.toLowerCase(), table.toUpperCase()}) {
+            try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), schema, name, null)) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void lock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, LOCK_KEY);
+            statement.execute();
+        }
+    }
+}
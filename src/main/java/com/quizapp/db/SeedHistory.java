@@ -0,0 +1,37 @@
+package com.quizapp.db;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Checksums of completed seeding runs (table created by migration V2), so a seeder whose
+ * inputs have not changed since its last complete run can be skipped at boot.
+ */
+public class SeedHistory {
+
+    static final String TABLE = "seed_history";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeedHistory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isApplied(String name, long checksum) {
+        List<Long> recorded = jdbcTemplate.queryForList(
+                "SELECT checksum FROM " + TABLE + " WHERE name = ?", Long.class, name);
+        return !recorded.isEmpty() && recorded.get(0) == checksum;
+    }
+
+    public void record(String name, long checksum) {
+        Timestamp now = Timestamp.from(Instant.now());
+        if (jdbcTemplate.update("UPDATE " + TABLE + " SET checksum = ?, applied_at = ? WHERE name = ?",
+                checksum, now, name) == 0) {
+            jdbcTemplate.update("INSERT INTO " + TABLE + " (name, checksum, applied_at) VALUES (?, ?, ?)",
+                    name, checksum, now);
+        }
+    }
+}
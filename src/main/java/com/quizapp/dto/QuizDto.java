@@ -21,6 +21,7 @@ public class QuizDto {
     private Long categoryId;
 
     private Boolean isTemplate = false;
+    private Boolean isAdaptive = false;
 
     // ✅ FIX: Add difficulty level and visibility fields
     private DifficultyLevel difficultyLevel = DifficultyLevel.MEDIUM;
@@ -44,6 +45,9 @@ public class QuizDto {
     public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
     public Boolean getIsTemplate() { return isTemplate; }
     public void setIsTemplate(Boolean isTemplate) { this.isTemplate = isTemplate; }
+
+    public Boolean getIsAdaptive() { return isAdaptive; }
+    public void setIsAdaptive(Boolean isAdaptive) { this.isAdaptive = isAdaptive; }
     public DifficultyLevel getDifficultyLevel() { return difficultyLevel; }
     public void setDifficultyLevel(DifficultyLevel difficultyLevel) { this.difficultyLevel = difficultyLevel; }
     public Boolean getIsPublic() { return isPublic; }
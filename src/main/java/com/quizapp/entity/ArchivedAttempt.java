@@ -0,0 +1,76 @@
+package com.quizapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A completed attempt moved out of quiz_attempts by AttemptArchiveService. Keeps the original
+ * id and everything the leaderboards and exports read; the answer sheet is stored inline in
+ * the AnswerSheetCodec format instead of as attempt_answers rows.
+ */
+@Entity
+@Table(name = "quiz_attempts_archive", indexes = {
+        @Index(name = "ix_quiz_attempts_archive_quiz", columnList = "quiz_id"),
+        @Index(name = "ix_quiz_attempts_archive_user", columnList = "user_id")
+})
+public class ArchivedAttempt {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    private Double score;
+
+    @Column(name = "earned_points")
+    private Integer earnedPoints;
+
+    @Column(name = "total_points")
+    private Integer totalPoints;
+
+    @Column(name = "attempted_at")
+    private LocalDateTime attemptedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(name = "answers", length = 65535)
+    private byte[] answers;
+
+    // Served one question at a time; NULL for attempts archived before the flag was kept
+    @Column(name = "adaptive")
+    private Boolean adaptive;
+
+    public ArchivedAttempt() {}
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getQuizId() { return quizId; }
+    public void setQuizId(Long quizId) { this.quizId = quizId; }
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+    public Integer getEarnedPoints() { return earnedPoints; }
+    public void setEarnedPoints(Integer earnedPoints) { this.earnedPoints = earnedPoints; }
+    public Integer getTotalPoints() { return totalPoints; }
+    public void setTotalPoints(Integer totalPoints) { this.totalPoints = totalPoints; }
+    public LocalDateTime getAttemptedAt() { return attemptedAt; }
+    public void setAttemptedAt(LocalDateTime attemptedAt) { this.attemptedAt = attemptedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+    public byte[] getAnswers() { return answers; }
+    public void setAnswers(byte[] answers) { this.answers = answers; }
+    public Boolean getAdaptive() { return adaptive; }
+    public void setAdaptive(Boolean adaptive) { this.adaptive = adaptive; }
+}
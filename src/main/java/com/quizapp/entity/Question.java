@@ -42,6 +42,14 @@ public class Question {
 
     private Integer points = 1;
 
+    // Two-parameter IRT item parameters for adaptive quizzes (logistic metric). Unset values
+    // fall back to difficultyLevel and a discrimination of 1 (see AdaptiveTestingService).
+    @Column(name = "irt_difficulty")
+    private Double irtDifficulty;
+
+    @Column(name = "irt_discrimination")
+    private Double irtDiscrimination;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "quiz_id")
     private Quiz quiz;
@@ -77,6 +85,12 @@ public class Question {
     public Integer getPoints() { return points; }
     public void setPoints(Integer points) { this.points = points != null ? points : 1; }
 
+    public Double getIrtDifficulty() { return irtDifficulty; }
+    public void setIrtDifficulty(Double irtDifficulty) { this.irtDifficulty = irtDifficulty; }
+
+    public Double getIrtDiscrimination() { return irtDiscrimination; }
+    public void setIrtDiscrimination(Double irtDiscrimination) { this.irtDiscrimination = irtDiscrimination; }
+
     public Quiz getQuiz() { return quiz; }
     public void setQuiz(Quiz quiz) { this.quiz = quiz; }
 
@@ -0,0 +1,68 @@
+package com.quizapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Item-analysis results for one question, produced by ItemAnalysisService.
+ */
+@Entity
+@Table(name = "question_statistics")
+public class QuestionStatistics {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "question_id", nullable = false, unique = true)
+    private Long questionId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount = 0;
+
+    @Column(name = "correct_count", nullable = false)
+    private Integer correctCount = 0;
+
+    @Column(name = "unanswered_count", nullable = false)
+    private Integer unansweredCount = 0;
+
+    // Proportion of attempts answering correctly (classical p-value)
+    private Double difficulty;
+
+    // Point-biserial correlation of this item with the rest score
+    private Double discrimination;
+
+    // Comma-separated selection counts per option, in canonical option order
+    @Column(name = "option_counts", length = 512)
+    private String optionCounts;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+
+    public QuestionStatistics() {}
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+    public Long getQuizId() { return quizId; }
+    public void setQuizId(Long quizId) { this.quizId = quizId; }
+    public Integer getAttemptCount() { return attemptCount; }
+    public void setAttemptCount(Integer attemptCount) { this.attemptCount = attemptCount; }
+    public Integer getCorrectCount() { return correctCount; }
+    public void setCorrectCount(Integer correctCount) { this.correctCount = correctCount; }
+    public Integer getUnansweredCount() { return unansweredCount; }
+    public void setUnansweredCount(Integer unansweredCount) { this.unansweredCount = unansweredCount; }
+    public Double getDifficulty() { return difficulty; }
+    public void setDifficulty(Double difficulty) { this.difficulty = difficulty; }
+    public Double getDiscrimination() { return discrimination; }
+    public void setDiscrimination(Double discrimination) { this.discrimination = discrimination; }
+    public String getOptionCounts() { return optionCounts; }
+    public void setOptionCounts(String optionCounts) { this.optionCounts = optionCounts; }
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+}
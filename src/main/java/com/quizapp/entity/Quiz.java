@@ -25,6 +25,10 @@ public class Quiz {
 
     private LocalDateTime createdAt;
 
+    // Bumped on any change to the quiz or its questions; drives HTTP ETag/Last-Modified
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
@@ -36,6 +40,11 @@ public class Quiz {
     @Column(name = "is_template")
     private Boolean isTemplate = false;
 
+    // Computerized-adaptive: each attempt draws its questions one at a time from the quiz's
+    // questions as an item bank, instead of presenting all of them
+    @Column(name = "is_adaptive")
+    private Boolean isAdaptive = false;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "difficulty_level", nullable = false)
     private DifficultyLevel difficultyLevel = DifficultyLevel.MEDIUM;
@@ -60,6 +69,12 @@ public class Quiz {
         this.isTemplate = false;
     }
 
+    @PrePersist
+    @PreUpdate
+    protected void onChange() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -76,6 +91,9 @@ public class Quiz {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
     public User getCreatedBy() { return createdBy; }
     public void setCreatedBy(User createdBy) { this.createdBy = createdBy; }
 
@@ -85,6 +103,9 @@ public class Quiz {
     public Boolean getIsTemplate() { return isTemplate; }
     public void setIsTemplate(Boolean isTemplate) { this.isTemplate = isTemplate; }
 
+    public Boolean getIsAdaptive() { return isAdaptive; }
+    public void setIsAdaptive(Boolean isAdaptive) { this.isAdaptive = isAdaptive != null ? isAdaptive : false; }
+
     public DifficultyLevel getDifficultyLevel() { return difficultyLevel; }
     public void setDifficultyLevel(DifficultyLevel difficultyLevel) {
         this.difficultyLevel = difficultyLevel != null ? difficultyLevel : DifficultyLevel.MEDIUM;
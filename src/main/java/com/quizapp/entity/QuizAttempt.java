@@ -22,6 +22,21 @@ public class QuizAttempt {
     @Column(name = "earned_points")
     private Integer earnedPoints;
 
+    // Seed for the per-attempt question/option shuffle (see AttemptShuffler)
+    @Column(name = "shuffle_seed")
+    private Long shuffleSeed;
+
+    // Adaptive attempts only (null otherwise): the running ability estimate and its standard
+    // error, and the question served but not yet answered
+    @Column(name = "ability_estimate")
+    private Double abilityEstimate;
+
+    @Column(name = "ability_standard_error")
+    private Double abilityStandardError;
+
+    @Column(name = "current_question_id")
+    private Long currentQuestionId;
+
 
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,9 +47,11 @@ public class QuizAttempt {
     @JoinColumn(name = "quiz_id")
     private Quiz quiz;
 
+    // No FK: once partitioned, quiz_attempts is only unique on (id, attempted_at)
     @ElementCollection
     @CollectionTable(name = "attempt_answers",
-            joinColumns = @JoinColumn(name = "attempt_id"))
+            joinColumns = @JoinColumn(name = "attempt_id"),
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @MapKeyColumn(name = "question_id")
     @Column(name = "selected_option_index")
     private Map<Long, Integer> answers = new HashMap<>();
@@ -138,5 +155,41 @@ public class QuizAttempt {
         return totalPoints;
     }
 
+    public Long getShuffleSeed() {
+        return shuffleSeed;
+    }
+
+    public void setShuffleSeed(Long shuffleSeed) {
+        this.shuffleSeed = shuffleSeed;
+    }
+
+    public boolean isAdaptive() {
+        return abilityEstimate != null;
+    }
+
+    public Double getAbilityEstimate() {
+        return abilityEstimate;
+    }
+
+    public void setAbilityEstimate(Double abilityEstimate) {
+        this.abilityEstimate = abilityEstimate;
+    }
+
+    public Double getAbilityStandardError() {
+        return abilityStandardError;
+    }
+
+    public void setAbilityStandardError(Double abilityStandardError) {
+        this.abilityStandardError = abilityStandardError;
+    }
+
+    public Long getCurrentQuestionId() {
+        return currentQuestionId;
+    }
+
+    public void setCurrentQuestionId(Long currentQuestionId) {
+        this.currentQuestionId = currentQuestionId;
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.quizapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted score histogram for one quiz (see ScoreHistogram). Nodes fold graded attempts into
+ * this row in completion order, so it holds the cluster-wide distribution.
+ */
+@Entity
+@Table(name = "score_distributions")
+public class ScoreDistribution {
+
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    @Column(name = "histogram", length = 12288)
+    private byte[] histogram;
+
+    @Column(name = "attempt_count", nullable = false)
+    private Long attemptCount = 0L;
+
+    // Watermark: the last attempt folded in, by completion time then id. No completion time
+    // (a row from before the watermark existed) means the histogram is rebuilt on the next fold.
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+
+    @Column(name = "last_attempt_id", nullable = false)
+    private Long lastAttemptId = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ScoreDistribution() {}
+
+    public ScoreDistribution(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    // Getters and setters
+    public Long getQuizId() { return quizId; }
+    public void setQuizId(Long quizId) { this.quizId = quizId; }
+    public byte[] getHistogram() { return histogram; }
+    public void setHistogram(byte[] histogram) { this.histogram = histogram; }
+    public Long getAttemptCount() { return attemptCount; }
+    public void setAttemptCount(Long attemptCount) { this.attemptCount = attemptCount; }
+    public LocalDateTime getLastCompletedAt() { return lastCompletedAt; }
+    public void setLastCompletedAt(LocalDateTime lastCompletedAt) { this.lastCompletedAt = lastCompletedAt; }
+    public Long getLastAttemptId() { return lastAttemptId; }
+    public void setLastAttemptId(Long lastAttemptId) { this.lastAttemptId = lastAttemptId; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
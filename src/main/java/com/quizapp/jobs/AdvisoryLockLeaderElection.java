@@ -0,0 +1,146 @@
+package com.quizapp.jobs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Leader election over PostgreSQL session-level advisory locks, one lock per job shard.
+ *
+ * All locks live on one connection this node keeps outside the pool, so the lease is that
+ * session: the server frees every lock the moment the node dies or its connection drops, and
+ * another node picks the shards up on its next tick. Each claim pings the connection first and
+ * starts over from nothing if it is gone.
+ *
+ * Every node also holds a shared "member" lock, which lets it count live nodes in
+ * {@code pg_locks} and keep no more than its fair share of a job's shards. A node that joins
+ * gets work as soon as the others give up their surplus on their next tick.
+ */
+public class AdvisoryLockLeaderElection implements LeaderElection, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AdvisoryLockLeaderElection.class);
+
+    // First key of every two-part advisory lock taken here ("QUIZ"), so they are easy to spot in pg_locks
+    static final int NAMESPACE = 0x5155495A;
+    private static final int MEMBERS = key("cluster-members");
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    @FunctionalInterface
+    public interface Connector {
+        Connection connect() throws SQLException;
+    }
+
+    private final Connector connector;
+    private final String nodeName;
+    private final Map<String, TreeSet<Integer>> held = new HashMap<>();
+    private Connection connection;
+
+    public AdvisoryLockLeaderElection(Connector connector, String nodeName) {
+        this.connector = connector;
+        this.nodeName = nodeName;
+    }
+
+    @Override
+    public synchronized List<Integer> claimShards(String job, int shardCount) {
+        try {
+            Connection session = session();
+            int fairShare = fairShare(shardCount, countMembers(session));
+            TreeSet<Integer> mine = held.computeIfAbsent(job, name -> new TreeSet<>());
+            while (!mine.isEmpty() && (mine.size() > fairShare || mine.last() >= shardCount)) {
+                int shard = mine.pollLast();
+                call(session, "SELECT pg_advisory_unlock(?, ?)", key(job + "#" + shard));
+                logger.atInfo().addKeyValue("job", job).addKeyValue("shard", shard).log("Released job shard");
+            }
+            for (int shard = 0; shard < shardCount && mine.size() < fairShare; shard++) {
+                if (!mine.contains(shard) && call(session, "SELECT pg_try_advisory_lock(?, ?)", key(job + "#" + shard))) {
+                    mine.add(shard);
+                    logger.atInfo().addKeyValue("job", job).addKeyValue("shard", shard).log("Now leading job shard");
+                }
+            }
+            return List.copyOf(mine);
+        } catch (SQLException e) {
+            logger.atWarn().addKeyValue("job", job)
+                    .log("Leader election connection failed, running no shards this tick: " + e.getMessage());
+            disconnect();
+            return List.of();
+        }
+    }
+
+    @Override
+    public String nodeName() {
+        return nodeName;
+    }
+
+    @Override
+    public synchronized void close() {
+        disconnect();
+    }
+
+    static int fairShare(int shardCount, int members) {
+        int nodes = Math.max(1, members);
+        return (shardCount + nodes - 1) / nodes;
+    }
+
+    static int key(String name) {
+        return name.hashCode() & 0x7fffffff;
+    }
+
+    private Connection session() throws SQLException {
+        if (connection != null && connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+            return connection;
+        }
+        if (connection != null) {
+            logger.warn("Leader election connection lost; all job shards released");
+            disconnect();
+        }
+        Connection fresh = connector.connect();
+        try {
+            call(fresh, "SELECT 1 FROM (SELECT pg_advisory_lock_shared(?, ?)) AS member", MEMBERS);
+        } catch (SQLException e) {
+            fresh.close();
+            throw e;
+        }
+        connection = fresh;
+        return connection;
+    }
+
+    private int countMembers(Connection session) throws SQLException {
+        try (PreparedStatement statement = session.prepareStatement("SELECT count(*) FROM pg_locks "
+                + "WHERE locktype = 'advisory' AND classid::bigint = ? AND objid::bigint = ? AND objsubid = 2 AND granted")) {
+            statement.setLong(1, NAMESPACE);
+            statement.setLong(2, MEMBERS);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 1;
+            }
+        }
+    }
+
+    private static boolean call(Connection session, String sql, int key) throws SQLException {
+        try (PreparedStatement statement = session.prepareStatement(sql)) {
+            statement.setInt(1, NAMESPACE);
+            statement.setInt(2, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void disconnect() {
+        held.clear();
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Closing leader election connection failed: {}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+}
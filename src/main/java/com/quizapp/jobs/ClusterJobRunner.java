@@ -0,0 +1,70 @@
+package com.quizapp.jobs;
+
+import com.quizapp.util.BackgroundWork;
+import com.quizapp.util.QuizMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a cluster-wide job on whichever shards this node currently leads, so adding nodes
+ * spreads a job's work instead of repeating it. Each shard run goes to the {@link JobRunHistory}
+ * and to the {@code quiz.job.run} timer. A failing shard is recorded and logged but does not
+ * stop the others or the schedule.
+ */
+@Component
+public class ClusterJobRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterJobRunner.class);
+
+    /** Processes one shard and returns the number of rows it handled. */
+    @FunctionalInterface
+    public interface ShardTask {
+        int run(JobShard shard);
+    }
+
+    private final LeaderElection election;
+    private final JobRunHistory history;
+
+    @Autowired
+    public ClusterJobRunner(LeaderElection election, JobRunHistory history) {
+        this.election = election;
+        this.history = history;
+    }
+
+    /** Returns the rows processed across the shards run here, 0 when this node leads none. */
+    public int run(String job, int shardCount, ShardTask task) {
+        List<Integer> shards = election.claimShards(job, shardCount);
+        int total = 0;
+        for (int index : shards) {
+            JobShard shard = new JobShard(index, shardCount);
+            Instant startedAt = Instant.now();
+            long started = System.nanoTime();
+            int rows = 0;
+            String outcome = "success";
+            String error = null;
+            try {
+                rows = BackgroundWork.call(() -> task.run(shard));
+            } catch (RuntimeException e) {
+                outcome = "failed";
+                error = e.toString();
+                logger.atError().addKeyValue("job", job).addKeyValue("shard", index).setCause(e).log("Job run failed");
+            }
+            long elapsed = System.nanoTime() - started;
+            QuizMetrics.recordNanos(QuizMetrics.JOB_RUN, elapsed, "job", job, "outcome", outcome);
+            QuizMetrics.increment(QuizMetrics.JOB_ROWS, rows, "job", job);
+            try {
+                history.record(new JobRunHistory.JobRun(job, shard, election.nodeName(), startedAt,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), rows, outcome, error));
+            } catch (RuntimeException e) {
+                logger.atWarn().addKeyValue("job", job).log("Could not record job run: " + e.getMessage());
+            }
+            total += rows;
+        }
+        return total;
+    }
+}
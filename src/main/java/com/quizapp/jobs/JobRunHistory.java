@@ -0,0 +1,75 @@
+package com.quizapp.jobs;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One row per job shard run, shared by all nodes: who ran it, when, for how long, how many
+ * rows it touched and whether it failed. The DDL is portable between PostgreSQL and H2.
+ */
+public class JobRunHistory {
+
+    static final String TABLE = "job_runs";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "job_name VARCHAR(64) NOT NULL, "
+                    + "shard INT NOT NULL, "
+                    + "shard_count INT NOT NULL, "
+                    + "node VARCHAR(128) NOT NULL, "
+                    + "started_at TIMESTAMP NOT NULL, "
+                    + "duration_ms BIGINT NOT NULL, "
+                    + "rows_processed INT NOT NULL, "
+                    + "outcome VARCHAR(16) NOT NULL, "
+                    + "error VARCHAR(" + MAX_ERROR_LENGTH + "))",
+            "CREATE INDEX IF NOT EXISTS ix_" + TABLE + "_job_started ON " + TABLE + " (job_name, started_at)"
+    };
+
+    public record JobRun(String job, JobShard shard, String node, Instant startedAt, long durationMillis,
+                         int rowsProcessed, String outcome, String error) {
+    }
+
+    private static final RowMapper<JobRun> ROW_MAPPER = (rs, rowNum) -> new JobRun(
+            rs.getString("job_name"), new JobShard(rs.getInt("shard"), rs.getInt("shard_count")),
+            rs.getString("node"), rs.getTimestamp("started_at").toInstant(), rs.getLong("duration_ms"),
+            rs.getInt("rows_processed"), rs.getString("outcome"), rs.getString("error"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobRunHistory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void initializeSchema() {
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    public void record(JobRun run) {
+        String error = run.error() != null && run.error().length() > MAX_ERROR_LENGTH
+                ? run.error().substring(0, MAX_ERROR_LENGTH) : run.error();
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (job_name, shard, shard_count, node, started_at, "
+                        + "duration_ms, rows_processed, outcome, error) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                run.job(), run.shard().index(), run.shard().count(), run.node(), Timestamp.from(run.startedAt()),
+                run.durationMillis(), run.rowsProcessed(), run.outcome(), error);
+    }
+
+    public List<JobRun> recent(String job, int limit) {
+        return jdbcTemplate.query("SELECT job_name, shard, shard_count, node, started_at, duration_ms, "
+                + "rows_processed, outcome, error FROM " + TABLE + " WHERE job_name = ? "
+                + "ORDER BY started_at DESC, id DESC LIMIT ?", ROW_MAPPER, job, limit);
+    }
+
+    /** Deletes runs that started before {@code cutoff}; returns how many. */
+    public int purgeBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE started_at < ?", Timestamp.from(cutoff));
+    }
+}
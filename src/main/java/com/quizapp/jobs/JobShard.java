@@ -0,0 +1,20 @@
+package com.quizapp.jobs;
+
+/**
+ * The slice of a job's work one node handles: rows whose id falls in {@code index} modulo
+ * {@code count}. An unsharded job always runs as {@link #ALL}.
+ */
+public record JobShard(int index, int count) {
+
+    public static final JobShard ALL = new JobShard(0, 1);
+
+    public JobShard {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + count);
+        }
+    }
+
+    public boolean owns(long id) {
+        return Math.floorMod(id, count) == index;
+    }
+}
@@ -0,0 +1,20 @@
+package com.quizapp.jobs;
+
+import java.util.List;
+
+/**
+ * Decides which shards of a cluster-wide job this node leads. Called on every scheduled tick;
+ * leadership is kept between ticks, so the same node keeps running a shard until it stops or
+ * the cluster rebalances.
+ */
+public interface LeaderElection {
+
+    /**
+     * Renews the shards this node already leads, takes over unowned ones up to its fair share
+     * and gives up any beyond it. Returns the shards to run now, possibly none.
+     */
+    List<Integer> claimShards(String job, int shardCount);
+
+    /** Identifies this node in the job history. */
+    String nodeName();
+}
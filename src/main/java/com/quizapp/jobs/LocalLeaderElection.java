@@ -0,0 +1,26 @@
+package com.quizapp.jobs;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Single-node stand-in used by tests and H2 runs: this node leads every shard of every job.
+ */
+public class LocalLeaderElection implements LeaderElection {
+
+    private final String nodeName;
+
+    public LocalLeaderElection(String nodeName) {
+        this.nodeName = nodeName;
+    }
+
+    @Override
+    public List<Integer> claimShards(String job, int shardCount) {
+        return IntStream.range(0, shardCount).boxed().toList();
+    }
+
+    @Override
+    public String nodeName() {
+        return nodeName;
+    }
+}
@@ -0,0 +1,86 @@
+package com.quizapp.jobs;
+
+import com.quizapp.service.AttemptArchiveService;
+import com.quizapp.service.AttemptPartitionService;
+import com.quizapp.service.EmailVerificationService;
+import com.quizapp.service.PasswordResetService;
+import com.quizapp.service.QuizAttemptService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Schedules for jobs that act on shared data and so must run once per cluster, not once per
+ * node. Jobs that only tidy a node's own memory keep their {@code @Scheduled} in place.
+ */
+@Component
+public class ScheduledJobs {
+
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
+
+    @Autowired
+    private JobRunHistory jobRunHistory;
+
+    @Autowired
+    private QuizAttemptService quizAttemptService;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private AttemptPartitionService attemptPartitionService;
+
+    @Autowired
+    private AttemptArchiveService attemptArchiveService;
+
+    @Value("${app.jobs.auto-submit.shards:4}")
+    private int autoSubmitShards = 4;
+
+    @Value("${app.jobs.history-retention:14d}")
+    private Duration historyRetention = Duration.ofDays(14);
+
+    @Scheduled(fixedDelayString = "${app.jobs.auto-submit.interval-ms:60000}")
+    public void autoSubmitExpiredAttempts() {
+        clusterJobRunner.run("auto-submit", autoSubmitShards, quizAttemptService::autoSubmitExpiredAttempts);
+    }
+
+    @Scheduled(cron = "${app.jobs.auto-submit.backlog-cron:0 15 4 * * *}")
+    public void autoSubmitExpiredBacklog() {
+        clusterJobRunner.run("auto-submit-backlog", autoSubmitShards, quizAttemptService::autoSubmitExpiredBacklog);
+    }
+
+    @Scheduled(fixedRateString = "${app.jobs.token-cleanup.interval-ms:3600000}")
+    public void cleanupVerificationTokens() {
+        clusterJobRunner.run("verification-token-cleanup", 1, shard -> emailVerificationService.cleanupExpiredTokens());
+    }
+
+    @Scheduled(fixedRateString = "${app.jobs.token-cleanup.interval-ms:3600000}")
+    public void cleanupPasswordResetTokens() {
+        clusterJobRunner.run("password-reset-token-cleanup", 1, shard -> passwordResetService.cleanExpiredTokens());
+    }
+
+    @Scheduled(cron = "${app.jobs.history-purge.cron:0 30 3 * * *}")
+    public void purgeJobHistory() {
+        clusterJobRunner.run("job-history-purge", 1,
+                shard -> jobRunHistory.purgeBefore(Instant.now().minus(historyRetention)));
+    }
+
+    // First run at startup, so a node coming back after a long stop creates missing partitions
+    @Scheduled(fixedDelayString = "${app.partitioning.interval-ms:21600000}")
+    public void maintainAttemptPartitions() {
+        clusterJobRunner.run("attempt-partitions", 1, shard -> attemptPartitionService.maintainPartitions());
+    }
+
+    @Scheduled(cron = "${app.archival.cron:0 0 4 * * *}")
+    public void archiveAttempts() {
+        clusterJobRunner.run("attempt-archival", 1, shard -> attemptArchiveService.archiveExpiredAttempts());
+    }
+}
@@ -0,0 +1,35 @@
+package com.quizapp.repository;
+
+import com.quizapp.entity.ArchivedAttempt;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedAttemptRepository extends JpaRepository<ArchivedAttempt, Long> {
+
+    // Same row shape as QuizAttemptRepository.streamCompletedScores, for the leaderboard rebuild
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.quizId, a.userId, u.username, a.id, a.score, a.completedAt " +
+            "FROM ArchivedAttempt a JOIN User u ON u.id = a.userId WHERE a.score IS NOT NULL")
+    Stream<Object[]> streamCompletedScores();
+
+    // Scores of a quiz's archived attempts, for rebuilding its score distribution
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.score FROM ArchivedAttempt a WHERE a.quizId = :quizId AND a.score IS NOT NULL")
+    Stream<Double> streamScoresByQuizId(@Param("quizId") Long quizId);
+
+    // Forward-only scan of a quiz's archived fixed-form answer sheets (attempt id, encoded answers)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.answers FROM ArchivedAttempt a WHERE a.quizId = :quizId " +
+            "AND (a.adaptive IS NULL OR a.adaptive = false) ORDER BY a.id")
+    Stream<Object[]> streamAnswerSheetsByQuizId(@Param("quizId") Long quizId);
+
+    @Query("SELECT COUNT(a) FROM ArchivedAttempt a WHERE a.quizId = :quizId")
+    Long countByQuizId(@Param("quizId") Long quizId);
+}
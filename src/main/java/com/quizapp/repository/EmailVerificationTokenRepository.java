@@ -19,7 +19,7 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
 
     @Modifying
     @Query("DELETE FROM EmailVerificationToken t WHERE t.expiryDate < :now")
-    void deleteAllExpiredSince(@Param("now") LocalDateTime now);
+    int deleteAllExpiredSince(@Param("now") LocalDateTime now);
 
     @Modifying
     @Query("DELETE FROM EmailVerificationToken t WHERE t.user = :user")
@@ -19,5 +19,5 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
 
     @Modifying
     @Query("DELETE FROM PasswordResetToken t WHERE t.expiryDate < :now")
-    void deleteAllByExpiryDateBefore(@Param("now") LocalDateTime now);
+    int deleteAllByExpiryDateBefore(@Param("now") LocalDateTime now);
 }
\ No newline at end of file
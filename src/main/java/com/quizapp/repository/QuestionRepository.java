@@ -35,6 +35,33 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     @Query("SELECT q FROM Question q WHERE q.quiz IS NULL")
     List<Question> findQuestionBankQuestions();
 
+    // Scalar item parameters for the adaptive item index; no Question entities or options are loaded
+    interface ItemParameters {
+        Long getId();
+        Double getDiscrimination();
+        Double getDifficulty();
+        DifficultyLevel getDifficultyLevel();
+        Integer getCorrectAnswerIndex();
+        Integer getPoints();
+    }
+
+    @Query("SELECT q.id AS id, q.irtDiscrimination AS discrimination, q.irtDifficulty AS difficulty, "
+            + "q.difficultyLevel AS difficultyLevel, q.correctAnswerIndex AS correctAnswerIndex, q.points AS points "
+            + "FROM Question q WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<ItemParameters> findItemParametersByQuizId(@Param("quizId") Long quizId);
+
+    // Answer key of each question for item analysis; options are counted, not loaded
+    interface ItemKey {
+        Long getId();
+        Integer getCorrectAnswerIndex();
+        Integer getPoints();
+        Integer getOptionCount();
+    }
+
+    @Query("SELECT q.id AS id, q.correctAnswerIndex AS correctAnswerIndex, q.points AS points, "
+            + "SIZE(q.options) AS optionCount FROM Question q WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<ItemKey> findItemKeysByQuizId(@Param("quizId") Long quizId);
+
     // NEW: Delete question from quiz
     @Modifying
     @Query("DELETE FROM Question q WHERE q.id = :questionId AND q.quiz.id = :quizId")
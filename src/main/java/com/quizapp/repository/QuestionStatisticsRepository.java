@@ -0,0 +1,14 @@
+package com.quizapp.repository;
+
+import com.quizapp.entity.QuestionStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuestionStatisticsRepository extends JpaRepository<QuestionStatistics, Long> {
+    List<QuestionStatistics> findByQuizId(Long quizId);
+    Optional<QuestionStatistics> findByQuestionId(Long questionId);
+}
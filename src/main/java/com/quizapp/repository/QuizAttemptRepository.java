@@ -1,12 +1,17 @@
 package com.quizapp.repository;
 
 import com.quizapp.entity.QuizAttempt;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
@@ -29,4 +34,57 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
 
     @Query("SELECT qa FROM QuizAttempt qa WHERE qa.user.id = :userId AND qa.quiz.id = :quizId ORDER BY qa.attemptedAt DESC")
     List<QuizAttempt> findByUserIdAndQuizIdOrderByAttemptedAtDesc(Long userId, Long quizId);
-}
\ No newline at end of file
+
+    // Forward-only scan used to rebuild the in-memory leaderboards; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT qa.quiz.id, qa.user.id, qa.user.username, qa.id, qa.score, qa.completedAt " +
+            "FROM QuizAttempt qa WHERE qa.completedAt IS NOT NULL AND qa.score IS NOT NULL")
+    Stream<Object[]> streamCompletedScores();
+
+    // Forward-only scan of attempts graded since a point in time, used for score distribution catch-up
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT qa.quiz.id, qa.id, qa.completedAt, qa.score FROM QuizAttempt qa " +
+            "WHERE qa.completedAt >= :since AND qa.score IS NOT NULL")
+    Stream<Object[]> streamScoresCompletedSince(@Param("since") LocalDateTime since);
+
+    // A quiz's graded attempts past the (completedAt, id) watermark and completed no later than upTo, oldest first
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT qa.id, qa.completedAt, qa.score FROM QuizAttempt qa " +
+            "WHERE qa.quiz.id = :quizId AND qa.score IS NOT NULL AND qa.completedAt <= :upTo " +
+            "AND (qa.completedAt > :after OR (qa.completedAt = :after AND qa.id > :afterId)) " +
+            "ORDER BY qa.completedAt, qa.id")
+    Stream<Object[]> streamScoresToFold(@Param("quizId") Long quizId, @Param("after") LocalDateTime after,
+                                        @Param("afterId") Long afterId, @Param("upTo") LocalDateTime upTo);
+
+    // Forward-only scan of a quiz's graded fixed-form answer sheets, one row per answer (NULL
+    // question for blank sheets). Adaptive attempts are left out: each saw only some questions.
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query(value = "SELECT qa.id, aa.question_id, aa.selected_option_index FROM quiz_attempts qa " +
+            "LEFT JOIN attempt_answers aa ON aa.attempt_id = qa.id " +
+            "WHERE qa.quiz_id = :quizId AND qa.completed_at IS NOT NULL AND qa.ability_estimate IS NULL " +
+            "ORDER BY qa.id",
+            nativeQuery = true)
+    Stream<Object[]> streamAnswersByQuizId(@Param("quizId") Long quizId);
+
+    // Open attempts past their deadline, restricted to one shard of the id space; the attemptedAt
+    // bound keeps a partitioned quiz_attempts scan to the latest partitions
+    @Query("SELECT qa FROM QuizAttempt qa WHERE qa.completedAt IS NULL AND qa.expiresAt < :now " +
+            "AND qa.attemptedAt > :startedAfter AND MOD(qa.id, :shardCount) = :shardIndex")
+    List<QuizAttempt> findExpiredOpenAttempts(@Param("now") LocalDateTime now,
+                                              @Param("startedAfter") LocalDateTime startedAfter,
+                                              @Param("shardCount") int shardCount,
+                                              @Param("shardIndex") int shardIndex);
+
+    // The rest of the open expired attempts, which the sweep above leaves out: oldest first, a page
+    // at a time, for the daily backlog sweep that may read every partition
+    @Query("SELECT qa FROM QuizAttempt qa WHERE qa.completedAt IS NULL AND qa.expiresAt < :now " +
+            "AND qa.attemptedAt <= :startedBefore AND MOD(qa.id, :shardCount) = :shardIndex ORDER BY qa.id")
+    List<QuizAttempt> findExpiredOpenAttemptsStartedBefore(@Param("now") LocalDateTime now,
+                                                           @Param("startedBefore") LocalDateTime startedBefore,
+                                                           @Param("shardCount") int shardCount,
+                                                           @Param("shardIndex") int shardIndex,
+                                                           Pageable page);
+
+    @Query("SELECT COUNT(qa) FROM QuizAttempt qa WHERE qa.quiz.id = :quizId AND qa.completedAt IS NOT NULL")
+    Long countCompletedByQuizId(@Param("quizId") Long quizId);
+}
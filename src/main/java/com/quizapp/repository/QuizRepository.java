@@ -2,11 +2,14 @@ package com.quizapp.repository;
 
 import com.quizapp.entity.Quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
@@ -16,4 +19,27 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
 
     @Query("SELECT q FROM Quiz q WHERE q.isTemplate = true")
     List<Quiz> findByIsTemplateTrue();
-}
\ No newline at end of file
+
+    @Query("SELECT q.id FROM Quiz q WHERE q.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Scalar version lookups for HTTP conditional requests; no Quiz entities are loaded
+    interface CatalogVersion {
+        LocalDateTime getLastModified();
+        long getQuizCount();
+    }
+
+    @Query("SELECT MAX(COALESCE(q.updatedAt, q.createdAt)) AS lastModified, COUNT(q) AS quizCount FROM Quiz q")
+    CatalogVersion findCatalogVersion();
+
+    @Query("SELECT COUNT(q) FROM Quiz q WHERE q.isPublic = true AND q.enabled = true "
+            + "AND (q.isTemplate IS NULL OR q.isTemplate = false)")
+    long countPublic();
+
+    @Query("SELECT COALESCE(q.updatedAt, q.createdAt) FROM Quiz q WHERE q.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Quiz q SET q.updatedAt = :now WHERE q.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,24 @@
+package com.quizapp.repository;
+
+import com.quizapp.entity.ScoreDistribution;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScoreDistributionRepository extends JpaRepository<ScoreDistribution, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM ScoreDistribution d WHERE d.quizId = :quizId")
+    Optional<ScoreDistribution> findByQuizIdForUpdate(@Param("quizId") Long quizId);
+
+    // Rows another node may have folded since this node last looked
+    List<ScoreDistribution> findByUpdatedAtAfter(LocalDateTime since);
+}
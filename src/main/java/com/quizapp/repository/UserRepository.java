@@ -43,6 +43,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.loginAttempts = 0, u.accountLocked = false, u.lockTime = null WHERE u.lockTime < :expiryTime AND u.accountLocked = true")
     void unlockExpiredAccounts(@Param("expiryTime") LocalDateTime expiryTime);
 
+    @Modifying
+    @Query("UPDATE User u SET u.accountLocked = true, u.lockTime = :lockTime, u.loginAttempts = :attempts WHERE u.username = :username")
+    int lockAccount(@Param("username") String username, @Param("attempts") int attempts, @Param("lockTime") LocalDateTime lockTime);
+
+    @Modifying
+    @Query("UPDATE User u SET u.accountLocked = false, u.lockTime = null, u.loginAttempts = 0 WHERE u.username = :username AND u.accountLocked = true")
+    int unlockAccount(@Param("username") String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = true WHERE u.username = :username AND u.enabled = false")
+    int enableAccount(@Param("username") String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = :lastLogin WHERE u.username = :username")
+    int updateLastLogin(@Param("username") String username, @Param("lastLogin") LocalDateTime lastLogin);
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = 'PARTICIPANT' AND u.enabled = true")
     Long countActiveParticipants();
 
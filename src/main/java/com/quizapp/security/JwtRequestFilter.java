@@ -1,6 +1,7 @@
 package com.quizapp.security;
 
 import com.quizapp.service.CustomUserDetailsService;
+import com.quizapp.util.QuizMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,8 +36,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
+        long started = System.nanoTime();
+        String outcome = "none";
         try {
             String jwt = parseJwt(request);
+            if (jwt != null) {
+                outcome = "rejected";
+            }
 
             if (jwt != null && jwtUtil.validateToken(jwt)) {
                 String username = jwtUtil.extractUsername(jwt);
@@ -55,12 +61,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                         SecurityContextHolder.getContext().setAuthentication(authentication);
 
                         logger.debug("Authenticated user: {}", username);
+                        outcome = "authenticated";
                     }
                 }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
+            outcome = "error";
         }
+        // Only the token work is timed, not the rest of the chain
+        QuizMetrics.recordNanos(QuizMetrics.JWT_FILTER, System.nanoTime() - started, "outcome", outcome);
 
         chain.doFilter(request, response);
     }
@@ -0,0 +1,63 @@
+package com.quizapp.security;
+
+import com.quizapp.service.LoginAttemptService;
+import com.quizapp.util.QuizMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns away login posts from a client address that has piled up failed logins, before any
+ * user lookup or password hashing happens. Behind a proxy the address is the forwarded client's
+ * (server.forward-headers-strategy), not the proxy's.
+ */
+@Component
+public class LoginThrottleFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleFilter.class);
+
+    static final String FORM_LOGIN = "/login";
+    static final String API_LOGIN = "/api/auth/login";
+
+    private final LoginAttemptService loginAttemptService;
+
+    @Autowired
+    public LoginThrottleFilter(LoginAttemptService loginAttemptService) {
+        this.loginAttemptService = loginAttemptService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !"POST".equals(request.getMethod()) || !(FORM_LOGIN.equals(path) || API_LOGIN.equals(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String address = request.getRemoteAddr();
+        if (!loginAttemptService.isAddressBlocked(address)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        logger.atWarn().addKeyValue("address", address).log("Login rejected, too many failures from address");
+        QuizMetrics.increment(QuizMetrics.LOGIN_THROTTLE, 1, "outcome", "address_blocked");
+        if (API_LOGIN.equals(request.getServletPath())) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Too many failed login attempts, try again later");
+        } else {
+            response.sendRedirect(request.getContextPath() + "/login?locked=true");
+        }
+    }
+}
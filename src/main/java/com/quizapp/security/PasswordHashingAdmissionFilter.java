@@ -0,0 +1,84 @@
+package com.quizapp.security;
+
+import com.quizapp.util.QuizMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Admission control for the endpoints that hash passwords: login, registration, password
+ * change and reset. When the hashing queue is full the request is answered 503 with a
+ * Retry-After before it reaches the user lookup, and a hash refused mid-request (the queue
+ * filled up in between) is turned into the same response.
+ */
+@Component
+public class PasswordHashingAdmissionFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingAdmissionFilter.class);
+
+    static final Set<String> HASHING_PATHS = Set.of(
+            "/login", "/api/auth/login",
+            "/register", "/api/auth/register",
+            "/profile/change-password", "/reset-password");
+
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    public PasswordHashingAdmissionFilter(PasswordHashingExecutor passwordHashingExecutor) {
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !HASHING_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        if (passwordHashingExecutor.isSaturated()) {
+            QuizMetrics.increment(QuizMetrics.PASSWORD_HASH_REJECTED, 1, "operation", "admission");
+            reject(response, passwordHashingExecutor.retryAfterSeconds());
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            PasswordHashingSaturatedException saturated = findSaturation(e);
+            if (saturated == null || response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            reject(response, saturated.getRetryAfterSeconds());
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        logger.warn("Password hashing saturated, rejecting request (retry after {}s)", retryAfterSeconds);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Sign-in is busy right now, please retry in " + retryAfterSeconds + " seconds");
+    }
+
+    private static PasswordHashingSaturatedException findSaturation(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof PasswordHashingSaturatedException saturated) {
+                return saturated;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.quizapp.security;
+
+import com.quizapp.util.QuizMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool that every BCrypt hash and verification runs on, so a login spike can use
+ * at most {@code threads} cores and never the request threads that serve quiz traffic. The
+ * queue is bounded; once it is full new work is refused and {@link PasswordHashingAdmissionFilter}
+ * answers 503 instead of letting logins pile up.
+ *
+ * The BCrypt cost is calibrated once at startup: the highest strength whose single hash stays
+ * within the target latency, never below the configured minimum.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private static final String CALIBRATION_INPUT = "calibration-Passw0rd!";
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int strength;
+    private final AtomicLong averageNanos;
+
+    @Autowired
+    public PasswordHashingExecutor(@Value("${app.password-hashing.threads:0}") int threads,
+                                   @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.password-hashing.calibrate:true}") boolean calibrate,
+                                   @Value("${app.password-hashing.target-millis:100}") long targetMillis,
+                                   @Value("${app.password-hashing.min-strength:10}") int minStrength,
+                                   @Value("${app.password-hashing.max-strength:14}") int maxStrength) {
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        if (calibrate) {
+            long[] measured = new long[1];
+            this.strength = calibrate(targetMillis, minStrength, maxStrength, measured);
+            this.averageNanos = new AtomicLong(measured[0]);
+            logger.info("BCrypt strength calibrated to {} (~{} ms per hash, target {} ms), {} hashing threads",
+                    strength, TimeUnit.NANOSECONDS.toMillis(measured[0]), targetMillis, this.threads);
+        } else {
+            this.strength = minStrength;
+            this.averageNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(targetMillis));
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * True when the queue is already full, i.e. a new hash would be refused.
+     */
+    public boolean isSaturated() {
+        return executor.getQueue().remainingCapacity() == 0;
+    }
+
+    /**
+     * Rough time for the work already queued and running to drain, rounded up to whole seconds.
+     */
+    public long retryAfterSeconds() {
+        long backlog = executor.getQueue().size() + executor.getActiveCount();
+        long nanos = backlog * averageNanos.get() / threads;
+        return Math.max(1L, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    public <T> T run(String operation, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                T result = task.get();
+                long elapsed = System.nanoTime() - started;
+                averageNanos.updateAndGet(avg -> avg + (elapsed - avg) / 8);
+                QuizMetrics.recordNanos(QuizMetrics.PASSWORD_HASH, elapsed, "operation", operation);
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            QuizMetrics.increment(QuizMetrics.PASSWORD_HASH_REJECTED, 1, "operation", operation);
+            throw new PasswordHashingSaturatedException(retryAfterSeconds());
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    static int calibrate(long targetMillis, int minStrength, int maxStrength, long[] measuredNanos) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_INPUT);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long started = System.nanoTime();
+            probe.encode(CALIBRATION_INPUT);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        // Each extra cost round doubles the work
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        int strength = minStrength;
+        long estimate = best;
+        while (strength < maxStrength && estimate * 2 <= targetNanos) {
+            strength++;
+            estimate *= 2;
+        }
+        measuredNanos[0] = estimate;
+        return strength;
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
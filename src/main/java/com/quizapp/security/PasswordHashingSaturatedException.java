@@ -0,0 +1,19 @@
+package com.quizapp.security;
+
+/**
+ * Thrown when the password hashing pool has no room for another hash. Callers should answer
+ * 503 with the suggested Retry-After rather than queue the request on a web thread.
+ */
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingSaturatedException(long retryAfterSeconds) {
+        super("Too many password checks in progress, please retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
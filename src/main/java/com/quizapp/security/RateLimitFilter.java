@@ -0,0 +1,146 @@
+package com.quizapp.security;
+
+import com.quizapp.util.QuizMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-principal and per-address token buckets for the API endpoints that create work.
+ * Policies map an Ant pattern to {@code perUser:perAddress/period}, e.g.
+ * {@code app.rate-limit.policies=/api/attempts/start/*=10:600/1m}; a 0 disables that side and
+ * the first matching policy wins. Runs after authentication so JWT and session principals are
+ * both known, and reports the tighter of the two budgets in X-RateLimit-* headers. The address
+ * is the client's as resolved from trusted forwarded headers (server.forward-headers-strategy),
+ * so behind a load balancer an address budget stays per client and not cluster-wide.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    record Policy(String pattern, int perUser, int perAddress, long periodNanos) {
+    }
+
+    private final boolean enabled;
+    private final List<Policy> policies;
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    @Autowired
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${app.rate-limit.policies:}") String policies) {
+        this(enabled, new RateLimiter(maxKeys), policies);
+    }
+
+    RateLimitFilter(boolean enabled, RateLimiter rateLimiter, String policies) {
+        this.enabled = enabled;
+        this.rateLimiter = rateLimiter;
+        this.policies = parsePolicies(policies);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || policyFor(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Policy policy = policyFor(request.getServletPath());
+        RateLimiter.Decision decision = null;
+
+        String principal = currentPrincipal();
+        if (policy.perUser() > 0 && principal != null) {
+            decision = rateLimiter.tryAcquire("u|" + policy.pattern() + "|" + principal,
+                    policy.perUser(), policy.periodNanos());
+        }
+        if (policy.perAddress() > 0 && (decision == null || decision.allowed())) {
+            RateLimiter.Decision byAddress = rateLimiter.tryAcquire("a|" + policy.pattern() + "|" + request.getRemoteAddr(),
+                    policy.perAddress(), policy.periodNanos());
+            if (decision == null || !byAddress.allowed() || byAddress.remaining() < decision.remaining()) {
+                decision = byAddress;
+            }
+        }
+        if (decision == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        if (decision.allowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1L, (decision.retryAfterNanos() + 999_999_999L) / 1_000_000_000L);
+        logger.atWarn().addKeyValue("policy", policy.pattern()).addKeyValue("principal", principal)
+                .addKeyValue("address", request.getRemoteAddr()).log("Rate limit exceeded");
+        QuizMetrics.increment(QuizMetrics.RATE_LIMITED, 1, "policy", policy.pattern());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Too many requests, retry in " + retryAfterSeconds + " seconds");
+    }
+
+    Policy policyFor(String path) {
+        for (Policy policy : policies) {
+            if (matcher.match(policy.pattern(), path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static List<Policy> parsePolicies(String value) {
+        List<Policy> result = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return result;
+        }
+        for (String entry : value.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            int colon = entry.indexOf(':', eq);
+            int slash = entry.indexOf('/', eq);
+            if (eq <= 0 || colon < 0 || slash < colon) {
+                throw new IllegalArgumentException("Invalid rate limit policy: " + entry.trim());
+            }
+            result.add(new Policy(entry.substring(0, eq).trim(),
+                    Integer.parseInt(entry.substring(eq + 1, colon).trim()),
+                    Integer.parseInt(entry.substring(colon + 1, slash).trim()),
+                    DurationStyle.detectAndParse(entry.substring(slash + 1).trim()).toNanos()));
+        }
+        return result;
+    }
+}
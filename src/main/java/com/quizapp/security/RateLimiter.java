@@ -0,0 +1,101 @@
+package com.quizapp.security;
+
+import com.quizapp.util.QuizMetrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets, each a single {@link AtomicLong}.
+ *
+ * A bucket stores its theoretical arrival time (the GCRA form of a token bucket): the instant
+ * at which it will be full again. Taking a token pushes that instant forward by one emission
+ * interval with one CAS. The request is refused if the push would put the bucket more than
+ * one period in debt. No refill thread or timestamp pair is needed, and nothing is locked.
+ *
+ * A bucket whose arrival time has passed is full and carries no information, so it can be
+ * dropped. When the map reaches {@code maxKeys}, one caller sweeps those entries. If the map is
+ * still full after the sweep, it also evicts the tracked buckets nearest to full, which forgives
+ * the least debt, and counts them in {@link QuizMetrics#RATE_LIMIT_EVICTED}. A new key is always
+ * tracked; callers arriving during a sweep may take the map a little past {@code maxKeys} until
+ * the next one.
+ */
+public class RateLimiter {
+
+    public record Decision(boolean allowed, long limit, long remaining, long retryAfterNanos) {
+    }
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int maxKeys, LongSupplier nanoClock) {
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    public Decision tryAcquire(String key, long capacity, long periodNanos) {
+        long now = nanoClock.getAsLong();
+        long interval = Math.max(1L, periodNanos / capacity);
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                makeRoom(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + interval;
+            long debt = next - now;
+            if (debt > periodNanos) {
+                return new Decision(false, capacity, 0L, debt - periodNanos);
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return new Decision(true, capacity, (periodNanos - debt) / interval, 0L);
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void makeRoom(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            int excess = buckets.size() - maxKeys;
+            if (excess >= 0) {
+                // A batch per overflow, so a flood of new keys does not scan the map on every request
+                evictNearestFull(excess + Math.max(1, maxKeys / 16), now);
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void evictNearestFull(int count, long now) {
+        long[] debts = buckets.values().stream().mapToLong(bucket -> bucket.get() - now).toArray();
+        if (debts.length == 0) {
+            return;
+        }
+        Arrays.sort(debts);
+        long cutoff = debts[Math.min(count, debts.length) - 1];
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= cutoff);
+        QuizMetrics.increment(QuizMetrics.RATE_LIMIT_EVICTED, Math.max(0, before - buckets.size()));
+    }
+}
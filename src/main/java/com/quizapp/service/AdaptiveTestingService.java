@@ -0,0 +1,252 @@
+package com.quizapp.service;
+
+import com.quizapp.cache.EntityChange;
+import com.quizapp.entity.DifficultyLevel;
+import com.quizapp.entity.QuizAttempt;
+import com.quizapp.repository.QuestionRepository;
+import com.quizapp.util.AbilityEstimator;
+import com.quizapp.util.AdaptiveItemIndex;
+import com.quizapp.util.QuizMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computerized adaptive testing for quizzes marked adaptive. Each quiz's questions form an item
+ * bank. Every attempt starts at ability 0. After each answer the ability is re-estimated, and
+ * the next question is the most informative one at that estimate (see {@link AdaptiveItemIndex}).
+ * The attempt ends once the estimate is precise enough or the item limit is reached. That is
+ * usually well before the whole bank has been asked.
+ *
+ * Questions without calibrated IRT parameters get b = -1 / 0 / 1 for EASY / MEDIUM / HARD and
+ * a = 1.
+ *
+ * The attempt itself (answers, ability, current question) lives on {@link QuizAttempt}. This
+ * service only holds one in-memory index per quiz, rebuilt after quiz or question changes.
+ */
+@Service
+public class AdaptiveTestingService {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveTestingService.class);
+
+    // Bounds b so a stray calibration value cannot spread the index over thousands of empty buckets
+    private static final double MAX_ABS_DIFFICULTY = 6.0;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Value("${app.adaptive.min-items:5}")
+    private int minItems = 5;
+
+    @Value("${app.adaptive.max-items:30}")
+    private int maxItems = 30;
+
+    // Stop once the ability estimate's standard error is this small (and min-items were asked)
+    @Value("${app.adaptive.target-standard-error:0.3}")
+    private double targetStandardError = 0.3;
+
+    // Pick at random among this many most informative questions, so attempts do not all share one path
+    @Value("${app.adaptive.randomesque:5}")
+    private int randomesque = 5;
+
+    // Skip questions already served to more than this share of attempts on this node, while others remain
+    @Value("${app.adaptive.max-exposure-rate:0.25}")
+    private double maxExposureRate = 0.25;
+
+    /** Ability estimate after the answers so far, and the next question, or null when the attempt is done. */
+    public record Step(AbilityEstimator.Estimate estimate, Long nextQuestionId) {
+    }
+
+    private record Cached(AdaptiveItemIndex index, long generation) {
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, Cached> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a new attempt for exposure control and picks its first question. Returns null when
+     * the quiz has no questions.
+     */
+    public Long startAttempt(Long quizId) {
+        AdaptiveItemIndex index = index(quizId);
+        index.recordAttempt();
+        return select(index, AbilityEstimator.prior().theta(), new int[0]);
+    }
+
+    /**
+     * Re-estimates ability from the attempt's answers (canonical option indexes) and picks the
+     * next question unless a stopping rule is met.
+     */
+    public Step next(QuizAttempt attempt) {
+        AdaptiveItemIndex index = index(attempt.getQuiz().getId());
+        Responses responses = responses(index, attempt.getAnswers());
+        AbilityEstimator.Estimate estimate = AbilityEstimator.estimate(
+                responses.discrimination, responses.difficulty, responses.correct, responses.count);
+
+        boolean precise = responses.count >= minItems && estimate.standardError() <= targetStandardError;
+        if (precise || responses.count >= maxItems) {
+            return new Step(estimate, null);
+        }
+        return new Step(estimate, select(index, estimate.theta(), responses.positions));
+    }
+
+    /**
+     * Score of a finished adaptive attempt: the expected percentage of the bank's points a
+     * participant of the estimated ability would earn. Scores of attempts that were given
+     * different questions stay comparable. Points earned on the questions actually asked are
+     * stored on the attempt.
+     */
+    public double score(QuizAttempt attempt) {
+        AdaptiveItemIndex index = index(attempt.getQuiz().getId());
+        Responses responses = responses(index, attempt.getAnswers());
+        AbilityEstimator.Estimate estimate = AbilityEstimator.estimate(
+                responses.discrimination, responses.difficulty, responses.correct, responses.count);
+        attempt.setAbilityEstimate(estimate.theta());
+        attempt.setAbilityStandardError(estimate.standardError());
+        attempt.setCurrentQuestionId(null);
+
+        int totalPoints = 0;
+        int earnedPoints = 0;
+        for (int r = 0; r < responses.count; r++) {
+            int points = index.points(responses.positions[r]);
+            totalPoints += points;
+            earnedPoints += responses.correct[r] ? points : 0;
+        }
+        attempt.setTotalPoints(totalPoints);
+        attempt.setEarnedPoints(earnedPoints);
+
+        double expected = 0;
+        double bankPoints = 0;
+        for (int item = 0; item < index.size(); item++) {
+            expected += index.points(item) * AdaptiveItemIndex.probability(
+                    index.discrimination(item), index.difficulty(item), estimate.theta());
+            bankPoints += index.points(item);
+        }
+        QuizMetrics.recordAmount(QuizMetrics.ADAPTIVE_ITEMS, responses.count);
+        logger.atDebug()
+                .addKeyValue("attemptId", attempt.getId())
+                .addKeyValue("theta", estimate.theta())
+                .addKeyValue("standardError", estimate.standardError())
+                .addKeyValue("questions", responses.count)
+                .log("Adaptive attempt scored");
+        return bankPoints > 0 ? expected / bankPoints * 100 : 0.0;
+    }
+
+    /**
+     * Drops the cached indexes, and with them the exposure counts, when a quiz or question
+     * changes on this or any other node. Question changes do not say which quiz they belong to.
+     */
+    @EventListener
+    public void onEntityChange(EntityChange change) {
+        if (change.affects(EntityChange.Kind.QUIZ) || change.affects(EntityChange.Kind.QUESTION)) {
+            generation.incrementAndGet();
+            indexes.clear();
+        }
+    }
+
+    private Long select(AdaptiveItemIndex index, double theta, int[] administered) {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        int item = index.select(theta, administered, randomesque, maxExposureRate, random);
+        QuizMetrics.recordNanos(QuizMetrics.ADAPTIVE_SELECTION, System.nanoTime() - started);
+        if (item < 0) {
+            return null;
+        }
+        index.recordExposure(item);
+        return index.id(item);
+    }
+
+    AdaptiveItemIndex index(Long quizId) {
+        long current = generation.get();
+        Cached cached = indexes.get(quizId);
+        if (cached != null && cached.generation() == current) {
+            return cached.index();
+        }
+        AdaptiveItemIndex index = build(questionRepository.findItemParametersByQuizId(quizId));
+        // A change that landed during the load bumped the generation; that load is not kept
+        if (generation.get() == current) {
+            indexes.put(quizId, new Cached(index, current));
+        }
+        logger.atDebug().addKeyValue("quizId", quizId).addKeyValue("items", index.size()).log("Built adaptive item index");
+        return index;
+    }
+
+    static AdaptiveItemIndex build(List<QuestionRepository.ItemParameters> items) {
+        int n = items.size();
+        long[] ids = new long[n];
+        double[] discrimination = new double[n];
+        double[] difficulty = new double[n];
+        int[] correctIndex = new int[n];
+        int[] points = new int[n];
+        for (int i = 0; i < n; i++) {
+            QuestionRepository.ItemParameters item = items.get(i);
+            ids[i] = item.getId();
+            Double a = item.getDiscrimination();
+            discrimination[i] = a != null && a > 0 ? a : 1.0;
+            Double b = item.getDifficulty();
+            double raw = b != null && Double.isFinite(b) ? b : defaultDifficulty(item.getDifficultyLevel());
+            difficulty[i] = Math.max(-MAX_ABS_DIFFICULTY, Math.min(MAX_ABS_DIFFICULTY, raw));
+            correctIndex[i] = item.getCorrectAnswerIndex() != null ? item.getCorrectAnswerIndex() : -1;
+            points[i] = item.getPoints() != null ? item.getPoints() : 1;
+        }
+        return new AdaptiveItemIndex(ids, discrimination, difficulty, correctIndex, points);
+    }
+
+    private static double defaultDifficulty(DifficultyLevel level) {
+        if (level == null) {
+            return 0.0;
+        }
+        switch (level) {
+            case EASY:
+                return -1.0;
+            case HARD:
+                return 1.0;
+            default:
+                return 0.0;
+        }
+    }
+
+    /** The attempt's answers as parallel arrays; answers to questions no longer in the bank are ignored. */
+    private static final class Responses {
+        int count;
+        int[] positions;
+        double[] discrimination;
+        double[] difficulty;
+        boolean[] correct;
+    }
+
+    private static Responses responses(AdaptiveItemIndex index, Map<Long, Integer> answers) {
+        Responses responses = new Responses();
+        int size = answers != null ? answers.size() : 0;
+        responses.positions = new int[size];
+        responses.discrimination = new double[size];
+        responses.difficulty = new double[size];
+        responses.correct = new boolean[size];
+        if (answers == null) {
+            return responses;
+        }
+        for (Map.Entry<Long, Integer> answer : answers.entrySet()) {
+            int item = index.positionOf(answer.getKey());
+            if (item < 0) {
+                continue;
+            }
+            int r = responses.count++;
+            responses.positions[r] = item;
+            responses.discrimination[r] = index.discrimination(item);
+            responses.difficulty[r] = index.difficulty(item);
+            responses.correct[r] = answer.getValue() != null && answer.getValue() == index.correctIndex(item);
+        }
+        responses.positions = Arrays.copyOf(responses.positions, responses.count);
+        return responses;
+    }
+}
@@ -0,0 +1,123 @@
+package com.quizapp.service;
+
+import com.quizapp.util.AnswerSheetCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves completed attempts older than the archival horizon out of quiz_attempts and
+ * attempt_answers into quiz_attempts_archive, one row per attempt with the answer sheet
+ * encoded inline. That keeps the hot tables (and their indexes) down to the recent months
+ * that quiz taking and dashboards touch, while leaderboards and exports still read the archive.
+ *
+ * Each batch is copied and deleted in its own transaction, oldest attempts first, so a run
+ * that stops part way leaves every attempt in exactly one of the two places. Scheduled once
+ * per cluster by ScheduledJobs.
+ */
+@Service
+public class AttemptArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(AttemptArchiveService.class);
+
+    private static final String SELECT_BATCH =
+            "SELECT id, user_id, quiz_id, score, earned_points, total_points, attempted_at, completed_at, " +
+            "ability_estimate IS NOT NULL FROM quiz_attempts WHERE attempted_at < ? AND completed_at IS NOT NULL " +
+            "AND user_id IS NOT NULL AND quiz_id IS NOT NULL ORDER BY attempted_at, id LIMIT ?";
+
+    private static final String INSERT_ARCHIVE =
+            "INSERT INTO quiz_attempts_archive (id, user_id, quiz_id, score, earned_points, total_points, " +
+            "attempted_at, completed_at, archived_at, answers, adaptive) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.archival.horizon:365d}")
+    private Duration horizon = Duration.ofDays(365);
+
+    @Value("${app.archival.batch-size:500}")
+    private int batchSize = 500;
+
+    // Bounds one run so a large first backlog is worked off over several nights
+    @Value("${app.archival.max-batches-per-run:200}")
+    private int maxBatchesPerRun = 200;
+
+    /** Archives completed attempts started before now minus the horizon; returns how many. */
+    public int archiveExpiredAttempts() {
+        return archiveCompletedBefore(LocalDateTime.now().minus(horizon));
+    }
+
+    public int archiveCompletedBefore(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            int count = moved != null ? moved : 0;
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.atInfo().addKeyValue("attempts", total).addKeyValue("cutoff", cutoff).log("Archived attempts");
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        List<Object[]> attempts = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new Object[]{
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getObject(4), rs.getObject(5),
+                rs.getObject(6), rs.getTimestamp(7), rs.getTimestamp(8), rs.getBoolean(9)}, before, batchSize);
+        if (attempts.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> ids = new ArrayList<>(attempts.size());
+        for (Object[] attempt : attempts) {
+            ids.add(attempt[0]);
+        }
+        String idList = String.join(", ", Collections.nCopies(ids.size(), "?"));
+
+        Map<Long, Map<Long, Integer>> answersByAttempt = new HashMap<>();
+        jdbcTemplate.query("SELECT attempt_id, question_id, selected_option_index FROM attempt_answers " +
+                "WHERE attempt_id IN (" + idList + ")", rs -> {
+            Object option = rs.getObject(3);
+            if (option != null) {
+                answersByAttempt.computeIfAbsent(rs.getLong(1), id -> new HashMap<>())
+                        .put(rs.getLong(2), ((Number) option).intValue());
+            }
+        }, ids.toArray());
+
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(attempts.size());
+        for (Object[] attempt : attempts) {
+            byte[] answers = AnswerSheetCodec.encode(answersByAttempt.get((Long) attempt[0]));
+            rows.add(new Object[]{attempt[0], attempt[1], attempt[2], attempt[3], attempt[4], attempt[5],
+                    attempt[6], attempt[7], archivedAt, answers, attempt[8]});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ARCHIVE, rows);
+
+        jdbcTemplate.update("DELETE FROM attempt_answers WHERE attempt_id IN (" + idList + ")", ids.toArray());
+        // The attempted_at bound lets a partitioned quiz_attempts prune to the old partitions
+        List<Object> deleteParams = new ArrayList<>(ids);
+        deleteParams.add(before);
+        jdbcTemplate.update("DELETE FROM quiz_attempts WHERE id IN (" + idList + ") AND attempted_at < ?",
+                deleteParams.toArray());
+        return attempts.size();
+    }
+}
@@ -0,0 +1,178 @@
+package com.quizapp.service;
+
+import com.quizapp.util.AnswerSheetCodec;
+import com.quizapp.util.ExportWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streams attempt data straight from a JDBC cursor to an output stream.
+ *
+ * Each export holds one connection with auto-commit off (PostgreSQL only honours the fetch
+ * size inside a transaction) and forward-only, read-only statements, so the driver pulls
+ * rows in fetch-size batches and heap use does not grow with the export size.
+ *
+ * Exports cover archived attempts as well as live ones: attempt and gradebook queries read
+ * quiz_attempts_archive through UNION ALL, and archived answer sheets are decoded row by row.
+ */
+@Service
+public class AttemptExportService {
+
+    private static final String ATTEMPTS_SQL =
+            "SELECT qa.id, u.username, u.email, qa.score, qa.earned_points, qa.total_points, " +
+            "qa.attempted_at, qa.completed_at " +
+            "FROM quiz_attempts qa JOIN users u ON u.id = qa.user_id " +
+            "WHERE qa.quiz_id = ? " +
+            "UNION ALL " +
+            "SELECT a.id, u.username, u.email, a.score, a.earned_points, a.total_points, " +
+            "a.attempted_at, a.completed_at " +
+            "FROM quiz_attempts_archive a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.quiz_id = ? ORDER BY 1";
+
+    private static final String ARCHIVED_ANSWERS_SQL =
+            "SELECT a.id, u.username, a.answers " +
+            "FROM quiz_attempts_archive a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.quiz_id = ? ORDER BY a.id";
+
+    private static final String ANSWERS_SQL =
+            "SELECT aa.attempt_id, u.username, aa.question_id, aa.selected_option_index, q.correct_answer_index " +
+            "FROM attempt_answers aa " +
+            "JOIN quiz_attempts qa ON qa.id = aa.attempt_id " +
+            "JOIN users u ON u.id = qa.user_id " +
+            "JOIN questions q ON q.id = aa.question_id " +
+            "WHERE qa.quiz_id = ? ORDER BY aa.attempt_id, aa.question_id";
+
+    private static final String GRADEBOOK_SELECT =
+            "SELECT u.id, u.username, q.id, q.title, COUNT(qa.id), MAX(qa.score), MAX(qa.completed_at) " +
+            "FROM (SELECT id, user_id, quiz_id, score, completed_at FROM quiz_attempts " +
+            "WHERE completed_at IS NOT NULL %s " +
+            "UNION ALL SELECT id, user_id, quiz_id, score, completed_at FROM quiz_attempts_archive " +
+            "WHERE completed_at IS NOT NULL %s) qa " +
+            "JOIN users u ON u.id = qa.user_id " +
+            "JOIN quizzes q ON q.id = qa.quiz_id ";
+
+    private static final String GRADEBOOK_GROUP =
+            "GROUP BY u.id, u.username, q.id, q.title ORDER BY u.username, q.id";
+
+    /** Turns the current result set row into zero or more export rows. */
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs, Connection connection, ExportWriter writer) throws SQLException, IOException;
+    }
+
+    private record Query(String sql, Object[] params, RowHandler handler) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.export.fetch-size:2000}")
+    private int fetchSize;
+
+    public void exportAttempts(Long quizId, ExportWriter.Format format, OutputStream out) {
+        String[] columns = {"attemptId", "username", "email", "score", "earnedPoints", "totalPoints",
+                "attemptedAt", "completedAt"};
+        stream(format, out, columns, new Query(ATTEMPTS_SQL, new Object[]{quizId, quizId}, copyColumns(columns.length)));
+    }
+
+    public void exportAnswers(Long quizId, ExportWriter.Format format, OutputStream out) {
+        String[] columns = {"attemptId", "username", "questionId", "selectedOption", "correctOption"};
+        // Archived attempts are the older ones, so they lead as they would have in attempt id order
+        stream(format, out, columns,
+                new Query(ARCHIVED_ANSWERS_SQL, new Object[]{quizId}, archivedAnswers()),
+                new Query(ANSWERS_SQL, new Object[]{quizId}, copyColumns(columns.length)));
+    }
+
+    /**
+     * One row per (user, quiz) with attempt count, best score and last completion. Pass a
+     * null quiz id to export every quiz.
+     */
+    public void exportGradebook(Long quizId, ExportWriter.Format format, OutputStream out) {
+        String filter = quizId != null ? "AND quiz_id = ?" : "";
+        String sql = String.format(GRADEBOOK_SELECT, filter, filter) + GRADEBOOK_GROUP;
+        Object[] params = quizId != null ? new Object[]{quizId, quizId} : new Object[0];
+        String[] columns = {"userId", "username", "quizId", "quizTitle", "attempts", "bestScore", "lastCompletedAt"};
+        stream(format, out, columns, new Query(sql, params, copyColumns(columns.length)));
+    }
+
+    private static RowHandler copyColumns(int count) {
+        Object[] row = new Object[count];
+        return (rs, connection, writer) -> {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            writer.writeRow(row);
+        };
+    }
+
+    private static RowHandler archivedAnswers() {
+        Object[] row = new Object[5];
+        Map<Long, Object> correctByQuestion = new HashMap<>();
+        return (rs, connection, writer) -> {
+            row[0] = rs.getObject(1);
+            row[1] = rs.getObject(2);
+            for (Map.Entry<Long, Integer> answer : AnswerSheetCodec.decode(rs.getBytes(3)).entrySet()) {
+                Long questionId = answer.getKey();
+                if (!correctByQuestion.containsKey(questionId)) {
+                    correctByQuestion.put(questionId, correctAnswer(connection, questionId));
+                }
+                row[2] = questionId;
+                row[3] = answer.getValue();
+                row[4] = correctByQuestion.get(questionId);
+                writer.writeRow(row);
+            }
+        };
+    }
+
+    private static Object correctAnswer(Connection connection, Long questionId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT correct_answer_index FROM questions WHERE id = ?")) {
+            statement.setLong(1, questionId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getObject(1) : null;
+            }
+        }
+    }
+
+    private void stream(ExportWriter.Format format, OutputStream out, String[] columns, Query... queries) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (ExportWriter writer = new ExportWriter(out, format, columns)) {
+                for (Query query : queries) {
+                    try (PreparedStatement statement = connection.prepareStatement(query.sql(),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                        statement.setFetchSize(fetchSize);
+                        for (int i = 0; i < query.params().length; i++) {
+                            statement.setObject(i + 1, query.params()[i]);
+                        }
+                        try (ResultSet rs = statement.executeQuery()) {
+                            while (rs.next()) {
+                                query.handler().handle(rs, connection, writer);
+                            }
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Export query failed: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.quizapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the partitions of a partitioned quiz_attempts / attempt_answers (see
+ * {@code sql/partition-attempts.sql}) ahead of the data: monthly quiz_attempts partitions for
+ * the coming months, and attempt_answers partitions for the next attempt-id ranges. Answers
+ * are ranged by attempt id rather than by month because their rows carry no timestamp.
+ *
+ * Partitions left empty by archival are dropped once they fall behind the archival horizon,
+ * so the catalogue stays as small as the hot data. Does nothing on H2 or on a database where
+ * the tables were never converted.
+ */
+@Service
+public class AttemptPartitionService {
+    private static final Logger logger = LoggerFactory.getLogger(AttemptPartitionService.class);
+
+    static final String ATTEMPTS = "quiz_attempts";
+    static final String ANSWERS = "attempt_answers";
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${app.partitioning.answer-ids-per-partition:1000000}")
+    private long answerIdsPerPartition = 1_000_000;
+
+    @Value("${app.partitioning.answer-partitions-ahead:2}")
+    private int answerPartitionsAhead = 2;
+
+    @Value("${app.archival.horizon:365d}")
+    private Duration archivalHorizon = Duration.ofDays(365);
+
+    /** Creates missing partitions and drops archived-out ones; returns how many changed. */
+    public int maintainPartitions() {
+        if (!isPostgres() || !isPartitioned(ATTEMPTS) || !isPartitioned(ANSWERS)) {
+            return 0;
+        }
+        int changed = 0;
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = attemptPartitionName(month);
+            if (!exists(name)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + ATTEMPTS +
+                        " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                logger.atInfo().addKeyValue("partition", name).log("Created attempt partition");
+                changed++;
+            }
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + ATTEMPTS, Long.class);
+        long first = (maxId != null ? maxId : 0) / answerIdsPerPartition;
+        for (long k = first; k <= first + answerPartitionsAhead; k++) {
+            String name = ANSWERS + "_p" + k;
+            if (!exists(name)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + ANSWERS +
+                        " FOR VALUES FROM (" + k * answerIdsPerPartition + ") TO (" + (k + 1) * answerIdsPerPartition + ")");
+                logger.atInfo().addKeyValue("partition", name).log("Created answer partition");
+                changed++;
+            }
+        }
+
+        changed += dropArchivedPartitions();
+        return changed;
+    }
+
+    static String attemptPartitionName(YearMonth month) {
+        return ATTEMPTS + "_p" + month.format(MONTH_SUFFIX);
+    }
+
+    private int dropArchivedPartitions() {
+        int dropped = 0;
+        YearMonth horizonMonth = YearMonth.from(LocalDateTime.now().minus(archivalHorizon));
+        for (String name : partitionsOf(ATTEMPTS)) {
+            YearMonth month = parseMonth(name);
+            // Only whole months behind the horizon: anything newer may still gain archivable rows
+            if (month != null && month.isBefore(horizonMonth) && isEmpty(name)) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                logger.atInfo().addKeyValue("partition", name).log("Dropped archived attempt partition");
+                dropped++;
+            }
+        }
+
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + ATTEMPTS, Long.class);
+        if (minId == null) {
+            return dropped;
+        }
+        for (String name : partitionsOf(ANSWERS)) {
+            Long k = parseRange(name);
+            if (k != null && (k + 1) * answerIdsPerPartition <= minId && isEmpty(name)) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                logger.atInfo().addKeyValue("partition", name).log("Dropped archived answer partition");
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase().contains("postgresql");
+    }
+
+    private boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private boolean exists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private boolean isEmpty(String table) {
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+        return Boolean.TRUE.equals(empty);
+    }
+
+    private List<String> partitionsOf(String parent) {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+                String.class, parent);
+    }
+
+    static YearMonth parseMonth(String partition) {
+        String prefix = ATTEMPTS + "_p";
+        if (!partition.startsWith(prefix) || partition.length() != prefix.length() + 6) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), MONTH_SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    static Long parseRange(String partition) {
+        String prefix = ANSWERS + "_p";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(partition.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
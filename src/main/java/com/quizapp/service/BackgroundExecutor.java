@@ -0,0 +1,110 @@
+package com.quizapp.service;
+
+import com.quizapp.util.BackgroundWork;
+import com.quizapp.util.QuizMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool for work that follows a request but need not delay it, such as result
+ * emails, and for bulk work a request waits on but should not run itself (CSV imports). Its threads count as {@link BackgroundWork}, so their database access goes through
+ * the background connection pool. The queue is bounded; when it is full the task is dropped
+ * and counted rather than pushed back onto the caller.
+ *
+ * Deliberately not an {@link java.util.concurrent.Executor} bean, so Spring Boot keeps its own
+ * executor for {@code @Async}.
+ */
+@Component
+public class BackgroundExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public BackgroundExecutor(@Value("${app.background.threads:2}") int threads,
+                              @Value("${app.background.queue-capacity:1000}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new BackgroundThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues {@code task}; returns false when the queue is full and the task was dropped.
+     */
+    public boolean execute(String job, Runnable task) {
+        long queued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                QuizMetrics.recordNanos(QuizMetrics.BACKGROUND_QUEUE_WAIT, System.nanoTime() - queued, "job", job);
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.atWarn().addKeyValue("job", job).setCause(e).log("Background task failed");
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            QuizMetrics.increment(QuizMetrics.BACKGROUND_REJECTED, 1, "job", job);
+            logger.atWarn().addKeyValue("job", job).addKeyValue("queued", executor.getQueue().size())
+                    .log("Background queue full, dropping task");
+            return false;
+        }
+    }
+
+    /**
+     * Queues {@code task} and returns its result. The future fails with
+     * {@link RejectedExecutionException} when the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(String job, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                QuizMetrics.recordNanos(QuizMetrics.BACKGROUND_QUEUE_WAIT, System.nanoTime() - queued, "job", job);
+                try {
+                    result.complete(task.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            QuizMetrics.increment(QuizMetrics.BACKGROUND_REJECTED, 1, "job", job);
+            logger.atWarn().addKeyValue("job", job).addKeyValue("queued", executor.getQueue().size())
+                    .log("Background queue full, rejecting task");
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class BackgroundThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(BackgroundWork.wrap(runnable), "background-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
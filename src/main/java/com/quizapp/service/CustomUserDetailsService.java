@@ -2,6 +2,8 @@ package com.quizapp.service;
 
 import com.quizapp.entity.User;
 import com.quizapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,68 +13,48 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class CustomUserDetailsService implements UserDetailsService {
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     private final UserRepository userRepository;
+    private final LoginAttemptService loginAttemptService;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, LoginAttemptService loginAttemptService) {
         this.userRepository = userRepository;
+        this.loginAttemptService = loginAttemptService;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        System.out.println("🔐 Authentication attempt for user: " + username);
-
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> {
-                    System.out.println("❌ User not found: " + username);
+                    logger.debug("Authentication failed, unknown user {}", username);
                     return new UsernameNotFoundException("Invalid username or password");
                 });
 
-        System.out.println("✅ User found: " + user.getUsername() +
-                " | Enabled: " + user.getEnabled() +
-                " | Role: " + user.getRole() +
-                " | AccountLocked: " + user.getAccountLocked());
-
-        // Auto-enable user if disabled
+        // This runs for every login and every JWT request, so state changes are written asynchronously
         if (!user.getEnabled()) {
-            System.out.println("⚠️ User " + username + " is disabled. Auto-enabling...");
-            user.setEnabled(true);
-            userRepository.save(user);
-            System.out.println("✅ User " + username + " has been auto-enabled");
+            loginAttemptService.enableAccount(username);
         }
 
-        // Check if account is locked
-        if (Boolean.TRUE.equals(user.getAccountLocked()) && user.getLockTime() != null) {
-            if (user.getLockTime().plusHours(24).isAfter(LocalDateTime.now())) {
-                System.out.println("❌ Account locked: " + username);
-                throw new UsernameNotFoundException("Account is locked due to too many failed login attempts. Please try again later or reset your password.");
-            } else {
-                // Auto-unlock after 24 hours
-                System.out.println("🔓 Auto-unlocking account: " + username);
-                user.setAccountLocked(false);
-                user.setLoginAttempts(0);
-                user.setLockTime(null);
-                userRepository.save(user);
-            }
+        if (loginAttemptService.isLocked(user)) {
+            logger.debug("Authentication rejected, account {} is locked", username);
+            throw new UsernameNotFoundException("Account is locked due to too many failed login attempts. Please try again later or reset your password.");
         }
 
-        System.out.println("✅ User details loaded successfully for: " + username);
-
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
                 user.getPassword(),
                 true,
                 true,
                 true,
-                !Boolean.TRUE.equals(user.getAccountLocked()),
+                true,
                 getAuthorities(user)
         );
     }
@@ -80,28 +62,4 @@ public class CustomUserDetailsService implements UserDetailsService {
     private Collection<? extends GrantedAuthority> getAuthorities(User user) {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
     }
-
-    public void increaseFailedAttempts(User user) {
-        int newAttempts = (user.getLoginAttempts() != null ? user.getLoginAttempts() : 0) + 1;
-        user.setLoginAttempts(newAttempts);
-
-        if (newAttempts >= 5) {
-            user.setAccountLocked(true);
-            user.setLockTime(LocalDateTime.now());
-            System.out.println("🔒 Account locked due to too many failed attempts: " + user.getUsername());
-        }
-
-        userRepository.save(user);
-    }
-
-    public void resetFailedAttempts(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-
-        user.setLoginAttempts(0);
-        user.setAccountLocked(false);
-        user.setLockTime(null);
-        userRepository.save(user);
-        System.out.println("🔓 Login attempts reset for: " + username);
-    }
-}
\ No newline at end of file
+}
@@ -2,6 +2,9 @@ package com.quizapp.service;
 
 import com.quizapp.entity.QuizAttempt;
 import com.quizapp.entity.User;
+import com.quizapp.util.QuizMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -17,6 +20,7 @@ import java.util.Arrays;
 @Service
 @Transactional
 public class EmailService {
+    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
     @Autowired
     private JavaMailSender mailSender;
@@ -27,11 +31,9 @@ public class EmailService {
     // 1. REGISTRATION CONFIRMATION EMAIL - COMPLETE
     public void sendRegistrationEmail(User user) {
         String userEmail = user.getEmail();
-        System.out.println("🚀 Starting registration email process for: " + userEmail);
-
         try {
             if (userEmail == null || userEmail.trim().isEmpty()) {
-                System.err.println("❌ Cannot send registration email: User email is null or empty");
+                logger.warn("Cannot send registration email to user {}: no email address", user.getUsername());
                 return;
             }
 
@@ -70,11 +72,11 @@ public class EmailService {
             helper.setSubject("🎉 Welcome to QuizApp - Account Created Successfully!");
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
-            System.out.println("✅ REGISTRATION EMAIL SENT SUCCESSFULLY to: " + userEmail);
+            send("registration", () -> mailSender.send(message));
+            logger.info("Registration email sent to {}", userEmail);
 
         } catch (Exception e) {
-            System.err.println("❌ Registration email failed for " + userEmail + ": " + e.getMessage());
+            logger.warn("Registration email failed for {}: {}", userEmail, e.getMessage());
             sendSimpleRegistrationEmail(user);
         }
     }
@@ -83,7 +85,7 @@ public class EmailService {
     @Transactional(readOnly = true)
     public void sendQuizResultEmail(QuizAttempt attempt) {
         if (attempt == null || attempt.getUser() == null) {
-            System.err.println("❌ Cannot send quiz results: Attempt or user is null");
+            logger.warn("Cannot send quiz results: attempt or user is null");
             return;
         }
 
@@ -92,12 +94,12 @@ public class EmailService {
 
         try {
             if (userEmail == null || userEmail.trim().isEmpty()) {
-                System.err.println("❌ Cannot send quiz results email: User email is null or empty");
+                logger.warn("Cannot send quiz results email for attempt {}: no email address", attempt.getId());
                 return;
             }
 
             if (attempt.getCompletedAt() == null) {
-                System.err.println("❌ Cannot send quiz results email: Quiz attempt not completed");
+                logger.warn("Cannot send quiz results email for attempt {}: attempt not completed", attempt.getId());
                 return;
             }
 
@@ -117,7 +119,7 @@ public class EmailService {
                     scoreValue = attempt.getScore();
                 }
             } catch (Exception e) {
-                System.err.println("⚠️ Could not extract quiz data, using defaults");
+                logger.debug("Could not extract quiz data for attempt {}, using defaults", attempt.getId());
             }
 
             int correctAnswers = totalQuestions > 0 ? (int) Math.round((scoreValue / 100) * totalQuestions) : 0;
@@ -157,11 +159,11 @@ public class EmailService {
             helper.setSubject("📊 Quiz Results: " + quizTitle + " - Score: " + String.format("%.2f", scoreValue) + "%");
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
-            System.out.println("✅ QUIZ RESULTS EMAIL SENT SUCCESSFULLY to: " + userEmail);
+            send("quiz_result", () -> mailSender.send(message));
+            logger.info("Quiz results email sent to {} for attempt {}", userEmail, attempt.getId());
 
         } catch (Exception e) {
-            System.err.println("❌ Quiz results email failed for " + userEmail + ": " + e.getMessage());
+            logger.warn("Quiz results email failed for {}: {}", userEmail, e.getMessage());
             sendSimpleQuizResultEmail(attempt, userEmail);
         }
     }
@@ -169,8 +171,6 @@ public class EmailService {
     // 3. PASSWORD RESET EMAIL - COMPLETE
     public void sendPasswordResetEmail(User user, String token) {
         String userEmail = user.getEmail();
-        System.out.println("🚀 Starting password reset email process for: " + userEmail);
-
         try {
             if (userEmail == null || userEmail.trim().isEmpty()) {
                 throw new RuntimeException("User email is required for password reset");
@@ -195,11 +195,11 @@ public class EmailService {
             helper.setSubject("🔒 Password Reset Request - QuizApp");
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
-            System.out.println("✅ PASSWORD RESET EMAIL SENT SUCCESSFULLY to: " + userEmail);
+            send("password_reset", () -> mailSender.send(message));
+            logger.info("Password reset email sent to {}", userEmail);
 
         } catch (Exception e) {
-            System.err.println("❌ Password reset email failed for " + userEmail + ": " + e.getMessage());
+            logger.warn("Password reset email failed for {}: {}", userEmail, e.getMessage());
             throw new RuntimeException("Failed to send password reset email: " + e.getMessage());
         }
     }
@@ -207,8 +207,6 @@ public class EmailService {
     // 4. TEST EMAIL - COMPLETE
     public void sendTestEmail(String toEmail, String testType) {
         try {
-            System.out.println("🧪 Sending " + testType + " test email to: " + toEmail);
-
             org.springframework.mail.SimpleMailMessage message = new org.springframework.mail.SimpleMailMessage();
             message.setTo(toEmail);
             message.setSubject("✅ QuizApp - " + testType + " Test");
@@ -222,31 +220,27 @@ public class EmailService {
                             "Best regards,\nQuizApp Team"
             );
 
-            mailSender.send(message);
-            System.out.println("✅ " + testType + " TEST EMAIL SENT SUCCESSFULLY to: " + toEmail);
+            send("test", () -> mailSender.send(message));
+            logger.info("{} test email sent to {}", testType, toEmail);
 
         } catch (Exception e) {
-            System.err.println("❌ " + testType + " test email failed: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("{} test email to {} failed", testType, toEmail, e);
         }
     }
 
     // 5. SIMPLE EMAIL METHOD - COMPLETE
     public void sendSimpleEmail(String toEmail, String subject, String text) {
         try {
-            System.out.println("📧 Sending simple email to: " + toEmail);
-
             org.springframework.mail.SimpleMailMessage message = new org.springframework.mail.SimpleMailMessage();
             message.setTo(toEmail);
             message.setSubject(subject);
             message.setText(text);
 
-            mailSender.send(message);
-            System.out.println("✅ Simple email sent successfully to: " + toEmail);
+            send("simple", () -> mailSender.send(message));
+            logger.info("Simple email sent to {}", toEmail);
 
         } catch (Exception e) {
-            System.err.println("❌ Simple email failed: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Simple email to {} failed", toEmail, e);
         }
     }
 
@@ -265,9 +259,9 @@ public class EmailService {
                             "You can now login and start using QuizApp.\n\n" +
                             "Best regards,\nQuizApp Team"
             );
-            mailSender.send(message);
+            send("registration_fallback", () -> mailSender.send(message));
         } catch (Exception e) {
-            System.err.println("❌ Fallback registration email also failed: " + e.getMessage());
+            logger.error("Fallback registration email also failed: {}", e.getMessage());
         }
     }
 
@@ -277,7 +271,7 @@ public class EmailService {
             try {
                 quizTitle = attempt.getQuiz().getTitle();
             } catch (Exception e) {
-                System.err.println("⚠️ Could not get quiz title, using default");
+                logger.debug("Could not get quiz title, using default");
             }
 
             org.springframework.mail.SimpleMailMessage message = new org.springframework.mail.SimpleMailMessage();
@@ -292,13 +286,25 @@ public class EmailService {
                             "Thank you for participating!\n\n" +
                             "Best regards,\nQuizApp Team"
             );
-            mailSender.send(message);
+            send("quiz_result_fallback", () -> mailSender.send(message));
         } catch (Exception e) {
-            System.err.println("❌ Fallback quiz results email also failed: " + e.getMessage());
+            logger.error("Fallback quiz results email also failed: {}", e.getMessage());
         }
     }
 
     // HELPER METHODS
+    // Times every SMTP round trip, tagged by email type and outcome
+    private void send(String type, Runnable delivery) {
+        long started = System.nanoTime();
+        try {
+            delivery.run();
+            QuizMetrics.recordNanos(QuizMetrics.EMAIL_SEND, System.nanoTime() - started, "type", type, "outcome", "success");
+        } catch (RuntimeException e) {
+            QuizMetrics.recordNanos(QuizMetrics.EMAIL_SEND, System.nanoTime() - started, "type", type, "outcome", "failure");
+            throw e;
+        }
+    }
+
     private String getPerformanceFeedback(double score) {
         if (score >= 90) return "Outstanding! You've mastered this topic! 🎯";
         if (score >= 80) return "Excellent work! You have a strong understanding. 🌟";
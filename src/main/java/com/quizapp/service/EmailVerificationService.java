@@ -4,7 +4,6 @@ import com.quizapp.entity.EmailVerificationToken;
 import com.quizapp.entity.User;
 import com.quizapp.repository.EmailVerificationTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -102,9 +101,8 @@ public class EmailVerificationService {
         emailService.sendSimpleEmail(user.getEmail(), subject, text);
     }
 
-    // Clean up expired tokens every hour
-    @Scheduled(fixedRate = 3600000) // 1 hour
-    public void cleanupExpiredTokens() {
-        tokenRepository.deleteAllExpiredSince(LocalDateTime.now());
+    // Scheduled once per cluster by ScheduledJobs; returns the number of tokens removed
+    public int cleanupExpiredTokens() {
+        return tokenRepository.deleteAllExpiredSince(LocalDateTime.now());
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.quizapp.service;
+
+import com.quizapp.util.QuizMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Rendered-HTML cache for shared, user-independent template fragments such as the public quiz
+ * catalog. Each fragment is keyed by template and fragment name and stored with the data version
+ * it was rendered from; a request carrying the same version gets the stored HTML, anything
+ * else re-renders and replaces it. Only one version per fragment is kept.
+ *
+ * Fragments must not contain forms (CSRF tokens) or anything else tied to the viewer.
+ * Outside a web request, or when disabled, {@link #render} returns null and the page
+ * renders the fragment inline as before.
+ */
+@Service
+public class FragmentCacheService {
+
+    @Autowired
+    private TemplateEngine templateEngine;
+
+    @Value("${app.fragment-cache.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, Rendered> fragments = new ConcurrentHashMap<>();
+
+    public String render(String template, String fragment, String version, Supplier<Map<String, Object>> variables) {
+        if (!enabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        String key = template + "::" + fragment;
+
+        Rendered cached = fragments.get(key);
+        if (cached != null && cached.version.equals(version)) {
+            QuizMetrics.increment(QuizMetrics.FRAGMENT_CACHE, 1, "fragment", fragment, "result", "hit");
+            return cached.html;
+        }
+
+        // compute() lets one request render a new version while concurrent ones wait for it
+        Rendered rendered = fragments.compute(key, (k, current) -> {
+            if (current != null && current.version.equals(version)) {
+                return current;
+            }
+            QuizMetrics.increment(QuizMetrics.FRAGMENT_CACHE, 1, "fragment", fragment, "result", "miss");
+            String html = templateEngine.process(template, Set.of(fragment),
+                    webContext(attributes.getRequest(), attributes.getResponse(), variables.get()));
+            return new Rendered(version, html);
+        });
+        return rendered.html;
+    }
+
+    public void clear() {
+        fragments.clear();
+    }
+
+    private static WebContext webContext(HttpServletRequest request, HttpServletResponse response,
+                                         Map<String, Object> variables) {
+        // Links must not pick up a jsessionid from whoever happened to render the fragment first
+        HttpServletResponse noUrlRewriting = new HttpServletResponseWrapper(response) {
+            @Override
+            public String encodeURL(String url) {
+                return url;
+            }
+
+            @Override
+            public String encodeRedirectURL(String url) {
+                return url;
+            }
+        };
+        JakartaServletWebApplication application = JakartaServletWebApplication.buildApplication(request.getServletContext());
+        return new WebContext(application.buildExchange(request, noUrlRewriting), request.getLocale(), variables);
+    }
+
+    private static final class Rendered {
+        final String version;
+        final String html;
+
+        Rendered(String version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.QuestionStatistics;
+import com.quizapp.repository.ArchivedAttemptRepository;
+import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuestionStatisticsRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.util.AnswerSheetCodec;
+import com.quizapp.util.ItemAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Computes per-question difficulty, point-biserial discrimination and distractor counts.
+ *
+ * Answers are streamed once per quiz through a forward-only cursor straight into the
+ * primitive response matrix of {@link ItemAnalysis}; no QuizAttempt entities are loaded.
+ * Archived attempts count too, decoded from their inline answer sheets. Adaptive attempts do
+ * not: each was served only some of the questions, so the rest are not unanswered but unseen.
+ */
+@Service
+public class ItemAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemAnalysisService.class);
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionStatisticsRepository questionStatisticsRepository;
+
+    @Transactional
+    public List<QuestionStatistics> analyseQuiz(Long quizId) {
+        long started = System.currentTimeMillis();
+
+        List<QuestionRepository.ItemKey> questions = questionRepository.findItemKeysByQuizId(quizId);
+        int questionCount = questions.size();
+        int[] correctIndex = new int[questionCount];
+        int[] optionCount = new int[questionCount];
+        int[] points = new int[questionCount];
+        Map<Long, Integer> columnByQuestionId = new HashMap<>();
+        for (int q = 0; q < questionCount; q++) {
+            QuestionRepository.ItemKey question = questions.get(q);
+            columnByQuestionId.put(question.getId(), q);
+            correctIndex[q] = question.getCorrectAnswerIndex() != null ? question.getCorrectAnswerIndex() : ItemAnalysis.UNANSWERED;
+            optionCount[q] = question.getOptionCount() != null ? question.getOptionCount() : 0;
+            points[q] = question.getPoints() != null ? question.getPoints() : 1;
+        }
+
+        Long live = quizAttemptRepository.countCompletedByQuizId(quizId);
+        Long archived = archivedAttemptRepository.countByQuizId(quizId);
+        long expected = (live != null ? live : 0) + (archived != null ? archived : 0);
+        ItemAnalysis analysis = new ItemAnalysis(correctIndex, optionCount, points,
+                (int) Math.min(expected, Integer.MAX_VALUE));
+
+        try (Stream<Object[]> sheets = archivedAttemptRepository.streamAnswerSheetsByQuizId(quizId)) {
+            for (Object[] sheet : (Iterable<Object[]>) sheets::iterator) {
+                int row = analysis.addAttempt();
+                for (Map.Entry<Long, Integer> answer : AnswerSheetCodec.decode((byte[]) sheet[1]).entrySet()) {
+                    Integer column = columnByQuestionId.get(answer.getKey());
+                    if (column != null) {
+                        analysis.setResponse(row, column, answer.getValue());
+                    }
+                }
+            }
+        }
+
+        // Rows arrive ordered by attempt id, so a change of id opens the next matrix row
+        try (Stream<Object[]> rows = quizAttemptRepository.streamAnswersByQuizId(quizId)) {
+            long currentAttemptId = Long.MIN_VALUE;
+            int row = -1;
+            for (Object[] answer : (Iterable<Object[]>) rows::iterator) {
+                long attemptId = ((Number) answer[0]).longValue();
+                if (attemptId != currentAttemptId) {
+                    currentAttemptId = attemptId;
+                    row = analysis.addAttempt();
+                }
+                if (answer[1] == null || answer[2] == null) {
+                    continue;
+                }
+                Integer column = columnByQuestionId.get(((Number) answer[1]).longValue());
+                if (column != null) {
+                    analysis.setResponse(row, column, ((Number) answer[2]).intValue());
+                }
+            }
+        }
+
+        ItemAnalysis.ItemStats[] stats = analysis.compute(ForkJoinPool.commonPool());
+
+        Map<Long, QuestionStatistics> existing = new HashMap<>();
+        for (QuestionStatistics row : questionStatisticsRepository.findByQuizId(quizId)) {
+            existing.put(row.getQuestionId(), row);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<QuestionStatistics> results = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            Long questionId = questions.get(q).getId();
+            QuestionStatistics row = existing.getOrDefault(questionId, new QuestionStatistics());
+            row.setQuestionId(questionId);
+            row.setQuizId(quizId);
+            row.setAttemptCount(stats[q].attempts);
+            row.setCorrectCount(stats[q].correct);
+            row.setUnansweredCount(stats[q].unanswered);
+            row.setDifficulty(stats[q].difficulty);
+            row.setDiscrimination(stats[q].discrimination);
+            row.setOptionCounts(joinCounts(stats[q].optionCounts));
+            row.setComputedAt(now);
+            results.add(row);
+        }
+        List<QuestionStatistics> saved = questionStatisticsRepository.saveAll(results);
+
+        logger.info("Item analysis for quiz {}: {} attempts x {} questions in {} ms",
+                quizId, analysis.getAttemptCount(), questionCount, System.currentTimeMillis() - started);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<QuestionStatistics> getQuizStatistics(Long quizId) {
+        return questionStatisticsRepository.findByQuizId(quizId);
+    }
+
+    private static String joinCounts(long[] counts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(counts[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,198 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.QuizAttempt;
+import com.quizapp.repository.ArchivedAttemptRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.util.RankedScoreTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Live per-quiz leaderboards kept in memory. Each quiz has one entry per user (their best
+ * attempt) in a {@link RankedScoreTree}, so top-K and "your rank" never touch quiz_attempts.
+ * Boards are rebuilt at startup by streaming the archived and then the live attempts, and
+ * updated on every submit.
+ *
+ * Boards are per node: a submit only reaches the board of the node that graded it. The other
+ * nodes see it after their next rebuild, every {@code app.leaderboard.rebuild-interval-ms}.
+ * A rebuild fills fresh boards and swaps them in whole, so readers never see a half-built
+ * board and a failed rebuild leaves the current boards in place until the next one.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    private volatile Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    // Attempts recorded while a rebuild runs, replayed into the fresh boards after the swap
+    private volatile Queue<Offer> recentOffers;
+
+    private record Offer(Long quizId, RankedScoreTree.Entry entry) {
+    }
+
+    static final class Board {
+        final RankedScoreTree tree = new RankedScoreTree();
+        final Map<Long, RankedScoreTree.Entry> bestByUser = new HashMap<>();
+
+        synchronized void offer(RankedScoreTree.Entry entry) {
+            RankedScoreTree.Entry current = bestByUser.get(entry.getUserId());
+            if (current != null) {
+                if (entry.getScore() <= current.getScore()) {
+                    return; // Keep the earlier attempt on ties
+                }
+                tree.remove(current);
+            }
+            tree.insert(entry);
+            bestByUser.put(entry.getUserId(), entry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.leaderboard.rebuild-interval-ms:900000}",
+            initialDelayString = "${app.leaderboard.rebuild-interval-ms:900000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Queue<Offer> offered = new ConcurrentLinkedQueue<>();
+        recentOffers = offered;
+        Map<Long, Board> rebuilt = new ConcurrentHashMap<>();
+        long loaded = 0;
+        // Archived attempts are the older ones, so they go first and win ties as before archival
+        try (Stream<Object[]> archived = archivedAttemptRepository.streamCompletedScores();
+             Stream<Object[]> live = quizAttemptRepository.streamCompletedScores()) {
+            loaded += load(rebuilt, archived);
+            loaded += load(rebuilt, live);
+        } catch (Exception e) {
+            recentOffers = null;
+            logger.warn("Failed to rebuild leaderboards, keeping the current ones: {}", e.getMessage());
+            return;
+        }
+        boards = rebuilt;
+        recentOffers = null;
+        // An attempt recorded after this point went to the new boards directly
+        offered.forEach(offer -> board(offer.quizId()).offer(offer.entry()));
+        logger.info("Leaderboards rebuilt from {} attempts across {} quizzes", loaded, rebuilt.size());
+    }
+
+    private static long load(Map<Long, Board> boards, Stream<Object[]> rows) {
+        long loaded = 0;
+        for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+            boards.computeIfAbsent((Long) row[0], id -> new Board()).offer(new RankedScoreTree.Entry(
+                    (Long) row[3], (Long) row[1], (String) row[2],
+                    ((Number) row[4]).doubleValue(), toMillis((LocalDateTime) row[5])));
+            loaded++;
+        }
+        return loaded;
+    }
+
+    /**
+     * Records a graded attempt once the surrounding transaction commits, so rolled-back
+     * submissions never reach the board.
+     */
+    public void recordAttempt(QuizAttempt attempt) {
+        if (attempt == null || attempt.getScore() == null || attempt.getCompletedAt() == null
+                || attempt.getQuiz() == null || attempt.getUser() == null) {
+            return;
+        }
+        Long quizId = attempt.getQuiz().getId();
+        RankedScoreTree.Entry entry = new RankedScoreTree.Entry(
+                attempt.getId(), attempt.getUser().getId(), attempt.getUser().getUsername(),
+                attempt.getScore(), toMillis(attempt.getCompletedAt()));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(quizId, entry);
+                }
+            });
+        } else {
+            offer(quizId, entry);
+        }
+    }
+
+    private void offer(Long quizId, RankedScoreTree.Entry entry) {
+        Queue<Offer> offered = recentOffers;
+        if (offered != null) {
+            offered.add(new Offer(quizId, entry));
+        }
+        board(quizId).offer(entry);
+    }
+
+    public List<RankedScoreTree.Entry> getTopEntries(Long quizId, int limit) {
+        Board board = boards.get(quizId);
+        if (board == null) {
+            return List.of();
+        }
+        synchronized (board) {
+            return board.tree.top(limit);
+        }
+    }
+
+    /**
+     * 1-based rank of the user's best attempt on the quiz, if they have one.
+     */
+    public Optional<Integer> getUserRank(Long quizId, Long userId) {
+        Board board = boards.get(quizId);
+        if (board == null) {
+            return Optional.empty();
+        }
+        synchronized (board) {
+            RankedScoreTree.Entry best = board.bestByUser.get(userId);
+            return best == null ? Optional.empty() : Optional.of(board.tree.rankOf(best));
+        }
+    }
+
+    public Optional<RankedScoreTree.Entry> getUserBest(Long quizId, Long userId) {
+        Board board = boards.get(quizId);
+        if (board == null) {
+            return Optional.empty();
+        }
+        synchronized (board) {
+            return Optional.ofNullable(board.bestByUser.get(userId));
+        }
+    }
+
+    public int getParticipantCount(Long quizId) {
+        Board board = boards.get(quizId);
+        if (board == null) {
+            return 0;
+        }
+        synchronized (board) {
+            return board.tree.size();
+        }
+    }
+
+    private Board board(Long quizId) {
+        return boards.computeIfAbsent(quizId, id -> new Board());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
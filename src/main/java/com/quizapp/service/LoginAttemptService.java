@@ -0,0 +1,257 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.User;
+import com.quizapp.util.QuizMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks failed logins in memory so that authentication stays a read-only database operation.
+ *
+ * Failures are counted in lock-free sliding windows per username and per client address. A
+ * successful login removes the user's failures from its address's window, so many people
+ * sharing one address (an exam room behind NAT) only add up failures that never log in. The
+ * users row is written only when an account crosses into or out of the locked state, and then
+ * asynchronously through {@link LoginStateWriter}. Counters are per node; the persisted lock
+ * is what other nodes see.
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    private static final int WINDOW_BUCKETS = 15;
+
+    private final LoginStateWriter loginStateWriter;
+    private final Clock clock;
+    private final int maxUserFailures;
+    private final int maxAddressFailures;
+    private final long bucketMillis;
+    private final Duration lockDuration;
+
+    private final ConcurrentHashMap<String, SlidingWindow> userFailures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindow> addressFailures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> lockedUntil = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> pendingUnlocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> pendingEnables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginAttemptService(LoginStateWriter loginStateWriter,
+                               @Value("${app.login.max-user-failures:5}") int maxUserFailures,
+                               @Value("${app.login.max-address-failures:100}") int maxAddressFailures,
+                               @Value("${app.login.failure-window:15m}") Duration failureWindow,
+                               @Value("${app.login.lock-duration:24h}") Duration lockDuration) {
+        this(loginStateWriter, Clock.systemDefaultZone(), maxUserFailures, maxAddressFailures, failureWindow, lockDuration);
+    }
+
+    LoginAttemptService(LoginStateWriter loginStateWriter, Clock clock, int maxUserFailures,
+                        int maxAddressFailures, Duration failureWindow, Duration lockDuration) {
+        this.loginStateWriter = loginStateWriter;
+        this.clock = clock;
+        this.maxUserFailures = maxUserFailures;
+        this.maxAddressFailures = maxAddressFailures;
+        this.bucketMillis = Math.max(1L, failureWindow.toMillis() / WINDOW_BUCKETS);
+        this.lockDuration = lockDuration;
+    }
+
+    @EventListener
+    public void onAuthenticationFailure(AuthenticationFailureBadCredentialsEvent event) {
+        recordFailure(event.getAuthentication().getName(), remoteAddress(event.getAuthentication()));
+    }
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        recordSuccess(event.getAuthentication().getName(), remoteAddress(event.getAuthentication()));
+    }
+
+    public void recordFailure(String username, String address) {
+        long now = clock.millis();
+        if (address != null) {
+            addressFailures.computeIfAbsent(address, key -> new SlidingWindow(WINDOW_BUCKETS, bucketMillis)).record(now);
+        }
+        if (username == null || username.isBlank()) {
+            return;
+        }
+
+        int failures = userFailures.computeIfAbsent(username, key -> new SlidingWindow(WINDOW_BUCKETS, bucketMillis)).record(now);
+        if (failures < maxUserFailures) {
+            return;
+        }
+
+        // Only the thread that installs the lock persists it; concurrent failures just count
+        long until = now + lockDuration.toMillis();
+        Long previous = lockedUntil.get(username);
+        boolean transition = previous == null
+                ? lockedUntil.putIfAbsent(username, until) == null
+                : previous <= now && lockedUntil.replace(username, previous, until);
+        if (transition) {
+            pendingUnlocks.remove(username);
+            logger.atWarn().addKeyValue("user", username).addKeyValue("failures", failures)
+                    .log("Account locked after repeated failed logins");
+            QuizMetrics.increment(QuizMetrics.LOGIN_THROTTLE, 1, "outcome", "locked");
+            loginStateWriter.lock(username, failures, LocalDateTime.now(clock));
+        }
+    }
+
+    public void recordSuccess(String username) {
+        recordSuccess(username, null);
+    }
+
+    public void recordSuccess(String username, String address) {
+        if (username == null) {
+            return;
+        }
+        SlidingWindow failures = userFailures.remove(username);
+        SlidingWindow byAddress = address != null ? addressFailures.get(address) : null;
+        if (failures != null && byAddress != null) {
+            long now = clock.millis();
+            byAddress.forgive(now, failures.count(now));
+        }
+    }
+
+    /**
+     * Whether the account is locked, either by this node or by the persisted state. A persisted
+     * lock that has run out is cleared asynchronously, once, instead of on the login thread.
+     */
+    public boolean isLocked(User user) {
+        String username = user.getUsername();
+        if (isLockedInMemory(username)) {
+            return true;
+        }
+        if (!Boolean.TRUE.equals(user.getAccountLocked()) || user.getLockTime() == null) {
+            return false;
+        }
+        if (user.getLockTime().plus(lockDuration).isAfter(LocalDateTime.now(clock))) {
+            return true;
+        }
+        if (pendingUnlocks.putIfAbsent(username, clock.millis()) == null) {
+            logger.info("Lock expired for {}, clearing it", username);
+            loginStateWriter.unlock(username);
+        }
+        return false;
+    }
+
+    public void enableAccount(String username) {
+        if (pendingEnables.putIfAbsent(username, clock.millis()) == null) {
+            logger.info("Auto-enabling disabled user {}", username);
+            loginStateWriter.enable(username);
+        }
+    }
+
+    public boolean isLockedInMemory(String username) {
+        Long until = username != null ? lockedUntil.get(username) : null;
+        return until != null && until > clock.millis();
+    }
+
+    public boolean isAddressBlocked(String address) {
+        SlidingWindow window = address != null ? addressFailures.get(address) : null;
+        return window != null && window.count(clock.millis()) >= maxAddressFailures;
+    }
+
+    /**
+     * Drops idle windows and expired locks so the maps stay proportional to recent traffic.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purge() {
+        long now = clock.millis();
+        userFailures.values().removeIf(window -> window.count(now) == 0);
+        addressFailures.values().removeIf(window -> window.count(now) == 0);
+        lockedUntil.values().removeIf(until -> until <= now);
+        pendingUnlocks.values().removeIf(queuedAt -> now - queuedAt > bucketMillis * WINDOW_BUCKETS);
+        pendingEnables.values().removeIf(queuedAt -> now - queuedAt > bucketMillis * WINDOW_BUCKETS);
+    }
+
+    int trackedKeys() {
+        return userFailures.size() + addressFailures.size();
+    }
+
+    private static String remoteAddress(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress() : null;
+    }
+
+    /**
+     * Ring of time buckets. Each slot packs the bucket's epoch and its count into one long, so a
+     * slot is rolled over and incremented with a single CAS and no lock is ever taken.
+     */
+    static final class SlidingWindow {
+
+        private static final int COUNT_BITS = 20;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray slots;
+        private final long bucketMillis;
+
+        SlidingWindow(int buckets, long bucketMillis) {
+            this.slots = new AtomicLongArray(buckets);
+            this.bucketMillis = bucketMillis;
+        }
+
+        int record(long now) {
+            long epoch = now / bucketMillis;
+            int slot = (int) (epoch % slots.length());
+            while (true) {
+                long current = slots.get(slot);
+                long next;
+                if ((current >>> COUNT_BITS) != epoch) {
+                    next = (epoch << COUNT_BITS) | 1;
+                } else if ((current & COUNT_MASK) == COUNT_MASK) {
+                    break;
+                } else {
+                    next = current + 1;
+                }
+                if (slots.compareAndSet(slot, current, next)) {
+                    break;
+                }
+            }
+            return count(now);
+        }
+
+        /** Takes up to {@code failures} back out of the window, newest buckets first. */
+        void forgive(long now, int failures) {
+            long epoch = now / bucketMillis;
+            for (int back = 0; back < slots.length() && failures > 0; back++) {
+                int slot = (int) ((epoch - back) % slots.length());
+                while (true) {
+                    long current = slots.get(slot);
+                    long count = current & COUNT_MASK;
+                    if ((current >>> COUNT_BITS) != epoch - back || count == 0) {
+                        break;
+                    }
+                    long taken = Math.min(count, failures);
+                    if (slots.compareAndSet(slot, current, current - taken)) {
+                        failures -= (int) taken;
+                        break;
+                    }
+                }
+            }
+        }
+
+        int count(long now) {
+            long epoch = now / bucketMillis;
+            int total = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                long value = slots.get(i);
+                if (epoch - (value >>> COUNT_BITS) < slots.length()) {
+                    total += (int) (value & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+    }
+}
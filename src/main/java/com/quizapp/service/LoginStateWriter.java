@@ -0,0 +1,50 @@
+package com.quizapp.service;
+
+import com.quizapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persists account state changes decided during login off the request thread. Each method is
+ * a single targeted UPDATE, so a burst of logins never loads or rewrites whole user rows.
+ */
+@Service
+public class LoginStateWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginStateWriter.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Async
+    @Transactional
+    public void lock(String username, int failedAttempts, LocalDateTime lockTime) {
+        int updated = userRepository.lockAccount(username, failedAttempts, lockTime);
+        logger.debug("Persisted lock for {} ({} rows)", username, updated);
+    }
+
+    @Async
+    @Transactional
+    public void unlock(String username) {
+        int updated = userRepository.unlockAccount(username);
+        logger.debug("Persisted unlock for {} ({} rows)", username, updated);
+    }
+
+    @Async
+    @Transactional
+    public void enable(String username) {
+        userRepository.enableAccount(username);
+    }
+
+    @Async
+    @Transactional
+    public void recordLastLogin(String username, LocalDateTime lastLogin) {
+        userRepository.updateLastLogin(username, lastLogin);
+    }
+}
@@ -7,6 +7,7 @@ import com.quizapp.repository.PasswordResetTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -82,7 +83,9 @@ public class PasswordResetService {
         return "Invalid token";
     }
 
-    public void cleanExpiredTokens() {
-        tokenRepository.deleteAllByExpiryDateBefore(LocalDateTime.now());
+    // Scheduled once per cluster by ScheduledJobs; returns the number of tokens removed
+    @Transactional
+    public int cleanExpiredTokens() {
+        return tokenRepository.deleteAllByExpiryDateBefore(LocalDateTime.now());
     }
 }
\ No newline at end of file
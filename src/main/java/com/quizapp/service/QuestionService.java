@@ -1,11 +1,15 @@
 package com.quizapp.service;
 
+import com.quizapp.cache.EntityChange;
+import com.quizapp.cache.InvalidationBus;
 import com.quizapp.entity.*;
 import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuizRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +24,12 @@ public class QuestionService {
     @Autowired
     private TagService tagService;
 
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
     public Question createQuestion(Question question) {
         // Ensure options are properly initialized
         if (question.getOptions() == null) {
@@ -29,7 +39,9 @@ public class QuestionService {
         if (question.getTags() == null) {
             question.setTags(new ArrayList<>());
         }
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        markQuizChanged(question.getQuiz());
+        return saved;
     }
 
     public Question createQuestionWithTags(Question question, List<String> tagNames) {
@@ -45,7 +57,9 @@ public class QuestionService {
             question.setOptions(new ArrayList<>());
         }
 
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        markQuizChanged(question.getQuiz());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -68,8 +82,18 @@ public class QuestionService {
         question.setDifficultyLevel(questionDetails.getDifficultyLevel());
         question.setExplanation(questionDetails.getExplanation());
         question.setPoints(questionDetails.getPoints());
+        // Calibrated parameters are kept unless new ones are supplied (the edit form has none)
+        if (questionDetails.getIrtDifficulty() != null) {
+            question.setIrtDifficulty(questionDetails.getIrtDifficulty());
+        }
+        if (questionDetails.getIrtDiscrimination() != null) {
+            question.setIrtDiscrimination(questionDetails.getIrtDiscrimination());
+        }
 
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        invalidationBus.publish(EntityChange.question(id));
+        markQuizChanged(question.getQuiz());
+        return saved;
     }
 
     public Question updateQuestionTags(Long questionId, List<String> tagNames) {
@@ -79,19 +103,25 @@ public class QuestionService {
         List<Tag> tags = tagService.createOrGetTags(tagNames);
         question.setTags(tags);
 
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        markQuizChanged(question.getQuiz());
+        return saved;
     }
 
     public void deleteQuestion(Long id) {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found"));
         questionRepository.delete(question);
+        invalidationBus.publish(EntityChange.question(id));
+        markQuizChanged(question.getQuiz());
     }
 
     // NEW: Delete question from specific quiz
     public void deleteQuestionFromQuiz(Long quizId, Long questionId) {
         // Use the repository method we added
         questionRepository.deleteByQuizIdAndQuestionId(quizId, questionId);
+        quizRepository.touch(quizId, LocalDateTime.now());
+        invalidationBus.publish(EntityChange.question(questionId), EntityChange.quiz(quizId));
     }
 
     @Transactional(readOnly = true)
@@ -123,8 +153,11 @@ public class QuestionService {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new RuntimeException("Question not found"));
         question.setIsTemplate(true);
+        Quiz previousQuiz = question.getQuiz();
         question.setQuiz(null); // Remove from any quiz
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        markQuizChanged(previousQuiz);
+        return saved;
     }
 
     public Question addToQuizFromTemplate(Long templateId, Quiz quiz) {
@@ -143,6 +176,16 @@ public class QuestionService {
         newQuestion.setQuiz(quiz);
         newQuestion.setIsTemplate(false);
 
-        return questionRepository.save(newQuestion);
+        Question saved = questionRepository.save(newQuestion);
+        markQuizChanged(quiz);
+        return saved;
+    }
+
+    // Questions are owned by the quiz row's version, so question edits must bump it (and announce it) too
+    private void markQuizChanged(Quiz quiz) {
+        if (quiz != null && quiz.getId() != null) {
+            quizRepository.touch(quiz.getId(), LocalDateTime.now());
+            invalidationBus.publish(EntityChange.quiz(quiz.getId()));
+        }
     }
 }
\ No newline at end of file
@@ -4,22 +4,32 @@ import com.quizapp.entity.Question;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.QuizAttempt;
 import com.quizapp.entity.User;
+import com.quizapp.jobs.JobShard;
 import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.util.AbilityEstimator;
+import com.quizapp.util.AttemptShuffler;
+import com.quizapp.util.QuizMetrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @Transactional
 public class QuizAttemptService {
+    private static final Logger logger = LoggerFactory.getLogger(QuizAttemptService.class);
 
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
@@ -28,27 +38,76 @@ public class QuizAttemptService {
     private QuizService quizService;
 
     @Autowired
-    private EmailService emailService;
+    private QuizResultNotifier quizResultNotifier;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ScoreDistributionService scoreDistributionService;
+
+    @Autowired
+    private AdaptiveTestingService adaptiveTestingService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    // Share of graded attempts that emit per-question TRACE events (only when TRACE is enabled)
+    @Value("${app.logging.grading-trace-sample-rate:0.01}")
+    private double gradingTraceSampleRate;
+
+    // Attempts started longer ago than this are left to the daily backlog sweep, so the
+    // per-minute sweep reads only recent partitions
+    @Value("${app.jobs.auto-submit.lookback:7d}")
+    private Duration autoSubmitLookback = Duration.ofDays(7);
+
+    @Value("${app.jobs.auto-submit.backlog-batch-size:500}")
+    private int autoSubmitBacklogBatchSize = 500;
 
     @Transactional
     public QuizAttempt startQuizAttempt(User user, Quiz quiz) {
+        Timer.Sample sample = QuizMetrics.start();
         QuizAttempt attempt = new QuizAttempt();
         attempt.setUser(user);
         attempt.setQuiz(quiz);
         attempt.setAttemptedAt(LocalDateTime.now());
+        attempt.setShuffleSeed(ThreadLocalRandom.current().nextLong());
 
         // Set expiry time for server-side timeout validation
         if (quiz.getTimeLimit() != null && quiz.getTimeLimit() > 0) {
             attempt.setExpiresAt(LocalDateTime.now().plusMinutes(quiz.getTimeLimit()));
         }
 
+        // Adaptive attempts are served one question at a time, starting from the prior ability
+        if (Boolean.TRUE.equals(quiz.getIsAdaptive())) {
+            Long firstQuestionId = adaptiveTestingService.startAttempt(quiz.getId());
+            if (firstQuestionId == null) {
+                throw new RuntimeException("Adaptive quiz has no questions: " + quiz.getId());
+            }
+            AbilityEstimator.Estimate prior = AbilityEstimator.prior();
+            attempt.setAbilityEstimate(prior.theta());
+            attempt.setAbilityStandardError(prior.standardError());
+            attempt.setCurrentQuestionId(firstQuestionId);
+        }
+
         QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
-        System.out.println("✅ Created new quiz attempt with ID: " + savedAttempt.getId() +
-                ", Expires at: " + savedAttempt.getExpiresAt());
+        logger.atInfo()
+                .addKeyValue("attemptId", savedAttempt.getId())
+                .addKeyValue("quizId", quiz.getId())
+                .addKeyValue("userId", user.getId())
+                .addKeyValue("expiresAt", savedAttempt.getExpiresAt())
+                .addKeyValue("adaptive", savedAttempt.isAdaptive())
+                .log("Quiz attempt started");
+        QuizMetrics.stop(sample, QuizMetrics.ATTEMPT_START);
         return savedAttempt;
     }
 
-    private double calculateScore(QuizAttempt attempt) {
+    // Package-private for GradingBenchmark (src/jmh)
+    double calculateScore(QuizAttempt attempt) {
+        if (attempt.isAdaptive()) {
+            return adaptiveTestingService.score(attempt);
+        }
+
         Quiz quiz = attempt.getQuiz();
         Map<Long, Integer> userAnswers = attempt.getAnswers();
 
@@ -66,7 +125,7 @@ public class QuizAttemptService {
         try {
             totalQuestions = quiz.getQuestions().size();
         } catch (org.hibernate.LazyInitializationException e) {
-            System.err.println("⚠️ LazyInitializationException in calculateScore, using 0 questions");
+            logger.warn("Questions not initialized while grading attempt {}, scoring 0", attempt.getId());
             return 0.0;
         }
 
@@ -74,9 +133,10 @@ public class QuizAttemptService {
             return 0.0;
         }
 
-        System.out.println("=== SCORE CALCULATION START ===");
-        System.out.println("Total questions: " + totalQuestions);
-        System.out.println("User answers: " + userAnswers);
+        long gradingStarted = System.nanoTime();
+        // Sampled once per attempt so the per-question branch below costs nothing otherwise
+        boolean trace = logger.isTraceEnabled()
+                && ThreadLocalRandom.current().nextDouble() < gradingTraceSampleRate;
 
         for (Question question : quiz.getQuestions()) {
             Long questionId = question.getId();
@@ -86,19 +146,6 @@ public class QuizAttemptService {
 
             totalPoints += questionPoints;
 
-            System.out.println("Question ID: " + questionId);
-            System.out.println("Question: " + question.getQuestionText());
-            System.out.println("Points: " + questionPoints);
-            System.out.println("Options: " + question.getOptions());
-            System.out.println("Correct answer index: " + correctAnswer);
-            System.out.println("Correct answer text: " +
-                    (correctAnswer != null && correctAnswer < question.getOptions().size() ?
-                            question.getOptions().get(correctAnswer) : "INVALID"));
-            System.out.println("User answer index: " + userAnswer);
-            System.out.println("User answer text: " +
-                    (userAnswer != null && userAnswer < question.getOptions().size() ?
-                            question.getOptions().get(userAnswer) : "NOT ANSWERED"));
-
             // Validate answer is within bounds
             boolean isValidAnswer = userAnswer != null &&
                     userAnswer >= 0 &&
@@ -108,21 +155,29 @@ public class QuizAttemptService {
                     userAnswer != null &&
                     userAnswer.equals(correctAnswer);
 
+            String outcome;
             if (isValidAnswer && isCorrectAnswer) {
                 correctAnswers++;
                 earnedPoints += questionPoints;
-                System.out.println("✅ Question " + questionId + ": CORRECT (+" + questionPoints + " points)");
+                outcome = "correct";
             } else if (isValidAnswer) {
-                System.out.println("❌ Question " + questionId + ": INCORRECT (0 points)");
-                System.out.println("   Expected: " + correctAnswer + ", Got: " + userAnswer);
+                outcome = "incorrect";
             } else if (userAnswer != null) {
-                System.out.println("⚠️ Question " + questionId + ": INVALID ANSWER (0 points)");
-                System.out.println("   Answer " + userAnswer + " is out of bounds (0-" +
-                        (question.getOptions().size() - 1) + ")");
+                outcome = "invalid";
             } else {
-                System.out.println("⏸️ Question " + questionId + ": NOT ANSWERED (0 points)");
+                outcome = "unanswered";
+            }
+
+            if (trace) {
+                logger.atTrace()
+                        .addKeyValue("attemptId", attempt.getId())
+                        .addKeyValue("questionId", questionId)
+                        .addKeyValue("expected", correctAnswer)
+                        .addKeyValue("answer", userAnswer)
+                        .addKeyValue("outcome", outcome)
+                        .addKeyValue("points", isValidAnswer && isCorrectAnswer ? questionPoints : 0)
+                        .log("Question graded");
             }
-            System.out.println("---");
         }
 
         // Store points in attempt
@@ -130,9 +185,18 @@ public class QuizAttemptService {
         attempt.setEarnedPoints(earnedPoints);
 
         double score = totalPoints > 0 ? ((double) earnedPoints / totalPoints) * 100 : 0;
-        System.out.println("Final score: " + earnedPoints + "/" + totalPoints + " points = " + score + "%");
-        System.out.println("Correct answers: " + correctAnswers + "/" + totalQuestions);
-        System.out.println("=== SCORE CALCULATION END ===");
+        if (logger.isDebugEnabled()) {
+            logger.atDebug()
+                    .addKeyValue("attemptId", attempt.getId())
+                    .addKeyValue("earnedPoints", earnedPoints)
+                    .addKeyValue("totalPoints", totalPoints)
+                    .addKeyValue("correct", correctAnswers)
+                    .addKeyValue("questions", totalQuestions)
+                    .log("Attempt graded");
+        }
+
+        QuizMetrics.recordNanos(QuizMetrics.GRADING, System.nanoTime() - gradingStarted);
+        QuizMetrics.recordAmount(QuizMetrics.GRADING_QUESTIONS, totalQuestions);
 
         return score;
     }
@@ -161,81 +225,175 @@ public class QuizAttemptService {
         return attempts;
     }
 
+    /**
+     * Submits answers as the participant saw them: option indexes refer to the shuffled
+     * order of this attempt and are mapped back to canonical indexes before grading.
+     */
     @Transactional
     public QuizAttempt submitQuiz(Long attemptId, Map<Long, Integer> answers) {
-        System.out.println("🚀 Starting quiz submission for attempt: " + attemptId);
+        return submitQuiz(attemptId, answers, true, "participant");
+    }
 
-        Optional<QuizAttempt> attemptOpt = quizAttemptRepository.findById(attemptId);
-        if (attemptOpt.isEmpty()) {
-            throw new RuntimeException("Quiz attempt not found with ID: " + attemptId);
+    /**
+     * Records the answer to an adaptive attempt's current question (option index as displayed)
+     * and either serves the next question or, once the ability estimate is precise enough,
+     * submits the attempt. The returned attempt's current question is null when it is done.
+     */
+    @Transactional
+    public QuizAttempt answerAdaptive(Long attemptId, Long questionId, Integer answer) {
+        QuizAttempt attempt = quizAttemptRepository.findById(attemptId)
+                .orElseThrow(() -> new RuntimeException("Quiz attempt not found with ID: " + attemptId));
+        if (!attempt.isAdaptive()) {
+            throw new RuntimeException("Quiz attempt " + attemptId + " is not adaptive");
+        }
+        if (attempt.getCompletedAt() != null) {
+            throw new RuntimeException("Quiz attempt " + attemptId + " is already submitted");
+        }
+        if (attempt.isExpired()) {
+            logger.debug("Adaptive attempt {} expired at {}, grading what was answered", attemptId, attempt.getExpiresAt());
+            return submitQuiz(attemptId, null, false, "adaptive");
+        }
+        if (questionId == null || !questionId.equals(attempt.getCurrentQuestionId())) {
+            throw new RuntimeException("Question " + questionId + " is not the current question of attempt " + attemptId);
         }
 
-        QuizAttempt attempt = attemptOpt.get();
-        System.out.println("✅ Found attempt for quiz: " + attempt.getQuiz().getTitle());
+        Integer canonical = canonicalAdaptiveAnswer(attempt, questionId, answer);
+        if (canonical == null) {
+            throw new RuntimeException("Answer " + answer + " is out of range for question " + questionId);
+        }
+        attempt.getAnswers().put(questionId, canonical);
+
+        AdaptiveTestingService.Step step = adaptiveTestingService.next(attempt);
+        attempt.setAbilityEstimate(step.estimate().theta());
+        attempt.setAbilityStandardError(step.estimate().standardError());
+        attempt.setCurrentQuestionId(step.nextQuestionId());
+        if (step.nextQuestionId() == null) {
+            return submitQuiz(attemptId, null, false, "adaptive");
+        }
+        return quizAttemptRepository.save(attempt);
+    }
 
-        // SERVER-SIDE TIMEOUT VALIDATION
-        if (attempt.isExpired()) {
-            System.out.println("⏰ Quiz attempt EXPIRED at: " + attempt.getExpiresAt());
-            System.out.println("⚠️ Time ran out - auto-grading incomplete submission");
+    // Canonical option index of a displayed answer to an adaptive question, null when out of range
+    private Integer canonicalAdaptiveAnswer(QuizAttempt attempt, Long questionId, Integer answer) {
+        Question question = questionService.getQuestionById(questionId)
+                .orElseThrow(() -> new RuntimeException("Question not found with ID: " + questionId));
+        Integer canonical = AttemptShuffler.toCanonicalOption(attempt, question, answer);
+        if (canonical == null || canonical < 0 || canonical >= question.getOptions().size()) {
+            return null;
+        }
+        return canonical;
+    }
 
-            if (answers == null) {
-                answers = new HashMap<>();
+    private QuizAttempt submitQuiz(Long attemptId, Map<Long, Integer> answers, boolean displayedIndexes, String trigger) {
+        Timer.Sample sample = QuizMetrics.start();
+        // Every exit is timed, failures included, tagged with how it ended
+        String outcome = "error";
+        try {
+            Optional<QuizAttempt> attemptOpt = quizAttemptRepository.findById(attemptId);
+            if (attemptOpt.isEmpty()) {
+                outcome = "not_found";
+                throw new RuntimeException("Quiz attempt not found with ID: " + attemptId);
             }
-        } else if (attempt.getExpiresAt() != null) {
-            System.out.println("✅ Attempt valid until: " + attempt.getExpiresAt());
-        }
 
-        // DATA VALIDATION: Remove invalid answers
-        Map<Long, Integer> validatedAnswers = new HashMap<>();
-        if (answers != null) {
-            for (Map.Entry<Long, Integer> entry : answers.entrySet()) {
-                Long questionId = entry.getKey();
-                Integer userAnswer = entry.getValue();
-
-                // Find the question to validate
-                if (attempt.getQuiz() != null && attempt.getQuiz().getQuestions() != null) {
-                    for (Question question : attempt.getQuiz().getQuestions()) {
-                        if (question.getId().equals(questionId)) {
-                            // Validate answer is within bounds
-                            if (userAnswer != null &&
-                                    userAnswer >= 0 &&
-                                    userAnswer < question.getOptions().size()) {
-                                validatedAnswers.put(questionId, userAnswer);
-                            } else {
-                                System.out.println("❌ Removing invalid answer for question " +
-                                        questionId + ": " + userAnswer);
-                            }
-                            break;
-                        }
+            QuizAttempt attempt = attemptOpt.get();
+            // Grading again would rewrite the score after the results revealed the answers
+            if (attempt.getCompletedAt() != null) {
+                outcome = "already_submitted";
+                throw new RuntimeException("Quiz attempt " + attemptId + " is already submitted");
+            }
+
+            // SERVER-SIDE TIMEOUT VALIDATION
+            boolean expired = attempt.isExpired();
+            if (expired) {
+                logger.debug("Attempt {} expired at {}, grading what was answered", attemptId, attempt.getExpiresAt());
+
+                if (answers == null) {
+                    answers = new HashMap<>();
+                }
+            }
+
+            // Adaptive answers were validated and stored one at a time. A submit ends the attempt;
+            // only the answer to the question still open counts, questions never served are ignored.
+            if (attempt.isAdaptive()) {
+                Map<Long, Integer> recorded = new HashMap<>(attempt.getAnswers());
+                Long current = attempt.getCurrentQuestionId();
+                if (displayedIndexes && answers != null && current != null && answers.get(current) != null) {
+                    Integer canonical = canonicalAdaptiveAnswer(attempt, current, answers.get(current));
+                    if (canonical != null) {
+                        recorded.put(current, canonical);
                     }
                 }
+                answers = recorded;
+                displayedIndexes = false;
             }
-        }
 
-        // Set answers and completion time
-        attempt.setAnswers(validatedAnswers);
-        attempt.setCompletedAt(LocalDateTime.now());
+            // Stored answers are always canonical, so only client input needs remapping
+            if (displayedIndexes && answers != null) {
+                answers = AttemptShuffler.toCanonicalAnswers(attempt, answers);
+            }
 
-        // Calculate score
-        double score = calculateScore(attempt);
-        attempt.setScore(score);
+            // DATA VALIDATION: Remove invalid answers
+            Map<Long, Integer> validatedAnswers = new HashMap<>();
+            if (answers != null) {
+                for (Map.Entry<Long, Integer> entry : answers.entrySet()) {
+                    Long questionId = entry.getKey();
+                    Integer userAnswer = entry.getValue();
 
-        System.out.println("📊 Calculated score: " + score + "%");
+                    if (attempt.isAdaptive()) {
+                        validatedAnswers.put(questionId, userAnswer);
+                        continue;
+                    }
 
-        // Save the updated attempt
-        QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
-        System.out.println("💾 Quiz attempt saved successfully");
+                    // Find the question to validate
+                    if (attempt.getQuiz() != null && attempt.getQuiz().getQuestions() != null) {
+                        for (Question question : attempt.getQuiz().getQuestions()) {
+                            if (question.getId().equals(questionId)) {
+                                // Validate answer is within bounds
+                                if (userAnswer != null &&
+                                        userAnswer >= 0 &&
+                                        userAnswer < question.getOptions().size()) {
+                                    validatedAnswers.put(questionId, userAnswer);
+                                } else {
+                                    logger.debug("Dropping out-of-range answer {} for question {} in attempt {}",
+                                            userAnswer, questionId, attemptId);
+                                }
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
 
-        // Send email notification
-        System.out.println("📧 Attempting to send quiz results email...");
-        try {
-            emailService.sendQuizResultEmail(savedAttempt);
-            System.out.println("✅ Quiz results email process completed");
-        } catch (Exception e) {
-            System.err.println("⚠️ Quiz results email failed but quiz was submitted: " + e.getMessage());
+            // Set answers and completion time
+            attempt.setAnswers(validatedAnswers);
+            attempt.setCompletedAt(LocalDateTime.now());
+
+            // Calculate score
+            double score = calculateScore(attempt);
+            attempt.setScore(score);
+
+            // Save the updated attempt
+            QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
+            logger.atInfo()
+                    .addKeyValue("attemptId", attemptId)
+                    .addKeyValue("quizId", attempt.getQuiz().getId())
+                    .addKeyValue("score", score)
+                    .addKeyValue("answered", validatedAnswers.size())
+                    .addKeyValue("trigger", trigger)
+                    .addKeyValue("expired", expired)
+                    .log("Quiz attempt submitted");
+
+            leaderboardService.recordAttempt(savedAttempt);
+            scoreDistributionService.recordAttempt(savedAttempt);
+
+            // Results email goes out from the background pool once this commits
+            quizResultNotifier.sendResultAfterCommit(savedAttempt.getId());
+
+            outcome = expired ? "expired" : "submitted";
+            return savedAttempt;
+        } finally {
+            QuizMetrics.stop(sample, QuizMetrics.ATTEMPT_SUBMIT, "trigger", trigger, "outcome", outcome);
         }
-
-        return savedAttempt;
     }
 
     @Transactional(readOnly = true)
@@ -254,37 +412,67 @@ public class QuizAttemptService {
         return attempt;
     }
 
-    // Auto-submit expired attempts (runs every minute)
-    @Scheduled(fixedDelay = 60000)
+    /**
+     * Submits this shard's attempts whose time ran out; returns how many. Scheduled once per
+     * cluster by ScheduledJobs.
+     */
     @Transactional
-    public void autoSubmitExpiredAttempts() {
-        System.out.println("🔄 Checking for expired quiz attempts...");
+    public int autoSubmitExpiredAttempts(JobShard shard) {
+        Timer.Sample sample = QuizMetrics.start();
+        LocalDateTime now = LocalDateTime.now();
 
-        List<QuizAttempt> allAttempts = quizAttemptRepository.findAll();
-        List<QuizAttempt> expiredAttempts = allAttempts.stream()
-                .filter(attempt ->
-                        attempt.getCompletedAt() == null &&
-                                attempt.getExpiresAt() != null &&
-                                attempt.isExpired()
-                )
-                .collect(Collectors.toList());
+        List<QuizAttempt> expiredAttempts =
+                quizAttemptRepository.findExpiredOpenAttempts(now, now.minus(autoSubmitLookback),
+                        shard.count(), shard.index());
 
-        System.out.println("Found " + expiredAttempts.size() + " expired attempts");
+        int submitted = submitExpired(expiredAttempts, now, "recent");
+        QuizMetrics.stop(sample, QuizMetrics.AUTOSUBMIT_RUN, "sweep", "recent");
+        return submitted;
+    }
+
+    /**
+     * Submits up to one batch of this shard's expired attempts that started before the lookback:
+     * deadlines that passed while no sweep ran, or time limits longer than the lookback. Without
+     * it those attempts would stay open, and keep their partitions, forever. Scheduled daily.
+     */
+    @Transactional
+    public int autoSubmitExpiredBacklog(JobShard shard) {
+        Timer.Sample sample = QuizMetrics.start();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<QuizAttempt> expiredAttempts =
+                quizAttemptRepository.findExpiredOpenAttemptsStartedBefore(now, now.minus(autoSubmitLookback),
+                        shard.count(), shard.index(), PageRequest.of(0, autoSubmitBacklogBatchSize));
+
+        int submitted = submitExpired(expiredAttempts, now, "backlog");
+        QuizMetrics.stop(sample, QuizMetrics.AUTOSUBMIT_RUN, "sweep", "backlog");
+        return submitted;
+    }
+
+    private int submitExpired(List<QuizAttempt> expiredAttempts, LocalDateTime now, String sweep) {
+        if (!expiredAttempts.isEmpty()) {
+            logger.info("Auto-submitting {} expired attempts ({} sweep)", expiredAttempts.size(), sweep);
+        }
+        QuizMetrics.recordAmount(QuizMetrics.AUTOSUBMIT_BATCH, expiredAttempts.size(), "sweep", sweep);
 
+        int submitted = 0;
         for (QuizAttempt attempt : expiredAttempts) {
             try {
-                System.out.println("⏰ Auto-submitting expired attempt: " + attempt.getId());
+                // How long past its deadline the attempt sat before the sweep picked it up
+                QuizMetrics.recordMillis(QuizMetrics.AUTOSUBMIT_LAG,
+                        Duration.between(attempt.getExpiresAt(), now).toMillis(), "sweep", sweep);
 
                 // Use existing answers or empty map
                 Map<Long, Integer> answers = attempt.getAnswers() != null ?
                         attempt.getAnswers() : new HashMap<>();
 
-                submitQuiz(attempt.getId(), answers);
+                submitQuiz(attempt.getId(), answers, false, "autosubmit");
+                submitted++;
 
             } catch (Exception e) {
-                System.err.println("❌ Failed to auto-submit attempt " + attempt.getId() +
-                        ": " + e.getMessage());
+                logger.error("Failed to auto-submit attempt {}: {}", attempt.getId(), e.getMessage());
             }
         }
+        return submitted;
     }
 }
\ No newline at end of file
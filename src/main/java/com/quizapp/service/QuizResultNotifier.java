@@ -0,0 +1,57 @@
+package com.quizapp.service;
+
+import com.quizapp.repository.QuizAttemptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends the results email for a submitted attempt on the {@link BackgroundExecutor}, so neither
+ * template rendering nor SMTP holds up the submission or its database connection.
+ *
+ * The email is queued only once the submission commits, and the attempt is reloaded in a
+ * transaction of its own because its lazy quiz and user cannot be read from another thread.
+ */
+@Service
+public class QuizResultNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(QuizResultNotifier.class);
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private BackgroundExecutor backgroundExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public void sendResultAfterCommit(Long attemptId) {
+        Runnable enqueue = () -> backgroundExecutor.execute("quiz_result_email", () -> sendResult(attemptId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
+    }
+
+    void sendResult(Long attemptId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> quizAttemptRepository.findById(attemptId)
+                    .ifPresent(emailService::sendQuizResultEmail));
+        } catch (RuntimeException e) {
+            logger.warn("Results email failed for attempt {}: {}", attemptId, e.getMessage());
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package com.quizapp.service;
 
+import com.quizapp.cache.EntityChange;
+import com.quizapp.cache.InvalidationBus;
 import com.quizapp.entity.Question;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.User;
 import com.quizapp.repository.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class QuizService {
+    private static final Logger logger = LoggerFactory.getLogger(QuizService.class);
+
+    private static final int MAX_CACHED_QUIZZES = 10_000;
 
     @Autowired
     private QuizRepository quizRepository;
@@ -23,25 +38,111 @@ public class QuizService {
     @Autowired
     private QuestionService questionService;
 
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Value("${app.invalidation.catalog-ttl:30s}")
+    private Duration catalogTtl = Duration.ofSeconds(30);
+
+    /*
+     * Validators for the catalog and quiz ETags, read on nearly every page and API call. Each
+     * entry remembers the generation it was loaded in; a quiz or question change bumps the
+     * generation, which also discards a load that was still in flight when the change landed.
+     */
+    private record Cached<T>(T value, long generation, long loadedAtNanos) {
+    }
+
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private volatile Cached<QuizRepository.CatalogVersion> catalogVersion;
+    private volatile Cached<Long> publicQuizCount;
+    private final Map<Long, Cached<Optional<LocalDateTime>>> quizLastModified = new ConcurrentHashMap<>();
+
     @Transactional
     public Quiz createQuiz(Quiz quiz, User createdBy) {
         quiz.setCreatedBy(createdBy);
         Quiz savedQuiz = quizRepository.save(quiz);
-        System.out.println("Created quiz: " + savedQuiz.getTitle() + " with ID: " + savedQuiz.getId());
+        invalidationBus.publish(EntityChange.quiz(savedQuiz.getId()));
+        logger.info("Created quiz {} ({})", savedQuiz.getId(), savedQuiz.getTitle());
         return savedQuiz;
     }
 
     @Transactional(readOnly = true)
     public List<Quiz> getAllQuizzes() {
         List<Quiz> quizzes = quizRepository.findAll();
-        System.out.println("Found " + quizzes.size() + " quizzes");
+        logger.debug("Found {} quizzes", quizzes.size());
         return quizzes;
     }
 
+    // No transaction of its own: a cache hit should not take a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public QuizRepository.CatalogVersion getCatalogVersion() {
+        long generation = catalogGeneration.get();
+        Cached<QuizRepository.CatalogVersion> cached = catalogVersion;
+        if (isFresh(cached, generation)) {
+            return cached.value();
+        }
+        QuizRepository.CatalogVersion version = quizRepository.findCatalogVersion();
+        catalogVersion = new Cached<>(version, generation, System.nanoTime());
+        return version;
+    }
+
+    // Changes with any quiz or question edit; keys the cached catalog fragments
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getCatalogVersionKey() {
+        QuizRepository.CatalogVersion version = getCatalogVersion();
+        return version != null ? version.getLastModified() + "/" + version.getQuizCount() : "none";
+    }
+
+    // What the catalog pages show next to cached cards, without loading the quizzes themselves
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long getPublicQuizCount() {
+        long generation = catalogGeneration.get();
+        Cached<Long> cached = publicQuizCount;
+        if (isFresh(cached, generation)) {
+            return cached.value();
+        }
+        long count = quizRepository.countPublic();
+        publicQuizCount = new Cached<>(count, generation, System.nanoTime());
+        return count;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<LocalDateTime> getQuizLastModified(Long id) {
+        long generation = catalogGeneration.get();
+        Cached<Optional<LocalDateTime>> cached = quizLastModified.get(id);
+        if (isFresh(cached, generation)) {
+            return cached.value();
+        }
+        Optional<LocalDateTime> lastModified = quizRepository.findLastModifiedById(id);
+        if (quizLastModified.size() >= MAX_CACHED_QUIZZES) {
+            quizLastModified.clear();
+        }
+        quizLastModified.put(id, new Cached<>(lastModified, generation, System.nanoTime()));
+        return lastModified;
+    }
+
+    /**
+     * Drops the cached validators when a quiz or question changes on this or any other node.
+     */
+    @EventListener
+    public void onEntityChange(EntityChange change) {
+        if (change.affects(EntityChange.Kind.QUIZ) || change.affects(EntityChange.Kind.QUESTION)) {
+            catalogGeneration.incrementAndGet();
+            catalogVersion = null;
+            publicQuizCount = null;
+            quizLastModified.clear();
+        }
+    }
+
+    private boolean isFresh(Cached<?> cached, long generation) {
+        return cached != null && cached.generation() == generation
+                && System.nanoTime() - cached.loadedAtNanos() < catalogTtl.toNanos();
+    }
+
     @Transactional(readOnly = true)
     public List<Quiz> getQuizzesByUser(String username) {
         List<Quiz> quizzes = quizRepository.findByCreatedByUsername(username);
-        System.out.println("Found " + quizzes.size() + " quizzes for user: " + username);
+        logger.debug("Found {} quizzes for user {}", quizzes.size(), username);
         return quizzes;
     }
 
@@ -58,8 +159,11 @@ public class QuizService {
         quiz.setDifficultyLevel(quizDetails.getDifficultyLevel());
         quiz.setIsPublic(quizDetails.getIsPublic());
         quiz.setEnabled(quizDetails.getEnabled());
+        quiz.setIsAdaptive(quizDetails.getIsAdaptive());
 
-        return quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        invalidationBus.publish(EntityChange.quiz(id));
+        return saved;
     }
 
     @Transactional
@@ -67,7 +171,8 @@ public class QuizService {
         Quiz quiz = quizRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
         quizRepository.delete(quiz);
-        System.out.println("Deleted quiz with ID: " + id);
+        invalidationBus.publish(EntityChange.quiz(id));
+        logger.info("Deleted quiz {}", id);
     }
 
 
@@ -99,6 +204,7 @@ public class QuizService {
         }
 
         Quiz savedQuiz = quizRepository.save(newQuiz);
+        invalidationBus.publish(EntityChange.quiz(savedQuiz.getId()));
 
         // Copy questions from template
         if (template.getQuestions() != null && !template.getQuestions().isEmpty()) {
@@ -122,7 +228,7 @@ public class QuizService {
             }
         }
 
-        System.out.println("Created quiz from template: " + newTitle + " with ID: " + savedQuiz.getId());
+        logger.info("Created quiz {} ({}) from template {}", savedQuiz.getId(), newTitle, template.getId());
         return savedQuiz;
     }
 
@@ -148,6 +254,7 @@ public class QuizService {
         }
 
         Quiz savedTemplate = quizRepository.save(template);
+        invalidationBus.publish(EntityChange.quiz(savedTemplate.getId()));
 
         // Copy questions as template questions
         if (quiz.getQuestions() != null && !quiz.getQuestions().isEmpty()) {
@@ -171,7 +278,7 @@ public class QuizService {
             }
         }
 
-        System.out.println("Saved quiz as template: " + templateName + " with ID: " + savedTemplate.getId());
+        logger.info("Saved quiz {} as template {} ({})", quiz.getId(), savedTemplate.getId(), templateName);
     }
 
     @Transactional
@@ -193,7 +300,7 @@ public class QuizService {
         }
 
         questionService.createQuestion(newQuestion);
-        System.out.println("Added question to quiz: " + quiz.getTitle() + ", Question: " + question.getQuestionText());
+        logger.debug("Added question to quiz {}", quiz.getId());
     }
 
     // In QuizService.java, update the getQuizById method:
@@ -213,10 +320,8 @@ public class QuizService {
                     }
                 });
             }
-            System.out.println("Found quiz by ID " + id + ": " + q.getTitle() +
-                    " with " + (q.getQuestions() != null ? q.getQuestions().size() : 0) + " questions");
         } else {
-            System.out.println("Quiz not found with ID: " + id);
+            logger.debug("Quiz {} not found", id);
         }
         return quiz;
     }
@@ -227,63 +332,16 @@ public class QuizService {
     // In QuizService.java, replace the getPublicQuizzes() method with this:
     @Transactional(readOnly = true)
     public List<Quiz> getPublicQuizzes() {
-        System.out.println("🔍 === DEBUG getPublicQuizzes() START ===");
-
         List<Quiz> allQuizzes = quizRepository.findAll();
-        System.out.println("Total quizzes in database: " + allQuizzes.size());
-
-        if (allQuizzes.isEmpty()) {
-            System.out.println("❌ NO QUIZZES FOUND IN DATABASE!");
-            System.out.println("🔍 === DEBUG getPublicQuizzes() END ===");
-            return new ArrayList<>();
-        }
-
-        // Print all quizzes with their properties
-        for (int i = 0; i < allQuizzes.size(); i++) {
-            Quiz quiz = allQuizzes.get(i);
-            System.out.println("\n📊 Quiz " + (i+1) + ":");
-            System.out.println("  ID: " + quiz.getId());
-            System.out.println("  Title: " + quiz.getTitle());
-            System.out.println("  isPublic: " + quiz.getIsPublic());
-            System.out.println("  enabled: " + quiz.getEnabled());
-            System.out.println("  isTemplate: " + quiz.getIsTemplate());
-            System.out.println("  Questions: " + (quiz.getQuestions() != null ? quiz.getQuestions().size() : 0));
-
-            // Check if any fields are null
-            if (quiz.getIsPublic() == null) {
-                System.out.println("  ⚠️ WARNING: isPublic is NULL!");
-            }
-            if (quiz.getEnabled() == null) {
-                System.out.println("  ⚠️ WARNING: enabled is NULL!");
-            }
-            if (quiz.getIsTemplate() == null) {
-                System.out.println("  ⚠️ WARNING: isTemplate is NULL!");
-            }
-        }
 
         // Filter only public and enabled quizzes
         List<Quiz> publicQuizzes = allQuizzes.stream()
-                .filter(quiz -> {
-                    boolean isPublic = Boolean.TRUE.equals(quiz.getIsPublic());
-                    boolean isEnabled = Boolean.TRUE.equals(quiz.getEnabled());
-                    boolean notTemplate = !Boolean.TRUE.equals(quiz.getIsTemplate());
-
-                    boolean passesFilter = isPublic && isEnabled && notTemplate;
-
-                    System.out.println("\n🎯 Filter check for '" + quiz.getTitle() + "':");
-                    System.out.println("  isPublic=" + isPublic + " (raw: " + quiz.getIsPublic() + ")");
-                    System.out.println("  isEnabled=" + isEnabled + " (raw: " + quiz.getEnabled() + ")");
-                    System.out.println("  notTemplate=" + notTemplate + " (raw: " + quiz.getIsTemplate() + ")");
-                    System.out.println("  Passes filter: " + passesFilter);
-
-                    return passesFilter;
-                })
+                .filter(quiz -> Boolean.TRUE.equals(quiz.getIsPublic())
+                        && Boolean.TRUE.equals(quiz.getEnabled())
+                        && !Boolean.TRUE.equals(quiz.getIsTemplate()))
                 .collect(Collectors.toList());
 
-        System.out.println("\n✅ Filtered result: " + publicQuizzes.size() + " public quizzes");
-        for (Quiz quiz : publicQuizzes) {
-            System.out.println("  - " + quiz.getTitle() + " (ID: " + quiz.getId() + ")");
-        }
+        logger.debug("Public quizzes: {} of {}", publicQuizzes.size(), allQuizzes.size());
 
         // Initialize questions for each quiz
         for (Quiz quiz : publicQuizzes) {
@@ -292,7 +350,6 @@ public class QuizService {
             }
         }
 
-        System.out.println("🔍 === DEBUG getPublicQuizzes() END ===");
         return publicQuizzes;
     }
 }
\ No newline at end of file
@@ -0,0 +1,301 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.QuizAttempt;
+import com.quizapp.entity.ScoreDistribution;
+import com.quizapp.repository.ArchivedAttemptRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.ScoreDistributionRepository;
+import com.quizapp.util.ScoreHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-quiz score distributions for percentile queries ("better than X% of takers").
+ *
+ * The score_distributions row of a quiz is the cluster-wide histogram. It holds every graded
+ * attempt up to a watermark (completion time, then id). The periodic flush locks the row and
+ * folds in the attempts quiz_attempts holds past the watermark, so a fold is idempotent: two
+ * nodes flushing the same quiz never count an attempt twice. Attempts completed within
+ * {@code app.scores.fold-delay} are left for a later fold, which gives submissions still
+ * committing a chance to land before the watermark passes them.
+ *
+ * Each node's view is the last row it read plus the scores it has seen since and the row does
+ * not cover yet. Every flush also re-reads the rows other nodes folded since the last one, so
+ * attempts graded elsewhere reach this node's view within a flush interval or so after their
+ * fold. Reads never touch quiz_attempts.
+ */
+@Service
+public class ScoreDistributionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreDistributionService.class);
+
+    // Watermark of a row that holds nothing yet
+    static final LocalDateTime NO_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // How far back each refresh looks past the previous one, to cover clock skew between nodes
+    // and folds that committed a while after they stamped updatedAt
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(5);
+
+    @Autowired
+    private ScoreDistributionRepository scoreDistributionRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Value("${app.scores.fold-delay:2m}")
+    private Duration foldDelay = Duration.ofMinutes(2);
+
+    private final Map<Long, Sketch> sketches = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastRefresh = NO_WATERMARK;
+
+    private record Graded(long attemptId, LocalDateTime completedAt, double score) {
+        boolean after(LocalDateTime watermark, long watermarkId) {
+            int order = completedAt.compareTo(watermark);
+            return order > 0 || (order == 0 && attemptId > watermarkId);
+        }
+    }
+
+    static final class Sketch {
+        LocalDateTime storedUpTo = NO_WATERMARK;
+        long storedUpToId;
+        // Scores seen on this node that the stored row does not hold yet
+        final List<Graded> unfolded = new ArrayList<>();
+        // The stored row has no watermark and waits for a rebuild
+        boolean rebuildPending;
+        ScoreHistogram view = new ScoreHistogram();
+
+        synchronized void record(Graded graded) {
+            if (graded.after(storedUpTo, storedUpToId)) {
+                unfolded.add(graded);
+                view.add(graded.score());
+            }
+        }
+
+        /**
+         * Takes {@code histogram} as the stored row. Scores it covers leave the unfolded list,
+         * and so do scores completed by {@code foldedThrough}: the fold that produced it looked
+         * for them already.
+         */
+        synchronized void adopt(ScoreHistogram histogram, LocalDateTime upTo, long upToId, LocalDateTime foldedThrough) {
+            storedUpTo = upTo;
+            storedUpToId = upToId;
+            rebuildPending = false;
+            unfolded.removeIf(graded -> !graded.after(upTo, upToId) || !graded.completedAt().isAfter(foldedThrough));
+            view = histogram.copy();
+            for (Graded graded : unfolded) {
+                view.add(graded.score());
+            }
+        }
+
+        /**
+         * Takes a row another node folded, if its watermark is past the one this node holds.
+         */
+        synchronized void refresh(byte[] histogram, LocalDateTime upTo, long upToId) {
+            int order = upTo.compareTo(storedUpTo);
+            if (order > 0 || (order == 0 && upToId > storedUpToId)) {
+                adopt(ScoreHistogram.fromBytes(histogram), upTo, upToId, NO_WATERMARK);
+            }
+        }
+
+        synchronized void markRebuild() {
+            rebuildPending = true;
+        }
+
+        synchronized boolean needsFold() {
+            return rebuildPending || !unfolded.isEmpty();
+        }
+
+        synchronized ScoreHistogram snapshot() {
+            return view.copy();
+        }
+    }
+
+    private record Folded(Sketch sketch, ScoreHistogram histogram, LocalDateTime upTo, long upToId,
+                          LocalDateTime foldedThrough) {
+    }
+
+    /**
+     * Loads persisted distributions, then catches up on attempts graded after the oldest
+     * watermark (everything on first run). Caught-up scores only join this node's view; the
+     * next flush folds them into the rows from quiz_attempts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        sketches.clear();
+        lastRefresh = LocalDateTime.now();
+        LocalDateTime since = null;
+        for (ScoreDistribution row : scoreDistributionRepository.findAll()) {
+            LocalDateTime upTo = row.getLastCompletedAt();
+            if (upTo == null) {
+                // A row from before the watermark: the view starts empty, catch-up fills it and
+                // the next fold rebuilds the row
+                sketch(row.getQuizId()).adopt(new ScoreHistogram(), NO_WATERMARK, 0L, NO_WATERMARK);
+                sketch(row.getQuizId()).markRebuild();
+                since = NO_WATERMARK;
+                continue;
+            }
+            sketch(row.getQuizId()).adopt(ScoreHistogram.fromBytes(row.getHistogram()), upTo,
+                    row.getLastAttemptId(), NO_WATERMARK);
+            since = since == null || upTo.isBefore(since) ? upTo : since;
+        }
+
+        long caughtUp = 0;
+        try (Stream<Object[]> rows = quizAttemptRepository.streamScoresCompletedSince(since != null ? since : NO_WATERMARK)) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                sketch((Long) row[0]).record(new Graded((Long) row[1], (LocalDateTime) row[2], ((Number) row[3]).doubleValue()));
+                caughtUp++;
+            }
+        } catch (Exception e) {
+            logger.warn("Score distribution catch-up failed: {}", e.getMessage());
+        }
+        logger.info("Loaded score distributions for {} quizzes ({} attempts caught up)", sketches.size(), caughtUp);
+    }
+
+    /**
+     * Records a graded attempt once the surrounding transaction commits.
+     */
+    public void recordAttempt(QuizAttempt attempt) {
+        if (attempt == null || attempt.getScore() == null || attempt.getQuiz() == null) {
+            return;
+        }
+        Long quizId = attempt.getQuiz().getId();
+        Graded graded = new Graded(attempt.getId() != null ? attempt.getId() : 0L,
+                attempt.getCompletedAt() != null ? attempt.getCompletedAt() : LocalDateTime.now(), attempt.getScore());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sketch(quizId).record(graded);
+                }
+            });
+        } else {
+            sketch(quizId).record(graded);
+        }
+    }
+
+    // Fold newly graded attempts of the quizzes this node has seen into their rows, then pick up
+    // the rows other nodes folded (runs every minute)
+    @Scheduled(fixedDelay = 60000)
+    @Transactional
+    public void flush() {
+        List<Folded> folded = new ArrayList<>();
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        if (transactional) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    folded.forEach(ScoreDistributionService::adopt);
+                }
+            });
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime upTo = now.minus(foldDelay);
+        Set<Long> foldedQuizzes = new HashSet<>();
+        for (Map.Entry<Long, Sketch> entry : sketches.entrySet()) {
+            if (!entry.getValue().needsFold()) {
+                continue;
+            }
+            Long quizId = entry.getKey();
+            ScoreDistribution row = scoreDistributionRepository.findByQuizIdForUpdate(quizId)
+                    .orElseGet(() -> new ScoreDistribution(quizId));
+            boolean rebuild = row.getLastCompletedAt() == null;
+            ScoreHistogram histogram = rebuild ? new ScoreHistogram() : ScoreHistogram.fromBytes(row.getHistogram());
+            LocalDateTime after = rebuild ? NO_WATERMARK : row.getLastCompletedAt();
+            long afterId = rebuild ? 0L : row.getLastAttemptId();
+            if (rebuild) {
+                // Archived attempts have left quiz_attempts, so the fold below no longer sees them
+                try (Stream<Double> scores = archivedAttemptRepository.streamScoresByQuizId(quizId)) {
+                    scores.forEach(histogram::add);
+                }
+            }
+
+            LocalDateTime lastCompletedAt = after;
+            long lastAttemptId = afterId;
+            long added = 0;
+            try (Stream<Object[]> rows = quizAttemptRepository.streamScoresToFold(quizId, after, afterId, upTo)) {
+                for (Object[] graded : (Iterable<Object[]>) rows::iterator) {
+                    histogram.add(((Number) graded[2]).doubleValue());
+                    lastAttemptId = (Long) graded[0];
+                    lastCompletedAt = (LocalDateTime) graded[1];
+                    added++;
+                }
+            }
+            if (added > 0 || rebuild) {
+                row.setHistogram(histogram.toBytes());
+                row.setAttemptCount(histogram.getCount());
+                row.setLastCompletedAt(lastCompletedAt);
+                row.setLastAttemptId(lastAttemptId);
+                row.setUpdatedAt(LocalDateTime.now());
+                scoreDistributionRepository.save(row);
+            }
+            folded.add(new Folded(entry.getValue(), histogram, lastCompletedAt, lastAttemptId, upTo));
+            foldedQuizzes.add(quizId);
+        }
+
+        for (ScoreDistribution row : scoreDistributionRepository.findByUpdatedAtAfter(lastRefresh.minus(REFRESH_OVERLAP))) {
+            if (row.getLastCompletedAt() != null && !foldedQuizzes.contains(row.getQuizId())) {
+                sketch(row.getQuizId()).refresh(row.getHistogram(), row.getLastCompletedAt(), row.getLastAttemptId());
+            }
+        }
+        lastRefresh = now;
+
+        if (!transactional) {
+            folded.forEach(ScoreDistributionService::adopt);
+        }
+    }
+
+    public ScoreHistogram getQuizDistribution(Long quizId) {
+        Sketch sketch = sketches.get(quizId);
+        return sketch == null ? new ScoreHistogram() : sketch.snapshot();
+    }
+
+    @Transactional(readOnly = true)
+    public ScoreHistogram getCategoryDistribution(Long categoryId) {
+        ScoreHistogram merged = new ScoreHistogram();
+        for (Long quizId : quizRepository.findIdsByCategoryId(categoryId)) {
+            Sketch sketch = sketches.get(quizId);
+            if (sketch != null) {
+                merged.merge(sketch.snapshot());
+            }
+        }
+        return merged;
+    }
+
+    private Sketch sketch(Long quizId) {
+        return sketches.computeIfAbsent(quizId, id -> new Sketch());
+    }
+
+    private static void adopt(Folded folded) {
+        folded.sketch().adopt(folded.histogram(), folded.upTo(), folded.upToId(), folded.foldedThrough());
+    }
+}
@@ -3,6 +3,7 @@ package com.quizapp.service;
 import com.quizapp.entity.Role;
 import com.quizapp.entity.User;
 import com.quizapp.repository.UserRepository;
+import com.quizapp.security.PasswordHashingSaturatedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -75,6 +76,8 @@ public class UserService {
 
             return savedUser;
 
+        } catch (PasswordHashingSaturatedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("❌ Registration failed for user {}: {}", username, e.getMessage());
             throw new RuntimeException("Registration failed: " + e.getMessage());
@@ -200,37 +203,6 @@ public class UserService {
         userRepository.save(user);
     }
 
-    public void handleLoginFailure(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElse(null);
-
-        if (user != null) {
-            int newAttempts = (user.getLoginAttempts() != null ? user.getLoginAttempts() : 0) + 1;
-            user.setLoginAttempts(newAttempts);
-
-            if (newAttempts >= 5) {
-                user.setAccountLocked(true);
-                user.setLockTime(LocalDateTime.now());
-                logger.info("🔒 Account locked due to too many failed attempts: " + user.getUsername());
-            }
-
-            userRepository.save(user);
-        }
-    }
-
-    public void handleLoginSuccess(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-
-        user.setLoginAttempts(0);
-        user.setAccountLocked(false);
-        user.setLockTime(null);
-        userRepository.save(user);
-
-        updateLastLogin(username);
-        logger.info("🔓 Login attempts reset for: " + username);
-    }
-
     public boolean isAccountLocked(String username) {
         User user = userRepository.findByUsername(username).orElse(null);
         return user != null && user.getAccountLocked();
@@ -0,0 +1,344 @@
+package com.quizapp.session;
+
+import com.quizapp.util.QuizMetrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Session repository that keeps each session as one record of fixed columns plus the
+ * attributes in {@link SessionCodec} form. Subclasses only store and fetch those records.
+ *
+ * Most requests read their session and change nothing but the last-access time. Such saves
+ * only put the time into an in-memory map. {@link #flush()} writes that map in one batch on a
+ * schedule and at shutdown. The full record is written only for new sessions, changed
+ * attributes or a changed id. Reads take the later of the stored and the pending time. A
+ * session therefore stays alive even on a node that has not flushed yet. Expiry uses the
+ * {@link #PURGE_GRACE} of slack, so a touch still pending on some node is not overtaken by
+ * the purge.
+ *
+ * Loaded records can be kept for a short time ({@code nearCacheTtl}). Spring Security's
+ * concurrent-session check then reads the session the filter has just loaded without a second
+ * round trip. Writes and deletes on this node update the cache at once. Other nodes may see
+ * a logout or expiry up to the TTL late.
+ */
+public abstract class CompactSessionRepository
+        implements FindByIndexNameSessionRepository<CompactSessionRepository.StoredSession> {
+    private static final Logger logger = LoggerFactory.getLogger(CompactSessionRepository.class);
+
+    protected record SessionRecord(String id, String principalName, long creationTime, long lastAccessTime,
+                                   int maxInactiveSeconds, byte[] attributes) {
+
+        long expiryTime() {
+            return lastAccessTime + maxInactiveSeconds * 1000L;
+        }
+    }
+
+    // Comfortably above the flush interval plus clock skew between nodes
+    static final Duration PURGE_GRACE = Duration.ofMinutes(2);
+
+    private record CachedRecord(SessionRecord record, long loadedAtNanos) {
+    }
+
+    private final PrincipalNameIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+    private final ConcurrentHashMap<String, Long> pendingTouches = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CachedRecord> nearCache = new ConcurrentHashMap<>();
+    private final Duration defaultMaxInactiveInterval;
+    private final long nearCacheTtlNanos;
+    private final int nearCacheMaxEntries;
+    private final LongSupplier nanoClock;
+
+    protected CompactSessionRepository(Duration defaultMaxInactiveInterval, Duration nearCacheTtl,
+                                       int nearCacheMaxEntries, LongSupplier nanoClock) {
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.nearCacheTtlNanos = nearCacheTtl.toNanos();
+        this.nearCacheMaxEntries = nearCacheMaxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    protected abstract SessionRecord load(String id);
+
+    protected abstract List<SessionRecord> loadByPrincipal(String principalName);
+
+    protected abstract void insert(SessionRecord record);
+
+    /** Rewrites the record stored under {@code originalId}, which differs from the record's id after a change of id. */
+    protected abstract void update(String originalId, SessionRecord record);
+
+    protected abstract void delete(String id);
+
+    /** Raises the last-access time of each listed session; older values must not overwrite newer ones. */
+    protected abstract void touch(Map<String, Long> lastAccessTimes);
+
+    protected abstract int deleteExpiredBefore(long epochMillis);
+
+    @Override
+    public StoredSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new StoredSession(session, true);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        String id = session.getId();
+        if (!session.isNew && !session.changed && id.equals(session.originalId)) {
+            pendingTouches.merge(id, session.getLastAccessedTime().toEpochMilli(), Math::max);
+            return;
+        }
+
+        Timer.Sample sample = QuizMetrics.start();
+        SessionRecord record = toRecord(session);
+        if (session.isNew) {
+            insert(record);
+        } else {
+            update(session.originalId, record);
+            if (!id.equals(session.originalId)) {
+                pendingTouches.remove(session.originalId);
+                nearCache.remove(session.originalId);
+            }
+        }
+        pendingTouches.remove(id);
+        cache(record);
+        session.markSaved();
+        QuizMetrics.stop(sample, QuizMetrics.SESSION_WRITE, "kind", "full");
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+        SessionRecord record = cachedOrLoad(id);
+        if (record == null) {
+            return null;
+        }
+        StoredSession session = toSession(record);
+        if (session == null) {
+            deleteById(id);
+            return null;
+        }
+        if (session.isExpired()) {
+            // Another node may still hold a later touch; the purge removes the row after PURGE_GRACE
+            nearCache.remove(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pendingTouches.remove(id);
+        nearCache.remove(id);
+        delete(id);
+    }
+
+    @Override
+    public Map<String, StoredSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Collections.emptyMap();
+        }
+        Map<String, StoredSession> sessions = new HashMap<>();
+        for (SessionRecord record : loadByPrincipal(indexValue)) {
+            StoredSession session = toSession(record);
+            if (session != null && !session.isExpired()) {
+                sessions.put(session.getId(), session);
+            }
+        }
+        return sessions;
+    }
+
+    /** Writes pending last-access times. Runs on a schedule, and before shutdown. */
+    @Scheduled(fixedDelayString = "${app.session.flush-interval-ms:5000}")
+    public void flush() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        Map<String, Long> batch = new HashMap<>();
+        for (String id : pendingTouches.keySet()) {
+            Long lastAccess = pendingTouches.remove(id);
+            if (lastAccess != null) {
+                batch.put(id, lastAccess);
+            }
+        }
+        Timer.Sample sample = QuizMetrics.start();
+        try {
+            touch(batch);
+        } catch (RuntimeException e) {
+            // Put the times back; a session missing one flush only looks a little older elsewhere
+            batch.forEach((id, lastAccess) -> pendingTouches.merge(id, lastAccess, Math::max));
+            throw e;
+        }
+        QuizMetrics.stop(sample, QuizMetrics.SESSION_WRITE, "kind", "touch");
+        logger.atDebug().addKeyValue("sessions", batch.size()).log("Flushed session last-access times");
+    }
+
+    /** Deletes sessions idle for longer than their timeout plus {@link #PURGE_GRACE}. */
+    @Scheduled(fixedDelayString = "${app.session.purge-interval-ms:60000}")
+    public int purgeExpired() {
+        flush();
+        int purged = deleteExpiredBefore(System.currentTimeMillis() - PURGE_GRACE.toMillis());
+        if (purged > 0) {
+            logger.atInfo().addKeyValue("sessions", purged).log("Purged expired sessions");
+        }
+        nearCache.clear();
+        return purged;
+    }
+
+    int pendingTouchCount() {
+        return pendingTouches.size();
+    }
+
+    private SessionRecord cachedOrLoad(String id) {
+        if (nearCacheTtlNanos > 0) {
+            CachedRecord cached = nearCache.get(id);
+            if (cached != null && nanoClock.getAsLong() - cached.loadedAtNanos() < nearCacheTtlNanos) {
+                return cached.record();
+            }
+        }
+        Timer.Sample sample = QuizMetrics.start();
+        SessionRecord record = load(id);
+        QuizMetrics.stop(sample, QuizMetrics.SESSION_LOAD);
+        if (record != null) {
+            cache(record);
+        }
+        return record;
+    }
+
+    private void cache(SessionRecord record) {
+        if (nearCacheTtlNanos <= 0) {
+            return;
+        }
+        if (nearCache.size() >= nearCacheMaxEntries) {
+            nearCache.clear();
+        }
+        nearCache.put(record.id(), new CachedRecord(record, nanoClock.getAsLong()));
+    }
+
+    private SessionRecord toRecord(StoredSession session) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, session.getAttribute(name));
+        }
+        return new SessionRecord(session.getId(), principalNameResolver.resolveIndexValueFor(session),
+                session.getCreationTime().toEpochMilli(), session.getLastAccessedTime().toEpochMilli(),
+                (int) session.getMaxInactiveInterval().toSeconds(), SessionCodec.encode(attributes));
+    }
+
+    private StoredSession toSession(SessionRecord record) {
+        Map<String, Object> attributes;
+        try {
+            attributes = SessionCodec.decode(record.attributes());
+        } catch (IllegalArgumentException e) {
+            logger.atWarn().addKeyValue("session", record.id()).setCause(e).log("Discarding unreadable session");
+            return null;
+        }
+        MapSession session = new MapSession(record.id());
+        session.setCreationTime(Instant.ofEpochMilli(record.creationTime()));
+        Long pending = pendingTouches.get(record.id());
+        session.setLastAccessedTime(Instant.ofEpochMilli(
+                pending != null ? Math.max(pending, record.lastAccessTime()) : record.lastAccessTime()));
+        session.setMaxInactiveInterval(Duration.ofSeconds(record.maxInactiveSeconds()));
+        attributes.forEach(session::setAttribute);
+        return new StoredSession(session, false);
+    }
+
+    /**
+     * A session plus what is needed to decide how much of it to write back. Like Spring
+     * Session's own stores, only {@code setAttribute}/{@code removeAttribute} count as changes;
+     * a mutable attribute edited in place must be set again to be saved.
+     */
+    public static final class StoredSession implements Session {
+        private final MapSession delegate;
+        private String originalId;
+        private boolean isNew;
+        private boolean changed;
+
+        StoredSession(MapSession delegate, boolean isNew) {
+            this.delegate = delegate;
+            this.originalId = delegate.getId();
+            this.isNew = isNew;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+            changed = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            delegate.removeAttribute(attributeName);
+            changed = true;
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+            changed = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+
+        private void markSaved() {
+            originalId = delegate.getId();
+            isNew = false;
+            changed = false;
+        }
+    }
+}
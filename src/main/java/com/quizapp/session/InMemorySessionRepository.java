@@ -0,0 +1,69 @@
+package com.quizapp.session;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node store for tests and local runs. Records go through the same codec and
+ * write-behind path as the JDBC store, so behaviour differences show up in tests rather than
+ * in a cluster.
+ */
+public class InMemorySessionRepository extends CompactSessionRepository {
+
+    private final ConcurrentHashMap<String, SessionRecord> records = new ConcurrentHashMap<>();
+
+    public InMemorySessionRepository(Duration defaultMaxInactiveInterval) {
+        // Reads are already local, a near cache would only add staleness
+        super(defaultMaxInactiveInterval, Duration.ZERO, 0, System::nanoTime);
+    }
+
+    @Override
+    protected SessionRecord load(String id) {
+        return records.get(id);
+    }
+
+    @Override
+    protected List<SessionRecord> loadByPrincipal(String principalName) {
+        return records.values().stream()
+                .filter(record -> principalName.equals(record.principalName()))
+                .toList();
+    }
+
+    @Override
+    protected void insert(SessionRecord record) {
+        records.put(record.id(), record);
+    }
+
+    @Override
+    protected void update(String originalId, SessionRecord record) {
+        if (records.remove(originalId) != null) {
+            records.put(record.id(), record);
+        }
+    }
+
+    @Override
+    protected void delete(String id) {
+        records.remove(id);
+    }
+
+    @Override
+    protected void touch(Map<String, Long> lastAccessTimes) {
+        lastAccessTimes.forEach((id, lastAccess) -> records.computeIfPresent(id, (key, record) ->
+                record.lastAccessTime() >= lastAccess ? record
+                        : new SessionRecord(record.id(), record.principalName(), record.creationTime(),
+                        lastAccess, record.maxInactiveSeconds(), record.attributes())));
+    }
+
+    @Override
+    protected int deleteExpiredBefore(long epochMillis) {
+        int before = records.size();
+        records.values().removeIf(record -> record.expiryTime() < epochMillis);
+        return before - records.size();
+    }
+
+    int size() {
+        return records.size();
+    }
+}
@@ -0,0 +1,104 @@
+package com.quizapp.session;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sessions in one table shared by every instance. The row is keyed by session id with the
+ * principal name indexed for the concurrent-session registry, and carries its expiry time so
+ * the purge is a single range delete. The DDL is portable between PostgreSQL and H2.
+ */
+public class JdbcSessionRepository extends CompactSessionRepository {
+
+    static final String TABLE = "app_sessions";
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "session_id VARCHAR(64) PRIMARY KEY, "
+                    + "principal_name VARCHAR(100), "
+                    + "creation_time BIGINT NOT NULL, "
+                    + "last_access_time BIGINT NOT NULL, "
+                    + "max_inactive_seconds INT NOT NULL, "
+                    + "expiry_time BIGINT NOT NULL, "
+                    + "attributes BYTEA)",
+            "CREATE INDEX IF NOT EXISTS ix_" + TABLE + "_principal ON " + TABLE + " (principal_name)",
+            "CREATE INDEX IF NOT EXISTS ix_" + TABLE + "_expiry ON " + TABLE + " (expiry_time)"
+    };
+
+    private static final String COLUMNS =
+            "session_id, principal_name, creation_time, last_access_time, max_inactive_seconds, attributes";
+
+    private static final RowMapper<SessionRecord> ROW_MAPPER = (rs, rowNum) -> new SessionRecord(
+            rs.getString("session_id"), rs.getString("principal_name"), rs.getLong("creation_time"),
+            rs.getLong("last_access_time"), rs.getInt("max_inactive_seconds"), rs.getBytes("attributes"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, Duration defaultMaxInactiveInterval,
+                                 Duration nearCacheTtl, int nearCacheMaxEntries) {
+        super(defaultMaxInactiveInterval, nearCacheTtl, nearCacheMaxEntries, System::nanoTime);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void initializeSchema() {
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    @Override
+    protected SessionRecord load(String id) {
+        List<SessionRecord> rows = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM " + TABLE + " WHERE session_id = ?", ROW_MAPPER, id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    protected List<SessionRecord> loadByPrincipal(String principalName) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + TABLE
+                + " WHERE principal_name = ? AND expiry_time > ?", ROW_MAPPER, principalName, System.currentTimeMillis());
+    }
+
+    @Override
+    protected void insert(SessionRecord record) {
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (" + COLUMNS + ", expiry_time) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                record.id(), record.principalName(), record.creationTime(), record.lastAccessTime(),
+                record.maxInactiveSeconds(), record.attributes(), record.expiryTime());
+    }
+
+    @Override
+    protected void update(String originalId, SessionRecord record) {
+        // No row means the session was invalidated elsewhere meanwhile; it is not brought back
+        jdbcTemplate.update("UPDATE " + TABLE + " SET session_id = ?, principal_name = ?, last_access_time = ?, "
+                        + "max_inactive_seconds = ?, attributes = ?, expiry_time = ? WHERE session_id = ?",
+                record.id(), record.principalName(), record.lastAccessTime(), record.maxInactiveSeconds(),
+                record.attributes(), record.expiryTime(), originalId);
+    }
+
+    @Override
+    protected void delete(String id) {
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE session_id = ?", id);
+    }
+
+    @Override
+    protected void touch(Map<String, Long> lastAccessTimes) {
+        // Sorted so that nodes flushing overlapping batches lock rows in the same order
+        List<Object[]> batch = new ArrayList<>(lastAccessTimes.size());
+        new TreeMap<>(lastAccessTimes).forEach((id, lastAccess) ->
+                batch.add(new Object[]{lastAccess, lastAccess, id, lastAccess}));
+        jdbcTemplate.batchUpdate("UPDATE " + TABLE + " SET last_access_time = ?, "
+                + "expiry_time = CAST(? AS BIGINT) + max_inactive_seconds * 1000 "
+                + "WHERE session_id = ? AND last_access_time < ?", batch);
+    }
+
+    @Override
+    protected int deleteExpiredBefore(long epochMillis) {
+        return jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE expiry_time < ?", epochMillis);
+    }
+}
@@ -0,0 +1,205 @@
+package com.quizapp.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of session attributes.
+ *
+ * A logged-in session holds little more than its security context, and Java serialization of
+ * a {@link UsernamePasswordAuthenticationToken} with its {@link User} principal and
+ * authorities runs to well over a kilobyte. Here it is reduced to the username and authority
+ * names (a few dozen bytes); the password and authentication details are dropped, as Spring
+ * Security erases the credentials after login anyway. Strings, booleans and numbers get their
+ * own tags. Anything else falls back to Java serialization, and values that cannot be
+ * serialized are left out with a warning, as a servlet container would do on passivation.
+ */
+public final class SessionCodec {
+    private static final Logger logger = LoggerFactory.getLogger(SessionCodec.class);
+
+    private static final byte VERSION = 1;
+    // writeUTF is limited to 64 KB of modified UTF-8; longer strings go through serialization
+    private static final int MAX_UTF_CHARS = 65535 / 3;
+
+    private static final byte TAG_SECURITY_CONTEXT = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_INT = 4;
+    private static final byte TAG_LONG = 5;
+    private static final byte TAG_SERIALIZED = 6;
+
+    private SessionCodec() {
+    }
+
+    public static byte[] encode(Map<String, Object> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(0);
+            int written = 0;
+            for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                if (writeAttribute(out, entry.getKey(), entry.getValue())) {
+                    written++;
+                }
+            }
+            out.flush();
+            byte[] encoded = bytes.toByteArray();
+            // Patched afterwards because values that cannot be stored are only found while writing
+            encoded[1] = (byte) (written >>> 8);
+            encoded[2] = (byte) written;
+            return encoded;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Map<String, Object> decode(byte[] encoded) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        if (encoded == null || encoded.length == 0) {
+            return attributes;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported session encoding version " + version);
+            }
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                attributes.put(name, readValue(in));
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unreadable session attributes", e);
+        }
+        return attributes;
+    }
+
+    private static boolean writeAttribute(DataOutputStream out, String name, Object value) throws IOException {
+        if (value instanceof SecurityContext context && isCompact(context.getAuthentication())) {
+            Authentication authentication = context.getAuthentication();
+            out.writeUTF(name);
+            out.writeByte(TAG_SECURITY_CONTEXT);
+            out.writeUTF(authentication.getName());
+            Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+            out.writeShort(authorities.size());
+            for (GrantedAuthority authority : authorities) {
+                out.writeUTF(authority.getAuthority());
+            }
+            return true;
+        } else if (value instanceof String string && string.length() <= MAX_UTF_CHARS) {
+            out.writeUTF(name);
+            out.writeByte(TAG_STRING);
+            out.writeUTF(string);
+            return true;
+        } else if (value instanceof Boolean flag) {
+            out.writeUTF(name);
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(flag);
+            return true;
+        } else if (value instanceof Integer number) {
+            out.writeUTF(name);
+            out.writeByte(TAG_INT);
+            out.writeInt(number);
+            return true;
+        } else if (value instanceof Long number) {
+            out.writeUTF(name);
+            out.writeByte(TAG_LONG);
+            out.writeLong(number);
+            return true;
+        } else if (value instanceof Serializable) {
+            byte[] serialized = serialize(value);
+            if (serialized != null) {
+                out.writeUTF(name);
+                out.writeByte(TAG_SERIALIZED);
+                out.writeInt(serialized.length);
+                out.write(serialized);
+                return true;
+            }
+        }
+        if (value != null) {
+            logger.atWarn().addKeyValue("attribute", name).addKeyValue("type", value.getClass().getName())
+                    .log("Session attribute not serializable, not stored");
+        }
+        return false;
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_SECURITY_CONTEXT -> {
+                String username = in.readUTF();
+                int count = in.readUnsignedShort();
+                List<GrantedAuthority> authorities = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+                }
+                UserDetails principal = new User(username, "", authorities);
+                return new SecurityContextImpl(
+                        UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities));
+            }
+            case TAG_STRING -> {
+                return in.readUTF();
+            }
+            case TAG_BOOLEAN -> {
+                return in.readBoolean();
+            }
+            case TAG_INT -> {
+                return in.readInt();
+            }
+            case TAG_LONG -> {
+                return in.readLong();
+            }
+            case TAG_SERIALIZED -> {
+                byte[] serialized = new byte[in.readInt()];
+                in.readFully(serialized);
+                try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    return objects.readObject();
+                }
+            }
+            default -> throw new IOException("Unknown session attribute tag " + tag);
+        }
+    }
+
+    /**
+     * Only authenticated username/password logins with a {@link UserDetails} principal are
+     * reduced; a context holding anything else is kept whole through Java serialization.
+     */
+    private static boolean isCompact(Authentication authentication) {
+        return authentication instanceof UsernamePasswordAuthenticationToken
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserDetails;
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+}
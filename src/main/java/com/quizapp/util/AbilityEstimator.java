@@ -0,0 +1,77 @@
+package com.quizapp.util;
+
+/**
+ * Expected a posteriori (EAP) ability estimates under the two-parameter logistic model.
+ *
+ * The posterior is evaluated on a fixed quadrature grid over [-4, 4] with a standard normal
+ * prior, so an estimate exists after any number of responses, including all-correct and
+ * all-wrong patterns where maximum likelihood diverges. Cost is grid points x responses.
+ */
+public final class AbilityEstimator {
+
+    private static final int POINTS = 61;
+    private static final double LOW = -4.0;
+    private static final double HIGH = 4.0;
+
+    private static final double[] GRID = new double[POINTS];
+    private static final double[] LOG_PRIOR = new double[POINTS];
+
+    static {
+        for (int i = 0; i < POINTS; i++) {
+            GRID[i] = LOW + (HIGH - LOW) * i / (POINTS - 1);
+            LOG_PRIOR[i] = -0.5 * GRID[i] * GRID[i];
+        }
+    }
+
+    public record Estimate(double theta, double standardError) {
+    }
+
+    private AbilityEstimator() {
+    }
+
+    /** Prior mean and spread, used before the first response. */
+    public static Estimate prior() {
+        return new Estimate(0.0, 1.0);
+    }
+
+    /**
+     * @param discrimination a per response
+     * @param difficulty     b per response
+     * @param correct        whether each response was correct; the first {@code count} entries are used
+     */
+    public static Estimate estimate(double[] discrimination, double[] difficulty, boolean[] correct, int count) {
+        double[] logPosterior = LOG_PRIOR.clone();
+        for (int r = 0; r < count; r++) {
+            double a = discrimination[r];
+            double b = difficulty[r];
+            for (int i = 0; i < POINTS; i++) {
+                double z = a * (GRID[i] - b);
+                // log P and log (1 - P) without overflow at large |z|
+                logPosterior[i] += correct[r] ? -log1pExp(-z) : -log1pExp(z);
+            }
+        }
+
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : logPosterior) {
+            max = Math.max(max, value);
+        }
+        double total = 0;
+        double mean = 0;
+        for (int i = 0; i < POINTS; i++) {
+            double weight = Math.exp(logPosterior[i] - max);
+            total += weight;
+            mean += weight * GRID[i];
+        }
+        mean /= total;
+        double variance = 0;
+        for (int i = 0; i < POINTS; i++) {
+            double d = GRID[i] - mean;
+            variance += Math.exp(logPosterior[i] - max) * d * d;
+        }
+        return new Estimate(mean, Math.sqrt(variance / total));
+    }
+
+    private static double log1pExp(double x) {
+        return x > 0 ? x + Math.log1p(Math.exp(-x)) : Math.log1p(Math.exp(x));
+    }
+}
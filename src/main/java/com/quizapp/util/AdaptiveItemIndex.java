@@ -0,0 +1,271 @@
+package com.quizapp.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory item bank for adaptive attempts under the two-parameter logistic model:
+ * P(correct | theta) = 1 / (1 + e^(-a (theta - b))), with item information a^2 P (1 - P).
+ *
+ * Items are held in primitive arrays, bucketed by difficulty (b) and sorted by discrimination
+ * (a) within each bucket. Information at theta shrinks with the distance |theta - b|, and no
+ * item can beat the bound for the nearest edge of its bucket at its own a. So
+ * {@link #select} starts at theta's bucket, works outwards and stops as soon as no remaining
+ * bucket or item can beat the candidates found. For a 100k-item bank a selection looks at
+ * a few hundred items, not the whole bank.
+ *
+ * Exposure control has two parts:
+ *  - randomesque: one of the k most informative items is picked at random
+ *  - rate cap: items served to more than a set share of attempts are skipped
+ * Exposure counts are per node and in memory. An index is immutable apart from those counters
+ * and is rebuilt when its quiz changes.
+ */
+public final class AdaptiveItemIndex {
+
+    static final double BUCKET_WIDTH = 0.25;
+
+    // x^2 s(x) (1 - s(x)) peaks at x = 2.3994 with this value; bounds information at a given distance
+    private static final double PEAK_X = 2.3994;
+    private static final double PEAK_VALUE = 0.43922;
+
+    private final long[] ids;
+    private final double[] discrimination;
+    private final double[] difficulty;
+    private final int[] correctIndex;
+    private final int[] points;
+    private final Map<Long, Integer> positions;
+
+    private final double minDifficulty;
+    private final double maxDiscrimination;
+    // Item positions ordered by bucket, then by discrimination descending
+    private final int[] order;
+    // order[bucketStart[k] .. bucketStart[k + 1]) holds bucket k
+    private final int[] bucketStart;
+
+    private final AtomicIntegerArray exposures;
+    private final AtomicLong attempts = new AtomicLong();
+
+    public AdaptiveItemIndex(long[] ids, double[] discrimination, double[] difficulty, int[] correctIndex, int[] points) {
+        int n = ids.length;
+        if (discrimination.length != n || difficulty.length != n || correctIndex.length != n || points.length != n) {
+            throw new IllegalArgumentException("Item parameter arrays differ in length");
+        }
+        this.ids = ids;
+        this.discrimination = discrimination;
+        this.difficulty = difficulty;
+        this.correctIndex = correctIndex;
+        this.points = points;
+        this.positions = new HashMap<>(Math.max(16, n * 4 / 3 + 1));
+        for (int i = 0; i < n; i++) {
+            if (!(discrimination[i] > 0) || !Double.isFinite(difficulty[i])) {
+                throw new IllegalArgumentException("Item " + ids[i] + " needs a > 0 and a finite b");
+            }
+            positions.put(ids[i], i);
+        }
+        this.exposures = new AtomicIntegerArray(n);
+
+        double lowest = 0;
+        double highest = 0;
+        double steepest = 0;
+        for (int i = 0; i < n; i++) {
+            lowest = i == 0 ? difficulty[i] : Math.min(lowest, difficulty[i]);
+            highest = i == 0 ? difficulty[i] : Math.max(highest, difficulty[i]);
+            steepest = Math.max(steepest, discrimination[i]);
+        }
+        this.minDifficulty = lowest;
+        this.maxDiscrimination = steepest;
+
+        int buckets = n == 0 ? 1 : bucketOf(highest) + 1;
+        int[] counts = new int[buckets + 1];
+        for (int i = 0; i < n; i++) {
+            counts[bucketOf(difficulty[i]) + 1]++;
+        }
+        for (int k = 0; k < buckets; k++) {
+            counts[k + 1] += counts[k];
+        }
+        this.bucketStart = counts.clone();
+        int[] fill = Arrays.copyOf(counts, buckets);
+        Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            sorted[fill[bucketOf(difficulty[i])]++] = i;
+        }
+        for (int k = 0; k < buckets; k++) {
+            Arrays.sort(sorted, bucketStart[k], bucketStart[k + 1],
+                    (x, y) -> Double.compare(discrimination[y], discrimination[x]));
+        }
+        this.order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = sorted[i];
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /** Position of the item with this id, or -1 when it is not in the bank. */
+    public int positionOf(long id) {
+        Integer position = positions.get(id);
+        return position != null ? position : -1;
+    }
+
+    public long id(int item) {
+        return ids[item];
+    }
+
+    public double discrimination(int item) {
+        return discrimination[item];
+    }
+
+    public double difficulty(int item) {
+        return difficulty[item];
+    }
+
+    public int correctIndex(int item) {
+        return correctIndex[item];
+    }
+
+    public int points(int item) {
+        return points[item];
+    }
+
+    public static double probability(double a, double b, double theta) {
+        return 1.0 / (1.0 + Math.exp(-a * (theta - b)));
+    }
+
+    public static double information(double a, double b, double theta) {
+        double p = probability(a, b, theta);
+        return a * a * p * (1.0 - p);
+    }
+
+    /** Counts an attempt towards the exposure rates. */
+    public void recordAttempt() {
+        attempts.incrementAndGet();
+    }
+
+    /** Counts a served item towards its exposure rate. */
+    public void recordExposure(int item) {
+        exposures.incrementAndGet(item);
+    }
+
+    int exposures(int item) {
+        return exposures.get(item);
+    }
+
+    /**
+     * Picks the next item at ability {@code theta}: one of the {@code randomesque} most
+     * informative items not yet administered, skipping items already served to more than
+     * {@code maxExposureRate} of attempts. When the cap leaves nothing, it is ignored rather
+     * than ending the attempt early. Returns the item's position, or -1 when every item has
+     * been administered.
+     *
+     * @param administered positions already served in this attempt, in any order
+     */
+    public int select(double theta, int[] administered, int randomesque, double maxExposureRate, SplittableRandom random) {
+        int[] excluded = administered.clone();
+        Arrays.sort(excluded);
+        int k = Math.max(1, randomesque);
+        // Allowed exposures so far; +1 lets every item be served once before the rate applies
+        long cap = maxExposureRate >= 1.0 ? Long.MAX_VALUE : (long) (maxExposureRate * attempts.get()) + 1;
+
+        int[] candidates = new int[k];
+        double[] information = new double[k];
+        int found = search(theta, excluded, cap, candidates, information);
+        if (found == 0 && cap != Long.MAX_VALUE) {
+            found = search(theta, excluded, Long.MAX_VALUE, candidates, information);
+        }
+        if (found == 0) {
+            return -1;
+        }
+        return candidates[found == 1 ? 0 : random.nextInt(found)];
+    }
+
+    /** Fills the best items into candidates/information (unsorted); returns how many were found. */
+    private int search(double theta, int[] excluded, long cap, int[] candidates, double[] information) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        int buckets = bucketStart.length - 1;
+        int home = Math.min(Math.max(bucketOf(theta), 0), buckets - 1);
+        int found = 0;
+        int weakest = 0;
+        int left = home - 1;
+        int right = home + 1;
+        int next = home;
+        while (next >= 0) {
+            double distance = distance(theta, next);
+            boolean full = found == candidates.length;
+            if (full && bound(distance, maxDiscrimination) <= information[weakest]) {
+                break;
+            }
+            for (int i = bucketStart[next]; i < bucketStart[next + 1]; i++) {
+                int item = order[i];
+                if (found == candidates.length && bound(distance, discrimination[item]) <= information[weakest]) {
+                    break;
+                }
+                if (exposures.get(item) >= cap || Arrays.binarySearch(excluded, item) >= 0) {
+                    continue;
+                }
+                double info = information(discrimination[item], difficulty[item], theta);
+                if (found < candidates.length) {
+                    candidates[found] = item;
+                    information[found] = info;
+                    found++;
+                    if (found == candidates.length) {
+                        weakest = weakest(information);
+                    }
+                } else if (info > information[weakest]) {
+                    candidates[weakest] = item;
+                    information[weakest] = info;
+                    weakest = weakest(information);
+                }
+            }
+
+            // Continue with whichever neighbouring bucket is nearer to theta
+            boolean hasLeft = left >= 0;
+            boolean hasRight = right < buckets;
+            if (hasLeft && (!hasRight || distance(theta, left) <= distance(theta, right))) {
+                next = left--;
+            } else if (hasRight) {
+                next = right++;
+            } else {
+                next = -1;
+            }
+        }
+        return found;
+    }
+
+    private static int weakest(double[] information) {
+        int weakest = 0;
+        for (int i = 1; i < information.length; i++) {
+            if (information[i] < information[weakest]) {
+                weakest = i;
+            }
+        }
+        return weakest;
+    }
+
+    /** Highest information any item with discrimination up to a can give at distance d from its b. */
+    static double bound(double d, double a) {
+        if (a * d <= PEAK_X) {
+            double p = 1.0 / (1.0 + Math.exp(-a * d));
+            return a * a * p * (1.0 - p);
+        }
+        return PEAK_VALUE / (d * d);
+    }
+
+    private int bucketOf(double b) {
+        return (int) Math.floor((b - minDifficulty) / BUCKET_WIDTH);
+    }
+
+    /** Distance from theta to the nearest edge of bucket k, 0 when theta falls inside it. */
+    private double distance(double theta, int k) {
+        double low = minDifficulty + k * BUCKET_WIDTH;
+        double high = low + BUCKET_WIDTH;
+        return theta < low ? low - theta : theta > high ? theta - high : 0.0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.quizapp.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact binary form of an answer sheet (question id to selected option) for archived
+ * attempts: a varint count, then per answer in question-id order the varint gap from the
+ * previous question id and the zig-zag varint option index. A typical sheet of ids that sit
+ * close together costs two or three bytes per answer instead of a row in attempt_answers.
+ */
+public final class AnswerSheetCodec {
+
+    private AnswerSheetCodec() {
+    }
+
+    public static byte[] encode(Map<Long, Integer> answers) {
+        TreeMap<Long, Integer> sorted = new TreeMap<>();
+        if (answers != null) {
+            answers.forEach((questionId, option) -> {
+                if (questionId != null && option != null) {
+                    sorted.put(questionId, option);
+                }
+            });
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 + sorted.size() * 3);
+        writeVarLong(out, sorted.size());
+        long previous = 0;
+        for (Map.Entry<Long, Integer> answer : sorted.entrySet()) {
+            writeVarLong(out, zigZag(answer.getKey() - previous));
+            writeVarLong(out, zigZag(answer.getValue()));
+            previous = answer.getKey();
+        }
+        return out.toByteArray();
+    }
+
+    /** Returns the answers in question-id order. */
+    public static Map<Long, Integer> decode(byte[] data) {
+        Map<Long, Integer> answers = new LinkedHashMap<>();
+        if (data == null || data.length == 0) {
+            return answers;
+        }
+        int[] position = {0};
+        long count = readVarLong(data, position);
+        long questionId = 0;
+        for (long i = 0; i < count; i++) {
+            questionId += unZigZag(readVarLong(data, position));
+            answers.put(questionId, (int) unZigZag(readVarLong(data, position)));
+        }
+        return answers;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] data, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= data.length) {
+                throw new IllegalArgumentException("Truncated answer sheet");
+            }
+            byte b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed answer sheet");
+    }
+}
@@ -0,0 +1,126 @@
+package com.quizapp.util;
+
+import com.quizapp.entity.Question;
+import com.quizapp.entity.QuizAttempt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Derives the per-attempt question and option order from the single seed stored on
+ * {@link QuizAttempt}. Nothing about the permutation is persisted - the same seed always
+ * yields the same order, so the take page and the grader agree without extra rows or queries.
+ *
+ * Attempts without a seed (created before shuffling existed) use the canonical order.
+ */
+public class AttemptShuffler {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Returns {@code perm} where {@code perm[displayedIndex] == canonicalIndex}.
+     */
+    public static int[] questionOrder(Long seed, int questionCount) {
+        return permutation(seed, 0L, questionCount);
+    }
+
+    /**
+     * Option permutation for a single question. Mixing in the question id keeps the option
+     * order stable even if the question's position in the quiz changes.
+     */
+    public static int[] optionOrder(Long seed, Long questionId, int optionCount) {
+        return permutation(seed, questionId != null ? questionId : 0L, optionCount);
+    }
+
+    public static List<Question> orderedQuestions(QuizAttempt attempt) {
+        List<Question> questions = attempt.getQuiz().getQuestions();
+        if (questions == null || questions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // The bag has no order column, so sort by id to get a stable canonical order
+        questions = new ArrayList<>(questions);
+        questions.sort(Comparator.comparing(Question::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        int[] order = questionOrder(attempt.getShuffleSeed(), questions.size());
+        List<Question> ordered = new ArrayList<>(order.length);
+        for (int canonicalIndex : order) {
+            ordered.add(questions.get(canonicalIndex));
+        }
+        return ordered;
+    }
+
+    public static List<String> displayedOptions(QuizAttempt attempt, Question question) {
+        List<String> options = question.getOptions();
+        if (options == null || options.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int[] order = optionOrder(attempt.getShuffleSeed(), question.getId(), options.size());
+        List<String> displayed = new ArrayList<>(order.length);
+        for (int canonicalIndex : order) {
+            displayed.add(options.get(canonicalIndex));
+        }
+        return displayed;
+    }
+
+    /**
+     * Maps a displayed option index back to the canonical index stored in {@code questions}.
+     * Out-of-range values are returned unchanged so the caller's bounds validation still applies.
+     */
+    public static Integer toCanonicalOption(QuizAttempt attempt, Question question, Integer displayedIndex) {
+        if (displayedIndex == null || attempt.getShuffleSeed() == null || question.getOptions() == null) {
+            return displayedIndex;
+        }
+        int optionCount = question.getOptions().size();
+        if (displayedIndex < 0 || displayedIndex >= optionCount) {
+            return displayedIndex;
+        }
+        return optionOrder(attempt.getShuffleSeed(), question.getId(), optionCount)[displayedIndex];
+    }
+
+    /**
+     * Maps a whole answer sheet keyed by question id from displayed to canonical option indexes.
+     */
+    public static Map<Long, Integer> toCanonicalAnswers(QuizAttempt attempt, Map<Long, Integer> displayedAnswers) {
+        Map<Long, Integer> canonical = new HashMap<>();
+        if (displayedAnswers == null) {
+            return canonical;
+        }
+        List<Question> questions = attempt.getQuiz() != null ? attempt.getQuiz().getQuestions() : null;
+        Map<Long, Question> byId = new HashMap<>();
+        if (questions != null) {
+            for (Question question : questions) {
+                byId.put(question.getId(), question);
+            }
+        }
+        for (Map.Entry<Long, Integer> entry : displayedAnswers.entrySet()) {
+            Question question = byId.get(entry.getKey());
+            canonical.put(entry.getKey(), question != null
+                    ? toCanonicalOption(attempt, question, entry.getValue())
+                    : entry.getValue());
+        }
+        return canonical;
+    }
+
+    private static int[] permutation(Long seed, long salt, int size) {
+        int[] perm = new int[Math.max(size, 0)];
+        for (int i = 0; i < perm.length; i++) {
+            perm[i] = i;
+        }
+        if (seed == null || perm.length < 2) {
+            return perm;
+        }
+        // Fisher-Yates driven by a generator derived from (seed, salt)
+        SplittableRandom random = new SplittableRandom(seed ^ (salt * GOLDEN_GAMMA));
+        for (int i = perm.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = perm[i];
+            perm[i] = perm[j];
+            perm[j] = tmp;
+        }
+        return perm;
+    }
+}
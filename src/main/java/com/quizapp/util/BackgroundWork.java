@@ -0,0 +1,42 @@
+package com.quizapp.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as doing background work: scheduled sweeps, bulk imports, queued
+ * emails. BulkheadDataSource gives such threads connections from their own small pool, so
+ * they wait on each other instead of on the participants.
+ *
+ * Scheduler and background executor threads are marked for their whole life; request threads
+ * that start a bulk operation mark just that block with {@link #call}.
+ */
+public final class BackgroundWork {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private BackgroundWork() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    public static <T> T call(Supplier<T> task) {
+        if (isActive()) {
+            return task.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static Runnable wrap(Runnable task) {
+        return () -> call(() -> {
+            task.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.quizapp.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * ETag / Last-Modified handling for read endpoints whose content is versioned by an update
+ * timestamp. Controllers look up the timestamp with a scalar query, call
+ * {@link #checkNotModified} and return {@code null} when it answers true, so a repeat poll
+ * costs one indexed lookup and no entity loading or serialization.
+ *
+ * The ETag is strong: it covers the version in milliseconds plus whatever else the rendered
+ * representation depends on (role, session, query parameters), passed as {@code variant}.
+ */
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    public static boolean checkNotModified(ServletWebRequest request, String cacheControl,
+                                           LocalDateTime lastModified, Object... variant) {
+        if (cacheControl != null && !cacheControl.isBlank() && request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        // A redirect with flash messages renders differently from the cached copy
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request.getRequest());
+        if (flash != null && !flash.isEmpty()) {
+            return false;
+        }
+        long millis = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return request.checkNotModified(etag(millis, variant), millis);
+    }
+
+    static String etag(long versionMillis, Object... variant) {
+        StringBuilder key = new StringBuilder().append(versionMillis);
+        for (Object part : variant) {
+            key.append('|').append(part);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
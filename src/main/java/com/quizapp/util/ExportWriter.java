@@ -0,0 +1,133 @@
+package com.quizapp.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Row-at-a-time CSV or NDJSON writer for streaming exports. Nothing is buffered beyond the
+ * underlying writer, so memory stays flat regardless of the number of rows.
+ */
+public class ExportWriter implements Closeable {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format fromParameter(String value) {
+            return "ndjson".equalsIgnoreCase(value) || "json".equalsIgnoreCase(value) ? NDJSON : CSV;
+        }
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Format format;
+    private final String[] columns;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    public ExportWriter(OutputStream out, Format format, String... columns) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.NDJSON) {
+            this.json = JSON_FACTORY.createGenerator(writer);
+            this.json.setRootValueSeparator(null);
+        } else {
+            this.json = null;
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) writer.write(',');
+                writeCsvValue(columns[i]);
+            }
+            writer.write('\n');
+        }
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        if (format == Format.NDJSON) {
+            json.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                json.writeFieldName(columns[i]);
+                writeJsonValue(i < values.length ? values[i] : null);
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } else {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) writer.write(',');
+                Object value = i < values.length ? values[i] : null;
+                if (value != null) {
+                    writeCsvValue(stringValue(value));
+                }
+            }
+            writer.write('\n');
+        }
+    }
+
+    public void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void writeJsonValue(Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            json.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            json.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            json.writeBoolean((Boolean) value);
+        } else {
+            json.writeString(stringValue(value));
+        }
+    }
+
+    private void writeCsvValue(String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') writer.write('"');
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static String stringValue(Object value) {
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime().toString();
+        }
+        return String.valueOf(value);
+    }
+}
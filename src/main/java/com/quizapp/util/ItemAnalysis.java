@@ -0,0 +1,182 @@
+package com.quizapp.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classical item analysis over a response matrix held in primitive arrays.
+ *
+ * Responses are stored column-major ({@code responses[question][attempt]}, -1 = unanswered)
+ * so each per-question pass is a sequential scan. Total scores and per-question statistics
+ * are computed with fork-join over attempt ranges and question ranges respectively.
+ */
+public class ItemAnalysis {
+
+    public static final byte UNANSWERED = -1;
+
+    private static final int ATTEMPT_GRAIN = 16_384;
+
+    private final int questionCount;
+    private final int[] correctIndex;
+    private final int[] optionCount;
+    private final int[] points;
+    private byte[][] responses;
+    private int attemptCount;
+
+    public static final class ItemStats {
+        public int attempts;
+        public int correct;
+        public int unanswered;
+        public long[] optionCounts;
+        public double difficulty;
+        public double discrimination;
+    }
+
+    public ItemAnalysis(int[] correctIndex, int[] optionCount, int[] points, int expectedAttempts) {
+        this.questionCount = correctIndex.length;
+        this.correctIndex = correctIndex;
+        this.optionCount = optionCount;
+        this.points = points;
+        this.responses = new byte[questionCount][Math.max(expectedAttempts, 16)];
+        for (byte[] column : responses) {
+            Arrays.fill(column, UNANSWERED);
+        }
+    }
+
+    /**
+     * Opens a new attempt row with every question unanswered and returns its index.
+     */
+    public int addAttempt() {
+        if (attemptCount == capacity()) {
+            int grown = capacity() * 2;
+            for (int q = 0; q < questionCount; q++) {
+                byte[] column = Arrays.copyOf(responses[q], grown);
+                Arrays.fill(column, attemptCount, grown, UNANSWERED);
+                responses[q] = column;
+            }
+        }
+        return attemptCount++;
+    }
+
+    public void setResponse(int attempt, int question, int selectedOption) {
+        responses[question][attempt] = (byte) selectedOption;
+    }
+
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public ItemStats[] compute(ForkJoinPool pool) {
+        double[] totals = new double[attemptCount];
+        pool.invoke(new TotalsTask(totals, 0, attemptCount));
+
+        ItemStats[] stats = new ItemStats[questionCount];
+        pool.invoke(new ItemsTask(totals, stats, 0, questionCount));
+        return stats;
+    }
+
+    private int capacity() {
+        return questionCount == 0 ? Integer.MAX_VALUE : responses[0].length;
+    }
+
+    private final class TotalsTask extends RecursiveAction {
+        private final double[] totals;
+        private final int from;
+        private final int to;
+
+        TotalsTask(double[] totals, int from, int to) {
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ATTEMPT_GRAIN) {
+                for (int q = 0; q < questionCount; q++) {
+                    byte[] column = responses[q];
+                    byte key = (byte) correctIndex[q];
+                    int weight = points[q];
+                    for (int a = from; a < to; a++) {
+                        if (column[a] == key && key != UNANSWERED) {
+                            totals[a] += weight;
+                        }
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TotalsTask(totals, from, mid), new TotalsTask(totals, mid, to));
+        }
+    }
+
+    private final class ItemsTask extends RecursiveAction {
+        private final double[] totals;
+        private final ItemStats[] stats;
+        private final int from;
+        private final int to;
+
+        ItemsTask(double[] totals, ItemStats[] stats, int from, int to) {
+            this.totals = totals;
+            this.stats = stats;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int q = from; q < to; q++) {
+                    stats[q] = analyse(q);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ItemsTask(totals, stats, from, mid), new ItemsTask(totals, stats, mid, to));
+        }
+
+        private ItemStats analyse(int q) {
+            ItemStats item = new ItemStats();
+            item.attempts = attemptCount;
+            item.optionCounts = new long[optionCount[q]];
+            byte[] column = responses[q];
+            byte key = (byte) correctIndex[q];
+            int weight = points[q];
+
+            // Pearson correlation of item correctness with the rest score (total minus this item)
+            double sumY = 0, sumYY = 0, sumXY = 0;
+            int correct = 0;
+            for (int a = 0; a < attemptCount; a++) {
+                byte selected = column[a];
+                if (selected == UNANSWERED) {
+                    item.unanswered++;
+                } else if (selected >= 0 && selected < item.optionCounts.length) {
+                    item.optionCounts[selected]++;
+                }
+                boolean hit = selected == key && key != UNANSWERED;
+                double rest = hit ? totals[a] - weight : totals[a];
+                sumY += rest;
+                sumYY += rest * rest;
+                if (hit) {
+                    correct++;
+                    sumXY += rest;
+                }
+            }
+            item.correct = correct;
+
+            int n = attemptCount;
+            if (n == 0) {
+                return item;
+            }
+            item.difficulty = (double) correct / n;
+            double covariance = sumXY / n - item.difficulty * (sumY / n);
+            double varianceX = item.difficulty * (1 - item.difficulty);
+            double varianceY = sumYY / n - (sumY / n) * (sumY / n);
+            item.discrimination = varianceX > 0 && varianceY > 0
+                    ? covariance / Math.sqrt(varianceX * varianceY)
+                    : 0.0;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.quizapp.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts SQL statements issued by Hibernate on the current thread.
+ *
+ * Registered through {@code hibernate.session_factory.statement_inspector}, so every
+ * statement Hibernate prepares passes through {@link #inspect(String)}. The counter is
+ * reset per request by QueryBudgetFilter and per block by the QueryBudget test helper.
+ * Statement text is only kept while capturing, to explain a budget failure.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final int MAX_CAPTURED = 200;
+
+    private static final ThreadLocal<Counter> COUNTER = ThreadLocal.withInitial(Counter::new);
+
+    private static final class Counter {
+        int count;
+        List<String> captured;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counter counter = COUNTER.get();
+        counter.count++;
+        if (counter.captured != null && counter.captured.size() < MAX_CAPTURED) {
+            counter.captured.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        Counter counter = COUNTER.get();
+        counter.count = 0;
+        counter.captured = null;
+    }
+
+    /**
+     * Resets the counter and keeps the text of subsequent statements.
+     */
+    public static void startCapture() {
+        Counter counter = COUNTER.get();
+        counter.count = 0;
+        counter.captured = new ArrayList<>();
+    }
+
+    public static int count() {
+        return COUNTER.get().count;
+    }
+
+    public static List<String> capturedStatements() {
+        List<String> captured = COUNTER.get().captured;
+        return captured == null ? Collections.emptyList() : Collections.unmodifiableList(captured);
+    }
+
+    public static void clear() {
+        COUNTER.remove();
+    }
+}
@@ -0,0 +1,78 @@
+package com.quizapp.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters for the quiz hot paths.
+ *
+ * Everything is recorded against {@link Metrics#globalRegistry}, which Spring Boot wires to
+ * the Prometheus registry at startup. Outside a running context (plain unit tests) the
+ * global registry has no children and every call is a cheap no-op. Percentile histograms
+ * for these meters are switched on in application.properties.
+ */
+public final class QuizMetrics {
+
+    public static final String ATTEMPT_START = "quiz.attempt.start";
+    public static final String ATTEMPT_SUBMIT = "quiz.attempt.submit";
+    public static final String GRADING = "quiz.grading";
+    public static final String GRADING_QUESTIONS = "quiz.grading.questions";
+    public static final String AUTOSUBMIT_RUN = "quiz.autosubmit.run";
+    public static final String AUTOSUBMIT_BATCH = "quiz.autosubmit.batch";
+    public static final String AUTOSUBMIT_LAG = "quiz.autosubmit.lag";
+    public static final String EMAIL_SEND = "quiz.email.send";
+    public static final String IMPORT_DURATION = "quiz.import.duration";
+    public static final String IMPORT_ROWS = "quiz.import.rows";
+    public static final String JWT_FILTER = "quiz.auth.jwt.filter";
+    public static final String SQL_STATEMENTS = "quiz.http.sql.statements";
+    public static final String RATE_LIMITED = "quiz.http.rate.limited";
+    public static final String RATE_LIMIT_EVICTED = "quiz.http.rate.limit.evicted";
+    public static final String DB_ADMISSION_WAIT = "quiz.db.admission.wait";
+    public static final String FRAGMENT_CACHE = "quiz.fragment.cache";
+    public static final String LOGIN_THROTTLE = "quiz.auth.login.throttle";
+    public static final String PASSWORD_HASH = "quiz.auth.password.hash";
+    public static final String PASSWORD_HASH_REJECTED = "quiz.auth.password.hash.rejected";
+    public static final String SESSION_LOAD = "quiz.session.load";
+    public static final String SESSION_WRITE = "quiz.session.write";
+    public static final String CACHE_INVALIDATION = "quiz.cache.invalidation";
+    public static final String DB_ROUTE = "quiz.db.route";
+    public static final String DB_REPLICA_LAG = "quiz.db.replica.lag";
+    public static final String DB_POOL_WAIT = "quiz.db.pool.wait";
+    public static final String BACKGROUND_QUEUE_WAIT = "quiz.background.queue.wait";
+    public static final String BACKGROUND_REJECTED = "quiz.background.rejected";
+    public static final String JOB_RUN = "quiz.job.run";
+    public static final String JOB_ROWS = "quiz.job.rows";
+    public static final String ADAPTIVE_SELECTION = "quiz.adaptive.selection";
+    public static final String ADAPTIVE_ITEMS = "quiz.adaptive.items";
+
+    private QuizMetrics() {
+    }
+
+    public static Timer.Sample start() {
+        return Timer.start(Metrics.globalRegistry);
+    }
+
+    public static void stop(Timer.Sample sample, String name, String... tags) {
+        sample.stop(Metrics.timer(name, tags));
+    }
+
+    public static void recordNanos(String name, long nanos, String... tags) {
+        Metrics.timer(name, tags).record(Math.max(0L, nanos), TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordMillis(String name, long millis, String... tags) {
+        Metrics.timer(name, tags).record(Math.max(0L, millis), TimeUnit.MILLISECONDS);
+    }
+
+    public static void recordAmount(String name, double amount, String... tags) {
+        Metrics.summary(name, tags).record(amount);
+    }
+
+    public static void increment(String name, double amount, String... tags) {
+        if (amount > 0) {
+            Metrics.counter(name, tags).increment(amount);
+        }
+    }
+}
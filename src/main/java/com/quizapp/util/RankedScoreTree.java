@@ -0,0 +1,197 @@
+package com.quizapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap of leaderboard entries ordered by score (highest first), then
+ * completion time (earliest first), then attempt id. Every node tracks its subtree size,
+ * so insert, remove and rank lookups are O(log n) expected and top-K is O(log n + K).
+ *
+ * Not thread-safe; callers synchronize per instance.
+ */
+public class RankedScoreTree {
+
+    public static final class Entry {
+        private final long attemptId;
+        private final long userId;
+        private final String username;
+        private final double score;
+        private final long completedAtMillis;
+
+        public Entry(long attemptId, long userId, String username, double score, long completedAtMillis) {
+            this.attemptId = attemptId;
+            this.userId = userId;
+            this.username = username;
+            this.score = score;
+            this.completedAtMillis = completedAtMillis;
+        }
+
+        public long getAttemptId() { return attemptId; }
+        public long getUserId() { return userId; }
+        public String getUsername() { return username; }
+        public double getScore() { return score; }
+        public long getCompletedAtMillis() { return completedAtMillis; }
+
+        /**
+         * Negative if this entry ranks ahead of {@code other}.
+         */
+        int compareRank(Entry other) {
+            int byScore = Double.compare(other.score, score);
+            if (byScore != 0) return byScore;
+            int byTime = Long.compare(completedAtMillis, other.completedAtMillis);
+            if (byTime != 0) return byTime;
+            return Long.compare(attemptId, other.attemptId);
+        }
+    }
+
+    private static final class Node {
+        final Entry entry;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Entry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public int size() {
+        return size(root);
+    }
+
+    public void insert(Entry entry) {
+        root = insert(root, new Node(entry, random.nextInt()));
+    }
+
+    public boolean remove(Entry entry) {
+        int before = size(root);
+        root = remove(root, entry);
+        return size(root) < before;
+    }
+
+    /**
+     * 1-based rank of {@code entry}, or -1 if it is not in the tree.
+     */
+    public int rankOf(Entry entry) {
+        int ahead = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = entry.compareRank(node.entry);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                ahead += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return ahead + size(node.left) + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of entries with a strictly lower score than {@code score}.
+     */
+    public int countBelow(double score) {
+        int below = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.entry.score < score) {
+                below += size(node.right) + 1;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return below;
+    }
+
+    public List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(Math.max(limit, 0), size()));
+        collect(root, result, limit);
+        return result;
+    }
+
+    private static void collect(Node node, List<Entry> out, int limit) {
+        if (node == null || out.size() >= limit) return;
+        collect(node.left, out, limit);
+        if (out.size() < limit) {
+            out.add(node.entry);
+            collect(node.right, out, limit);
+        }
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) return fresh;
+        if (fresh.entry.compareRank(node.entry) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, Entry entry) {
+        if (node == null) return null;
+        int cmp = entry.compareRank(node.entry);
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, entry);
+        } else {
+            node = merge(node.left, node.right);
+            if (node == null) return null;
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,131 @@
+package com.quizapp.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-memory score distribution over the 0-100% range at 0.1 point resolution.
+ *
+ * Histograms are exactly mergeable (bucket-wise addition), so per-quiz sketches can be
+ * combined across nodes or into a category without revisiting attempts. Quantile and rank
+ * queries scan a fixed 1001 buckets regardless of how many attempts were recorded.
+ */
+public class ScoreHistogram {
+
+    public static final int BUCKETS = 1001;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    public void add(double score) {
+        counts[bucketOf(score)]++;
+        total++;
+    }
+
+    public void merge(ScoreHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public ScoreHistogram copy() {
+        ScoreHistogram copy = new ScoreHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Number of recorded scores strictly below {@code score}.
+     */
+    public long countBelow(double score) {
+        int bucket = bucketOf(score);
+        long below = 0;
+        for (int i = 0; i < bucket; i++) {
+            below += counts[i];
+        }
+        return below;
+    }
+
+    /**
+     * Percentage of recorded scores strictly below {@code score}, i.e. "better than X% of takers".
+     */
+    public double percentileRank(double score) {
+        return total == 0 ? 0.0 : (countBelow(score) * 100.0) / total;
+    }
+
+    /**
+     * Smallest score whose cumulative share reaches {@code q} (0..1).
+     */
+    public double quantile(double q) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long target = (long) Math.ceil(Math.max(0.0, Math.min(1.0, q)) * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(target, 1)) {
+                return i / 10.0;
+            }
+        }
+        return 100.0;
+    }
+
+    /**
+     * Counts folded into {@code bins} equal-width ranges for charting.
+     */
+    public long[] coarse(int bins) {
+        long[] result = new long[bins];
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                result[Math.min(bins - 1, (int) ((long) i * bins / (BUCKETS - 1)))] += counts[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sparse encoding: a bucket count followed by (bucket, count) pairs for non-empty buckets.
+     */
+    public byte[] toBytes() {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count != 0) nonEmpty++;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4 + nonEmpty * (2 + 8));
+        buffer.putInt(nonEmpty);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                buffer.putShort((short) i);
+                buffer.putLong(counts[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static ScoreHistogram fromBytes(byte[] bytes) {
+        ScoreHistogram histogram = new ScoreHistogram();
+        if (bytes == null || bytes.length < 4) {
+            return histogram;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int nonEmpty = buffer.getInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int bucket = buffer.getShort();
+            long count = buffer.getLong();
+            histogram.counts[bucket] += count;
+            histogram.total += count;
+        }
+        return histogram;
+    }
+
+    private static int bucketOf(double score) {
+        if (Double.isNaN(score) || score <= 0) return 0;
+        if (score >= 100) return BUCKETS - 1;
+        return (int) Math.round(score * 10);
+    }
+}
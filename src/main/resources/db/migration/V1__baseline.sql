@@ -0,0 +1,197 @@
+-- Baseline: the schema Hibernate's ddl-auto=update built for the entities, plus the tables the
+-- session store and job history used to create for themselves. Portable between PostgreSQL and
+-- H2. A database that already has these tables is baselined at this version, not re-created.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL CHECK (role IN ('ADMIN', 'PARTICIPANT')),
+    enabled BOOLEAN NOT NULL,
+    account_locked BOOLEAN NOT NULL,
+    login_attempts INTEGER NOT NULL,
+    lock_time TIMESTAMP(6),
+    last_login TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    color VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE quizzes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    time_limit INTEGER,
+    difficulty_level VARCHAR(255) NOT NULL CHECK (difficulty_level IN ('EASY', 'MEDIUM', 'HARD')),
+    enabled BOOLEAN NOT NULL,
+    is_public BOOLEAN NOT NULL,
+    is_template BOOLEAN,
+    category_id BIGINT,
+    created_by BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_quizzes_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_quizzes_created_by FOREIGN KEY (created_by) REFERENCES users (id)
+);
+
+CREATE TABLE questions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    quiz_id BIGINT,
+    question_text TEXT,
+    correct_answer_index INTEGER,
+    difficulty_level VARCHAR(255) NOT NULL CHECK (difficulty_level IN ('EASY', 'MEDIUM', 'HARD')),
+    explanation VARCHAR(255),
+    points INTEGER,
+    is_template BOOLEAN,
+    CONSTRAINT fk_questions_quiz FOREIGN KEY (quiz_id) REFERENCES quizzes (id)
+);
+
+CREATE TABLE question_options (
+    question_id BIGINT NOT NULL,
+    option_text VARCHAR(255),
+    CONSTRAINT fk_question_options_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
+
+CREATE TABLE tags (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_tags_name UNIQUE (name)
+);
+
+CREATE TABLE question_tags (
+    question_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    CONSTRAINT fk_question_tags_question FOREIGN KEY (question_id) REFERENCES questions (id),
+    CONSTRAINT fk_question_tags_tag FOREIGN KEY (tag_id) REFERENCES tags (id)
+);
+
+CREATE TABLE quiz_attempts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    quiz_id BIGINT,
+    score DOUBLE PRECISION,
+    earned_points INTEGER,
+    total_points INTEGER,
+    shuffle_seed BIGINT,
+    attempted_at TIMESTAMP(6),
+    expires_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    CONSTRAINT fk_quiz_attempts_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_quiz_attempts_quiz FOREIGN KEY (quiz_id) REFERENCES quizzes (id)
+);
+
+-- No FK to quiz_attempts, which may be partitioned (see sql/partition-attempts.sql)
+CREATE TABLE attempt_answers (
+    attempt_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    selected_option_index INTEGER,
+    PRIMARY KEY (attempt_id, question_id)
+);
+
+CREATE TABLE quiz_attempts_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    quiz_id BIGINT NOT NULL,
+    score DOUBLE PRECISION,
+    earned_points INTEGER,
+    total_points INTEGER,
+    attempted_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL,
+    answers BYTEA
+);
+CREATE INDEX ix_quiz_attempts_archive_quiz ON quiz_attempts_archive (quiz_id);
+CREATE INDEX ix_quiz_attempts_archive_user ON quiz_attempts_archive (user_id);
+
+CREATE TABLE question_statistics (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    question_id BIGINT NOT NULL,
+    quiz_id BIGINT NOT NULL,
+    attempt_count INTEGER NOT NULL,
+    correct_count INTEGER NOT NULL,
+    unanswered_count INTEGER NOT NULL,
+    difficulty DOUBLE PRECISION,
+    discrimination DOUBLE PRECISION,
+    option_counts VARCHAR(512),
+    computed_at TIMESTAMP(6),
+    CONSTRAINT uk_question_statistics_question UNIQUE (question_id)
+);
+
+CREATE TABLE score_distributions (
+    quiz_id BIGINT NOT NULL PRIMARY KEY,
+    attempt_count BIGINT NOT NULL,
+    last_attempt_id BIGINT NOT NULL,
+    histogram BYTEA,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE email_verification_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    used BOOLEAN NOT NULL,
+    CONSTRAINT uk_email_verification_tokens_token UNIQUE (token),
+    CONSTRAINT uk_email_verification_tokens_user UNIQUE (user_id),
+    CONSTRAINT fk_email_verification_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE password_reset_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(255),
+    user_id BIGINT NOT NULL,
+    expiry_date TIMESTAMP(6),
+    CONSTRAINT uk_password_reset_tokens_token UNIQUE (token),
+    CONSTRAINT uk_password_reset_tokens_user UNIQUE (user_id),
+    CONSTRAINT fk_password_reset_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE two_factor_auth (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    secret_key VARCHAR(255),
+    backup_codes VARCHAR(255),
+    enabled BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_two_factor_auth_user UNIQUE (user_id),
+    CONSTRAINT fk_two_factor_auth_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE app_sessions (
+    session_id VARCHAR(64) PRIMARY KEY,
+    principal_name VARCHAR(100),
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_seconds INT NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    attributes BYTEA
+);
+CREATE INDEX ix_app_sessions_principal ON app_sessions (principal_name);
+CREATE INDEX ix_app_sessions_expiry ON app_sessions (expiry_time);
+
+CREATE TABLE job_runs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name VARCHAR(64) NOT NULL,
+    shard INT NOT NULL,
+    shard_count INT NOT NULL,
+    node VARCHAR(128) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    rows_processed INT NOT NULL,
+    outcome VARCHAR(16) NOT NULL,
+    error VARCHAR(500)
+);
+CREATE INDEX ix_job_runs_job_started ON job_runs (job_name, started_at);
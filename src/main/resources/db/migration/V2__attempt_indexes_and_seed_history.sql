@@ -0,0 +1,11 @@
+-- Indexes for the per-user history, per-quiz scans and the open-attempt sweep (same names as
+-- sql/partition-attempts.sql, so a converted database already has them), and the seed checksum.
+CREATE INDEX IF NOT EXISTS ix_quiz_attempts_user_attempted ON quiz_attempts (user_id, attempted_at);
+CREATE INDEX IF NOT EXISTS ix_quiz_attempts_quiz ON quiz_attempts (quiz_id);
+CREATE INDEX IF NOT EXISTS ix_quiz_attempts_attempted ON quiz_attempts (attempted_at);
+
+CREATE TABLE IF NOT EXISTS seed_history (
+    name VARCHAR(100) NOT NULL PRIMARY KEY,
+    checksum BIGINT NOT NULL,
+    applied_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Adaptive quizzes: per-question IRT parameters, the quiz flag and the running ability estimate
+-- of an attempt. IF NOT EXISTS because ddl-auto=update may already have added the columns.
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS irt_difficulty DOUBLE PRECISION;
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS irt_discrimination DOUBLE PRECISION;
+
+ALTER TABLE quizzes ADD COLUMN IF NOT EXISTS is_adaptive BOOLEAN DEFAULT FALSE;
+
+ALTER TABLE quiz_attempts ADD COLUMN IF NOT EXISTS ability_estimate DOUBLE PRECISION;
+ALTER TABLE quiz_attempts ADD COLUMN IF NOT EXISTS ability_standard_error DOUBLE PRECISION;
+ALTER TABLE quiz_attempts ADD COLUMN IF NOT EXISTS current_question_id BIGINT;
@@ -0,0 +1,9 @@
+-- Score distributions fold attempts in completion order. Existing rows start from the latest
+-- completion among the attempts they already hold; a row left NULL is rebuilt from quiz_attempts
+-- on its next fold.
+ALTER TABLE score_distributions ADD COLUMN IF NOT EXISTS last_completed_at TIMESTAMP(6);
+UPDATE score_distributions d SET last_completed_at = (
+    SELECT MAX(qa.completed_at) FROM quiz_attempts qa
+    WHERE qa.quiz_id = d.quiz_id AND qa.id <= d.last_attempt_id AND qa.score IS NOT NULL)
+WHERE d.last_completed_at IS NULL AND d.last_attempt_id > 0;
+CREATE INDEX IF NOT EXISTS ix_quiz_attempts_quiz_completed ON quiz_attempts (quiz_id, completed_at);
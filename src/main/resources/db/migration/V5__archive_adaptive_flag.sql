@@ -0,0 +1,3 @@
+-- Archived attempts keep whether they were adaptive, so item analysis can leave them out.
+-- Rows archived before this column read as fixed-form attempts.
+ALTER TABLE quiz_attempts_archive ADD COLUMN IF NOT EXISTS adaptive BOOLEAN;
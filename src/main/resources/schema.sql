@@ -41,6 +41,7 @@ CREATE TABLE IF NOT EXISTS quizzes (
     is_public BOOLEAN DEFAULT TRUE,
     enabled BOOLEAN DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NULL,
     FOREIGN KEY (created_by) REFERENCES users(id),
     FOREIGN KEY (category_id) REFERENCES categories(id)
 );
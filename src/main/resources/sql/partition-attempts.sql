@@ -0,0 +1,79 @@
+-- One-time conversion of quiz_attempts and attempt_answers to partitioned tables (PostgreSQL 12+).
+--
+-- Hibernate (ddl-auto=update) creates plain tables and never alters an existing one, so run this
+-- once, with the application stopped, on a database it has already created. Afterwards
+-- AttemptPartitionService keeps partitions ahead of the data and AttemptArchiveService moves old
+-- completed attempts to quiz_attempts_archive.
+--
+--   quiz_attempts    RANGE (attempted_at), one partition per month: quiz_attempts_pYYYYMM
+--   attempt_answers  RANGE (attempt_id), 1,000,000 attempt ids per partition: attempt_answers_pN
+--                    (answer rows carry no timestamp to partition by month; attempt ids grow with
+--                    time, so the ranges still line up with the monthly attempt partitions)
+--
+-- The id range size must match app.partitioning.answer-ids-per-partition.
+
+BEGIN;
+
+LOCK TABLE quiz_attempts, attempt_answers IN ACCESS EXCLUSIVE MODE;
+
+UPDATE quiz_attempts SET attempted_at = COALESCE(completed_at, expires_at, now()) WHERE attempted_at IS NULL;
+
+ALTER TABLE attempt_answers RENAME TO attempt_answers_legacy;
+ALTER TABLE quiz_attempts RENAME TO quiz_attempts_legacy;
+
+-- Identity columns are not allowed on partitioned tables before PostgreSQL 17, so ids come from
+-- a plain sequence default, which Hibernate's IDENTITY strategy reads back the same way
+CREATE SEQUENCE quiz_attempt_ids;
+
+CREATE TABLE quiz_attempts (LIKE quiz_attempts_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (attempted_at);
+ALTER TABLE quiz_attempts ALTER COLUMN id SET DEFAULT nextval('quiz_attempt_ids');
+ALTER TABLE quiz_attempts ALTER COLUMN attempted_at SET NOT NULL;
+ALTER SEQUENCE quiz_attempt_ids OWNED BY quiz_attempts.id;
+
+-- A partitioned table's unique keys must include the partition key
+ALTER TABLE quiz_attempts ADD CONSTRAINT quiz_attempts_pkey_p PRIMARY KEY (id, attempted_at);
+ALTER TABLE quiz_attempts ADD CONSTRAINT fk_quiz_attempts_user FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE quiz_attempts ADD CONSTRAINT fk_quiz_attempts_quiz FOREIGN KEY (quiz_id) REFERENCES quizzes (id);
+CREATE INDEX ix_quiz_attempts_attempted ON quiz_attempts (attempted_at);
+CREATE INDEX ix_quiz_attempts_user_attempted ON quiz_attempts (user_id, attempted_at);
+CREATE INDEX ix_quiz_attempts_quiz ON quiz_attempts (quiz_id);
+CREATE INDEX ix_quiz_attempts_quiz_completed ON quiz_attempts (quiz_id, completed_at);
+CREATE INDEX ix_quiz_attempts_open ON quiz_attempts (expires_at) WHERE completed_at IS NULL;
+
+CREATE TABLE attempt_answers (LIKE attempt_answers_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (attempt_id);
+ALTER TABLE attempt_answers ADD CONSTRAINT attempt_answers_pkey_p PRIMARY KEY (attempt_id, question_id);
+
+DO $$
+DECLARE
+    month date;
+    last_month date := (date_trunc('month', now()) + interval '3 months')::date;
+    range_size bigint := 1000000;
+    max_range bigint;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(attempted_at), now()))::date INTO month FROM quiz_attempts_legacy;
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF quiz_attempts FOR VALUES FROM (%L) TO (%L)',
+                       'quiz_attempts_p' || to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    END LOOP;
+
+    SELECT COALESCE(MAX(id), 0) / range_size + 2 INTO max_range FROM quiz_attempts_legacy;
+    FOR n IN 0..max_range LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF attempt_answers FOR VALUES FROM (%s) TO (%s)',
+                       'attempt_answers_p' || n, n * range_size, (n + 1) * range_size);
+    END LOOP;
+END $$;
+
+INSERT INTO quiz_attempts SELECT * FROM quiz_attempts_legacy;
+INSERT INTO attempt_answers SELECT * FROM attempt_answers_legacy;
+
+SELECT setval('quiz_attempt_ids', (SELECT COALESCE(MAX(id), 0) + 1 FROM quiz_attempts), false);
+
+COMMIT;
+
+ANALYZE quiz_attempts;
+ANALYZE attempt_answers;
+
+-- Once the application runs cleanly against the new tables:
+-- DROP TABLE attempt_answers_legacy;
+-- DROP TABLE quiz_attempts_legacy;
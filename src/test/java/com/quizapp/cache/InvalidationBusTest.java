@@ -0,0 +1,112 @@
+package com.quizapp.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationBusTest {
+
+    private final List<Object> delivered = new ArrayList<>();
+    private final List<String> sent = new ArrayList<>();
+    private final ApplicationEventPublisher events = delivered::add;
+
+    private final InvalidationBus bus = new InvalidationBus(events) {
+        @Override
+        protected void send(String payload) {
+            sent.add(payload);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_OutsideTransactionDeliversAndSendsAtOnce() {
+        bus.publish(EntityChange.quiz(12), EntityChange.question(40));
+
+        assertEquals(List.of(EntityChange.quiz(12), EntityChange.question(40)), delivered);
+        assertEquals(List.of(bus.nodeId() + "|Z12,Q40"), sent);
+    }
+
+    @Test
+    void publish_InsideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(EntityChange.question(7));
+
+        assertTrue(delivered.isEmpty());
+        assertTrue(sent.isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(EntityChange.question(7)), delivered);
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void publish_RolledBackTransactionAnnouncesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(EntityChange.question(7));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(delivered.isEmpty());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void receive_DeliversOtherNodesChangesAndSkipsOwn() {
+        bus.receive("othernode|Z3,Q9");
+        bus.receive(bus.nodeId() + "|Z4");
+
+        assertEquals(List.of(EntityChange.quiz(3), EntityChange.question(9)), delivered);
+    }
+
+    @Test
+    void receive_MalformedMessagesAreIgnored() {
+        bus.receive("no separator");
+        bus.receive("othernode|X1");
+        bus.receive("othernode|Zabc");
+
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void encode_OversizedBatchCollapsesToEvictAll() {
+        List<EntityChange> changes = new ArrayList<>(Collections.nCopies(2000, EntityChange.quiz(123456)));
+
+        assertEquals("*", InvalidationBus.encode(changes));
+        assertEquals(List.of(EntityChange.ALL), InvalidationBus.decode("*"));
+    }
+
+    @Test
+    void sendFailure_DoesNotReachTheCaller() {
+        InvalidationBus failing = new InvalidationBus(events) {
+            @Override
+            protected void send(String payload) {
+                throw new IllegalStateException("database down");
+            }
+        };
+
+        assertDoesNotThrow(() -> failing.publish(EntityChange.quiz(1)));
+        assertEquals(List.of(EntityChange.quiz(1)), delivered);
+    }
+
+    @Test
+    void affects_MatchesKindAndEvictAll() {
+        assertTrue(EntityChange.quiz(1).affects(EntityChange.Kind.QUIZ));
+        assertFalse(EntityChange.question(1).affects(EntityChange.Kind.QUIZ));
+        assertTrue(EntityChange.ALL.affects(EntityChange.Kind.QUESTION));
+    }
+}
@@ -0,0 +1,84 @@
+package com.quizapp.config;
+
+import com.quizapp.util.BackgroundWork;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdmissionControlledDataSourceTest {
+
+    private DataSource target;
+    private Connection raw;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        raw = mock(Connection.class);
+        when(target.getConnection()).thenReturn(raw);
+    }
+
+    @Test
+    void close_ReleasesPermitOnce() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 10, 50);
+
+        Connection connection = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        connection.close();
+        connection.close();
+
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(raw, times(2)).close();
+    }
+
+    @Test
+    void getConnection_TimesOutWhenAllPermitsHeld() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 10, 50);
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void getConnection_RejectsImmediatelyWhenWaitQueueFull() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 0, 10_000);
+        dataSource.getConnection();
+
+        long started = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertTrue(System.nanoTime() - started < 1_000_000_000L);
+    }
+
+    @Test
+    void getConnection_BackgroundWorkBypassesGate() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 0, 50);
+        dataSource.getConnection();
+
+        Connection background = BackgroundWork.call(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(raw, background);
+        assertEquals(0, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_ReturnsPermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool down"));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 10, 50);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
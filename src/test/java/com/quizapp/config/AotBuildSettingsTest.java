@@ -0,0 +1,92 @@
+package com.quizapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.SpringProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AotBuildSettingsTest {
+
+    @TempDir
+    Path generated;
+
+    @AfterEach
+    void tearDown() {
+        SpringProperties.setProperty("spring.aot.enabled", null);
+    }
+
+    @Test
+    void mismatches_UnsetFlagsCountAsTheirDefaults() {
+        MockEnvironment build = new MockEnvironment().withProperty("app.session.store", "jdbc");
+        build.setActiveProfiles("prod");
+        MockEnvironment runtime = new MockEnvironment().withProperty("app.invalidation.bus", "postgres");
+        runtime.setActiveProfiles("prod");
+
+        assertEquals(List.of(), AotBuildSettings.mismatches(AotBuildSettings.capture(build), runtime));
+    }
+
+    @Test
+    void mismatches_ReportsProfilesAndFlagsTheBuildDidNotSee() {
+        MockEnvironment build = new MockEnvironment();
+        build.setActiveProfiles("prod");
+        MockEnvironment runtime = new MockEnvironment()
+                .withProperty("app.schema.migrations.enabled", "true")
+                .withProperty("app.datasource.replica.enabled", "true");
+        runtime.setActiveProfiles("fast-start", "prod");
+
+        List<String> mismatches = AotBuildSettings.mismatches(AotBuildSettings.capture(build), runtime);
+
+        assertEquals(List.of(
+                "app.datasource.replica.enabled: built with 'false', starting with 'true'",
+                "app.schema.migrations.enabled: built with 'false', starting with 'true'",
+                "spring.profiles.active: built with 'prod', starting with 'fast-start,prod'"), mismatches);
+    }
+
+    @Test
+    void check_RefusesToStartGeneratedCodeUnderOtherSettings() throws IOException {
+        MockEnvironment build = new MockEnvironment();
+        build.setActiveProfiles("prod");
+        GenericApplicationContext context = contextWithBuildSettings(AotBuildSettings.capture(build));
+        SpringProperties.setProperty("spring.aot.enabled", "true");
+
+        context.getEnvironment().setActiveProfiles("prod");
+        assertDoesNotThrow(() -> new AotBuildSettings.Check().initialize(context));
+
+        context.getEnvironment().setActiveProfiles("prod", "fast-start");
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> new AotBuildSettings.Check().initialize(context));
+        assertTrue(failure.getMessage().contains("spring.profiles.active: built with 'prod', starting with 'fast-start,prod'"));
+    }
+
+    @Test
+    void check_IgnoresPlainBoots() throws IOException {
+        GenericApplicationContext context = contextWithBuildSettings(AotBuildSettings.capture(new MockEnvironment()));
+        context.getEnvironment().setActiveProfiles("prod");
+
+        assertDoesNotThrow(() -> new AotBuildSettings.Check().initialize(context));
+    }
+
+    private GenericApplicationContext contextWithBuildSettings(Properties settings) throws IOException {
+        Path resource = generated.resolve(AotBuildSettings.RESOURCE);
+        Files.createDirectories(resource.getParent());
+        try (OutputStream out = Files.newOutputStream(resource)) {
+            settings.store(out, null);
+        }
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.setClassLoader(new URLClassLoader(new URL[]{generated.toUri().toURL()}, getClass().getClassLoader()));
+        return context;
+    }
+}
@@ -0,0 +1,88 @@
+package com.quizapp.config;
+
+import com.quizapp.util.BackgroundWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each pool is a separate in-memory database that reports its own name, so the assertions
+ * show which pool served the query.
+ */
+class BulkheadDataSourceTest {
+
+    private EmbeddedDatabase interactive;
+    private EmbeddedDatabase background;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        interactive = database("interactive");
+        background = database("background");
+        jdbc = new JdbcTemplate(new BulkheadDataSource(interactive, background));
+    }
+
+    @AfterEach
+    void tearDown() {
+        interactive.shutdown();
+        background.shutdown();
+    }
+
+    @Test
+    void requestThreadsUseInteractivePool() {
+        assertFalse(BackgroundWork.isActive());
+        assertEquals("interactive", whoAmI());
+    }
+
+    @Test
+    void backgroundWorkUsesBackgroundPool_OnlyInsideTheBlock() {
+        assertEquals("background", BackgroundWork.call(this::whoAmI));
+        assertEquals("interactive", whoAmI());
+    }
+
+    @Test
+    void nestedBackgroundBlock_KeepsOuterMarker() {
+        String afterNested = BackgroundWork.call(() -> {
+            BackgroundWork.call(this::whoAmI);
+            return whoAmI();
+        });
+
+        assertEquals("background", afterNested);
+        assertFalse(BackgroundWork.isActive());
+    }
+
+    @Test
+    void wrappedTaskRunsInBackgroundPoolOnAnyThread() {
+        String pool = CompletableFuture.supplyAsync(() -> {
+            String[] seen = new String[1];
+            BackgroundWork.wrap(() -> seen[0] = whoAmI()).run();
+            return seen[0];
+        }).join();
+
+        assertEquals("background", pool);
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM pool", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE pool (name VARCHAR(20))");
+        jdbc.update("INSERT INTO pool VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,58 @@
+package com.quizapp.config;
+
+import com.quizapp.util.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+
+    @Test
+    void budgetFor_UsesFirstMatchingOverride() {
+        QueryBudgetFilter filter = new QueryBudgetFilter(true, 30, "/dashboard=60, /admin/**=80");
+
+        assertEquals(60, filter.budgetFor("/dashboard"));
+        assertEquals(80, filter.budgetFor("/admin/quizzes/{id}"));
+        assertEquals(30, filter.budgetFor("/quiz/list"));
+    }
+
+    @Test
+    void doFilter_CountsStatementsOfRequestAndClearsCounter() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(true, 2, "");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/quiz/list");
+        AtomicInteger seen = new AtomicInteger();
+
+        // Statements issued before the request must not leak into it
+        new QueryCounter().inspect("select stale");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            QueryCounter inspector = new QueryCounter();
+            for (int i = 0; i < 5; i++) {
+                inspector.inspect("select " + i);
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/quiz/list");
+            seen.set(QueryCounter.count());
+        });
+
+        assertEquals(5, seen.get());
+        assertEquals(0, QueryCounter.count());
+    }
+
+    @Test
+    void doFilter_DisabledLeavesCounterAlone() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(false, 2, "");
+        QueryCounter.reset();
+        new QueryCounter().inspect("select before");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse(),
+                (req, res) -> new QueryCounter().inspect("select during"));
+
+        assertEquals(2, QueryCounter.count());
+        QueryCounter.clear();
+    }
+}
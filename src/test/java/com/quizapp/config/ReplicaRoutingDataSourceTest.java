@@ -0,0 +1,227 @@
+package com.quizapp.config;
+
+import com.quizapp.session.CompactSessionRepository;
+import com.quizapp.session.JdbcSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against two separate in-memory databases that each report their own name, so every
+ * assertion shows which one actually served the transaction.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private final AtomicBoolean replicaDown = new AtomicBoolean();
+    private DataSource reachableReplica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        reachableReplica = new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaDown.get()) {
+                    throw new SQLException("Connection refused");
+                }
+                return super.getConnection();
+            }
+        };
+        node(newNode());
+    }
+
+    private ReplicaRoutingDataSource newNode() {
+        return new ReplicaRoutingDataSource(primary, reachableReplica, "SELECT seconds FROM replica_lag",
+                Duration.ofSeconds(5), Duration.ofSeconds(10), clock::get);
+    }
+
+    /** Points the templates at {@code routing}, standing in for one application node. */
+    private void node(ReplicaRoutingDataSource node) {
+        if (routing != null) {
+            routing.close();
+        }
+        routing = node;
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactions = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactions);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactions);
+        routing.checkReplica();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        routing.close();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica_WritesUsePrimary() {
+        assertTrue(routing.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+        assertEquals("primary", whoAmI(), "no transaction means no read-only promise");
+    }
+
+    @Test
+    void laggingReplica_ReadsFallBackUntilItCatchesUp() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 12.5");
+        routing.checkReplica();
+
+        assertFalse(routing.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 0.2");
+        routing.checkReplica();
+
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void unreachableReplica_ReadsFallBackToPrimary() {
+        replicaDown.set(true);
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        routing.checkReplica();
+        assertFalse(routing.isReplicaUsable());
+
+        replicaDown.set(false);
+        routing.checkReplica();
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void clientReadsOwnWritesFromPrimary_OtherClientsStillUseReplica() {
+        MockHttpServletResponse written = request(null);
+        readWrite.execute(status -> whoAmI());
+        assertEquals("primary", readOnly.execute(status -> whoAmI()), "same request sees its write at once");
+
+        Cookie sticky = written.getCookie(ReplicaRoutingDataSource.STICKY_COOKIE);
+        assertNotNull(sticky);
+        assertTrue(sticky.isHttpOnly());
+        assertEquals(10, sticky.getMaxAge());
+
+        request(sticky);
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        request(null);
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+
+        request(sticky);
+        clock.addAndGet(Duration.ofSeconds(11).toMillis());
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void stickinessHoldsOnAnotherNode() {
+        MockHttpServletResponse written = request(null);
+        readWrite.execute(status -> whoAmI());
+
+        node(newNode());
+        request(written.getCookie(ReplicaRoutingDataSource.STICKY_COOKIE));
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void transactionWithoutStatements_DoesNotMakeClientSticky() {
+        MockHttpServletResponse response = request(null);
+        readWrite.executeWithoutResult(status -> { });
+
+        assertNull(response.getCookie(ReplicaRoutingDataSource.STICKY_COOKIE));
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void loggedInSession_StillReadsFromReplica() {
+        JdbcSessionRepository sessions = new JdbcSessionRepository(jdbc, Duration.ofMinutes(30), Duration.ZERO, 0);
+        sessions.initializeSchema();
+        CompactSessionRepository.StoredSession session = sessions.createSession();
+        session.setAttribute("user", "alice");
+        sessions.save(session);
+
+        // Each request loads its session outside any transaction, then reads read-only
+        MockHttpServletResponse response = request(null);
+        assertNotNull(sessions.findById(session.getId()));
+
+        assertNull(response.getCookie(ReplicaRoutingDataSource.STICKY_COOKIE));
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotMakeClientSticky() {
+        MockHttpServletResponse response = request(null);
+        readWrite.executeWithoutResult(status -> {
+            whoAmI();
+            status.setRollbackOnly();
+        });
+
+        assertNull(response.getCookie(ReplicaRoutingDataSource.STICKY_COOKIE));
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    /** Binds a fresh request, carrying {@code cookie} when given, and returns its response. */
+    private static MockHttpServletResponse request(Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (cookie != null) {
+            request.setCookies(cookie);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+}
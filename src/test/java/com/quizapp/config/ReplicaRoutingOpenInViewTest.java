@@ -0,0 +1,150 @@
+package com.quizapp.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+
+/**
+ * A request that reads and then writes through one open-in-view EntityManager, with Hibernate
+ * and Spring set up as Boot sets them up. The write must reach the primary even though the
+ * request's first connection came from the replica.
+ */
+class ReplicaRoutingOpenInViewTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaRoutingDataSource routing;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+        routing = new ReplicaRoutingDataSource(primary, replica, "SELECT seconds FROM replica_lag",
+                Duration.ofSeconds(5), Duration.ofSeconds(10), System::currentTimeMillis);
+        routing.checkReplica();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.destroy();
+        }
+        routing.close();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void writeAfterReadInOneRequest_GoesToPrimary() throws Exception {
+        MockMvc mvc = openInView(Map.of(AvailableSettings.CONNECTION_HANDLING, ReplicaRoutingConfig.CONNECTION_HANDLING));
+
+        mvc.perform(post("/enrol"))
+                .andExpect(content().string("replica"))
+                .andExpect(cookie().exists(ReplicaRoutingDataSource.STICKY_COOKIE));
+
+        assertEquals(1, enrolments(primary));
+        assertEquals(0, enrolments(replica));
+    }
+
+    @Test
+    void withDefaultConnectionHandling_WriteFollowsTheFirstRead() throws Exception {
+        // What ReplicaRoutingConfig's customizer prevents: the request keeps its replica connection
+        MockMvc mvc = openInView(Map.of());
+
+        mvc.perform(post("/enrol")).andExpect(content().string("replica"));
+
+        assertEquals(0, enrolments(primary));
+        assertEquals(1, enrolments(replica));
+    }
+
+    private MockMvc openInView(Map<String, Object> jpaProperties) {
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(new LazyConnectionDataSourceProxy(routing));
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setPackagesToScan(ReplicaRoutingOpenInViewTest.class.getPackageName() + ".none");
+        entityManagerFactory.setJpaPropertyMap(jpaProperties);
+        entityManagerFactory.afterPropertiesSet();
+        EntityManagerFactory emf = entityManagerFactory.getObject();
+
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(emf);
+        return MockMvcBuilders.standaloneSetup(new EnrolController(emf))
+                .addInterceptors(new WebRequestHandlerInterceptorAdapter(openInView))
+                .build();
+    }
+
+    @RestController
+    static class EnrolController {
+        private final EntityManagerFactory emf;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        EnrolController(EntityManagerFactory emf) {
+            this.emf = emf;
+            JpaTransactionManager transactions = new JpaTransactionManager(emf);
+            readOnly = new TransactionTemplate(transactions);
+            readOnly.setReadOnly(true);
+            readWrite = new TransactionTemplate(transactions);
+        }
+
+        @PostMapping("/enrol")
+        String enrol() {
+            String readFrom = readOnly.execute(status ->
+                    (String) entityManager().createNativeQuery("SELECT name FROM node").getSingleResult());
+            readWrite.executeWithoutResult(status ->
+                    entityManager().createNativeQuery("INSERT INTO enrolment VALUES (1)").executeUpdate());
+            return readFrom;
+        }
+
+        private EntityManager entityManager() {
+            return EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        }
+    }
+
+    private static int enrolments(EmbeddedDatabase database) {
+        return new JdbcTemplate(database).queryForObject("SELECT COUNT(*) FROM enrolment", Integer.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.execute("CREATE TABLE enrolment (id INT)");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,48 @@
+package com.quizapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCorrelationFilterTest {
+
+    private final RequestCorrelationFilter filter = new RequestCorrelationFilter();
+
+    @Test
+    void doFilter_ReusesIncomingRequestIdAndClearsMdc() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/attempt/submit");
+        request.addHeader(RequestCorrelationFilter.HEADER, "edge-4f2a.17");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(RequestCorrelationFilter.MDC_KEY)));
+
+        assertEquals("edge-4f2a.17", seen.get());
+        assertEquals("edge-4f2a.17", response.getHeader(RequestCorrelationFilter.HEADER));
+        assertNull(MDC.get(RequestCorrelationFilter.MDC_KEY));
+    }
+
+    @Test
+    void doFilter_GeneratesIdWhenHeaderMissing() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/dashboard"), response,
+                (req, res) -> seen.set(MDC.get(RequestCorrelationFilter.MDC_KEY)));
+
+        assertNotNull(seen.get());
+        assertEquals(seen.get(), response.getHeader(RequestCorrelationFilter.HEADER));
+    }
+
+    @Test
+    void resolve_RejectsUnsafeOrOversizedIds() {
+        assertNotEquals("bad id\r\nX-Injected: 1", RequestCorrelationFilter.resolve("bad id\r\nX-Injected: 1"));
+        assertNotEquals("a".repeat(100), RequestCorrelationFilter.resolve("a".repeat(100)));
+        assertEquals("abc-123", RequestCorrelationFilter.resolve("abc-123"));
+    }
+}
@@ -1,16 +1,21 @@
 package com.quizapp.controller;
 
 import com.quizapp.entity.*;
+import com.quizapp.service.QuestionService;
 import com.quizapp.service.QuizAttemptService;
 import com.quizapp.service.QuizService;
 import com.quizapp.service.UserService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.ui.Model;
@@ -36,6 +41,9 @@ class AttemptControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private QuestionService questionService;
+
     @InjectMocks
     private AttemptController attemptController;
 
@@ -46,7 +54,9 @@ class AttemptControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(attemptController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(attemptController)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
 
         user = new User();
         user.setId(1L);
@@ -74,6 +84,13 @@ class AttemptControllerTest {
                 .password("password")
                 .authorities("ROLE_USER")
                 .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -142,6 +159,7 @@ class AttemptControllerTest {
         answers.put(1L, 0);
 
         when(userService.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
         when(quizAttemptService.submitQuiz(eq(1L), anyMap())).thenReturn(quizAttempt);
 
         mockMvc.perform(post("/attempt/submit")
@@ -169,4 +187,77 @@ class AttemptControllerTest {
 
         verify(quizAttemptService, times(1)).getAttemptById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void submitQuizAttempt_AdaptiveAttempt_AnswersCurrentQuestionAndShowsNext() throws Exception {
+        quizAttempt.setAbilityEstimate(0.0);
+        quizAttempt.setCurrentQuestionId(1L);
+        quizAttempt.setScore(null);
+        QuizAttempt advanced = new QuizAttempt();
+        advanced.setId(1L);
+        advanced.setUser(user);
+        advanced.setQuiz(quiz);
+        advanced.setAbilityEstimate(0.4);
+        advanced.setCurrentQuestionId(2L);
+
+        when(userService.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(quizAttemptService.answerAdaptive(1L, 1L, 2)).thenReturn(advanced);
+
+        mockMvc.perform(post("/attempt/submit")
+                        .param("attemptId", "1")
+                        .param("quizId", "1")
+                        .param("answers[1]", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/attempt/take/1"));
+
+        verify(quizAttemptService, never()).submitQuiz(anyLong(), anyMap());
+    }
+
+    @Test
+    void submitQuizAttempt_AdaptiveAttempt_LastAnswerShowsResults() throws Exception {
+        quizAttempt.setAbilityEstimate(0.0);
+        quizAttempt.setCurrentQuestionId(1L);
+        QuizAttempt finished = new QuizAttempt();
+        finished.setId(1L);
+        finished.setUser(user);
+        finished.setQuiz(quiz);
+        finished.setAbilityEstimate(0.9);
+        finished.setCompletedAt(java.time.LocalDateTime.now());
+        finished.setScore(71.0);
+        finished.getAnswers().put(1L, 0);
+
+        when(userService.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(quizAttemptService.answerAdaptive(1L, 1L, 0)).thenReturn(finished);
+
+        mockMvc.perform(post("/attempt/submit")
+                        .param("attemptId", "1")
+                        .param("quizId", "1")
+                        .param("answers[1]", "0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("quiz/results"))
+                .andExpect(model().attribute("score", 71.0))
+                .andExpect(model().attribute("totalQuestions", 1));
+    }
+
+    @Test
+    void takeQuiz_AdaptiveAttempt_ShowsOnlyCurrentQuestion() throws Exception {
+        Question current = new Question();
+        current.setId(7L);
+        current.setQuestionText("Adaptive question");
+        current.setOptions(Arrays.asList("A", "B"));
+        quizAttempt.setAbilityEstimate(0.0);
+        quizAttempt.setCurrentQuestionId(7L);
+
+        when(userService.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(questionService.getQuestionById(7L)).thenReturn(Optional.of(current));
+
+        mockMvc.perform(get("/attempt/take/1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("quiz/take"))
+                .andExpect(model().attribute("questions", List.of(current)))
+                .andExpect(model().attribute("questionNumber", 1));
+    }
+}
@@ -4,6 +4,7 @@ import com.quizapp.entity.Quiz;
 import com.quizapp.entity.QuizAttempt;
 import com.quizapp.entity.User;
 import com.quizapp.entity.Role;
+import com.quizapp.service.FragmentCacheService;
 import com.quizapp.service.QuizAttemptService;
 import com.quizapp.service.QuizService;
 import com.quizapp.service.UserService;
@@ -17,9 +18,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.ui.ExtendedModelMap;
 
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +42,9 @@ class DashboardControllerTest {
     @Mock
     private QuizAttemptService quizAttemptService;
 
+    @Mock
+    private FragmentCacheService fragmentCacheService;
+
     @InjectMocks
     private DashboardController dashboardController;
 
@@ -120,11 +126,31 @@ class DashboardControllerTest {
                         .principal(() -> "participant"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("participant/dashboard"))
-                .andExpect(model().attributeExists("user", "attempts", "quizzes"));
+                .andExpect(model().attributeExists("user", "attempts", "quizzes", "quizCount"));
 
         verify(quizService, times(1)).getPublicQuizzes();
     }
 
+    @Test
+    void dashboard_CachedCatalog_DoesNotLoadQuizzes() {
+        when(userService.findByUsername("participant")).thenReturn(java.util.Optional.of(participantUser));
+        when(quizAttemptService.getUserAttempts(2L)).thenReturn(Arrays.asList(quizAttempt));
+        when(quizService.getCatalogVersionKey()).thenReturn("v1");
+        when(fragmentCacheService.render(eq("participant/dashboard"), eq("catalogCards"), eq("v1"), any()))
+                .thenReturn("<div>cards</div>");
+        when(quizService.getPublicQuizCount()).thenReturn(3L);
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        String view = dashboardController.dashboard(
+                org.springframework.security.core.userdetails.User.withUsername("participant")
+                        .password("secret").roles("PARTICIPANT").build(), null, model);
+
+        assertEquals("participant/dashboard", view);
+        assertEquals("<div>cards</div>", model.get("catalogHtml"));
+        assertEquals(3L, model.get("quizCount"));
+        verify(quizService, never()).getPublicQuizzes();
+    }
+
     @Test
     void adminDashboard_ShouldShowAdminDashboard() throws Exception {
         when(userService.findByUsername("admin")).thenReturn(java.util.Optional.of(adminUser));
@@ -1,5 +1,8 @@
 package com.quizapp.controller;
 
+import com.quizapp.security.PasswordHashingAdmissionFilter;
+import com.quizapp.security.PasswordHashingExecutor;
+import com.quizapp.security.PasswordHashingSaturatedException;
 import com.quizapp.service.PasswordResetService;
 import com.quizapp.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -143,4 +146,21 @@ class PasswordResetControllerTest {
                 .andExpect(view().name("auth/reset-password-error"))
                 .andExpect(model().attributeExists("error"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void processResetPassword_HashingSaturated_Answers503() throws Exception {
+        when(passwordResetService.resetPassword("valid-token", "newpassword123"))
+                .thenThrow(new PasswordHashingSaturatedException(4));
+        MockMvc guarded = MockMvcBuilders.standaloneSetup(passwordResetController)
+                .addFilters(new PasswordHashingAdmissionFilter(mock(PasswordHashingExecutor.class)))
+                .build();
+
+        guarded.perform(post("/reset-password")
+                        .servletPath("/reset-password")
+                        .param("token", "valid-token")
+                        .param("password", "newpassword123")
+                        .param("confirmPassword", "newpassword123"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "4"));
+    }
+}
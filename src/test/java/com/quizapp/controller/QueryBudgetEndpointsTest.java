@@ -0,0 +1,162 @@
+package com.quizapp.controller;
+
+import com.quizapp.entity.DifficultyLevel;
+import com.quizapp.entity.Question;
+import com.quizapp.entity.Quiz;
+import com.quizapp.entity.QuizAttempt;
+import com.quizapp.entity.Role;
+import com.quizapp.entity.User;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserRepository;
+import com.quizapp.service.FragmentCacheService;
+import com.quizapp.util.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+/**
+ * SQL statement budgets for the busiest pages, end to end through MockMvc with the real security
+ * chain, templates and fragment cache. A page that starts issuing more statements per quiz or
+ * question fails here with the statements listed. QueryBudgetFilter is off: it resets the same
+ * per-thread counter that the helper reads.
+ */
+@SpringBootTest(properties = {
+        "server.port=0",
+        "spring.jpa.show-sql=false",
+        "app.query-budget.enabled=false",
+        "app.startup.email-check=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetEndpointsTest {
+
+    private static final int QUIZZES = 6;
+    private static final int QUESTIONS = 4;
+    private static final String PARTICIPANT = "budget-participant";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private FragmentCacheService fragmentCacheService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long attemptId;
+
+    @BeforeEach
+    void setUp() {
+        attemptId = new TransactionTemplate(transactionManager).execute(status -> seed());
+        fragmentCacheService.clear();
+    }
+
+    @Test
+    void quizList_StaysWithinBudget() throws Throwable {
+        // A miss renders the cards, initializing each quiz's questions
+        QueryBudget.assertAtMost(3 + QUIZZES, () -> mockMvc.perform(get("/quiz/list").with(participant()))
+                .andExpect(status().isOk()));
+
+        // Catalog cards served from the fragment cache: no quizzes or questions loaded
+        QueryBudget.assertAtMost(3, () -> mockMvc.perform(get("/quiz/list").with(participant()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void participantDashboard_StaysWithinBudget() throws Throwable {
+        QueryBudget.assertAtMost(6 + QUIZZES, () -> mockMvc.perform(get("/dashboard").with(participant()))
+                .andExpect(view().name("participant/dashboard")));
+
+        // Cached cards; the participant's one attempt still loads its quiz and questions
+        QueryBudget.assertAtMost(5, () -> mockMvc.perform(get("/dashboard").with(participant()))
+                .andExpect(view().name("participant/dashboard")));
+    }
+
+    @Test
+    void results_StaysWithinBudget() throws Throwable {
+        // The page lists every question with its options, one collection load per question
+        QueryBudget.assertAtMost(5 + QUESTIONS, () -> mockMvc.perform(get("/attempt/results/" + attemptId).with(participant()))
+                .andExpect(view().name("quiz/results")));
+    }
+
+    private static RequestPostProcessor participant() {
+        return user(PARTICIPANT).roles("PARTICIPANT");
+    }
+
+    /** Quizzes with a few questions each and one graded attempt, created once per context. */
+    private Long seed() {
+        User participant = userRepository.findByUsername(PARTICIPANT).orElse(null);
+        if (participant != null) {
+            return quizAttemptRepository.findAll().stream()
+                    .filter(attempt -> attempt.getUser().getId().equals(participant.getId()))
+                    .findFirst().orElseThrow().getId();
+        }
+        User creator = new User("budget-admin", "budget-admin@example.com", "password", Role.ADMIN);
+        creator.setEnabled(true);
+        userRepository.save(creator);
+        User student = new User(PARTICIPANT, "budget-participant@example.com", "password", Role.PARTICIPANT);
+        student.setEnabled(true);
+        userRepository.save(student);
+
+        Quiz first = null;
+        for (int q = 0; q < QUIZZES; q++) {
+            Quiz quiz = new Quiz();
+            quiz.setTitle("Budget Quiz " + q);
+            quiz.setTimeLimit(10);
+            quiz.setCreatedBy(creator);
+            quiz.setDifficultyLevel(DifficultyLevel.EASY);
+            quiz.setCreatedAt(LocalDateTime.now());
+            List<Question> questions = new ArrayList<>();
+            for (int i = 0; i < QUESTIONS; i++) {
+                Question question = new Question();
+                question.setQuestionText("Q" + i);
+                question.setOptions(new ArrayList<>(List.of("A", "B", "C")));
+                question.setCorrectAnswerIndex(0);
+                question.setDifficultyLevel(DifficultyLevel.EASY);
+                question.setPoints(1);
+                question.setQuiz(quiz);
+                questions.add(question);
+            }
+            quiz.setQuestions(questions);
+            quiz = quizRepository.save(quiz);
+            if (first == null) {
+                first = quiz;
+            }
+        }
+
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setUser(student);
+        attempt.setQuiz(first);
+        attempt.setAttemptedAt(LocalDateTime.now().minusMinutes(5));
+        attempt.setCompletedAt(LocalDateTime.now());
+        attempt.setAnswers(new HashMap<>());
+        attempt.setScore(0.0);
+        return quizAttemptRepository.save(attempt).getId();
+    }
+}
@@ -48,6 +48,9 @@ class QuizControllerTest {
     @Mock
     private QuizAttemptService quizAttemptService;
 
+    @Mock
+    private FragmentCacheService fragmentCacheService;
+
     @InjectMocks
     private QuizController quizController;
 
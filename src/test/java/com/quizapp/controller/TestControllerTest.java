@@ -1,5 +1,7 @@
 package com.quizapp.controller;
 
+import com.quizapp.cache.EntityChange;
+import com.quizapp.cache.InvalidationBus;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.User;
 import com.quizapp.entity.Role;
@@ -42,6 +44,9 @@ class TestControllerTest {
     @Mock
     private QuizRepository quizRepository;
 
+    @Mock
+    private InvalidationBus invalidationBus;
+
     @InjectMocks
     private TestController testController;
 
@@ -132,6 +137,7 @@ class TestControllerTest {
 
         verify(userRepository, times(1)).findAll();
         verify(quizRepository, times(1)).save(any(Quiz.class));
+        verify(invalidationBus).publish(EntityChange.quiz(quiz.getId()));
     }
 
     @Test
@@ -7,6 +7,8 @@ import com.quizapp.entity.User;
 import com.quizapp.entity.Role;
 import com.quizapp.security.JwtUtil;
 import com.quizapp.service.CustomUserDetailsService;
+import com.quizapp.service.LoginAttemptService;
+import com.quizapp.service.LoginStateWriter;
 import com.quizapp.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -43,6 +46,12 @@ class AuthApiControllerTest {
     @Mock
     private CustomUserDetailsService customUserDetailsService;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private LoginStateWriter loginStateWriter;
+
     @InjectMocks
     private AuthApiController authApiController;
 
@@ -86,4 +95,28 @@ class AuthApiControllerTest {
 
         verify(userService, times(1)).registerUser(anyString(), anyString(), anyString(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_ShouldRejectLockedAccountWithoutAuthenticating() throws Exception {
+        when(loginAttemptService.isLockedInMemory("testuser")).thenReturn(true);
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isLocked());
+
+        verifyNoInteractions(authenticationManager, userService);
+    }
+
+    @Test
+    void login_BadCredentialsDoNotWriteUserRow() throws Exception {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(userService, loginStateWriter);
+    }
+}
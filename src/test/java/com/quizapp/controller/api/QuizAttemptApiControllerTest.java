@@ -13,12 +13,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -78,4 +84,82 @@ class QuizAttemptApiControllerTest {
 
         verify(quizAttemptService, times(1)).startQuizAttempt(user, quiz);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAttemptQuestions_OwnAttempt_ReturnsPaper() {
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(userService.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        ResponseEntity<?> response = quizAttemptApiController.getAttemptQuestions(1L, principal("testuser"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(), response.getBody());
+    }
+
+    @Test
+    void getAttemptQuestions_OtherUsersAttempt_Forbidden() {
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(userService.findByUsername("intruder")).thenReturn(Optional.of(otherUser()));
+
+        ResponseEntity<?> response = quizAttemptApiController.getAttemptQuestions(1L, principal("intruder"));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    @Test
+    void getNextQuestion_OtherUsersAttempt_Forbidden() {
+        quizAttempt.setAbilityEstimate(0.0);
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(userService.findByUsername("intruder")).thenReturn(Optional.of(otherUser()));
+
+        ResponseEntity<?> response = quizAttemptApiController.getNextQuestion(1L, principal("intruder"));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    @Test
+    void answerAdaptiveQuestion_OtherUsersAttempt_ForbiddenAndNotRecorded() {
+        quizAttempt.setAbilityEstimate(0.0);
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(userService.findByUsername("intruder")).thenReturn(Optional.of(otherUser()));
+
+        ResponseEntity<?> response = quizAttemptApiController.answerAdaptiveQuestion(
+                1L, Map.of("questionId", 5L, "answer", 0L), principal("intruder"));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(quizAttemptService, never()).answerAdaptive(anyLong(), any(), any());
+    }
+
+    @Test
+    void submitQuizAttempt_OtherUsersAttempt_ForbiddenAndNotGraded() {
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(userService.findByUsername("intruder")).thenReturn(Optional.of(otherUser()));
+
+        ResponseEntity<?> response = quizAttemptApiController.submitQuizAttempt(1L, Map.of(5L, 0), principal("intruder"));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(quizAttemptService, never()).submitQuiz(anyLong(), any());
+    }
+
+    @Test
+    void getAttemptById_OtherUsersAttempt_Forbidden() {
+        when(quizAttemptService.getAttemptById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(userService.findByUsername("intruder")).thenReturn(Optional.of(otherUser()));
+
+        ResponseEntity<?> response = quizAttemptApiController.getAttemptById(1L, principal("intruder"));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    private static User otherUser() {
+        User other = new User();
+        other.setId(2L);
+        other.setUsername("intruder");
+        return other;
+    }
+
+    private static UserDetails principal(String username) {
+        return org.springframework.security.core.userdetails.User.withUsername(username)
+                .password("password").roles("PARTICIPANT").build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.quizapp.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+
+    private static final String LOCATION = "classpath*:db/migration/*.sql";
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path scripts;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("migrations-" + UUID.randomUUID() + ";MODE=PostgreSQL")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void migrate_FreshDatabase_AppliesShippedMigrationsOnce() {
+        SchemaMigrator migrator = new SchemaMigrator(database, LOCATION, 1, "users");
+        int shipped = migrator.discover().size();
+
+        assertTrue(shipped >= 2);
+        assertEquals(shipped, migrator.migrate());
+        assertEquals(0, migrator.migrate());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + SchemaMigrator.TABLE + " WHERE baseline", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + SeedHistory.TABLE, Integer.class));
+    }
+
+    @Test
+    void migrate_ExistingSchemaWithoutHistory_BaselinesAndRunsLaterVersions() throws IOException {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        write("V1__baseline.sql", "CREATE TABLE users (id BIGINT PRIMARY KEY);");
+        write("V2__add_notes.sql", "CREATE TABLE notes (id BIGINT PRIMARY KEY);");
+
+        SchemaMigrator migrator = new SchemaMigrator(database, location(), 1, "users");
+
+        assertEquals(1, migrator.migrate());
+        List<Boolean> baseline = jdbcTemplate.queryForList(
+                "SELECT baseline FROM " + SchemaMigrator.TABLE + " ORDER BY version", Boolean.class);
+        assertEquals(List.of(true, false), baseline);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notes", Integer.class));
+    }
+
+    @Test
+    void migrate_AppliedScriptChanged_Fails() throws IOException {
+        write("V1__notes.sql", "CREATE TABLE notes (id BIGINT PRIMARY KEY);");
+        SchemaMigrator migrator = new SchemaMigrator(database, location(), 0, "users");
+        assertEquals(1, migrator.migrate());
+
+        write("V1__notes.sql", "CREATE TABLE notes (id BIGINT PRIMARY KEY, body VARCHAR(10));");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, migrator::migrate);
+        assertTrue(failure.getMessage().contains("V1"));
+    }
+
+    @Test
+    void migrate_FailingScript_RollsBackAndRecordsNothing() throws IOException {
+        write("V1__notes.sql", "CREATE TABLE notes (id BIGINT PRIMARY KEY);");
+        write("V2__broken.sql", "INSERT INTO notes (id) VALUES (1);\nINSERT INTO missing (id) VALUES (1);");
+        SchemaMigrator migrator = new SchemaMigrator(database, location(), 0, "users");
+
+        assertThrows(IllegalStateException.class, migrator::migrate);
+
+        assertEquals(List.of(1), jdbcTemplate.queryForList(
+                "SELECT version FROM " + SchemaMigrator.TABLE, Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notes", Integer.class));
+    }
+
+    @Test
+    void seedHistory_RecordsLatestChecksumPerSeeder() {
+        new SchemaMigrator(database, LOCATION, 1, "users").migrate();
+        SeedHistory seeds = new SeedHistory(jdbcTemplate);
+
+        assertFalse(seeds.isApplied("quizzes", 7L));
+        seeds.record("quizzes", 7L);
+        assertTrue(seeds.isApplied("quizzes", 7L));
+
+        seeds.record("quizzes", 8L);
+        assertFalse(seeds.isApplied("quizzes", 7L));
+        assertTrue(seeds.isApplied("quizzes", 8L));
+    }
+
+    private void write(String name, String sql) throws IOException {
+        Files.writeString(scripts.resolve(name), sql);
+    }
+
+    private String location() {
+        return scripts.toUri() + "*.sql";
+    }
+}
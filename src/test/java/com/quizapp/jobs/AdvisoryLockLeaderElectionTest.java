@@ -0,0 +1,37 @@
+package com.quizapp.jobs;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdvisoryLockLeaderElectionTest {
+
+    @Test
+    void fairShare_SplitsShardsEvenlyRoundingUp() {
+        assertEquals(4, AdvisoryLockLeaderElection.fairShare(4, 1));
+        assertEquals(2, AdvisoryLockLeaderElection.fairShare(4, 2));
+        assertEquals(2, AdvisoryLockLeaderElection.fairShare(4, 3));
+        assertEquals(1, AdvisoryLockLeaderElection.fairShare(4, 8));
+        assertEquals(1, AdvisoryLockLeaderElection.fairShare(1, 5));
+        assertEquals(1, AdvisoryLockLeaderElection.fairShare(1, 0));
+    }
+
+    @Test
+    void key_IsStableAndNonNegative() {
+        assertEquals(AdvisoryLockLeaderElection.key("auto-submit#0"), AdvisoryLockLeaderElection.key("auto-submit#0"));
+        assertNotEquals(AdvisoryLockLeaderElection.key("auto-submit#0"), AdvisoryLockLeaderElection.key("auto-submit#1"));
+        assertTrue(AdvisoryLockLeaderElection.key("x".repeat(50)) >= 0);
+    }
+
+    @Test
+    void claimShards_DatabaseUnreachable_LeadsNothing() {
+        AdvisoryLockLeaderElection election = new AdvisoryLockLeaderElection(() -> {
+            throw new SQLException("Connection refused");
+        }, "node-a");
+
+        assertTrue(election.claimShards("auto-submit", 4).isEmpty());
+        election.close();
+    }
+}
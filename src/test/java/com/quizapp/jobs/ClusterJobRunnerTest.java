@@ -0,0 +1,121 @@
+package com.quizapp.jobs;
+
+import com.quizapp.util.BackgroundWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterJobRunnerTest {
+
+    private EmbeddedDatabase database;
+    private JobRunHistory history;
+    private List<Integer> ledShards;
+    private ClusterJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("jobs-" + UUID.randomUUID())
+                .build();
+        history = new JobRunHistory(new JdbcTemplate(database));
+        history.initializeSchema();
+        ledShards = new ArrayList<>();
+        runner = new ClusterJobRunner(new LeaderElection() {
+            @Override
+            public List<Integer> claimShards(String job, int shardCount) {
+                return List.copyOf(ledShards);
+            }
+
+            @Override
+            public String nodeName() {
+                return "node-a";
+            }
+        }, history);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void run_RunsOnlyLedShardsAsBackgroundWork_AndRecordsEach() {
+        ledShards.addAll(List.of(1, 3));
+        List<JobShard> seen = new ArrayList<>();
+
+        int rows = runner.run("auto-submit", 4, shard -> {
+            assertTrue(BackgroundWork.isActive());
+            seen.add(shard);
+            return shard.index() * 10;
+        });
+
+        assertEquals(40, rows);
+        assertEquals(List.of(new JobShard(1, 4), new JobShard(3, 4)), seen);
+        List<JobRunHistory.JobRun> runs = history.recent("auto-submit", 10);
+        assertEquals(2, runs.size());
+        assertTrue(runs.stream().allMatch(run -> "success".equals(run.outcome()) && "node-a".equals(run.node())));
+        assertEquals(40, runs.stream().mapToInt(JobRunHistory.JobRun::rowsProcessed).sum());
+    }
+
+    @Test
+    void run_NotLeader_DoesNothing() {
+        int rows = runner.run("auto-submit", 1, shard -> fail("must not run"));
+
+        assertEquals(0, rows);
+        assertTrue(history.recent("auto-submit", 10).isEmpty());
+    }
+
+    @Test
+    void run_FailingShard_IsRecordedAndOthersStillRun() {
+        ledShards.addAll(List.of(0, 1));
+
+        int rows = runner.run("cleanup", 2, shard -> {
+            if (shard.index() == 0) {
+                throw new IllegalStateException("boom");
+            }
+            return 5;
+        });
+
+        assertEquals(5, rows);
+        List<JobRunHistory.JobRun> runs = history.recent("cleanup", 10);
+        assertEquals(2, runs.size());
+        JobRunHistory.JobRun failed = runs.stream().filter(run -> run.shard().index() == 0).findFirst().orElseThrow();
+        assertEquals("failed", failed.outcome());
+        assertTrue(failed.error().contains("boom"));
+    }
+
+    @Test
+    void purgeBefore_DeletesOnlyOlderRuns() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        history.record(new JobRunHistory.JobRun("cleanup", JobShard.ALL, "node-a", now.minus(20, ChronoUnit.DAYS), 3, 1, "success", null));
+        history.record(new JobRunHistory.JobRun("cleanup", JobShard.ALL, "node-a", now, 3, 1, "success", null));
+
+        assertEquals(1, history.purgeBefore(now.minus(14, ChronoUnit.DAYS)));
+        assertEquals(List.of(now), history.recent("cleanup", 10).stream().map(JobRunHistory.JobRun::startedAt).toList());
+    }
+
+    @Test
+    void jobShard_OwnsEachIdExactlyOnce() {
+        for (long id = -5; id < 20; id++) {
+            long owners = 0;
+            for (int index = 0; index < 3; index++) {
+                owners += new JobShard(index, 3).owns(id) ? 1 : 0;
+            }
+            assertEquals(1, owners);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new JobShard(2, 2));
+    }
+}
@@ -160,6 +160,20 @@ class QuestionRepositoryTest {
         assertEquals(1L, count);
     }
 
+    @Test
+    @DisplayName("Should find the item analysis keys with option counts")
+    void findItemKeysByQuizId_CountsOptions() {
+        // When
+        List<QuestionRepository.ItemKey> keys = questionRepository.findItemKeysByQuizId(testQuiz.getId());
+
+        // Then
+        assertEquals(1, keys.size());
+        assertEquals(testQuestion.getId(), keys.get(0).getId());
+        assertEquals(1, keys.get(0).getCorrectAnswerIndex());
+        assertEquals(1, keys.get(0).getPoints());
+        assertEquals(4, keys.get(0).getOptionCount());
+    }
+
     @Test
     @DisplayName("Should find question bank questions")
     void findQuestionBankQuestions_ReturnsQuestionsWithoutQuiz() {
@@ -11,10 +11,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -269,4 +271,113 @@ class QuizAttemptRepositoryTest {
         // When & Then
         assertFalse(validAttempt.isExpired());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should find open expired attempts split across shards")
+    void findExpiredOpenAttempts_ReturnsEachAttemptInExactlyOneShard() {
+        // Given
+        List<Long> expiredIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            QuizAttempt expired = new QuizAttempt();
+            expired.setUser(testUser);
+            expired.setQuiz(testQuiz);
+            expired.setExpiresAt(LocalDateTime.now().minusMinutes(5));
+            entityManager.persist(expired);
+            expiredIds.add(expired.getId());
+        }
+        QuizAttempt stillRunning = new QuizAttempt();
+        stillRunning.setUser(testUser);
+        stillRunning.setQuiz(testQuiz);
+        stillRunning.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        entityManager.persist(stillRunning);
+        QuizAttempt outsideLookback = new QuizAttempt();
+        outsideLookback.setUser(testUser);
+        outsideLookback.setQuiz(testQuiz);
+        outsideLookback.setAttemptedAt(LocalDateTime.now().minusDays(30));
+        outsideLookback.setExpiresAt(LocalDateTime.now().minusDays(29));
+        entityManager.persist(outsideLookback);
+        entityManager.flush();
+
+        // When
+        List<Long> found = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            for (QuizAttempt attempt : quizAttemptRepository.findExpiredOpenAttempts(
+                    LocalDateTime.now(), LocalDateTime.now().minusDays(7), 3, shard)) {
+                assertEquals(shard, attempt.getId() % 3);
+                found.add(attempt.getId());
+            }
+        }
+
+        // Then
+        assertEquals(expiredIds.size(), found.size());
+        assertTrue(found.containsAll(expiredIds));
+    }
+
+    @Test
+    @DisplayName("Should leave open expired attempts older than the lookback to the backlog sweep")
+    void findExpiredOpenAttemptsStartedBefore_ReturnsWhatTheLookbackSkips() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        QuizAttempt recent = new QuizAttempt();
+        recent.setUser(testUser);
+        recent.setQuiz(testQuiz);
+        recent.setExpiresAt(now.minusMinutes(5));
+        entityManager.persist(recent);
+        List<Long> oldIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            QuizAttempt old = new QuizAttempt();
+            old.setUser(testUser);
+            old.setQuiz(testQuiz);
+            old.setAttemptedAt(now.minusDays(400 - i));
+            old.setExpiresAt(now.minusDays(400 - i).plusHours(1));
+            entityManager.persist(old);
+            oldIds.add(old.getId());
+        }
+        QuizAttempt oldButCompleted = new QuizAttempt();
+        oldButCompleted.setUser(testUser);
+        oldButCompleted.setQuiz(testQuiz);
+        oldButCompleted.setAttemptedAt(now.minusDays(30));
+        oldButCompleted.setExpiresAt(now.minusDays(30).plusHours(1));
+        oldButCompleted.setCompletedAt(now.minusDays(30).plusMinutes(20));
+        entityManager.persist(oldButCompleted);
+        entityManager.flush();
+
+        // When
+        LocalDateTime lookback = now.minusDays(7);
+        List<Long> recentSweep = quizAttemptRepository.findExpiredOpenAttempts(now, lookback, 1, 0)
+                .stream().map(QuizAttempt::getId).toList();
+        List<Long> firstBatch = quizAttemptRepository.findExpiredOpenAttemptsStartedBefore(
+                now, lookback, 1, 0, PageRequest.of(0, 2)).stream().map(QuizAttempt::getId).toList();
+        List<Long> everything = quizAttemptRepository.findExpiredOpenAttemptsStartedBefore(
+                now, lookback, 1, 0, PageRequest.of(0, 10)).stream().map(QuizAttempt::getId).toList();
+
+        // Then
+        assertEquals(List.of(recent.getId()), recentSweep);
+        assertEquals(oldIds.subList(0, 2), firstBatch);
+        assertEquals(oldIds, everything);
+    }
+
+    @Test
+    @DisplayName("Should stream the answers of fixed-form attempts only")
+    void streamAnswersByQuizId_SkipsAdaptiveAttempts() {
+        // Given
+        QuizAttempt adaptive = new QuizAttempt();
+        adaptive.setUser(testUser);
+        adaptive.setQuiz(testQuiz);
+        adaptive.setAnswers(new HashMap<>(testAttempt.getAnswers()));
+        adaptive.setAbilityEstimate(0.4);
+        adaptive.setAttemptedAt(LocalDateTime.now().minusMinutes(30));
+        adaptive.setCompletedAt(LocalDateTime.now());
+        entityManager.persist(adaptive);
+        entityManager.flush();
+
+        // When
+        List<Long> attemptIds;
+        try (Stream<Object[]> rows = quizAttemptRepository.streamAnswersByQuizId(testQuiz.getId())) {
+            attemptIds = rows.map(row -> ((Number) row[0]).longValue()).distinct().toList();
+        }
+
+        // Then
+        assertEquals(List.of(testAttempt.getId()), attemptIds);
+    }
+}
@@ -82,4 +82,21 @@ class QuizRepositoryTest {
     }
 
     // ... rest of your tests
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Catalog version tracks quiz count and latest update")
+    void findCatalogVersion_ReflectsTouch() {
+        entityManager.flush();
+        QuizRepository.CatalogVersion before = quizRepository.findCatalogVersion();
+        assertEquals(1, before.getQuizCount());
+        assertNotNull(before.getLastModified());
+
+        LocalDateTime later = before.getLastModified().plusMinutes(5);
+        assertEquals(1, quizRepository.touch(testQuiz.getId(), later));
+        entityManager.clear();
+
+        assertEquals(later, quizRepository.findCatalogVersion().getLastModified());
+        assertEquals(later, quizRepository.findLastModifiedById(testQuiz.getId()).orElseThrow());
+        assertTrue(quizRepository.findLastModifiedById(-1L).isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.quizapp.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Through the real Tomcat connector: behind a proxy on a private or loopback address, login
+ * throttling and address rate limits key on the X-Forwarded-For client rather than on the proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "app.query-budget.enabled=false",
+        "app.startup.email-check=false",
+        "app.login.max-address-failures=2",
+        "app.rate-limit.policies=/actuator/health=0:1/1m"})
+@ActiveProfiles("test")
+class ForwardedClientAddressTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void loginThrottle_KeysOnTheForwardedClient() throws Exception {
+        assertNotEquals(429, login("203.0.113.7"));
+        assertNotEquals(429, login("203.0.113.7"));
+
+        assertEquals(429, login("203.0.113.7"));
+        assertNotEquals(429, login("203.0.113.8"), "another client behind the same proxy");
+    }
+
+    @Test
+    void addressRateLimit_KeysOnTheForwardedClient() throws Exception {
+        assertNotEquals(429, health("198.51.100.7"));
+
+        assertEquals(429, health("198.51.100.7"));
+        assertNotEquals(429, health("198.51.100.8"), "another client behind the same proxy");
+    }
+
+    private int health(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .header("X-Forwarded-For", forwardedFor)
+                .GET()
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int login(String forwardedFor) throws Exception {
+        String body = "{\"username\":\"nobody\",\"password\":\"wrong-password\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,70 @@
+package com.quizapp.security;
+
+import com.quizapp.service.LoginAttemptService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleFilterTest {
+
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private LoginThrottleFilter loginThrottleFilter;
+
+    @Test
+    void blockedAddress_ApiLoginGets429() throws Exception {
+        MockHttpServletRequest request = login("/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(loginAttemptService.isAddressBlocked("198.51.100.7")).thenReturn(true);
+
+        loginThrottleFilter.doFilter(request, response, filterChain);
+
+        assertEquals(429, response.getStatus());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void blockedAddress_FormLoginRedirectsToLockedMessage() throws Exception {
+        MockHttpServletRequest request = login("/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(loginAttemptService.isAddressBlocked("198.51.100.7")).thenReturn(true);
+
+        loginThrottleFilter.doFilter(request, response, filterChain);
+
+        assertEquals("/login?locked=true", response.getRedirectedUrl());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void otherRequests_AreNotChecked() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login");
+        request.setServletPath("/login");
+
+        loginThrottleFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(loginAttemptService);
+    }
+
+    private static MockHttpServletRequest login(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr("198.51.100.7");
+        return request;
+    }
+}
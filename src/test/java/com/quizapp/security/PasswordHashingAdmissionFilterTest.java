@@ -0,0 +1,67 @@
+package com.quizapp.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashingAdmissionFilterTest {
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private PasswordHashingAdmissionFilter passwordHashingAdmissionFilter;
+
+    @Test
+    void saturatedPool_RejectsWith503AndRetryAfter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(passwordHashingExecutor.isSaturated()).thenReturn(true);
+        when(passwordHashingExecutor.retryAfterSeconds()).thenReturn(3L);
+
+        passwordHashingAdmissionFilter.doFilter(post("/login"), response, filterChain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void rejectionDuringRequest_IsTranslatedTo503() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doThrow(new ServletException("Request processing failed", new PasswordHashingSaturatedException(2)))
+                .when(filterChain).doFilter(any(), any());
+
+        passwordHashingAdmissionFilter.doFilter(post("/register"), response, filterChain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void nonHashingRequests_PassStraightThrough() throws Exception {
+        passwordHashingAdmissionFilter.doFilter(post("/attempt/submit"), new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(passwordHashingExecutor);
+    }
+
+    private static MockHttpServletRequest post(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,84 @@
+package com.quizapp.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void boundedEncoder_HashesAndVerifiesOnPool() {
+        executor = new PasswordHashingExecutor(1, 4, false, 100, 4, 4);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(executor);
+
+        String hash = encoder.encode("Secret123!");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("Secret123!", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void run_RejectsWhenQueueIsFull() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, false, 100, 4, 4);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> executor.run("matches", () -> {
+            running.countDown();
+            await(release);
+            return true;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> executor.run("matches", () -> true));
+        waitUntilSaturated();
+
+        PasswordHashingSaturatedException rejected = assertThrows(PasswordHashingSaturatedException.class,
+                () -> executor.run("matches", () -> true));
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+
+        release.countDown();
+        assertEquals(true, busy.get(5, TimeUnit.SECONDS));
+        assertEquals(true, queued.get(5, TimeUnit.SECONDS));
+        assertFalse(executor.isSaturated());
+    }
+
+    @Test
+    void calibrate_StaysWithinBounds() {
+        long[] measured = new long[1];
+
+        assertEquals(4, PasswordHashingExecutor.calibrate(0, 4, 6, measured));
+        assertTrue(measured[0] > 0);
+        assertEquals(6, PasswordHashingExecutor.calibrate(60_000, 4, 6, measured));
+    }
+
+    private void waitUntilSaturated() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!executor.isSaturated() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(executor.isSaturated());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.quizapp.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private final FilterChain filterChain = mock(FilterChain.class);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalBudget_ReportsRemainingAndRefusesWith429() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, new RateLimiter(100),
+                "/api/attempts/start/*=2:100/1m");
+        authenticate("alice");
+
+        MockHttpServletResponse first = send(filter, "/api/attempts/start/7", "10.0.0.1");
+        MockHttpServletResponse second = send(filter, "/api/attempts/start/8", "10.0.0.1");
+        MockHttpServletResponse third = send(filter, "/api/attempts/start/9", "10.0.0.1");
+
+        assertEquals("2", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", first.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("0", second.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals(429, third.getStatus());
+        assertNotNull(third.getHeader("Retry-After"));
+        verify(filterChain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    void addressBudget_AppliesToAnonymousRequests() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, new RateLimiter(100), "/api/auth/login=0:1/1m");
+
+        assertEquals(200, send(filter, "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(429, send(filter, "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, send(filter, "/api/auth/login", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void unmatchedPathsAndDisabledFilter_PassThrough() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, new RateLimiter(100), "/api/auth/login=0:1/1m");
+        RateLimitFilter disabled = new RateLimitFilter(false, new RateLimiter(100), "/api/auth/login=0:1/1m");
+
+        MockHttpServletResponse other = send(filter, "/api/quizzes", "10.0.0.1");
+        send(disabled, "/api/auth/login", "10.0.0.1");
+        MockHttpServletResponse stillAllowed = send(disabled, "/api/auth/login", "10.0.0.1");
+
+        assertNull(other.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals(200, stillAllowed.getStatus());
+    }
+
+    @Test
+    void invalidPolicy_FailsFast() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitFilter(true, new RateLimiter(100), "/api/auth/login=5"));
+    }
+
+    private MockHttpServletResponse send(RateLimitFilter filter, String path, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_PARTICIPANT")));
+    }
+}
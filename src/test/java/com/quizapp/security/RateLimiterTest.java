@@ -0,0 +1,111 @@
+package com.quizapp.security;
+
+import com.quizapp.util.QuizMetrics;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void tryAcquire_AllowsBurstThenRefusesWithRetryAfter() {
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+
+        assertEquals(2, limiter.tryAcquire("k", 3, 3 * SECOND).remaining());
+        assertEquals(1, limiter.tryAcquire("k", 3, 3 * SECOND).remaining());
+        assertEquals(0, limiter.tryAcquire("k", 3, 3 * SECOND).remaining());
+
+        RateLimiter.Decision refused = limiter.tryAcquire("k", 3, 3 * SECOND);
+        assertFalse(refused.allowed());
+        assertEquals(SECOND, refused.retryAfterNanos());
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("k", 3, 3 * SECOND);
+        }
+
+        clock.addAndGet(SECOND);
+        assertTrue(limiter.tryAcquire("k", 3, 3 * SECOND).allowed());
+        assertFalse(limiter.tryAcquire("k", 3, 3 * SECOND).allowed());
+
+        clock.addAndGet(10 * SECOND);
+        assertEquals(2, limiter.tryAcquire("k", 3, 3 * SECOND).remaining());
+    }
+
+    @Test
+    void tryAcquire_KeysAreIndependent() {
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+        limiter.tryAcquire("a", 1, SECOND);
+
+        assertFalse(limiter.tryAcquire("a", 1, SECOND).allowed());
+        assertTrue(limiter.tryAcquire("b", 1, SECOND).allowed());
+    }
+
+    @Test
+    void tryAcquire_EvictsFullBucketsWhenAtCapacity() {
+        RateLimiter limiter = new RateLimiter(2, clock::get);
+        limiter.tryAcquire("a", 1, SECOND);
+        limiter.tryAcquire("b", 1, SECOND);
+
+        clock.addAndGet(2 * SECOND);
+        assertTrue(limiter.tryAcquire("c", 1, SECOND).allowed());
+        assertEquals(1, limiter.size());
+        assertFalse(limiter.tryAcquire("c", 1, SECOND).allowed());
+    }
+
+    @Test
+    void tryAcquire_AtCapacityWithNoFullBuckets_EvictsTheNearestToFullAndTracksTheNewKey() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            RateLimiter limiter = new RateLimiter(2, clock::get);
+            limiter.tryAcquire("a", 1, SECOND);
+            clock.addAndGet(SECOND / 2);
+            limiter.tryAcquire("b", 1, SECOND);
+
+            // Both still in debt: "a" has the least left and is dropped for "c"
+            assertTrue(limiter.tryAcquire("c", 1, SECOND).allowed());
+            assertEquals(2, limiter.size());
+            assertFalse(limiter.tryAcquire("c", 1, SECOND).allowed());
+            assertFalse(limiter.tryAcquire("b", 1, SECOND).allowed());
+            assertEquals(1.0, registry.get(QuizMetrics.RATE_LIMIT_EVICTED).counter().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    void tryAcquire_NeverOverGrantsUnderContention() throws Exception {
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("hot", 1000, 60 * SECOND).allowed()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, granted.get());
+    }
+}
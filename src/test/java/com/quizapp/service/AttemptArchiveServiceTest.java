@@ -0,0 +1,111 @@
+package com.quizapp.service;
+
+import com.quizapp.util.AnswerSheetCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttemptArchiveServiceTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AttemptArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE quiz_attempts (id BIGINT PRIMARY KEY, user_id BIGINT, quiz_id BIGINT, " +
+                "score DOUBLE, earned_points INT, total_points INT, attempted_at TIMESTAMP, completed_at TIMESTAMP, " +
+                "ability_estimate DOUBLE)");
+        jdbcTemplate.execute("CREATE TABLE attempt_answers (attempt_id BIGINT, question_id BIGINT, " +
+                "selected_option_index INT, PRIMARY KEY (attempt_id, question_id))");
+        jdbcTemplate.execute("CREATE TABLE quiz_attempts_archive (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                "quiz_id BIGINT NOT NULL, score DOUBLE, earned_points INT, total_points INT, attempted_at TIMESTAMP, " +
+                "completed_at TIMESTAMP, archived_at TIMESTAMP NOT NULL, answers VARBINARY(65535), adaptive BOOLEAN)");
+
+        archiveService = new AttemptArchiveService();
+        ReflectionTestUtils.setField(archiveService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(archiveService, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(database)));
+        ReflectionTestUtils.setField(archiveService, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private void attempt(long id, LocalDateTime attemptedAt, LocalDateTime completedAt) {
+        jdbcTemplate.update("INSERT INTO quiz_attempts VALUES (?, 1, 10, ?, 1, 2, ?, ?, NULL)",
+                id, completedAt != null ? 50.0 : null, attemptedAt, completedAt);
+    }
+
+    @Test
+    void archiveCompletedBefore_MovesOldCompletedAttemptsInBatches() {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        attempt(1, old, old.plusMinutes(10));
+        attempt(2, old.plusDays(1), old.plusDays(1).plusMinutes(10));
+        attempt(3, old.plusDays(2), old.plusDays(2).plusMinutes(10));
+        attempt(4, old.plusDays(3), null); // never finished
+        attempt(5, LocalDateTime.now().minusDays(1), LocalDateTime.now().minusDays(1));
+        jdbcTemplate.update("INSERT INTO attempt_answers VALUES (1, 100, 1), (1, 101, 0), (5, 100, 2)");
+
+        int archived = archiveService.archiveCompletedBefore(LocalDateTime.now().minusYears(1));
+
+        assertEquals(3, archived);
+        assertEquals(List.of(4L, 5L),
+                jdbcTemplate.queryForList("SELECT id FROM quiz_attempts ORDER BY id", Long.class));
+        assertEquals(List.of(5L),
+                jdbcTemplate.queryForList("SELECT DISTINCT attempt_id FROM attempt_answers", Long.class));
+        assertEquals(List.of(1L, 2L, 3L),
+                jdbcTemplate.queryForList("SELECT id FROM quiz_attempts_archive ORDER BY id", Long.class));
+        byte[] answers = jdbcTemplate.queryForObject(
+                "SELECT answers FROM quiz_attempts_archive WHERE id = 1", byte[].class);
+        assertEquals(Map.of(100L, 1, 101L, 0), AnswerSheetCodec.decode(answers));
+        assertEquals(50.0, jdbcTemplate.queryForObject(
+                "SELECT score FROM quiz_attempts_archive WHERE id = 2", Double.class));
+    }
+
+    @Test
+    void archiveCompletedBefore_KeepsTheAdaptiveFlag() {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        attempt(1, old, old.plusMinutes(10));
+        attempt(2, old.plusDays(1), old.plusDays(1).plusMinutes(10));
+        jdbcTemplate.update("UPDATE quiz_attempts SET ability_estimate = 0.7 WHERE id = 2");
+
+        archiveService.archiveCompletedBefore(LocalDateTime.now().minusYears(1));
+
+        assertEquals(List.of(false, true), jdbcTemplate.queryForList(
+                "SELECT adaptive FROM quiz_attempts_archive ORDER BY id", Boolean.class));
+    }
+
+    @Test
+    void archiveCompletedBefore_StopsAfterMaxBatches() {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        for (long id = 1; id <= 5; id++) {
+            attempt(id, old.plusHours(id), old.plusHours(id));
+        }
+        ReflectionTestUtils.setField(archiveService, "maxBatchesPerRun", 2);
+
+        assertEquals(4, archiveService.archiveCompletedBefore(LocalDateTime.now().minusYears(1)));
+        assertEquals(1, archiveService.archiveCompletedBefore(LocalDateTime.now().minusYears(1)));
+        assertEquals(0, archiveService.archiveCompletedBefore(LocalDateTime.now().minusYears(1)));
+    }
+}
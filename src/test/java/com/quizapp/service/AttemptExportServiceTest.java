@@ -0,0 +1,128 @@
+package com.quizapp.service;
+
+import com.quizapp.util.AnswerSheetCodec;
+import com.quizapp.util.ExportWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttemptExportServiceTest {
+
+    private EmbeddedDatabase database;
+    private AttemptExportService exportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), email VARCHAR(100))");
+            statement.execute("CREATE TABLE quizzes (id BIGINT PRIMARY KEY, title VARCHAR(255))");
+            statement.execute("CREATE TABLE questions (id BIGINT PRIMARY KEY, correct_answer_index INT)");
+            statement.execute("CREATE TABLE quiz_attempts (id BIGINT PRIMARY KEY, user_id BIGINT, quiz_id BIGINT, " +
+                    "score DOUBLE, earned_points INT, total_points INT, attempted_at TIMESTAMP, completed_at TIMESTAMP)");
+            statement.execute("CREATE TABLE attempt_answers (attempt_id BIGINT, question_id BIGINT, selected_option_index INT)");
+            statement.execute("CREATE TABLE quiz_attempts_archive (id BIGINT PRIMARY KEY, user_id BIGINT, quiz_id BIGINT, " +
+                    "score DOUBLE, earned_points INT, total_points INT, attempted_at TIMESTAMP, completed_at TIMESTAMP, " +
+                    "archived_at TIMESTAMP, answers VARBINARY(1000))");
+            statement.execute("INSERT INTO users VALUES (1, 'alice', 'alice@example.com'), (2, 'bob', 'bob@example.com')");
+            statement.execute("INSERT INTO quizzes VALUES (10, 'Java Basics'), (11, 'SQL')");
+            statement.execute("INSERT INTO questions VALUES (100, 1), (101, 0)");
+            statement.execute("INSERT INTO quiz_attempts VALUES " +
+                    "(1, 1, 10, 50.0, 1, 2, TIMESTAMP '2024-01-01 10:00:00', TIMESTAMP '2024-01-01 10:10:00'), " +
+                    "(2, 1, 10, 100.0, 2, 2, TIMESTAMP '2024-01-02 10:00:00', TIMESTAMP '2024-01-02 10:10:00'), " +
+                    "(3, 2, 10, NULL, NULL, NULL, TIMESTAMP '2024-01-03 10:00:00', NULL), " +
+                    "(4, 2, 11, 80.0, 4, 5, TIMESTAMP '2024-01-03 10:00:00', TIMESTAMP '2024-01-03 10:20:00')");
+            statement.execute("INSERT INTO attempt_answers VALUES (1, 100, 1), (1, 101, 1), (2, 100, 1), (2, 101, 0)");
+        }
+
+        exportService = new AttemptExportService();
+        ReflectionTestUtils.setField(exportService, "dataSource", database);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void exportAttempts_Csv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportAttempts(10L, ExportWriter.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length); // Header + 3 attempts
+        assertTrue(lines[0].startsWith("attemptId,username,email,score"));
+        assertTrue(lines[1].startsWith("1,alice,alice@example.com,50.0"));
+        assertTrue(lines[3].startsWith("3,bob,bob@example.com,,"));
+    }
+
+    @Test
+    void exportAnswers_Ndjson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportAnswers(10L, ExportWriter.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("{\"attemptId\":1,\"username\":\"alice\",\"questionId\":100,\"selectedOption\":1,\"correctOption\":1}", lines[0]);
+    }
+
+    @Test
+    void exportGradebook_GroupsByUserAndQuiz() {
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        ByteArrayOutputStream single = new ByteArrayOutputStream();
+
+        exportService.exportGradebook(null, ExportWriter.Format.CSV, all);
+        exportService.exportGradebook(10L, ExportWriter.Format.CSV, single);
+
+        String[] lines = all.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length); // alice/10 and bob/11; bob's unfinished attempt is skipped
+        assertTrue(lines[1].startsWith("1,alice,10,Java Basics,2,100.0"));
+        assertEquals(2, single.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    void exports_IncludeArchivedAttempts() throws Exception {
+        try (Connection connection = database.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO quiz_attempts_archive VALUES " +
+                     "(0, 2, 10, 100.0, 2, 2, TIMESTAMP '2022-05-01 10:00:00', TIMESTAMP '2022-05-01 10:05:00', " +
+                     "TIMESTAMP '2023-06-01 04:00:00', ?)")) {
+            insert.setBytes(1, AnswerSheetCodec.encode(Map.of(100L, 1, 101L, 0)));
+            insert.executeUpdate();
+        }
+        ByteArrayOutputStream attempts = new ByteArrayOutputStream();
+        ByteArrayOutputStream answers = new ByteArrayOutputStream();
+        ByteArrayOutputStream gradebook = new ByteArrayOutputStream();
+
+        exportService.exportAttempts(10L, ExportWriter.Format.CSV, attempts);
+        exportService.exportAnswers(10L, ExportWriter.Format.CSV, answers);
+        exportService.exportGradebook(10L, ExportWriter.Format.CSV, gradebook);
+
+        String[] attemptLines = attempts.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, attemptLines.length);
+        assertTrue(attemptLines[1].startsWith("0,bob,bob@example.com,100.0"));
+        String[] answerLines = answers.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(7, answerLines.length); // Header + 2 archived + 4 live
+        assertEquals("0,bob,100,1,1", answerLines[1].trim());
+        assertEquals("0,bob,101,0,0", answerLines[2].trim());
+        assertTrue(gradebook.toString(StandardCharsets.UTF_8).contains("2,bob,10,Java Basics,1,100.0"));
+    }
+}
@@ -3,17 +3,23 @@ package com.quizapp.service;
 import com.quizapp.entity.DifficultyLevel;
 import com.quizapp.entity.Question;
 import com.quizapp.entity.Quiz;
+import com.quizapp.util.BackgroundWork;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,15 +37,24 @@ class BulkImportServiceTest {
     @InjectMocks
     private BulkImportService bulkImportService;
 
+    private BackgroundExecutor backgroundExecutor;
+
     private Quiz quiz;
 
     @BeforeEach
     void setUp() {
+        backgroundExecutor = new BackgroundExecutor(1, 1);
+        ReflectionTestUtils.setField(bulkImportService, "backgroundExecutor", backgroundExecutor);
         quiz = new Quiz();
         quiz.setId(1L);
         quiz.setTitle("Test Quiz");
     }
 
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        backgroundExecutor.shutdown();
+    }
+
     @Test
     void importQuestionsFromCSV_Success() throws Exception {
         // Arrange
@@ -94,6 +109,47 @@ class BulkImportServiceTest {
 
 
 
+    @Test
+    void importQuestionsFromCSV_RunsAsBackgroundWorkOffTheRequestThread() throws Exception {
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(
+                "header\nWhat is 2+2?,3|4|5|6,1,EASY,Basic math,5".getBytes()));
+        List<String> threads = new ArrayList<>();
+        when(questionService.createQuestion(any(Question.class))).thenAnswer(call -> {
+            threads.add(Thread.currentThread().getName() + ":" + BackgroundWork.isActive());
+            return new Question();
+        });
+
+        BulkImportService.BulkImportResult result = bulkImportService.importQuestionsFromCSV(file, quiz);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(List.of("background-1:true"), threads);
+        assertFalse(BackgroundWork.isActive());
+    }
+
+    @Test
+    void importQuestionsFromCSV_QueueFull_ReportsErrorWithoutImporting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        backgroundExecutor.execute("busy", () -> awaitQuietly(release));
+        backgroundExecutor.execute("queued", () -> { });
+        try {
+            BulkImportService.BulkImportResult result = bulkImportService.importQuestionsFromCSV(file, quiz);
+
+            assertEquals(0, result.getSuccessCount());
+            assertTrue(result.getErrors().get(0).contains("try the import again"));
+            verifyNoInteractions(questionService, file);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // REMOVE tests for private parseQuestionFromCSVLine method
     // We can't test private methods directly
 
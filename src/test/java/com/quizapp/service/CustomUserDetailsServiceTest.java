@@ -25,6 +25,9 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -76,7 +79,6 @@ class CustomUserDetailsServiceTest {
         // Arrange
         user.setEnabled(false);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
 
         // Act
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("testuser");
@@ -84,7 +86,8 @@ class CustomUserDetailsServiceTest {
         // Assert
         assertNotNull(userDetails);
         assertTrue(userDetails.isEnabled());
-        verify(userRepository, times(1)).save(user);
+        verify(loginAttemptService).enableAccount("testuser");
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -108,70 +111,11 @@ class CustomUserDetailsServiceTest {
         user.setAccountLocked(true);
         user.setLockTime(LocalDateTime.now()); // Just locked
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(loginAttemptService.isLocked(user)).thenReturn(true);
 
         // Act & Assert
         assertThrows(UsernameNotFoundException.class, () -> {
             customUserDetailsService.loadUserByUsername("testuser");
         });
     }
-
-    @Test
-    void increaseFailedAttempts() {
-        // Arrange
-        user.setLoginAttempts(2);
-        when(userRepository.save(any(User.class))).thenReturn(user);
-
-        // Act
-        customUserDetailsService.increaseFailedAttempts(user);
-
-        // Assert
-        assertEquals(3, user.getLoginAttempts());
-        verify(userRepository, times(1)).save(user);
-    }
-
-    @Test
-    void increaseFailedAttempts_LockAccount() {
-        // Arrange
-        user.setLoginAttempts(4);
-        when(userRepository.save(any(User.class))).thenReturn(user);
-
-        // Act
-        customUserDetailsService.increaseFailedAttempts(user);
-
-        // Assert
-        assertTrue(user.getAccountLocked());
-        assertNotNull(user.getLockTime());
-        verify(userRepository, times(1)).save(user);
-    }
-
-    @Test
-    void resetFailedAttempts() {
-        // Arrange
-        user.setLoginAttempts(3);
-        user.setAccountLocked(true);
-        user.setLockTime(LocalDateTime.now());
-
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
-
-        // Act
-        customUserDetailsService.resetFailedAttempts("testuser");
-
-        // Assert
-        assertEquals(0, user.getLoginAttempts());
-        assertFalse(user.getAccountLocked());
-        assertNull(user.getLockTime());
-        verify(userRepository, times(1)).save(user);
-    }
-
-    @Test
-    void resetFailedAttempts_UserNotFound() {
-        // Arrange
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThrows(UsernameNotFoundException.class, () -> {
-            customUserDetailsService.resetFailedAttempts("nonexistent");
-        });
-    }
-}
\ No newline at end of file
+}
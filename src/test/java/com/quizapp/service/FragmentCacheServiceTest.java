@@ -0,0 +1,88 @@
+package com.quizapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FragmentCacheServiceTest {
+
+    @Mock
+    private TemplateEngine templateEngine;
+
+    @InjectMocks
+    private FragmentCacheService fragmentCacheService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fragmentCacheService, "enabled", true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("GET", "/dashboard"), new MockHttpServletResponse()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void render_ReusesHtmlForSameVersion() {
+        when(templateEngine.process(eq("quiz/list"), eq(Set.of("catalogCards")), any(IContext.class)))
+                .thenReturn("<div>v1</div>");
+        AtomicInteger modelBuilds = new AtomicInteger();
+
+        String first = fragmentCacheService.render("quiz/list", "catalogCards", "v1",
+                () -> { modelBuilds.incrementAndGet(); return Map.of("quizzes", List.of()); });
+        String second = fragmentCacheService.render("quiz/list", "catalogCards", "v1",
+                () -> { modelBuilds.incrementAndGet(); return Map.of("quizzes", List.of()); });
+
+        assertEquals("<div>v1</div>", first);
+        assertSame(first, second);
+        assertEquals(1, modelBuilds.get());
+        verify(templateEngine, times(1)).process(anyString(), anySet(), any(IContext.class));
+    }
+
+    @Test
+    void render_RerendersWhenVersionChanges() {
+        when(templateEngine.process(anyString(), anySet(), any(IContext.class)))
+                .thenReturn("<div>v1</div>", "<div>v2</div>");
+
+        fragmentCacheService.render("quiz/list", "catalogCards", "v1", Map::of);
+        String updated = fragmentCacheService.render("quiz/list", "catalogCards", "v2", Map::of);
+
+        assertEquals("<div>v2</div>", updated);
+        verify(templateEngine, times(2)).process(anyString(), anySet(), any(IContext.class));
+    }
+
+    @Test
+    void render_ReturnsNullWhenDisabledOrOutsideRequest() {
+        ReflectionTestUtils.setField(fragmentCacheService, "enabled", false);
+        assertNull(fragmentCacheService.render("quiz/list", "catalogCards", "v1", Map::of));
+
+        ReflectionTestUtils.setField(fragmentCacheService, "enabled", true);
+        RequestContextHolder.resetRequestAttributes();
+        assertNull(fragmentCacheService.render("quiz/list", "catalogCards", "v1", Map::of));
+
+        verifyNoInteractions(templateEngine);
+    }
+}
@@ -0,0 +1,91 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.QuestionStatistics;
+import com.quizapp.repository.ArchivedAttemptRepository;
+import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuestionStatisticsRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.util.AnswerSheetCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAnalysisServiceTest {
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionStatisticsRepository questionStatisticsRepository;
+
+    @InjectMocks
+    private ItemAnalysisService itemAnalysisService;
+
+    private static QuestionRepository.ItemKey itemKey(long id, int correctAnswerIndex, int optionCount) {
+        return new QuestionRepository.ItemKey() {
+            public Long getId() { return id; }
+            public Integer getCorrectAnswerIndex() { return correctAnswerIndex; }
+            public Integer getPoints() { return 1; }
+            public Integer getOptionCount() { return optionCount; }
+        };
+    }
+
+    @Test
+    void analyseQuiz_StreamsAnswersAndPersistsStats() {
+        when(questionRepository.findItemKeysByQuizId(1L)).thenReturn(List.of(itemKey(10L, 2, 3)));
+        when(quizAttemptRepository.countCompletedByQuizId(1L)).thenReturn(3L);
+        when(quizAttemptRepository.streamAnswersByQuizId(1L)).thenReturn(Stream.of(
+                new Object[]{100L, 10L, 2},
+                new Object[]{101L, 10L, 0},
+                new Object[]{102L, null, null}));
+        when(questionStatisticsRepository.findByQuizId(1L)).thenReturn(Collections.emptyList());
+        when(questionStatisticsRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<QuestionStatistics> stats = itemAnalysisService.analyseQuiz(1L);
+
+        assertEquals(1, stats.size());
+        QuestionStatistics row = stats.get(0);
+        assertEquals(10L, row.getQuestionId());
+        assertEquals(3, row.getAttemptCount());
+        assertEquals(1, row.getCorrectCount());
+        assertEquals(1, row.getUnansweredCount());
+        assertEquals("1,0,1", row.getOptionCounts());
+        assertEquals(1.0 / 3, row.getDifficulty(), 1e-9);
+    }
+
+    @Test
+    void analyseQuiz_IncludesArchivedAnswerSheets() {
+        when(questionRepository.findItemKeysByQuizId(1L)).thenReturn(List.of(itemKey(10L, 1, 2)));
+        when(quizAttemptRepository.countCompletedByQuizId(1L)).thenReturn(1L);
+        when(archivedAttemptRepository.countByQuizId(1L)).thenReturn(2L);
+        when(archivedAttemptRepository.streamAnswerSheetsByQuizId(1L)).thenReturn(Stream.<Object[]>of(
+                new Object[]{1L, AnswerSheetCodec.encode(Map.of(10L, 1))},
+                new Object[]{2L, AnswerSheetCodec.encode(Map.of())}));
+        when(quizAttemptRepository.streamAnswersByQuizId(1L)).thenReturn(Stream.<Object[]>of(
+                new Object[]{100L, 10L, 1}));
+        when(questionStatisticsRepository.findByQuizId(1L)).thenReturn(Collections.emptyList());
+        when(questionStatisticsRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        QuestionStatistics row = itemAnalysisService.analyseQuiz(1L).get(0);
+
+        assertEquals(3, row.getAttemptCount());
+        assertEquals(2, row.getCorrectCount());
+        assertEquals(1, row.getUnansweredCount());
+    }
+}
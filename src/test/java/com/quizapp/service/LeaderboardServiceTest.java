@@ -0,0 +1,133 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.Quiz;
+import com.quizapp.entity.QuizAttempt;
+import com.quizapp.entity.User;
+import com.quizapp.repository.ArchivedAttemptRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.util.RankedScoreTree;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    private QuizAttempt attempt(long id, long userId, double score) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("user" + userId);
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setId(id);
+        attempt.setUser(user);
+        attempt.setQuiz(quiz);
+        attempt.setScore(score);
+        attempt.setCompletedAt(LocalDateTime.now());
+        return attempt;
+    }
+
+    @Test
+    void recordAttempt_KeepsBestAttemptPerUser() {
+        leaderboardService.recordAttempt(attempt(1, 10, 50.0));
+        leaderboardService.recordAttempt(attempt(2, 20, 70.0));
+        leaderboardService.recordAttempt(attempt(3, 10, 90.0));
+        leaderboardService.recordAttempt(attempt(4, 10, 40.0));
+
+        List<RankedScoreTree.Entry> top = leaderboardService.getTopEntries(1L, 10);
+
+        assertEquals(2, top.size());
+        assertEquals(3, top.get(0).getAttemptId());
+        assertEquals(1, leaderboardService.getUserRank(1L, 10L).orElseThrow());
+        assertEquals(2, leaderboardService.getUserRank(1L, 20L).orElseThrow());
+        assertTrue(leaderboardService.getUserRank(1L, 30L).isEmpty());
+    }
+
+    @Test
+    void recordAttempt_IgnoresIncompleteAttempt() {
+        QuizAttempt incomplete = attempt(1, 10, 50.0);
+        incomplete.setCompletedAt(null);
+
+        leaderboardService.recordAttempt(incomplete);
+
+        assertEquals(0, leaderboardService.getParticipantCount(1L));
+    }
+
+    @Test
+    void rebuild_LoadsFromStreamingQuery() {
+        LocalDateTime now = LocalDateTime.now();
+        when(quizAttemptRepository.streamCompletedScores()).thenReturn(Stream.of(
+                new Object[]{1L, 10L, "alice", 1L, 80.0, now},
+                new Object[]{1L, 20L, "bob", 2L, 95.0, now},
+                new Object[]{2L, 10L, "alice", 3L, 60.0, now}));
+
+        leaderboardService.rebuild();
+
+        assertEquals(2, leaderboardService.getParticipantCount(1L));
+        assertEquals("bob", leaderboardService.getTopEntries(1L, 1).get(0).getUsername());
+        assertEquals(1, leaderboardService.getUserRank(2L, 10L).orElseThrow());
+    }
+
+    @Test
+    void rebuild_IncludesArchivedAttempts() {
+        LocalDateTime now = LocalDateTime.now();
+        when(archivedAttemptRepository.streamCompletedScores()).thenReturn(Stream.<Object[]>of(
+                new Object[]{1L, 10L, "alice", 1L, 90.0, now.minusYears(2)}));
+        when(quizAttemptRepository.streamCompletedScores()).thenReturn(Stream.<Object[]>of(
+                new Object[]{1L, 10L, "alice", 5L, 90.0, now},
+                new Object[]{1L, 20L, "bob", 6L, 70.0, now}));
+
+        leaderboardService.rebuild();
+
+        assertEquals(2, leaderboardService.getParticipantCount(1L));
+        // The archived attempt reached the score first, so it keeps the place
+        assertEquals(1L, leaderboardService.getTopEntries(1L, 1).get(0).getAttemptId());
+    }
+
+    @Test
+    void rebuild_FailureKeepsTheCurrentBoards() {
+        leaderboardService.recordAttempt(attempt(1, 10, 50.0));
+        LocalDateTime now = LocalDateTime.now();
+        when(quizAttemptRepository.streamCompletedScores()).thenReturn(Stream.<Object[]>of(
+                new Object[]{1L, 20L, "bob", 2L, 70.0, now},
+                new Object[]{1L, 30L, "carol", 3L, null, now}));
+
+        leaderboardService.rebuild();
+
+        assertEquals(1, leaderboardService.getParticipantCount(1L));
+        assertEquals(1L, leaderboardService.getTopEntries(1L, 1).get(0).getAttemptId());
+    }
+
+    @Test
+    void rebuild_KeepsAttemptsRecordedWhileItRuns() {
+        LocalDateTime now = LocalDateTime.now();
+        when(quizAttemptRepository.streamCompletedScores()).thenReturn(Stream.<Object[]>of(
+                        new Object[]{1L, 10L, "user10", 1L, 80.0, now})
+                .peek(row -> leaderboardService.recordAttempt(attempt(2, 20, 60.0))));
+
+        leaderboardService.rebuild();
+
+        assertEquals(2, leaderboardService.getParticipantCount(1L));
+        assertEquals(2, leaderboardService.getUserRank(1L, 20L).orElseThrow());
+    }
+}
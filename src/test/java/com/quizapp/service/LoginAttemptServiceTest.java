@@ -0,0 +1,188 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptServiceTest {
+
+    @Mock
+    private LoginStateWriter loginStateWriter;
+
+    private MutableClock clock;
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-03-02T09:00:00Z"));
+        loginAttemptService = new LoginAttemptService(loginStateWriter, clock, 5, 20,
+                Duration.ofMinutes(15), Duration.ofHours(24));
+    }
+
+    @Test
+    void recordFailure_LocksOnThresholdAndPersistsOnce() {
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.recordFailure("alice", "10.0.0.1");
+        }
+        assertFalse(loginAttemptService.isLockedInMemory("alice"));
+        verifyNoInteractions(loginStateWriter);
+
+        loginAttemptService.recordFailure("alice", "10.0.0.1");
+        loginAttemptService.recordFailure("alice", "10.0.0.1");
+
+        assertTrue(loginAttemptService.isLockedInMemory("alice"));
+        verify(loginStateWriter, times(1)).lock(eq("alice"), eq(5), any(LocalDateTime.class));
+    }
+
+    @Test
+    void recordFailure_OldFailuresSlideOutOfWindow() {
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.recordFailure("alice", null);
+        }
+        clock.advance(Duration.ofMinutes(16));
+        loginAttemptService.recordFailure("alice", null);
+
+        assertFalse(loginAttemptService.isLockedInMemory("alice"));
+        verify(loginStateWriter, never()).lock(any(), anyInt(), any());
+    }
+
+    @Test
+    void recordSuccess_ResetsFailuresWithoutWriting() {
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.recordFailure("alice", null);
+        }
+        loginAttemptService.recordSuccess("alice");
+        loginAttemptService.recordFailure("alice", null);
+
+        assertFalse(loginAttemptService.isLockedInMemory("alice"));
+        verifyNoInteractions(loginStateWriter);
+    }
+
+    @Test
+    void isAddressBlocked_CountsAcrossUsernames() {
+        for (int i = 0; i < 20; i++) {
+            loginAttemptService.recordFailure("user" + i, "203.0.113.9");
+        }
+
+        assertTrue(loginAttemptService.isAddressBlocked("203.0.113.9"));
+        assertFalse(loginAttemptService.isAddressBlocked("203.0.113.10"));
+    }
+
+    @Test
+    void isAddressBlocked_FailuresThatEndInALoginDoNotCount() {
+        // A room behind one address: everyone mistypes once, a few minutes apart, then logs in
+        for (int i = 0; i < 30; i++) {
+            loginAttemptService.recordFailure("student" + i, "203.0.113.9");
+            clock.advance(Duration.ofSeconds(20));
+            loginAttemptService.recordSuccess("student" + i, "203.0.113.9");
+        }
+        assertFalse(loginAttemptService.isAddressBlocked("203.0.113.9"));
+
+        for (int i = 0; i < 20; i++) {
+            loginAttemptService.recordFailure("guess" + i, "203.0.113.9");
+        }
+        assertTrue(loginAttemptService.isAddressBlocked("203.0.113.9"));
+    }
+
+    @Test
+    void isLocked_ClearsExpiredPersistedLockOnce() {
+        User user = new User();
+        user.setUsername("bob");
+        user.setAccountLocked(true);
+        user.setLockTime(LocalDateTime.now(clock).minusHours(25));
+
+        assertFalse(loginAttemptService.isLocked(user));
+        assertFalse(loginAttemptService.isLocked(user));
+        verify(loginStateWriter, times(1)).unlock("bob");
+
+        user.setLockTime(LocalDateTime.now(clock).minusHours(1));
+        assertTrue(loginAttemptService.isLocked(user));
+    }
+
+    @Test
+    void purge_DropsIdleWindows() {
+        loginAttemptService.recordFailure("alice", "10.0.0.1");
+        assertEquals(2, loginAttemptService.trackedKeys());
+
+        clock.advance(Duration.ofMinutes(20));
+        loginAttemptService.purge();
+
+        assertEquals(0, loginAttemptService.trackedKeys());
+    }
+
+    @Test
+    void slidingWindow_CountsConcurrentFailuresExactly() throws Exception {
+        LoginAttemptService.SlidingWindow window = new LoginAttemptService.SlidingWindow(15, 60000);
+        long now = clock.millis();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    window.record(now);
+                }
+            });
+        }
+        tasks.forEach(pool::submit);
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8000, window.count(now));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
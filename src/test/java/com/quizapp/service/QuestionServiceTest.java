@@ -1,10 +1,12 @@
 package com.quizapp.service;
 
+import com.quizapp.cache.InvalidationBus;
 import com.quizapp.entity.DifficultyLevel;
 import com.quizapp.entity.Question;
 import com.quizapp.entity.Quiz;
 import com.quizapp.entity.Tag;
 import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuizRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +29,12 @@ class QuestionServiceTest {
     @Mock
     private TagService tagService;
 
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
     @InjectMocks
     private QuestionService questionService;
 
@@ -159,6 +167,17 @@ class QuestionServiceTest {
         verify(questionRepository, times(1)).save(question);
     }
 
+    @Test
+    void updateQuestion_BumpsQuizVersion() {
+        question.setQuiz(quiz);
+        when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
+        when(questionRepository.save(any(Question.class))).thenReturn(question);
+
+        questionService.updateQuestion(1L, question);
+
+        verify(quizRepository).touch(eq(1L), any());
+    }
+
     @Test
     void updateQuestion_NotFound() {
         // Arrange
@@ -1,7 +1,14 @@
 package com.quizapp.service;
 
 import com.quizapp.entity.*;
+import com.quizapp.jobs.JobShard;
 import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.util.AbilityEstimator;
+import com.quizapp.util.AttemptShuffler;
+import com.quizapp.util.QuizMetrics;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,7 +33,19 @@ class QuizAttemptServiceTest {
     private QuizService quizService;
 
     @Mock
-    private EmailService emailService;
+    private QuizResultNotifier quizResultNotifier;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private ScoreDistributionService scoreDistributionService;
+
+    @Mock
+    private AdaptiveTestingService adaptiveTestingService;
+
+    @Mock
+    private QuestionService questionService;
 
     @InjectMocks
     private QuizAttemptService quizAttemptService;
@@ -102,7 +121,6 @@ class QuizAttemptServiceTest {
 
         when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
         when(quizAttemptRepository.save(any(QuizAttempt.class))).thenReturn(quizAttempt);
-        doNothing().when(emailService).sendQuizResultEmail(any(QuizAttempt.class));
 
         // Act
         QuizAttempt submitted = quizAttemptService.submitQuiz(1L, answers);
@@ -114,7 +132,7 @@ class QuizAttemptServiceTest {
         assertEquals(10, submitted.getEarnedPoints()); // All points earned
         assertEquals(10, submitted.getTotalPoints()); // Total points
         verify(quizAttemptRepository, times(1)).save(quizAttempt);
-        verify(emailService, times(1)).sendQuizResultEmail(quizAttempt);
+        verify(quizResultNotifier, times(1)).sendResultAfterCommit(1L);
     }
 
     @Test
@@ -130,6 +148,65 @@ class QuizAttemptServiceTest {
         assertTrue(exception.getMessage().contains("not found"));
     }
 
+    @Test
+    void submitQuiz_AlreadySubmitted_KeepsTheFirstGrading() {
+        quizAttempt.setCompletedAt(LocalDateTime.now().minusMinutes(1));
+        quizAttempt.setScore(0.0);
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
+
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> quizAttemptService.submitQuiz(1L, Map.of(1L, 1)));
+
+        assertTrue(exception.getMessage().contains("already submitted"));
+        assertEquals(0.0, quizAttempt.getScore());
+        verify(quizAttemptRepository, never()).save(any());
+        verify(leaderboardService, never()).recordAttempt(any());
+        verify(scoreDistributionService, never()).recordAttempt(any());
+    }
+
+    @Test
+    void submitQuiz_FailedSave_IsStillTimed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
+            when(quizAttemptRepository.save(any(QuizAttempt.class))).thenThrow(new RuntimeException("connection lost"));
+
+            assertThrows(RuntimeException.class, () -> quizAttemptService.submitQuiz(1L, new HashMap<>()));
+
+            Timer timer = registry.find(QuizMetrics.ATTEMPT_SUBMIT).tag("outcome", "error").timer();
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+        } finally {
+            Metrics.removeRegistry(registry);
+            Metrics.globalRegistry.clear();
+        }
+    }
+
+    @Test
+    void autoSubmitExpiredBacklog_SubmitsAttemptsOlderThanTheLookback() {
+        QuizAttempt forgotten = new QuizAttempt();
+        forgotten.setId(1L);
+        forgotten.setUser(user);
+        forgotten.setQuiz(quiz);
+        forgotten.setAttemptedAt(LocalDateTime.now().minusDays(30));
+        forgotten.setExpiresAt(LocalDateTime.now().minusDays(30).plusMinutes(30));
+        forgotten.setAnswers(new HashMap<>(Map.of(1L, 1)));
+
+        when(quizAttemptRepository.findExpiredOpenAttemptsStartedBefore(any(), any(), eq(4), eq(2), any()))
+                .thenReturn(List.of(forgotten));
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(forgotten));
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(1, quizAttemptService.autoSubmitExpiredBacklog(new JobShard(2, 4)));
+
+        assertNotNull(forgotten.getCompletedAt());
+        assertEquals(100.0, forgotten.getScore());
+        verify(quizAttemptRepository).findExpiredOpenAttemptsStartedBefore(any(),
+                argThat(startedBefore -> startedBefore.isBefore(LocalDateTime.now().minusDays(6))),
+                eq(4), eq(2), argThat(page -> page.getPageSize() == 500));
+    }
+
     @Test
     void submitQuiz_ExpiredAttempt() {
         // Arrange
@@ -269,4 +346,129 @@ class QuizAttemptServiceTest {
         assertEquals(0.0, submitted.getScore()); // No answers
         assertEquals(0, submitted.getEarnedPoints()); // No points earned
     }
-}
\ No newline at end of file
+
+    @Test
+    void startQuizAttempt_AssignsShuffleSeed() {
+        // Arrange
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        QuizAttempt attempt = quizAttemptService.startQuizAttempt(user, quiz);
+
+        // Assert
+        assertNotNull(attempt.getShuffleSeed());
+    }
+
+    @Test
+    void submitQuiz_ShuffledAttempt_MapsDisplayedIndexToCanonical() {
+        // Arrange
+        quizAttempt.setShuffleSeed(12345L);
+        int displayedCorrect = AttemptShuffler.displayedOptions(quizAttempt, question).indexOf("4");
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(1L, displayedCorrect);
+
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenReturn(quizAttempt);
+
+        // Act
+        QuizAttempt submitted = quizAttemptService.submitQuiz(1L, answers);
+
+        // Assert
+        assertEquals(100.0, submitted.getScore());
+        assertEquals(1, submitted.getAnswers().get(1L)); // Stored canonically
+    }
+
+    @Test
+    void startQuizAttempt_AdaptiveQuiz_ServesFirstQuestion() {
+        // Arrange
+        quiz.setIsAdaptive(true);
+        when(adaptiveTestingService.startAttempt(1L)).thenReturn(1L);
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        QuizAttempt attempt = quizAttemptService.startQuizAttempt(user, quiz);
+
+        // Assert
+        assertTrue(attempt.isAdaptive());
+        assertEquals(0.0, attempt.getAbilityEstimate());
+        assertEquals(1L, attempt.getCurrentQuestionId());
+    }
+
+    @Test
+    void answerAdaptive_NotCurrentQuestion_Throws() {
+        // Arrange
+        quizAttempt.setAbilityEstimate(0.0);
+        quizAttempt.setCurrentQuestionId(2L);
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> quizAttemptService.answerAdaptive(1L, 1L, 0));
+        verify(adaptiveTestingService, never()).next(any());
+    }
+
+    @Test
+    void answerAdaptive_ServesNextQuestion() {
+        // Arrange
+        quizAttempt.setAbilityEstimate(0.0);
+        quizAttempt.setCurrentQuestionId(1L);
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(questionService.getQuestionById(1L)).thenReturn(Optional.of(question));
+        when(adaptiveTestingService.next(quizAttempt))
+                .thenReturn(new AdaptiveTestingService.Step(new AbilityEstimator.Estimate(0.7, 0.8), 5L));
+
+        // Act
+        QuizAttempt attempt = quizAttemptService.answerAdaptive(1L, 1L, 1);
+
+        // Assert
+        assertEquals(5L, attempt.getCurrentQuestionId());
+        assertEquals(0.7, attempt.getAbilityEstimate());
+        assertEquals(1, attempt.getAnswers().get(1L));
+        assertNull(attempt.getCompletedAt());
+    }
+
+    @Test
+    void answerAdaptive_PreciseEstimate_SubmitsAttempt() {
+        // Arrange
+        quizAttempt.setAbilityEstimate(0.0);
+        quizAttempt.setCurrentQuestionId(1L);
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(questionService.getQuestionById(1L)).thenReturn(Optional.of(question));
+        when(adaptiveTestingService.next(quizAttempt))
+                .thenReturn(new AdaptiveTestingService.Step(new AbilityEstimator.Estimate(1.1, 0.25), null));
+        when(adaptiveTestingService.score(quizAttempt)).thenReturn(72.5);
+
+        // Act
+        QuizAttempt attempt = quizAttemptService.answerAdaptive(1L, 1L, 1);
+
+        // Assert
+        assertNotNull(attempt.getCompletedAt());
+        assertEquals(72.5, attempt.getScore());
+        assertEquals(1, attempt.getAnswers().get(1L));
+        verify(leaderboardService).recordAttempt(attempt);
+    }
+
+    @Test
+    void submitQuiz_AdaptiveAttempt_GradesOpenQuestionAnswer() {
+        // Arrange
+        quizAttempt.setAbilityEstimate(0.0);
+        quizAttempt.setCurrentQuestionId(1L);
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(1L, 1);
+        answers.put(99L, 0); // Never served, ignored
+
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(quizAttempt));
+        when(quizAttemptRepository.save(any(QuizAttempt.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(questionService.getQuestionById(1L)).thenReturn(Optional.of(question));
+        when(adaptiveTestingService.score(quizAttempt)).thenReturn(64.0);
+
+        // Act
+        QuizAttempt submitted = quizAttemptService.submitQuiz(1L, answers);
+
+        // Assert
+        assertEquals(Map.of(1L, 1), submitted.getAnswers());
+        assertEquals(64.0, submitted.getScore());
+        assertNotNull(submitted.getCompletedAt());
+    }
+}
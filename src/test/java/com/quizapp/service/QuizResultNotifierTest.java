@@ -0,0 +1,105 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.QuizAttempt;
+import com.quizapp.repository.QuizAttemptRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizResultNotifierTest {
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private BackgroundExecutor backgroundExecutor;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private QuizResultNotifier quizResultNotifier;
+
+    private QuizAttempt attempt;
+
+    @BeforeEach
+    void setUp() {
+        attempt = new QuizAttempt();
+        attempt.setId(7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sendResultAfterCommit_WithoutTransaction_QueuesImmediately() {
+        runQueuedTasksInline();
+
+        quizResultNotifier.sendResultAfterCommit(7L);
+
+        verify(emailService).sendQuizResultEmail(attempt);
+    }
+
+    @Test
+    void sendResultAfterCommit_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        quizResultNotifier.sendResultAfterCommit(7L);
+
+        verifyNoInteractions(backgroundExecutor);
+
+        runQueuedTasksInline();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(emailService).sendQuizResultEmail(attempt);
+    }
+
+    @Test
+    void sendResult_EmailFailureIsContained() {
+        runInTransaction();
+        when(quizAttemptRepository.findById(7L)).thenReturn(Optional.of(attempt));
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendQuizResultEmail(attempt);
+
+        quizResultNotifier.sendResult(7L);
+
+        verify(emailService).sendQuizResultEmail(attempt);
+    }
+
+    private void runQueuedTasksInline() {
+        when(backgroundExecutor.execute(eq("quiz_result_email"), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+        runInTransaction();
+        when(quizAttemptRepository.findById(7L)).thenReturn(Optional.of(attempt));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runInTransaction() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}
@@ -1,5 +1,7 @@
 package com.quizapp.service;
 
+import com.quizapp.cache.EntityChange;
+import com.quizapp.cache.InvalidationBus;
 import com.quizapp.entity.*;
 import com.quizapp.repository.QuizRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +29,9 @@ class QuizServiceTest {
     @Mock
     private QuestionService questionService;
 
+    @Mock
+    private InvalidationBus invalidationBus;
+
     @InjectMocks
     private QuizService quizService;
 
@@ -148,6 +154,7 @@ class QuizServiceTest {
         assertEquals(45, quiz.getTimeLimit());
         assertEquals(DifficultyLevel.HARD, quiz.getDifficultyLevel());
         assertFalse(quiz.getIsPublic());
+        verify(invalidationBus).publish(EntityChange.quiz(1L));
         assertFalse(quiz.getEnabled());
         verify(quizRepository, times(1)).save(quiz);
     }
@@ -325,4 +332,31 @@ class QuizServiceTest {
         // Assert
         assertEquals(0, result.size()); // Null values should be filtered out
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCatalogVersion_CachedUntilQuizChangeEvent() {
+        QuizRepository.CatalogVersion version = mock(QuizRepository.CatalogVersion.class);
+        when(quizRepository.findCatalogVersion()).thenReturn(version);
+
+        assertSame(version, quizService.getCatalogVersion());
+        assertSame(version, quizService.getCatalogVersion());
+        verify(quizRepository, times(1)).findCatalogVersion();
+
+        quizService.onEntityChange(EntityChange.question(5L));
+        quizService.getCatalogVersion();
+        verify(quizRepository, times(2)).findCatalogVersion();
+    }
+
+    @Test
+    void getQuizLastModified_CachedPerQuizUntilChangeEvent() {
+        LocalDateTime modified = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(quizRepository.findLastModifiedById(1L)).thenReturn(Optional.of(modified));
+
+        assertEquals(Optional.of(modified), quizService.getQuizLastModified(1L));
+        assertEquals(Optional.of(modified), quizService.getQuizLastModified(1L));
+        quizService.onEntityChange(EntityChange.quiz(1L));
+        quizService.getQuizLastModified(1L);
+
+        verify(quizRepository, times(2)).findLastModifiedById(1L);
+    }
+}
@@ -0,0 +1,323 @@
+package com.quizapp.service;
+
+import com.quizapp.entity.Quiz;
+import com.quizapp.entity.QuizAttempt;
+import com.quizapp.entity.ScoreDistribution;
+import com.quizapp.repository.ArchivedAttemptRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.ScoreDistributionRepository;
+import com.quizapp.util.ScoreHistogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreDistributionServiceTest {
+
+    @Mock
+    private ScoreDistributionRepository scoreDistributionRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @InjectMocks
+    private ScoreDistributionService scoreDistributionService;
+
+    private QuizAttempt attempt(long id, long quizId, double score) {
+        return attempt(id, quizId, score, LocalDateTime.now());
+    }
+
+    private static QuizAttempt attempt(long id, long quizId, double score, LocalDateTime completedAt) {
+        Quiz quiz = new Quiz();
+        quiz.setId(quizId);
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setId(id);
+        attempt.setQuiz(quiz);
+        attempt.setScore(score);
+        attempt.setCompletedAt(completedAt);
+        return attempt;
+    }
+
+    @Test
+    void recordAttempt_UpdatesQuizDistribution() {
+        scoreDistributionService.recordAttempt(attempt(1, 1, 40.0));
+        scoreDistributionService.recordAttempt(attempt(2, 1, 80.0));
+
+        ScoreHistogram histogram = scoreDistributionService.getQuizDistribution(1L);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(50.0, histogram.percentileRank(60.0), 0.001);
+    }
+
+    @Test
+    void getCategoryDistribution_MergesQuizzes() {
+        scoreDistributionService.recordAttempt(attempt(1, 1, 40.0));
+        scoreDistributionService.recordAttempt(attempt(2, 2, 80.0));
+        scoreDistributionService.recordAttempt(attempt(3, 3, 90.0));
+        when(quizRepository.findIdsByCategoryId(5L)).thenReturn(Arrays.asList(1L, 2L));
+
+        ScoreHistogram histogram = scoreDistributionService.getCategoryDistribution(5L);
+
+        assertEquals(2, histogram.getCount());
+    }
+
+    @Test
+    void flush_FoldsAttemptsPastTheWatermarkIntoStoredRow() {
+        Database db = new Database();
+        db.row(1L, List.of(10.0), AGO.minusMinutes(30), 5L);
+        db.attempt(1L, 4L, AGO.minusMinutes(40), 20.0);
+        db.attempt(1L, 9L, AGO.minusMinutes(20), 70.0);
+        ScoreDistributionService node = db.node();
+
+        node.recordAttempt(attempt(9, 1, 70.0, AGO.minusMinutes(20)));
+        node.flush();
+
+        ScoreDistribution row = db.rows.get(1L);
+        assertEquals(2L, row.getAttemptCount());
+        assertEquals(9L, row.getLastAttemptId());
+        assertEquals(AGO.minusMinutes(20), row.getLastCompletedAt());
+        assertEquals(2, node.getQuizDistribution(1L).getCount());
+
+        // Nothing unfolded, so a second flush does not touch the row
+        node.flush();
+        assertEquals(1, db.saves);
+    }
+
+    @Test
+    void flush_TwoNodesCountEveryAttemptOnce() {
+        Database db = new Database();
+        ScoreDistributionService nodeA = db.node();
+        ScoreDistributionService nodeB = db.node();
+        nodeA.load();
+        nodeB.load();
+
+        // Each node grades some attempts; node B restarts and catches up on all of them
+        db.attempt(1L, 1L, AGO.minusMinutes(10), 40.0);
+        nodeA.recordAttempt(attempt(1, 1, 40.0, AGO.minusMinutes(10)));
+        db.attempt(1L, 2L, AGO.minusMinutes(9), 60.0);
+        nodeB.recordAttempt(attempt(2, 1, 60.0, AGO.minusMinutes(9)));
+        nodeB.load();
+
+        nodeA.flush();
+        nodeB.flush();
+        nodeA.flush();
+
+        assertEquals(2L, db.rows.get(1L).getAttemptCount());
+        assertEquals(2, nodeA.getQuizDistribution(1L).getCount());
+        assertEquals(2, nodeB.getQuizDistribution(1L).getCount());
+    }
+
+    @Test
+    void flush_LowerIdCommittedLateIsStillFolded() {
+        Database db = new Database();
+        ScoreDistributionService node = db.node();
+
+        // Attempt 7 started first but is graded after attempt 8 was folded
+        db.attempt(1L, 8L, AGO.minusMinutes(10), 90.0);
+        node.recordAttempt(attempt(8, 1, 90.0, AGO.minusMinutes(10)));
+        node.flush();
+        db.attempt(1L, 7L, AGO.minusMinutes(5), 30.0);
+        node.recordAttempt(attempt(7, 1, 30.0, AGO.minusMinutes(5)));
+        node.flush();
+
+        assertEquals(2L, db.rows.get(1L).getAttemptCount());
+        assertEquals(2, node.getQuizDistribution(1L).getCount());
+    }
+
+    @Test
+    void flush_LeavesRecentAttemptsForALaterFold() {
+        Database db = new Database();
+        ScoreDistributionService node = db.node();
+
+        LocalDateTime justNow = LocalDateTime.now();
+        db.attempt(1L, 3L, justNow, 55.0);
+        node.recordAttempt(attempt(3, 1, 55.0, justNow));
+        node.flush();
+
+        assertEquals(0L, db.rows.get(1L).getAttemptCount());
+        // Still in this node's view, and still waiting to be folded
+        assertEquals(1, node.getQuizDistribution(1L).getCount());
+        ReflectionTestUtils.setField(node, "foldDelay", Duration.ZERO);
+        node.flush();
+        assertEquals(1L, db.rows.get(1L).getAttemptCount());
+    }
+
+    @Test
+    void load_CatchesUpAfterWatermarkWithoutWritingIt() {
+        Database db = new Database();
+        db.row(1L, List.of(50.0), AGO.minusMinutes(30), 10L);
+        db.attempt(1L, 10L, AGO.minusMinutes(30), 50.0);
+        db.attempt(1L, 11L, AGO.minusMinutes(20), 60.0);
+        db.attempt(2L, 12L, AGO.minusMinutes(10), 70.0);
+        ScoreDistributionService node = db.node();
+
+        node.load();
+
+        assertEquals(2, node.getQuizDistribution(1L).getCount());
+        assertEquals(1, node.getQuizDistribution(2L).getCount());
+        assertEquals(0, db.saves);
+    }
+
+    @Test
+    void flush_RebuildsRowWithoutWatermark() {
+        Database db = new Database();
+        db.row(1L, List.of(10.0, 20.0, 30.0), null, 3L);
+        db.attempt(1L, 2L, AGO.minusMinutes(20), 20.0);
+        db.attempt(1L, 3L, AGO.minusMinutes(10), 30.0);
+        ScoreDistributionService node = db.node();
+
+        node.load();
+        assertEquals(2, node.getQuizDistribution(1L).getCount());
+        node.flush();
+
+        assertEquals(2L, db.rows.get(1L).getAttemptCount());
+        assertEquals(AGO.minusMinutes(10), db.rows.get(1L).getLastCompletedAt());
+    }
+
+    @Test
+    void flush_PicksUpRowsOtherNodesFolded() {
+        Database db = new Database();
+        ScoreDistributionService nodeA = db.node();
+        ScoreDistributionService nodeB = db.node();
+        nodeA.load();
+        nodeB.load();
+
+        db.attempt(1L, 1L, AGO.minusMinutes(10), 40.0);
+        nodeA.recordAttempt(attempt(1, 1, 40.0, AGO.minusMinutes(10)));
+        nodeA.flush();
+        assertEquals(0, nodeB.getQuizDistribution(1L).getCount());
+
+        // Node B graded nothing for the quiz, yet its next flush brings in node A's fold
+        nodeB.flush();
+        assertEquals(1, nodeB.getQuizDistribution(1L).getCount());
+        assertEquals(1, db.saves);
+    }
+
+    @Test
+    void flush_RebuildKeepsArchivedAttempts() {
+        Database db = new Database();
+        db.row(1L, List.of(10.0, 20.0), null, 2L);
+        db.archived(1L, 10.0);
+        db.archived(1L, 20.0);
+        ScoreDistributionService node = db.node();
+
+        // Every attempt of the quiz is archived, so there is nothing to catch up on
+        node.load();
+        node.flush();
+
+        assertEquals(2L, db.rows.get(1L).getAttemptCount());
+        assertNotNull(db.rows.get(1L).getLastCompletedAt());
+        assertEquals(2, node.getQuizDistribution(1L).getCount());
+    }
+
+    private static final LocalDateTime AGO = LocalDateTime.now().minusHours(1);
+
+    /** score_distributions and quiz_attempts shared by any number of nodes. */
+    private static final class Database {
+        final Map<Long, ScoreDistribution> rows = new HashMap<>();
+        final List<Object[]> attempts = new ArrayList<>();
+        final List<Object[]> archivedAttempts = new ArrayList<>();
+        int saves;
+
+        void row(long quizId, List<Double> scores, LocalDateTime lastCompletedAt, long lastAttemptId) {
+            ScoreHistogram histogram = new ScoreHistogram();
+            scores.forEach(histogram::add);
+            ScoreDistribution row = new ScoreDistribution(quizId);
+            row.setHistogram(histogram.toBytes());
+            row.setAttemptCount(histogram.getCount());
+            row.setLastCompletedAt(lastCompletedAt);
+            row.setLastAttemptId(lastAttemptId);
+            rows.put(quizId, row);
+        }
+
+        void attempt(long quizId, long id, LocalDateTime completedAt, double score) {
+            attempts.add(new Object[]{quizId, id, completedAt, score});
+        }
+
+        void archived(long quizId, double score) {
+            archivedAttempts.add(new Object[]{quizId, score});
+        }
+
+        ScoreDistributionService node() {
+            ScoreDistributionRepository distributions = mock(ScoreDistributionRepository.class);
+            QuizAttemptRepository quizAttempts = mock(QuizAttemptRepository.class);
+            ArchivedAttemptRepository archived = mock(ArchivedAttemptRepository.class);
+            lenient().when(distributions.findAll()).thenAnswer(call -> rows.values().stream().map(Database::copy).toList());
+            lenient().when(distributions.findByQuizIdForUpdate(anyLong()))
+                    .thenAnswer(call -> Optional.ofNullable(rows.get((Long) call.getArgument(0))).map(Database::copy));
+            lenient().when(distributions.findByUpdatedAtAfter(any())).thenAnswer(call -> {
+                LocalDateTime since = call.getArgument(0);
+                return rows.values().stream()
+                        .filter(row -> row.getUpdatedAt() != null && row.getUpdatedAt().isAfter(since))
+                        .map(Database::copy)
+                        .toList();
+            });
+            lenient().when(distributions.save(any())).thenAnswer(call -> {
+                ScoreDistribution row = call.getArgument(0);
+                rows.put(row.getQuizId(), copy(row));
+                saves++;
+                return row;
+            });
+            lenient().when(quizAttempts.streamScoresCompletedSince(any())).thenAnswer(call -> {
+                LocalDateTime since = call.getArgument(0);
+                return attempts.stream().filter(a -> !((LocalDateTime) a[2]).isBefore(since));
+            });
+            lenient().when(quizAttempts.streamScoresToFold(anyLong(), any(), anyLong(), any())).thenAnswer(call -> {
+                Long quizId = call.getArgument(0);
+                LocalDateTime after = call.getArgument(1);
+                long afterId = call.getArgument(2);
+                LocalDateTime upTo = call.getArgument(3);
+                return attempts.stream()
+                        .filter(a -> a[0].equals(quizId) && !((LocalDateTime) a[2]).isAfter(upTo))
+                        .filter(a -> {
+                            int order = ((LocalDateTime) a[2]).compareTo(after);
+                            return order > 0 || (order == 0 && (Long) a[1] > afterId);
+                        })
+                        .sorted(Comparator.comparing((Object[] a) -> (LocalDateTime) a[2]).thenComparing(a -> (Long) a[1]))
+                        .map(a -> new Object[]{a[1], a[2], a[3]});
+            });
+
+            lenient().when(archived.streamScoresByQuizId(anyLong())).thenAnswer(call -> archivedAttempts.stream()
+                    .filter(a -> a[0].equals(call.getArgument(0)))
+                    .map(a -> (Double) a[1]));
+
+            ScoreDistributionService node = new ScoreDistributionService();
+            ReflectionTestUtils.setField(node, "scoreDistributionRepository", distributions);
+            ReflectionTestUtils.setField(node, "quizAttemptRepository", quizAttempts);
+            ReflectionTestUtils.setField(node, "archivedAttemptRepository", archived);
+            ReflectionTestUtils.setField(node, "quizRepository", mock(QuizRepository.class));
+            return node;
+        }
+
+        private static ScoreDistribution copy(ScoreDistribution row) {
+            ScoreDistribution copy = new ScoreDistribution(row.getQuizId());
+            copy.setHistogram(row.getHistogram() != null ? row.getHistogram().clone() : null);
+            copy.setAttemptCount(row.getAttemptCount());
+            copy.setLastCompletedAt(row.getLastCompletedAt());
+            copy.setLastAttemptId(row.getLastAttemptId());
+            copy.setUpdatedAt(row.getUpdatedAt());
+            return copy;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -360,59 +359,6 @@ class UserServiceTest {
         verify(userRepository, times(1)).save(user);
     }
 
-    @Test
-    void handleLoginFailure() {
-        // Arrange
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
-
-        // Act
-        userService.handleLoginFailure("testuser");
-
-        // Assert
-        assertEquals(1, user.getLoginAttempts());
-        assertFalse(user.getAccountLocked());
-        verify(userRepository, times(1)).save(user);
-    }
-
-    @Test
-    void handleLoginFailure_LockAccount() {
-        // Arrange
-        user.setLoginAttempts(4);
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
-
-        // Act
-        userService.handleLoginFailure("testuser");
-
-        // Assert
-        assertEquals(5, user.getLoginAttempts());
-        assertTrue(user.getAccountLocked());
-        assertNotNull(user.getLockTime());
-        verify(userRepository, times(1)).save(user);
-    }
-
-    @Test
-    void handleLoginSuccess() {
-        // Arrange
-        user.setLoginAttempts(3);
-        user.setAccountLocked(true);
-        user.setLockTime(LocalDateTime.now());
-
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
-
-        // Act
-        userService.handleLoginSuccess("testuser");
-
-        // Assert
-        assertEquals(0, user.getLoginAttempts());
-        assertFalse(user.getAccountLocked());
-        assertNull(user.getLockTime());
-        assertNotNull(user.getLastLogin());
-        verify(userRepository, times(1)).save(user);
-    }
-
     @Test
     void isAccountLocked_True() {
         // Arrange
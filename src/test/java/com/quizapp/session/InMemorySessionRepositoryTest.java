@@ -0,0 +1,110 @@
+package com.quizapp.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemorySessionRepositoryTest {
+
+    private final InMemorySessionRepository repository = new InMemorySessionRepository(Duration.ofMinutes(30));
+
+    @Test
+    void save_NewSessionIsStoredAndIndexedByPrincipal() {
+        CompactSessionRepository.StoredSession session = loggedIn("alice");
+        repository.save(session);
+
+        assertNotNull(repository.findById(session.getId()));
+        assertEquals(1, repository.findByPrincipalName("alice").size());
+        assertTrue(repository.findByPrincipalName("bob").isEmpty());
+    }
+
+    @Test
+    void save_UnchangedSessionOnlyQueuesLastAccessUntilFlush() {
+        CompactSessionRepository.StoredSession created = loggedIn("alice");
+        repository.save(created);
+
+        CompactSessionRepository.StoredSession loaded = repository.findById(created.getId());
+        Instant later = created.getLastAccessedTime().plusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+        loaded.setLastAccessedTime(later);
+        repository.save(loaded);
+
+        assertEquals(1, repository.pendingTouchCount());
+        // Pending time already counts on this node
+        assertEquals(later, repository.findById(created.getId()).getLastAccessedTime());
+
+        repository.flush();
+        assertEquals(0, repository.pendingTouchCount());
+        assertEquals(later, repository.findById(created.getId()).getLastAccessedTime());
+    }
+
+    @Test
+    void save_ChangedAttributeIsWrittenThrough() {
+        CompactSessionRepository.StoredSession created = loggedIn("alice");
+        repository.save(created);
+
+        CompactSessionRepository.StoredSession loaded = repository.findById(created.getId());
+        loaded.setAttribute("notice", "saved");
+        repository.save(loaded);
+
+        assertEquals(0, repository.pendingTouchCount());
+        assertEquals("saved", repository.findById(created.getId()).getAttribute("notice"));
+    }
+
+    @Test
+    void changeSessionId_MovesTheStoredSession() {
+        CompactSessionRepository.StoredSession created = loggedIn("alice");
+        repository.save(created);
+        String originalId = created.getId();
+
+        CompactSessionRepository.StoredSession loaded = repository.findById(originalId);
+        String newId = loaded.changeSessionId();
+        repository.save(loaded);
+
+        assertNull(repository.findById(originalId));
+        assertNotNull(repository.findById(newId));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    void expiredSessions_AreNotReturnedAndArePurged() {
+        CompactSessionRepository.StoredSession stale = loggedIn("alice");
+        stale.setLastAccessedTime(Instant.now().minus(Duration.ofHours(2)));
+        repository.save(stale);
+        CompactSessionRepository.StoredSession live = loggedIn("alice");
+        repository.save(live);
+
+        assertEquals(1, repository.findByPrincipalName("alice").size());
+        assertEquals(1, repository.purgeExpired());
+        assertNull(repository.findById(stale.getId()));
+        assertNotNull(repository.findById(live.getId()));
+    }
+
+    @Test
+    void deleteById_DropsPendingTouch() {
+        CompactSessionRepository.StoredSession created = loggedIn("alice");
+        repository.save(created);
+        repository.save(repository.findById(created.getId()));
+
+        repository.deleteById(created.getId());
+
+        assertEquals(0, repository.pendingTouchCount());
+        assertNull(repository.findById(created.getId()));
+    }
+
+    private CompactSessionRepository.StoredSession loggedIn(String username) {
+        CompactSessionRepository.StoredSession session = repository.createSession();
+        User user = new User(username, "", AuthorityUtils.createAuthorityList("ROLE_PARTICIPANT"));
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities())));
+        return session;
+    }
+}
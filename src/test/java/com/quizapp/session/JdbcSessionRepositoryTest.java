@@ -0,0 +1,141 @@
+package com.quizapp.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcSessionRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcSessionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        repository = new JdbcSessionRepository(jdbcTemplate, Duration.ofMinutes(30), Duration.ZERO, 0);
+        repository.initializeSchema();
+        // Idempotent, every instance runs it at startup
+        repository.initializeSchema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void savedSession_IsVisibleToAnotherInstance() {
+        CompactSessionRepository.StoredSession session = loggedIn("alice");
+        repository.save(session);
+
+        JdbcSessionRepository otherNode = new JdbcSessionRepository(jdbcTemplate, Duration.ofMinutes(30),
+                Duration.ZERO, 0);
+        CompactSessionRepository.StoredSession loaded = otherNode.findById(session.getId());
+
+        SecurityContext context = loaded.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        assertEquals("alice", context.getAuthentication().getName());
+        assertEquals(1, otherNode.findByPrincipalName("alice").size());
+    }
+
+    @Test
+    void flush_BatchesLastAccessAndNeverMovesItBack() {
+        CompactSessionRepository.StoredSession session = loggedIn("alice");
+        repository.save(session);
+        Instant later = session.getLastAccessedTime().plusSeconds(120);
+
+        CompactSessionRepository.StoredSession loaded = repository.findById(session.getId());
+        loaded.setLastAccessedTime(later);
+        repository.save(loaded);
+        assertEquals(session.getLastAccessedTime().toEpochMilli(), storedLastAccess(session.getId()));
+
+        repository.flush();
+        assertEquals(later.toEpochMilli(), storedLastAccess(session.getId()));
+
+        loaded.setLastAccessedTime(later.minusSeconds(60));
+        repository.save(loaded);
+        repository.flush();
+        assertEquals(later.toEpochMilli(), storedLastAccess(session.getId()));
+    }
+
+    @Test
+    void changeSessionIdAndPurge_UpdateTheTable() {
+        CompactSessionRepository.StoredSession session = loggedIn("alice");
+        repository.save(session);
+        String newId = session.changeSessionId();
+        repository.save(session);
+
+        CompactSessionRepository.StoredSession stale = loggedIn("bob");
+        stale.setLastAccessedTime(Instant.now().minus(Duration.ofHours(2)));
+        repository.save(stale);
+
+        assertEquals(1, repository.purgeExpired());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + JdbcSessionRepository.TABLE, Integer.class));
+        assertNotNull(repository.findById(newId));
+    }
+
+    @Test
+    void expiredLookingSession_IsKeptForATouchPendingOnAnotherNode() {
+        CompactSessionRepository.StoredSession session = loggedIn("alice");
+        repository.save(session);
+        JdbcSessionRepository otherNode = new JdbcSessionRepository(jdbcTemplate, Duration.ofMinutes(30),
+                Duration.ZERO, 0);
+        CompactSessionRepository.StoredSession touched = otherNode.findById(session.getId());
+        touched.setLastAccessedTime(Instant.now());
+        otherNode.save(touched);
+        // The stored time is past the timeout; the other node's newer one is not flushed yet
+        long stale = Instant.now().minus(Duration.ofMinutes(31)).toEpochMilli();
+        jdbcTemplate.update("UPDATE " + JdbcSessionRepository.TABLE + " SET last_access_time = ?, "
+                + "expiry_time = ? WHERE session_id = ?", stale, stale + Duration.ofMinutes(30).toMillis(), session.getId());
+
+        assertNull(repository.findById(session.getId()));
+        assertEquals(0, repository.purgeExpired());
+
+        otherNode.flush();
+        assertNotNull(repository.findById(session.getId()));
+    }
+
+    @Test
+    void nearCache_ServesRepeatedReadsWithinTtl() {
+        JdbcSessionRepository cached = new JdbcSessionRepository(jdbcTemplate, Duration.ofMinutes(30),
+                Duration.ofMinutes(1), 100);
+        CompactSessionRepository.StoredSession session = loggedIn("alice");
+        repository.save(session);
+        assertNotNull(cached.findById(session.getId()));
+
+        jdbcTemplate.update("DELETE FROM " + JdbcSessionRepository.TABLE);
+
+        assertNotNull(cached.findById(session.getId()));
+        cached.deleteById(session.getId());
+        assertNull(cached.findById(session.getId()));
+    }
+
+    private long storedLastAccess(String id) {
+        return jdbcTemplate.queryForObject("SELECT last_access_time FROM " + JdbcSessionRepository.TABLE
+                + " WHERE session_id = ?", Long.class, id);
+    }
+
+    private CompactSessionRepository.StoredSession loggedIn(String username) {
+        CompactSessionRepository.StoredSession session = repository.createSession();
+        User user = new User(username, "", AuthorityUtils.createAuthorityList("ROLE_PARTICIPANT"));
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities())));
+        return session;
+    }
+}
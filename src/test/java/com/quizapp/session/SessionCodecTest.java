@@ -0,0 +1,88 @@
+package com.quizapp.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionCodecTest {
+
+    private static final String CONTEXT = "SPRING_SECURITY_CONTEXT";
+
+    @Test
+    void securityContext_RoundTripsAsUsernameAndAuthorities() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put(CONTEXT, loggedIn("alice"));
+
+        Map<String, Object> decoded = SessionCodec.decode(SessionCodec.encode(attributes));
+
+        Authentication authentication = ((SecurityContext) decoded.get(CONTEXT)).getAuthentication();
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("alice", ((UserDetails) authentication.getPrincipal()).getUsername());
+        assertEquals(Set.of("ROLE_PARTICIPANT"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+    }
+
+    @Test
+    void securityContext_IsMuchSmallerThanJavaSerialization() throws Exception {
+        SecurityContext context = loggedIn("alice");
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(context);
+        }
+
+        byte[] encoded = SessionCodec.encode(Map.of(CONTEXT, context));
+
+        assertTrue(encoded.length < 64, "encoded size " + encoded.length);
+        assertTrue(encoded.length * 10 < serialized.size());
+    }
+
+    @Test
+    void simpleAndSerializableValues_RoundTrip() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("expired", Boolean.TRUE);
+        attributes.put("count", 3);
+        attributes.put("since", 1_700_000_000_000L);
+        attributes.put("message", "Saved");
+        attributes.put("flash", new ArrayList<>(List.of("a", "b")));
+
+        assertEquals(attributes, SessionCodec.decode(SessionCodec.encode(attributes)));
+    }
+
+    @Test
+    void unserializableValue_IsLeftOut() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("kept", "yes");
+        attributes.put("dropped", new Object());
+
+        assertEquals(Map.of("kept", "yes"), SessionCodec.decode(SessionCodec.encode(attributes)));
+    }
+
+    @Test
+    void unknownVersion_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SessionCodec.decode(new byte[]{9, 0, 0}));
+    }
+
+    private static SecurityContext loggedIn(String username) {
+        UserDetails user = new User(username, "{bcrypt}$2a$10$abcdefghijklmnopqrstuv",
+                AuthorityUtils.createAuthorityList("ROLE_PARTICIPANT"));
+        UsernamePasswordAuthenticationToken token =
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        token.setDetails(new WebAuthenticationDetails("10.0.0.1", "abc"));
+        return new SecurityContextImpl(token);
+    }
+}
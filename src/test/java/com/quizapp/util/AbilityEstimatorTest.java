@@ -0,0 +1,53 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbilityEstimatorTest {
+
+    @Test
+    void estimate_NoResponses_ReturnsPrior() {
+        AbilityEstimator.Estimate estimate = AbilityEstimator.estimate(new double[0], new double[0], new boolean[0], 0);
+
+        assertEquals(0.0, estimate.theta(), 1e-9);
+        assertEquals(1.0, estimate.standardError(), 0.01);
+    }
+
+    @Test
+    void estimate_ExtremePatternsStayFinite() {
+        double[] a = {1.5, 1.5, 1.5, 1.5, 1.5};
+        double[] b = {-2, -1, 0, 1, 2};
+
+        AbilityEstimator.Estimate allCorrect = AbilityEstimator.estimate(a, b, new boolean[]{true, true, true, true, true}, 5);
+        AbilityEstimator.Estimate allWrong = AbilityEstimator.estimate(a, b, new boolean[5], 5);
+
+        assertTrue(allCorrect.theta() > 1.0 && allCorrect.theta() < 4.0);
+        assertTrue(allWrong.theta() < -1.0 && allWrong.theta() > -4.0);
+        assertEquals(allCorrect.theta(), -allWrong.theta(), 1e-9);
+    }
+
+    @Test
+    void estimate_RecoversAbilityAndNarrowsWithMoreResponses() {
+        SplittableRandom random = new SplittableRandom(9);
+        double trueTheta = 1.2;
+        int n = 200;
+        double[] a = new double[n];
+        double[] b = new double[n];
+        boolean[] correct = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = 1.0 + random.nextDouble();
+            b[i] = trueTheta + random.nextGaussian();
+            correct[i] = random.nextDouble() < AdaptiveItemIndex.probability(a[i], b[i], trueTheta);
+        }
+
+        AbilityEstimator.Estimate few = AbilityEstimator.estimate(a, b, correct, 10);
+        AbilityEstimator.Estimate many = AbilityEstimator.estimate(a, b, correct, n);
+
+        assertTrue(many.standardError() < few.standardError());
+        assertTrue(many.standardError() < 0.15);
+        assertEquals(trueTheta, many.theta(), 3 * many.standardError());
+    }
+}
@@ -0,0 +1,156 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveItemIndexTest {
+
+    private static AdaptiveItemIndex randomBank(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] ids = new long[size];
+        double[] a = new double[size];
+        double[] b = new double[size];
+        int[] correct = new int[size];
+        int[] points = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = 1000 + i;
+            a[i] = 0.4 + random.nextDouble() * 2.1;
+            b[i] = random.nextGaussian() * 1.5;
+            points[i] = 1;
+        }
+        return new AdaptiveItemIndex(ids, a, b, correct, points);
+    }
+
+    @Test
+    void select_MatchesExhaustiveSearch() {
+        AdaptiveItemIndex index = randomBank(5_000, 7);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (double theta = -4.5; theta <= 4.5; theta += 0.37) {
+            int[] administered = {1, 2, 3, 4000};
+            int selected = index.select(theta, administered, 1, 1.0, random);
+
+            double best = -1;
+            for (int item = 0; item < index.size(); item++) {
+                if (item == 1 || item == 2 || item == 3 || item == 4000) {
+                    continue;
+                }
+                best = Math.max(best, AdaptiveItemIndex.information(index.discrimination(item), index.difficulty(item), theta));
+            }
+            double got = AdaptiveItemIndex.information(index.discrimination(selected), index.difficulty(selected), theta);
+            assertEquals(best, got, 1e-12, "theta " + theta);
+        }
+    }
+
+    @Test
+    void select_RandomesquePicksAmongMostInformative() {
+        AdaptiveItemIndex index = randomBank(2_000, 11);
+        double theta = 0.8;
+        double[] information = new double[index.size()];
+        for (int item = 0; item < index.size(); item++) {
+            information[item] = AdaptiveItemIndex.information(index.discrimination(item), index.difficulty(item), theta);
+        }
+        double fifthBest = Arrays.stream(information).boxed().sorted((x, y) -> Double.compare(y, x))
+                .skip(4).findFirst().orElseThrow();
+
+        Set<Integer> picked = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 200; i++) {
+            int item = index.select(theta, new int[0], 5, 1.0, random);
+            assertTrue(information[item] >= fifthBest);
+            picked.add(item);
+        }
+        assertEquals(5, picked.size());
+    }
+
+    @Test
+    void select_SkipsAdministeredAndReturnsMinusOneWhenExhausted() {
+        AdaptiveItemIndex index = new AdaptiveItemIndex(new long[]{10, 20, 30}, new double[]{1, 1, 1},
+                new double[]{-1, 0, 1}, new int[]{0, 0, 0}, new int[]{1, 1, 1});
+        SplittableRandom random = new SplittableRandom(1);
+
+        assertEquals(1, index.select(0.0, new int[0], 1, 1.0, random));
+        assertEquals(2, index.select(0.1, new int[]{1}, 1, 1.0, random));
+        assertEquals(0, index.select(0.1, new int[]{2, 1}, 1, 1.0, random));
+        assertEquals(-1, index.select(0.1, new int[]{0, 1, 2}, 1, 1.0, random));
+        assertEquals(2, index.positionOf(30));
+        assertEquals(-1, index.positionOf(40));
+    }
+
+    @Test
+    void select_ExposureCapSkipsOverusedItemsUntilNothingElseRemains() {
+        AdaptiveItemIndex index = new AdaptiveItemIndex(new long[]{10, 20}, new double[]{2, 1},
+                new double[]{0, 0}, new int[]{0, 0}, new int[]{1, 1});
+        SplittableRandom random = new SplittableRandom(1);
+
+        // Item 0 is the more informative; after 4 attempts a 25% cap allows it twice
+        for (int i = 0; i < 4; i++) {
+            index.recordAttempt();
+        }
+        index.recordExposure(0);
+        assertEquals(0, index.select(0.0, new int[0], 1, 0.25, random));
+        index.recordExposure(0);
+        assertEquals(1, index.select(0.0, new int[0], 1, 0.25, random));
+
+        // With the alternative already administered, the cap gives way
+        assertEquals(0, index.select(0.0, new int[]{1}, 1, 0.25, random));
+        assertEquals(2, index.exposures(0));
+    }
+
+    @Test
+    void adaptiveSelection_ReachesTargetPrecisionWithFewerItemsThanRandomOrder() {
+        AdaptiveItemIndex index = randomBank(1_000, 5);
+        SplittableRandom random = new SplittableRandom(42);
+        int examinees = 200;
+        int adaptiveItems = 0;
+        int randomItems = 0;
+        for (int e = 0; e < examinees; e++) {
+            double trueTheta = random.nextGaussian();
+            adaptiveItems += itemsToPrecision(index, trueTheta, true, random.split());
+            randomItems += itemsToPrecision(index, trueTheta, false, random.split());
+        }
+
+        assertTrue(adaptiveItems * 2 < randomItems, adaptiveItems + " adaptive vs " + randomItems + " random");
+    }
+
+    private static int itemsToPrecision(AdaptiveItemIndex index, double trueTheta, boolean adaptive, SplittableRandom random) {
+        int limit = 100;
+        int[] administered = new int[limit];
+        double[] a = new double[limit];
+        double[] b = new double[limit];
+        boolean[] correct = new boolean[limit];
+        AbilityEstimator.Estimate estimate = AbilityEstimator.prior();
+        int count = 0;
+        while (count < limit && estimate.standardError() > 0.3) {
+            int item = adaptive
+                    ? index.select(estimate.theta(), Arrays.copyOf(administered, count), 1, 1.0, random)
+                    : nextUnused(index, administered, count, random);
+            administered[count] = item;
+            a[count] = index.discrimination(item);
+            b[count] = index.difficulty(item);
+            correct[count] = random.nextDouble() < AdaptiveItemIndex.probability(a[count], b[count], trueTheta);
+            count++;
+            estimate = AbilityEstimator.estimate(a, b, correct, count);
+        }
+        return count;
+    }
+
+    private static int nextUnused(AdaptiveItemIndex index, int[] administered, int count, SplittableRandom random) {
+        while (true) {
+            int item = random.nextInt(index.size());
+            boolean used = false;
+            for (int i = 0; i < count && !used; i++) {
+                used = administered[i] == item;
+            }
+            if (!used) {
+                return item;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerSheetCodecTest {
+
+    @Test
+    void roundTrip_ReturnsAnswersInQuestionOrder() {
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(5_000_123L, 3);
+        answers.put(5_000_120L, 0);
+        answers.put(5_000_121L, 1);
+
+        Map<Long, Integer> decoded = AnswerSheetCodec.decode(AnswerSheetCodec.encode(answers));
+
+        assertEquals(answers, decoded);
+        assertEquals(List.of(5_000_120L, 5_000_121L, 5_000_123L), List.copyOf(decoded.keySet()));
+    }
+
+    @Test
+    void encode_IsCompactForNearbyQuestionIds() {
+        Map<Long, Integer> answers = new HashMap<>();
+        for (long id = 1_000_000; id < 1_000_020; id++) {
+            answers.put(id, (int) (id % 4));
+        }
+
+        byte[] encoded = AnswerSheetCodec.encode(answers);
+
+        // Count, one 3-byte first id, then one byte per gap and per option
+        assertEquals(1 + 3 + 1 + 19 * 2, encoded.length);
+    }
+
+    @Test
+    void encode_SkipsBlankAnswers_AndHandlesEmptySheets() {
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(1L, null);
+        answers.put(2L, -1);
+
+        assertEquals(Map.of(2L, -1), AnswerSheetCodec.decode(AnswerSheetCodec.encode(answers)));
+        assertTrue(AnswerSheetCodec.decode(AnswerSheetCodec.encode(null)).isEmpty());
+        assertTrue(AnswerSheetCodec.decode(null).isEmpty());
+    }
+
+    @Test
+    void decode_RejectsTruncatedData() {
+        byte[] encoded = AnswerSheetCodec.encode(Map.of(300L, 1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> AnswerSheetCodec.decode(java.util.Arrays.copyOf(encoded, encoded.length - 1)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.quizapp.util;
+
+import com.quizapp.entity.Question;
+import com.quizapp.entity.Quiz;
+import com.quizapp.entity.QuizAttempt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttemptShufflerTest {
+
+    private Quiz quiz;
+    private QuizAttempt attempt;
+
+    @BeforeEach
+    void setUp() {
+        quiz = new Quiz();
+        quiz.setId(1L);
+        List<Question> questions = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Question question = new Question();
+            question.setId(id);
+            question.setQuestionText("Question " + id);
+            question.setOptions(Arrays.asList("A" + id, "B" + id, "C" + id, "D" + id));
+            question.setCorrectAnswerIndex(2);
+            questions.add(question);
+        }
+        quiz.setQuestions(questions);
+
+        attempt = new QuizAttempt();
+        attempt.setQuiz(quiz);
+        attempt.setShuffleSeed(42L);
+    }
+
+    @Test
+    void questionOrder_IsDeterministicPermutation() {
+        int[] first = AttemptShuffler.questionOrder(42L, 20);
+        int[] second = AttemptShuffler.questionOrder(42L, 20);
+
+        assertArrayEquals(first, second);
+        int[] sorted = first.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+    @Test
+    void questionOrder_DiffersBetweenSeeds() {
+        assertFalse(Arrays.equals(AttemptShuffler.questionOrder(1L, 20), AttemptShuffler.questionOrder(2L, 20)));
+    }
+
+    @Test
+    void nullSeed_KeepsCanonicalOrder() {
+        attempt.setShuffleSeed(null);
+
+        List<Question> ordered = AttemptShuffler.orderedQuestions(attempt);
+
+        for (int i = 0; i < ordered.size(); i++) {
+            assertEquals(i + 1L, ordered.get(i).getId());
+        }
+        assertEquals(3, AttemptShuffler.toCanonicalOption(attempt, ordered.get(0), 3));
+    }
+
+    @Test
+    void orderedQuestions_IgnoresCollectionLoadOrder() {
+        List<Question> before = AttemptShuffler.orderedQuestions(attempt);
+
+        List<Question> reversed = new ArrayList<>(quiz.getQuestions());
+        Collections.reverse(reversed);
+        quiz.setQuestions(reversed);
+
+        assertEquals(before, AttemptShuffler.orderedQuestions(attempt));
+    }
+
+    @Test
+    void toCanonicalOption_PointsAtDisplayedOption() {
+        for (Question question : quiz.getQuestions()) {
+            List<String> displayed = AttemptShuffler.displayedOptions(attempt, question);
+            for (int i = 0; i < displayed.size(); i++) {
+                int canonical = AttemptShuffler.toCanonicalOption(attempt, question, i);
+                assertEquals(displayed.get(i), question.getOptions().get(canonical));
+            }
+        }
+    }
+
+    @Test
+    void toCanonicalOption_OutOfRangeUnchanged() {
+        Question question = quiz.getQuestions().get(0);
+
+        assertEquals(7, AttemptShuffler.toCanonicalOption(attempt, question, 7));
+        assertEquals(-1, AttemptShuffler.toCanonicalOption(attempt, question, -1));
+        assertNull(AttemptShuffler.toCanonicalOption(attempt, question, null));
+    }
+
+    @Test
+    void toCanonicalAnswers_MapsWholeSheet() {
+        Map<Long, Integer> displayed = new HashMap<>();
+        for (Question question : quiz.getQuestions()) {
+            displayed.put(question.getId(), AttemptShuffler.displayedOptions(attempt, question)
+                    .indexOf(question.getOptions().get(question.getCorrectAnswerIndex())));
+        }
+        displayed.put(999L, 1);
+
+        Map<Long, Integer> canonical = AttemptShuffler.toCanonicalAnswers(attempt, displayed);
+
+        for (Question question : quiz.getQuestions()) {
+            assertEquals(question.getCorrectAnswerIndex(), canonical.get(question.getId()));
+        }
+        assertEquals(1, canonical.get(999L));
+    }
+}
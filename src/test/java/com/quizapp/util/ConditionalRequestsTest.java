@@ -0,0 +1,74 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMap;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestsTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_000_000);
+
+    @Test
+    void checkNotModified_FirstRequestGetsValidatorsAndCacheControl() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean notModified = ConditionalRequests.checkNotModified(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/quizzes"), response),
+                "no-cache", VERSION, "api-catalog", 3L);
+
+        assertFalse(notModified);
+        assertEquals(ConditionalRequests.etag(millis(VERSION), "api-catalog", 3L), response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void checkNotModified_MatchingEtagShortCircuitsWith304() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        request.addHeader("If-None-Match", ConditionalRequests.etag(millis(VERSION), "api-catalog", 3L));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(ConditionalRequests.checkNotModified(new ServletWebRequest(request, response),
+                "no-cache", VERSION, "api-catalog", 3L));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void checkNotModified_NewVersionOrVariantMisses() {
+        String cached = ConditionalRequests.etag(millis(VERSION), "api-catalog", 3L);
+
+        assertNotEquals(cached, ConditionalRequests.etag(millis(VERSION.plusNanos(1_000_000)), "api-catalog", 3L));
+        assertNotEquals(cached, ConditionalRequests.etag(millis(VERSION), "api-catalog", 2L));
+    }
+
+    @Test
+    void checkNotModified_SkipsPagesCarryingFlashMessages() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/quiz/list");
+        request.addHeader("If-None-Match", ConditionalRequests.etag(millis(VERSION), "list-page"));
+        FlashMap flash = new FlashMap();
+        flash.put("success", "Quiz deleted");
+        request.setAttribute(DispatcherServlet.INPUT_FLASH_MAP_ATTRIBUTE, flash);
+
+        assertFalse(ConditionalRequests.checkNotModified(
+                new ServletWebRequest(request, new MockHttpServletResponse()), null, VERSION, "list-page"));
+    }
+
+    @Test
+    void checkNotModified_UnknownVersionNeverMatches() {
+        assertFalse(ConditionalRequests.checkNotModified(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/quizzes/9"), new MockHttpServletResponse()),
+                "no-cache", null, "api-quiz", 9L));
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
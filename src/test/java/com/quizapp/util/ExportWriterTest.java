@@ -0,0 +1,48 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportWriterTest {
+
+    @Test
+    void csv_WritesHeaderAndEscapesValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = new ExportWriter(out, ExportWriter.Format.CSV, "id", "name", "score")) {
+            writer.writeRow(1L, "plain", 75.5);
+            writer.writeRow(2L, "comma, \"quoted\"", null);
+        }
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals("id,name,score\n1,plain,75.5\n2,\"comma, \"\"quoted\"\"\",\n", csv);
+    }
+
+    @Test
+    void ndjson_WritesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Timestamp completed = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 30));
+        try (ExportWriter writer = new ExportWriter(out, ExportWriter.Format.NDJSON, "id", "name", "completedAt")) {
+            writer.writeRow(1L, "alice", completed);
+            writer.writeRow(2L, null, null);
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"name\":\"alice\",\"completedAt\":\"2024-05-01T10:30\"}", lines[0]);
+        assertEquals("{\"id\":2,\"name\":null,\"completedAt\":null}", lines[1]);
+    }
+
+    @Test
+    void format_FromParameter() {
+        assertEquals(ExportWriter.Format.NDJSON, ExportWriter.Format.fromParameter("ndjson"));
+        assertEquals(ExportWriter.Format.NDJSON, ExportWriter.Format.fromParameter("JSON"));
+        assertEquals(ExportWriter.Format.CSV, ExportWriter.Format.fromParameter("csv"));
+        assertEquals(ExportWriter.Format.CSV, ExportWriter.Format.fromParameter(null));
+    }
+}
@@ -0,0 +1,77 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemAnalysisTest {
+
+    @Test
+    void compute_DifficultyAndDistractors() {
+        ItemAnalysis analysis = new ItemAnalysis(new int[]{1}, new int[]{3}, new int[]{1}, 2);
+        int[] selections = {1, 1, 0, 2, 1};
+        for (int selected : selections) {
+            analysis.setResponse(analysis.addAttempt(), 0, selected);
+        }
+        analysis.addAttempt(); // Blank sheet
+
+        ItemAnalysis.ItemStats stats = analysis.compute(ForkJoinPool.commonPool())[0];
+
+        assertEquals(6, stats.attempts);
+        assertEquals(3, stats.correct);
+        assertEquals(1, stats.unanswered);
+        assertEquals(0.5, stats.difficulty, 1e-9);
+        assertArrayEquals(new long[]{1, 3, 1}, stats.optionCounts);
+    }
+
+    @Test
+    void compute_DiscriminationFollowsRestScore() {
+        // Question 0 is answered correctly only by strong candidates, question 1 only by weak ones
+        ItemAnalysis analysis = new ItemAnalysis(new int[]{0, 0, 0, 0}, new int[]{2, 2, 2, 2}, new int[]{1, 1, 1, 1}, 4);
+        int[][] sheets = {
+                {0, 1, 0, 0},
+                {0, 1, 0, 0},
+                {1, 0, 1, 1},
+                {1, 0, 1, 1},
+        };
+        for (int[] sheet : sheets) {
+            int row = analysis.addAttempt();
+            for (int q = 0; q < sheet.length; q++) {
+                analysis.setResponse(row, q, sheet[q]);
+            }
+        }
+
+        ItemAnalysis.ItemStats[] stats = analysis.compute(ForkJoinPool.commonPool());
+
+        assertTrue(stats[0].discrimination > 0.9);
+        assertTrue(stats[1].discrimination < -0.9);
+    }
+
+    @Test
+    void compute_GrowsBeyondInitialCapacity() {
+        ItemAnalysis analysis = new ItemAnalysis(new int[]{0}, new int[]{2}, new int[]{1}, 1);
+        for (int i = 0; i < 100_000; i++) {
+            analysis.setResponse(analysis.addAttempt(), 0, i % 4 == 0 ? 0 : 1);
+        }
+
+        ItemAnalysis.ItemStats stats = analysis.compute(ForkJoinPool.commonPool())[0];
+
+        assertEquals(100_000, stats.attempts);
+        assertEquals(0.25, stats.difficulty, 1e-9);
+        assertEquals(0.0, stats.discrimination); // No other items, so the rest score is constant
+    }
+
+    @Test
+    void compute_MissingAnswerKeyNeverMatchesBlank() {
+        ItemAnalysis analysis = new ItemAnalysis(new int[]{ItemAnalysis.UNANSWERED}, new int[]{2}, new int[]{1}, 2);
+        analysis.addAttempt();
+        analysis.addAttempt();
+
+        ItemAnalysis.ItemStats stats = analysis.compute(ForkJoinPool.commonPool())[0];
+
+        assertEquals(0, stats.correct);
+        assertEquals(2, stats.unanswered);
+    }
+}
@@ -0,0 +1,62 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+/**
+ * Test helper for query budgets: runs a block on the current thread and fails if Hibernate
+ * issued more SQL statements than allowed, listing the statements that ran.
+ *
+ * <pre>
+ * List&lt;Quiz&gt; quizzes = QueryBudget.assertAtMost(2, () -&gt; quizService.getPublicQuizzes());
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(int budget, ThrowingSupplier<T> block) throws Throwable {
+        QueryCounter.startCapture();
+        try {
+            T result = block.get();
+            check(budget);
+            return result;
+        } finally {
+            QueryCounter.clear();
+        }
+    }
+
+    public static void assertAtMost(int budget, Executable block) throws Throwable {
+        assertAtMost(budget, () -> {
+            block.execute();
+            return null;
+        });
+    }
+
+    public static int count(Executable block) throws Throwable {
+        QueryCounter.reset();
+        try {
+            block.execute();
+            return QueryCounter.count();
+        } finally {
+            QueryCounter.clear();
+        }
+    }
+
+    private static void check(int budget) {
+        int count = QueryCounter.count();
+        if (count <= budget) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Expected at most " + budget + " SQL statements but " + count + " ran:");
+        List<String> statements = QueryCounter.capturedStatements();
+        for (int i = 0; i < statements.size(); i++) {
+            message.append("\n  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        throw new AssertionFailedError(message.toString(), budget, count);
+    }
+}
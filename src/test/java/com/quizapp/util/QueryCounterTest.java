@@ -0,0 +1,94 @@
+package com.quizapp.util;
+
+import com.quizapp.entity.DifficultyLevel;
+import com.quizapp.entity.Question;
+import com.quizapp.entity.Quiz;
+import com.quizapp.entity.Role;
+import com.quizapp.entity.User;
+import com.quizapp.repository.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class QueryCounterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    private Long quizId;
+
+    @BeforeEach
+    void setUp() {
+        User creator = new User("budgetcreator", "budget@example.com", "password", Role.ADMIN);
+        creator.setEnabled(true);
+        entityManager.persist(creator);
+
+        for (int q = 0; q < 3; q++) {
+            Quiz quiz = new Quiz();
+            quiz.setTitle("Budget Quiz " + q);
+            quiz.setTimeLimit(10);
+            quiz.setCreatedBy(creator);
+            quiz.setDifficultyLevel(DifficultyLevel.EASY);
+            quiz.setCreatedAt(LocalDateTime.now());
+            List<Question> questions = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                Question question = new Question();
+                question.setQuestionText("Q" + i);
+                question.setOptions(new ArrayList<>(List.of("A", "B")));
+                question.setCorrectAnswerIndex(0);
+                question.setDifficultyLevel(DifficultyLevel.EASY);
+                question.setQuiz(quiz);
+                questions.add(question);
+            }
+            quiz.setQuestions(questions);
+            quizId = entityManager.persist(quiz).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findById_RunsSingleStatement() throws Throwable {
+        Quiz quiz = QueryBudget.assertAtMost(1, () -> quizRepository.findById(quizId).orElseThrow());
+
+        assertEquals(quizId, quiz.getId());
+    }
+
+    @Test
+    void lazyQuestionLoop_IsCountedAsNPlusOne() throws Throwable {
+        int statements = QueryBudget.count(() -> {
+            for (Quiz quiz : quizRepository.findAll()) {
+                quiz.getQuestions().size(); // Force initialization, as the controllers do
+            }
+        });
+
+        assertEquals(1 + 3, statements);
+    }
+
+    @Test
+    void assertAtMost_FailsWithStatementListing() {
+        AssertionError error = assertThrows(AssertionError.class, () ->
+                QueryBudget.assertAtMost(1, () -> {
+                    for (Quiz quiz : quizRepository.findAll()) {
+                        quiz.getQuestions().size();
+                    }
+                }));
+
+        assertTrue(error.getMessage().contains("Expected at most 1 SQL statements but 4 ran"));
+        assertTrue(error.getMessage().contains("1. select"));
+    }
+}
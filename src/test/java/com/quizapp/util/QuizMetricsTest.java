@@ -0,0 +1,66 @@
+package com.quizapp.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        Metrics.globalRegistry.clear();
+    }
+
+    @Test
+    void stop_RecordsTimerWithTags() {
+        Timer.Sample sample = QuizMetrics.start();
+        QuizMetrics.stop(sample, QuizMetrics.ATTEMPT_SUBMIT, "trigger", "participant", "outcome", "submitted");
+
+        Timer timer = registry.find(QuizMetrics.ATTEMPT_SUBMIT).tag("outcome", "submitted").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void recordMillis_ClampsNegativeDurations() {
+        QuizMetrics.recordMillis(QuizMetrics.AUTOSUBMIT_LAG, -500);
+        QuizMetrics.recordMillis(QuizMetrics.AUTOSUBMIT_LAG, 1500);
+
+        Timer timer = registry.find(QuizMetrics.AUTOSUBMIT_LAG).timer();
+        assertEquals(2, timer.count());
+        assertEquals(1500.0, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void increment_SkipsZeroAmounts() {
+        QuizMetrics.increment(QuizMetrics.IMPORT_ROWS, 0, "outcome", "failed");
+        QuizMetrics.increment(QuizMetrics.IMPORT_ROWS, 3, "outcome", "imported");
+
+        assertNull(registry.find(QuizMetrics.IMPORT_ROWS).tag("outcome", "failed").counter());
+        assertEquals(3.0, registry.find(QuizMetrics.IMPORT_ROWS).tag("outcome", "imported").counter().count());
+    }
+
+    @Test
+    void recordAmount_FeedsDistributionSummary() {
+        QuizMetrics.recordAmount(QuizMetrics.AUTOSUBMIT_BATCH, 4);
+        QuizMetrics.recordAmount(QuizMetrics.AUTOSUBMIT_BATCH, 6);
+
+        assertEquals(10.0, registry.find(QuizMetrics.AUTOSUBMIT_BATCH).summary().totalAmount(), 0.001);
+    }
+}
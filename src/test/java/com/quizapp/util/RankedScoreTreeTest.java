@@ -0,0 +1,84 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedScoreTreeTest {
+
+    private RankedScoreTree.Entry entry(long attemptId, double score, long completedAt) {
+        return new RankedScoreTree.Entry(attemptId, attemptId, "user" + attemptId, score, completedAt);
+    }
+
+    @Test
+    void top_OrdersByScoreThenCompletionTime() {
+        RankedScoreTree tree = new RankedScoreTree();
+        tree.insert(entry(1, 50.0, 100));
+        tree.insert(entry(2, 90.0, 300));
+        tree.insert(entry(3, 90.0, 200));
+        tree.insert(entry(4, 70.0, 100));
+
+        List<RankedScoreTree.Entry> top = tree.top(3);
+
+        assertEquals(3, top.size());
+        assertEquals(3, top.get(0).getAttemptId()); // Same score, finished earlier
+        assertEquals(2, top.get(1).getAttemptId());
+        assertEquals(4, top.get(2).getAttemptId());
+    }
+
+    @Test
+    void rankOf_AndRemove() {
+        RankedScoreTree tree = new RankedScoreTree();
+        RankedScoreTree.Entry low = entry(1, 10.0, 1);
+        RankedScoreTree.Entry high = entry(2, 95.0, 1);
+        tree.insert(low);
+        tree.insert(high);
+
+        assertEquals(1, tree.rankOf(high));
+        assertEquals(2, tree.rankOf(low));
+
+        assertTrue(tree.remove(high));
+        assertFalse(tree.remove(high));
+        assertEquals(1, tree.rankOf(low));
+        assertEquals(-1, tree.rankOf(high));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void countBelow_ExcludesTies() {
+        RankedScoreTree tree = new RankedScoreTree();
+        tree.insert(entry(1, 40.0, 1));
+        tree.insert(entry(2, 60.0, 1));
+        tree.insert(entry(3, 60.0, 2));
+        tree.insert(entry(4, 80.0, 1));
+
+        assertEquals(1, tree.countBelow(60.0));
+        assertEquals(0, tree.countBelow(40.0));
+        assertEquals(4, tree.countBelow(100.0));
+    }
+
+    @Test
+    void randomizedAgainstSortedList() {
+        RankedScoreTree tree = new RankedScoreTree();
+        List<RankedScoreTree.Entry> reference = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            RankedScoreTree.Entry e = entry(i, random.nextInt(101), random.nextInt(1000));
+            tree.insert(e);
+            reference.add(e);
+        }
+        for (int i = 0; i < 500; i++) {
+            RankedScoreTree.Entry e = reference.remove(random.nextInt(reference.size()));
+            assertTrue(tree.remove(e));
+        }
+        reference.sort(RankedScoreTree.Entry::compareRank);
+
+        assertEquals(reference.size(), tree.size());
+        assertEquals(reference.subList(0, 50), tree.top(50));
+        for (int i = 0; i < reference.size(); i += 97) {
+            assertEquals(i + 1, tree.rankOf(reference.get(i)));
+        }
+    }
+}
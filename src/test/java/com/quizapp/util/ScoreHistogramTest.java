@@ -0,0 +1,88 @@
+package com.quizapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreHistogramTest {
+
+    @Test
+    void percentileRank_CountsStrictlyLowerScores() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int score = 0; score < 100; score++) {
+            histogram.add(score);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(83.0, histogram.percentileRank(83.0), 0.001);
+        assertEquals(0.0, histogram.percentileRank(0.0), 0.001);
+    }
+
+    @Test
+    void quantile_ReturnsBucketValue() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(10.0);
+        histogram.add(20.0);
+        histogram.add(30.0);
+        histogram.add(40.0);
+
+        assertEquals(20.0, histogram.quantile(0.5), 0.001);
+        assertEquals(10.0, histogram.quantile(0.0), 0.001);
+        assertEquals(40.0, histogram.quantile(1.0), 0.001);
+    }
+
+    @Test
+    void emptyHistogram_ReturnsZeros() {
+        ScoreHistogram histogram = new ScoreHistogram();
+
+        assertEquals(0.0, histogram.quantile(0.5));
+        assertEquals(0.0, histogram.percentileRank(50.0));
+    }
+
+    @Test
+    void merge_EqualsCombinedRecording() {
+        ScoreHistogram a = new ScoreHistogram();
+        ScoreHistogram b = new ScoreHistogram();
+        ScoreHistogram combined = new ScoreHistogram();
+        for (int i = 0; i < 50; i++) {
+            a.add(i * 1.3);
+            b.add(100 - i * 0.7);
+            combined.add(i * 1.3);
+            combined.add(100 - i * 0.7);
+        }
+
+        a.merge(b);
+
+        assertEquals(combined.getCount(), a.getCount());
+        assertArrayEquals(combined.toBytes(), a.toBytes());
+    }
+
+    @Test
+    void bytes_RoundTrip() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(0.0);
+        histogram.add(66.67);
+        histogram.add(66.67);
+        histogram.add(100.0);
+        histogram.add(150.0); // Clamped
+
+        ScoreHistogram restored = ScoreHistogram.fromBytes(histogram.toBytes());
+
+        assertEquals(5, restored.getCount());
+        assertEquals(histogram.percentileRank(66.7), restored.percentileRank(66.7));
+        assertEquals(0, ScoreHistogram.fromBytes(null).getCount());
+    }
+
+    @Test
+    void coarse_FoldsIntoBins() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(5.0);
+        histogram.add(95.0);
+        histogram.add(100.0);
+
+        long[] bins = histogram.coarse(10);
+
+        assertEquals(1, bins[0]);
+        assertEquals(2, bins[9]);
+    }
+}